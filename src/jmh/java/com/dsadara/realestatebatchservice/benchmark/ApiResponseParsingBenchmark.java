@@ -0,0 +1,85 @@
+package com.dsadara.realestatebatchservice.benchmark;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.service.ApiRateLimiter;
+import com.dsadara.realestatebatchservice.service.ApiResponseCache;
+import com.dsadara.realestatebatchservice.service.ApiRetryer;
+import com.dsadara.realestatebatchservice.service.RealEstateDataFetcher;
+import com.dsadara.realestatebatchservice.service.ResponseArchive;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수집한 아파트 전월세 응답(sample/apt-rent-11500-202304.json)의 item 을 itemCount 개로 늘린 payload 로
+ * 기존 String -> JsonNode -> List&lt;RealEstateDto&gt; 경로와 InputStream 스트리밍 경로를 비교한다.
+ * 메모리 사용량은 -prof gc 의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseParsingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int itemCount;
+
+    private RealEstateDataFetcher realEstateDataFetcher;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        realEstateDataFetcher = new RealEstateDataFetcher(objectMapper, new RestTemplate(),
+                new ApiRateLimiter(new StandardEnvironment()), new ApiResponseCache(new StandardEnvironment()),
+                new ResponseArchive(new StandardEnvironment()), new ApiRetryer(new StandardEnvironment()));
+
+        JsonNode sample;
+        try (InputStream inputStream = new ClassPathResource("sample/apt-rent-11500-202304.json").getInputStream()) {
+            sample = objectMapper.readTree(inputStream);
+        }
+        ArrayNode sampleItems = (ArrayNode) sample.at("/response/body/items/item");
+        ArrayNode items = objectMapper.createArrayNode();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(sampleItems.get(i % sampleItems.size()).deepCopy());
+        }
+        ((ObjectNode) sample.at("/response/body/items")).set("item", items);
+        ((ObjectNode) sample.at("/response/body")).put("numOfRows", itemCount);
+        payload = objectMapper.writeValueAsBytes(sample);
+    }
+
+    @Benchmark
+    public List<RealEstateDto> stringTreePojo() throws Exception {
+        // RestTemplate 이 응답을 String 으로 만든 뒤 기존 ApiRequester 가 하던 변환을 그대로 수행한다
+        String rawJson = new String(payload, StandardCharsets.UTF_8);
+        Optional<JsonNode> itemOptional = realEstateDataFetcher.stringToJsonNode(rawJson);
+        return realEstateDataFetcher.jsonNodeToPOJO(itemOptional).get();
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws Exception {
+        realEstateDataFetcher.readItems(new ByteArrayInputStream(payload), blackhole::consume);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.dsadara.realestatebatchservice.benchmark;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.processor.RealEstateProcessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수집한 아파트 전월세 응답(sample/apt-rent-11500-202304.json)의 item 으로 만든 DTO 를 ITEM_COUNT 개 변환한다.
+ * 문자열을 정리한 뒤 Short.valueOf / new BigDecimal 로 변환하고 데이터마다 LocalDateTime.now() 를 구하는 방식과
+ * RealEstateProcessor 를 비교한다. 메모리 사용량은 -prof gc 의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RealEstateProcessorBenchmark {
+
+    private static final int ITEM_COUNT = 1000;
+    private static final int CHUNK_SIZE = 100;
+
+    private RealEstateDto[] dtos;
+    private RealEstateProcessor realEstateProcessor;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        JsonNode sample;
+        try (InputStream inputStream = new ClassPathResource("sample/apt-rent-11500-202304.json").getInputStream()) {
+            sample = objectMapper.readTree(inputStream);
+        }
+        ArrayNode sampleItems = (ArrayNode) sample.at("/response/body/items/item");
+        dtos = new RealEstateDto[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            // 응답마다 새 문자열이 만들어지는 것과 같도록 매번 역직렬화한다
+            dtos[i] = objectMapper.treeToValue(sampleItems.get(i % sampleItems.size()), RealEstateDto.class);
+        }
+        realEstateProcessor = new RealEstateProcessor("APT_RENT");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_COUNT)
+    public void stringCleanup(Blackhole blackhole) {
+        for (RealEstateDto dto : dtos) {
+            blackhole.consume(RealEstate.builder()
+                    .constructYear(toShort(dto.getConstructYear()))
+                    .contractYear(toShort(dto.getContractYear()))
+                    .name(dto.getName())
+                    .beopJeongDong(dto.getBeopJeongDong())
+                    .siGunGu(dto.getSiGunGu())
+                    .contractMonth(toShort(dto.getContractMonth()))
+                    .contractDay(toShort(dto.getContractDay()))
+                    .jeonYongArea(dto.getJeonYongArea())
+                    .parcelNumber(dto.getParcelNumber())
+                    .beopJeongDongCode(dto.getBeopJeongDongCode())
+                    .floor(dto.getFloor())
+                    .dealAmount(toBigDecimal(dto.getDealAmount()))
+                    .CancelDealType(dto.getCancelDealType())
+                    .CancelDealDay(dto.getCancelDealDay())
+                    .dealType(dto.getDealType())
+                    .agentAddress(dto.getAgentAddress())
+                    .requestRenewalRight(dto.getRequestRenewalRight())
+                    .contractType(dto.getContractType())
+                    .contractPeriod(dto.getContractPeriod())
+                    .monthlyRent(toBigDecimal(dto.getMonthlyRent()))
+                    .deposit(toBigDecimal(dto.getDeposit()))
+                    .depositBefore(toBigDecimal(dto.getDepositBefore()))
+                    .monthlyRentBefore(toBigDecimal(dto.getMonthlyRentBefore()))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_COUNT)
+    public void realEstateProcessor(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            if (i % CHUNK_SIZE == 0) {
+                realEstateProcessor.beforeChunk(null);
+            }
+            blackhole.consume(realEstateProcessor.process(dtos[i]));
+        }
+    }
+
+    private static Short toShort(String value) {
+        String cleaned = clean(value);
+        return cleaned != null ? Short.valueOf(cleaned) : null;
+    }
+
+    private static BigDecimal toBigDecimal(String value) {
+        String cleaned = clean(value);
+        return cleaned != null ? new BigDecimal(cleaned) : null;
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String cleaned = value.replace(",", "").trim();
+        return cleaned.isEmpty() ? null : cleaned;
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.dsadara.realestatebatchservice.benchmark;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.domain.RealEstateRepository;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import com.dsadara.realestatebatchservice.processor.RealEstateProcessor;
+import com.dsadara.realestatebatchservice.service.ApiRateLimiter;
+import com.dsadara.realestatebatchservice.service.ApiResponseCache;
+import com.dsadara.realestatebatchservice.service.ApiRetryer;
+import com.dsadara.realestatebatchservice.service.RealEstateDataFetcher;
+import com.dsadara.realestatebatchservice.service.ResponseArchive;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import com.dsadara.realestatebatchservice.writer.RealEstateItemPreparedStatementSetter;
+import com.dsadara.realestatebatchservice.writer.RealEstateRowPreparedStatementSetter;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 한 페이지(chunkSize 건)를 읽어서 한 트랜잭션으로 쓰기까지의 시간을 비교한다.
+ * - dtoProcessorRepositoryWriter: RealEstateDto -> RealEstateProcessor -> RepositoryItemWriter (ApiItemReader 의 기존 경로)
+ * - dtoProcessorJdbcWriter: RealEstateDto -> RealEstateProcessor -> JdbcBatchItemWriter (writerPolicy.type=jdbc)
+ * - rowBindingJdbcWriter: JSON 토큰 -> RealEstateRow -> JdbcBatchItemWriter (writerPolicy.rowBinding)
+ * 응답은 sample/apt-rent-11500-202304.json 의 item 을 chunkSize 개로 늘리고 지번을 바꾸어 자연키가 겹치지 않게 만든다.
+ * 네트워크 호출 대신 ApiItemReader 가 응답 본문을 읽는 RealEstateDataFetcher.readItems / readRows 를 그대로 호출한다.
+ * 데이터당 메모리 사용량은 -prof gc 의 gc.alloc.rate.norm / chunkSize 로 계산한다.
+ * DB 쓰기가 대부분을 차지하므로, 읽기와 변환만 비교하는 dtoProcessor / rowBinding 도 함께 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RealEstateRowBindingBenchmark {
+
+    @Param({"100", "1000"})
+    private int chunkSize;
+
+    private EmbeddedDatabase dataSource;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private RealEstateDataFetcher realEstateDataFetcher;
+    private ItemWriter<RealEstate> repositoryItemWriter;
+    private JdbcBatchItemWriter<RealEstate> jdbcBatchItemWriter;
+    private JdbcBatchItemWriter<RealEstateRow> rowItemWriter;
+    private byte[] payload;
+
+    // RepositoryItemWriter 는 값이 없는 컬럼에 null 을 넣으므로 V2 의 NOT NULL 제약을 없앤다(V1 과 같은 모양)
+    private static final String[] NULLABLE_COLUMNS = {"cancel_deal_day", "cancel_deal_type", "agent_address", "construct_year",
+            "contract_period", "contract_type", "contract_year", "contract_day", "deal_amount", "deal_type", "deposit",
+            "deposit_before", "floor", "jeon_yong_area", "beop_jeong_dong", "contract_month", "monthly_rent",
+            "monthly_rent_before", "name", "parcel_number", "beop_jeong_dong_code", "request_renewal_right", "si_gun_gu"};
+
+    @Setup
+    public void setUp() throws Exception {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema/real-estate-h2.sql")
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String column : NULLABLE_COLUMNS) {
+            jdbcTemplate.execute("ALTER TABLE real_estate ALTER COLUMN " + column + " SET NULL");
+        }
+
+        Properties jpaProperties = new Properties();
+        jpaProperties.setProperty("hibernate.hbm2ddl.auto", "none");
+        jpaProperties.setProperty("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        jpaProperties.setProperty("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan(RealEstate.class.getPackage().getName());
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaProperties(jpaProperties);
+        entityManagerFactory.afterPropertiesSet();
+
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory.getObject()));
+        RealEstateRepository realEstateRepository = new JpaRepositoryFactory(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject()))
+                .getRepository(RealEstateRepository.class);
+        repositoryItemWriter = new RepositoryItemWriterBuilder<RealEstate>()
+                .repository(realEstateRepository)
+                .build();
+        jdbcBatchItemWriter = new JdbcBatchItemWriterBuilder<RealEstate>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateItemPreparedStatementSetter())
+                .build();
+        jdbcBatchItemWriter.afterPropertiesSet();
+        rowItemWriter = new JdbcBatchItemWriterBuilder<RealEstateRow>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateRowPreparedStatementSetter())
+                .build();
+        rowItemWriter.afterPropertiesSet();
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        realEstateDataFetcher = new RealEstateDataFetcher(objectMapper, new RestTemplate(),
+                new ApiRateLimiter(new StandardEnvironment()), new ApiResponseCache(new StandardEnvironment()),
+                new ResponseArchive(new StandardEnvironment()), new ApiRetryer(new StandardEnvironment()));
+
+        JsonNode sample;
+        try (InputStream inputStream = new ClassPathResource("sample/apt-rent-11500-202304.json").getInputStream()) {
+            sample = objectMapper.readTree(inputStream);
+        }
+        ArrayNode sampleItems = (ArrayNode) sample.at("/response/body/items/item");
+        ArrayNode items = objectMapper.createArrayNode();
+        for (int i = 0; i < chunkSize; i++) {
+            ObjectNode item = sampleItems.get(i % sampleItems.size()).deepCopy();
+            item.put("지번", String.valueOf(i));
+            items.add(item);
+        }
+        ((ObjectNode) sample.at("/response/body/items")).set("item", items);
+        ((ObjectNode) sample.at("/response/body")).put("numOfRows", chunkSize);
+        payload = objectMapper.writeValueAsBytes(sample);
+    }
+
+    @TearDown(Level.Invocation)
+    public void truncate() {
+        new JdbcTemplate(dataSource).execute("TRUNCATE TABLE real_estate");
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.destroy();
+        dataSource.shutdown();
+    }
+
+    @Benchmark
+    public List<RealEstate> dtoProcessor() throws Exception {
+        return process(readDtos());
+    }
+
+    @Benchmark
+    public List<RealEstateRow> rowBinding() throws Exception {
+        return readRows();
+    }
+
+    @Benchmark
+    public void dtoProcessorRepositoryWriter() throws Exception {
+        write(repositoryItemWriter, process(readDtos()));
+    }
+
+    @Benchmark
+    public void dtoProcessorJdbcWriter() throws Exception {
+        write(jdbcBatchItemWriter, process(readDtos()));
+    }
+
+    @Benchmark
+    public void rowBindingJdbcWriter() throws Exception {
+        write(rowItemWriter, readRows());
+    }
+
+    private List<RealEstateRow> readRows() throws Exception {
+        List<RealEstateRow> rows = new ArrayList<>(chunkSize);
+        realEstateDataFetcher.readRows(new ByteArrayInputStream(payload), row -> {
+            row.setRealEstateType(RealEstateType.APT_RENT);
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    private List<RealEstateDto> readDtos() throws Exception {
+        List<RealEstateDto> dtos = new ArrayList<>(chunkSize);
+        realEstateDataFetcher.readItems(new ByteArrayInputStream(payload), dtos::add);
+        return dtos;
+    }
+
+    private List<RealEstate> process(List<RealEstateDto> dtos) throws Exception {
+        // 운영과 같이 step 마다 processor 를 하나 만들고 chunk 시작 시 생성 시각을 정한다
+        RealEstateProcessor realEstateProcessor = new RealEstateProcessor("APT_RENT");
+        realEstateProcessor.beforeChunk(null);
+        List<RealEstate> realEstates = new ArrayList<>(dtos.size());
+        for (RealEstateDto dto : dtos) {
+            realEstates.add(realEstateProcessor.process(dto));
+        }
+        return realEstates;
+    }
+
+    private <T> void write(ItemWriter<T> writer, List<T> items) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(items);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.dsadara.realestatebatchservice.benchmark;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.domain.RealEstateRepository;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import com.dsadara.realestatebatchservice.writer.RealEstateItemPreparedStatementSetter;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * chunk 하나(chunkSize 건)를 한 트랜잭션으로 쓰는 시간을 RepositoryItemWriter(IDENTITY, row 단위 insert)와
+ * JdbcBatchItemWriter(JDBC batch) 로 비교한다. 초당 row 수는 chunkSize / 측정값 으로 계산한다.
+ * 테이블은 V1~V3 마이그레이션과 같은 모양(schema/real-estate-h2.sql)으로 H2 메모리 DB 에 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RealEstateWriterBenchmark {
+
+    @Param({"100", "1000"})
+    private int chunkSize;
+
+    private EmbeddedDatabase dataSource;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private ItemWriter<RealEstate> repositoryItemWriter;
+    private JdbcBatchItemWriter<RealEstate> jdbcBatchItemWriter;
+    private List<RealEstate> chunk;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema/real-estate-h2.sql")
+                .build();
+
+        Properties jpaProperties = new Properties();
+        jpaProperties.setProperty("hibernate.hbm2ddl.auto", "none");
+        jpaProperties.setProperty("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        jpaProperties.setProperty("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan(RealEstate.class.getPackage().getName());
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaProperties(jpaProperties);
+        entityManagerFactory.afterPropertiesSet();
+
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory.getObject()));
+        RealEstateRepository realEstateRepository = new JpaRepositoryFactory(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject()))
+                .getRepository(RealEstateRepository.class);
+        repositoryItemWriter = new RepositoryItemWriterBuilder<RealEstate>()
+                .repository(realEstateRepository)
+                .build();
+        jdbcBatchItemWriter = new JdbcBatchItemWriterBuilder<RealEstate>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateItemPreparedStatementSetter())
+                .build();
+        jdbcBatchItemWriter.afterPropertiesSet();
+    }
+
+    @Setup(Level.Invocation)
+    public void newChunk() {
+        // RepositoryItemWriter 는 저장한 entity 에 id 를 채우므로 매번 새 entity 를 만들고, 지번을 바꿔 자연키가 겹치지 않게 한다
+        chunk = new ArrayList<>(chunkSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < chunkSize; i++) {
+            chunk.add(RealEstate.builder()
+                    .createdAt(now)
+                    .constructYear((short) 2019)
+                    .contractYear((short) 2023)
+                    .contractMonth((short) 4)
+                    .contractDay((short) (i % 28 + 1))
+                    .name("e편한세상염창")
+                    .beopJeongDong("염창동")
+                    .beopJeongDongCode("11500")
+                    .parcelNumber(String.valueOf(sequence++))
+                    .floor("16")
+                    .jeonYongArea("59.8873")
+                    .dealAmount(BigDecimal.ZERO)
+                    .deposit(new BigDecimal("55000"))
+                    .depositBefore(BigDecimal.ZERO)
+                    .monthlyRent(BigDecimal.ZERO)
+                    .monthlyRentBefore(BigDecimal.ZERO)
+                    .realEstateType(RealEstateType.APT_RENT)
+                    .CancelDealType("")
+                    .CancelDealDay("")
+                    .dealType("")
+                    .agentAddress("")
+                    .requestRenewalRight("")
+                    .contractType("신규")
+                    .contractPeriod("23.05~25.05")
+                    .siGunGu("")
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        new JdbcTemplate(dataSource).execute("TRUNCATE TABLE real_estate");
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.destroy();
+        dataSource.shutdown();
+    }
+
+    @Benchmark
+    public void repositoryItemWriter() {
+        write(repositoryItemWriter);
+    }
+
+    @Benchmark
+    public void jdbcBatchItemWriter() {
+        write(jdbcBatchItemWriter);
+    }
+
+    private void write(ItemWriter<RealEstate> writer) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.dsadara.realestatebatchservice.benchmark;
+
+import com.dsadara.realestatebatchservice.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 stub 서버에 대해 기본 RestTemplate(SimpleClientHttpRequestFactory)과
+ * RestTemplateConfig 의 연결 풀 RestTemplate 의 처리량과 새로 맺은 연결 개수를 비교한다.
+ * stub 서버는 keep-alive 연결을 유지하고, 실제 api 서버처럼 응답마다 serverLatencyMillis, 새 연결의 첫 요청에는 connectSetupMillis 만큼 더 늦게 응답한다.
+ * 연결 풀이 처리량을 높이지는 않는다. 동시 요청이 maxPerRoute 이하이면 처리량은 같고, 넘으면 maxPerRoute 개 연결로 제한되어 오히려 낮다.
+ * 연결 풀의 목적은 새 연결 수와 동시 연결 수를 제한하고 timeout 을 거는 것이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RestTemplateConnectionPoolBenchmark {
+
+    private static final byte[] BODY = ("{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":\"NORMAL SERVICE.\"},"
+            + "\"body\":{\"items\":\"\",\"numOfRows\":10,\"pageNo\":1,\"totalCount\":0}}}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"simple", "pooled"})
+    private String clientType;
+    @Param({"50"})
+    private long serverLatencyMillis;
+    @Param({"10"})
+    private long connectSetupMillis;
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private AnnotationConfigApplicationContext context;
+    private RestTemplate restTemplate;
+    private URI uri;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // JDK HttpServer 는 기본적으로 Nagle 알고리즘을 사용하여 keep-alive 연결의 응답이 수십 ms 지연된다
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stubServer.createContext("/", exchange -> {
+            boolean newConnection = clientPorts.add(exchange.getRemoteAddress().getPort());
+            requestCount.incrementAndGet();
+            try {
+                Thread.sleep(newConnection ? serverLatencyMillis + connectSetupMillis : serverLatencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(BODY);
+            }
+        });
+        stubExecutor = Executors.newFixedThreadPool(64);
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+        uri = URI.create("http://127.0.0.1:" + stubServer.getAddress().getPort() + "/getRTMSDataSvcAptRent");
+
+        if ("pooled".equals(clientType)) {
+            context = new AnnotationConfigApplicationContext(RestTemplateConfig.class);
+            restTemplate = context.getBean(RestTemplate.class);
+        } else {
+            restTemplate = new RestTemplate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println();
+        System.out.println("[" + clientType + "] 요청 " + requestCount.get() + "회, 새 연결 " + clientPorts.size() + "개");
+        if (context != null) {
+            context.close();
+        }
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String concurrency1() {
+        return restTemplate.getForObject(uri, String.class);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String concurrency8() {
+        return restTemplate.getForObject(uri, String.class);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String concurrency32() {
+        return restTemplate.getForObject(uri, String.class);
+    }
+
+}
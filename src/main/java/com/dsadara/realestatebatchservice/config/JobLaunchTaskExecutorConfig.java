@@ -0,0 +1,28 @@
+package com.dsadara.realestatebatchservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class JobLaunchTaskExecutorConfig {
+
+    @Value("${launchPolicy.maxInFlightJobs:4}")
+    private int maxInFlightJobs;
+
+    @Bean
+    public ThreadPoolTaskExecutor jobLaunchTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxInFlightJobs);
+        executor.setMaxPoolSize(maxInFlightJobs);
+        // 동시에 제출되는 job 은 RealEstateJobLauncher 가 maxInFlightJobs 개로 제한한다.
+        // 끝난 job 의 스레드가 pool 로 돌아오기 전에 다음 job 이 제출될 수 있으므로 같은 크기의 큐를 둔다
+        executor.setQueueCapacity(maxInFlightJobs);
+        executor.setThreadNamePrefix("job-launch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.dsadara.realestatebatchservice.config;
+
+import com.dsadara.realestatebatchservice.service.HistogramMeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Value("${metricsPolicy.regionMonthTags:false}")
+    private boolean regionMonthTags;
+
+    /**
+     * actuator 가 없으므로 Metrics.globalRegistry 에 기록한 값은 이 registry 에 모으고 PrometheusTextFileExporter 가 파일로 내보낸다.
+     * 법정동 코드 x 계약 연월 tag 는 meter 수가 수만 개로 늘어나므로 regionMonthTags 가 꺼져 있으면 제거한다.
+     * globalRegistry(composite) 자체도 meter id 마다 meter 를 들고 있으므로 하위 registry 가 아니라 globalRegistry 에 filter 를 걸고,
+     * meter 가 등록되기 전에 적용되도록 registry 를 추가하기 전에 건다.
+     */
+    @Bean
+    public HistogramMeterRegistry histogramMeterRegistry() {
+        if (!regionMonthTags) {
+            Metrics.globalRegistry.config().meterFilter(MeterFilter.ignoreTags("region", "month"));
+        }
+        HistogramMeterRegistry registry = new HistogramMeterRegistry();
+        Metrics.addRegistry(registry);
+        return registry;
+    }
+
+}
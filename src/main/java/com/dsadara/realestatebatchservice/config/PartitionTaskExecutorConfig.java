@@ -0,0 +1,80 @@
+package com.dsadara.realestatebatchservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PartitionTaskExecutorConfig {
+
+    @Value("${partitionPolicy.poolSize:8}")
+    private int poolSize;
+    @Value("${partitionPolicy.queueCapacity:300}")
+    private int queueCapacity;
+    @Value("${pipelinePolicy.processThreads:4}")
+    private int processThreads;
+    @Value("${pipelinePolicy.queueCapacity:1000}")
+    private int pipelineQueueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor partitionTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("partition-");
+        // 큐가 가득 차면 master step 스레드가 직접 실행하여 자연스럽게 제출 속도를 늦춘다
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * reader 가 다음 페이지를 미리 호출할 때 사용한다. 파티션 스레드마다 최대 한 페이지만 미리 읽는다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor readAheadTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize);
+        executor.setThreadNamePrefix("read-ahead-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * pipelinePolicy.enabled 일 때 AsyncItemProcessor 가 DTO 변환에 사용한다. 큐가 가득 차면 step 스레드가 직접 변환하여 읽기를 늦춘다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor pipelineTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processThreads);
+        executor.setMaxPoolSize(processThreads);
+        executor.setQueueCapacity(pipelineQueueCapacity);
+        executor.setThreadNamePrefix("pipeline-process-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * job parameter 'partitionPoolSize' 가 있으면 해당 실행에서만 동시 실행 개수를 제한하는 executor 를 사용한다.
+     */
+    public static TaskExecutor resolve(TaskExecutor sharedExecutor, Long partitionPoolSize) {
+        if (partitionPoolSize == null || partitionPoolSize <= 0) {
+            return sharedExecutor;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("partition-override-");
+        executor.setConcurrencyLimit(partitionPoolSize.intValue());
+        return executor;
+    }
+
+}
@@ -1,36 +1,81 @@
 package com.dsadara.realestatebatchservice.config;
 
 import com.dsadara.realestatebatchservice.domain.RealEstate;
-import com.dsadara.realestatebatchservice.domain.RealEstateRepository;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import com.dsadara.realestatebatchservice.listener.BulkLoadIndexListener;
+import com.dsadara.realestatebatchservice.listener.IngestionWatermarkListener;
+import com.dsadara.realestatebatchservice.listener.PipelineStageMetricsListener;
+import com.dsadara.realestatebatchservice.listener.RegionMonthStatisticsListener;
 import com.dsadara.realestatebatchservice.listener.SlaveStepFailureLimitListener;
 import com.dsadara.realestatebatchservice.listener.StepExceptionLogger;
+import com.dsadara.realestatebatchservice.partitioner.HeaviestFirstPartitionHandler;
+import com.dsadara.realestatebatchservice.partitioner.PartitionRequestChannel;
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import com.dsadara.realestatebatchservice.partitioner.RemotePartitionHandler;
+import com.dsadara.realestatebatchservice.partitioner.RemotePartitionWorker;
+import com.dsadara.realestatebatchservice.partitioner.RowCountBalancedPartitioner;
+import com.dsadara.realestatebatchservice.processor.AsyncItemProcessor;
 import com.dsadara.realestatebatchservice.processor.RealEstateProcessor;
 import com.dsadara.realestatebatchservice.reader.ApiItemReader;
+import com.dsadara.realestatebatchservice.reader.ApiRowItemReader;
+import com.dsadara.realestatebatchservice.reader.ArchiveReplayItemReader;
+import com.dsadara.realestatebatchservice.reader.AsyncFetchItemReader;
+import com.dsadara.realestatebatchservice.reader.GridApiItemReader;
 import com.dsadara.realestatebatchservice.service.ApiRequester;
+import com.dsadara.realestatebatchservice.service.AsyncFetchEngine;
 import com.dsadara.realestatebatchservice.service.GenerateApiQueryParam;
+import com.dsadara.realestatebatchservice.service.IngestionWatermarkService;
+import com.dsadara.realestatebatchservice.service.RealEstateDataFetcher;
+import com.dsadara.realestatebatchservice.service.RegionMonthStatisticsService;
+import com.dsadara.realestatebatchservice.service.ResponseArchive;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import com.dsadara.realestatebatchservice.writer.AsyncItemWriter;
+import com.dsadara.realestatebatchservice.writer.BulkLoadItemWriter;
+import com.dsadara.realestatebatchservice.writer.RealEstateItemPreparedStatementSetter;
+import com.dsadara.realestatebatchservice.writer.RealEstateRowPreparedStatementSetter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.partition.PartitionHandler;
 import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.item.ExecutionContext;
-import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.data.RepositoryItemWriter;
-import org.springframework.batch.item.data.builder.RepositoryItemWriterBuilder;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskExecutor;
 
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @Profile({"local-mysql", "rds-mariadb"})
 @Configuration
@@ -40,73 +85,362 @@ public class RealEstateJobConfig {
 
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
-    private final RealEstateRepository realEstateRepository;
     private final ApiRequester apiRequester;
+    private final AsyncFetchEngine asyncFetchEngine;
+    private final RealEstateDataFetcher realEstateDataFetcher;
+    private final ResponseArchive responseArchive;
     private final GenerateApiQueryParam generateApiQueryParam;
     private final StepExceptionLogger stepExceptionLogger;
     private final SlaveStepFailureLimitListener slaveStepFailureLimitListener;
+    private final IngestionWatermarkListener ingestionWatermarkListener;
+    private final BulkLoadIndexListener bulkLoadIndexListener;
+    private final IngestionWatermarkService ingestionWatermarkService;
+    private final RegionMonthStatisticsListener regionMonthStatisticsListener;
+    private final RegionMonthStatisticsService regionMonthStatisticsService;
+    private final TaskExecutor partitionTaskExecutor;
+    private final TaskExecutor readAheadTaskExecutor;
+    private final TaskExecutor pipelineTaskExecutor;
+    private final PipelineStageMetricsListener pipelineStageMetricsListener;
+    private final DataSource dataSource;
+    private final PartitionRequestChannel partitionRequestChannel;
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
 
-    @Bean
+    @Value("${openapi.request.numOfRows:1000}")
+    private int numOfRows;
+    @Value("${openapi.request.readAhead:true}")
+    private boolean readAhead;
+    @Value("${writerPolicy.type:upsert}")
+    private String writerType;
+    @Value("${bulkLoadPolicy.directory:${java.io.tmpdir}/real-estate-bulk}")
+    private String bulkLoadDirectory;
+    @Value("${bulkLoadPolicy.fallbackBatchSize:1000}")
+    private int bulkLoadFallbackBatchSize;
+    @Value("${writerPolicy.rowBinding:false}")
+    private boolean rowBinding;
+    @Value("${writerPolicy.chunkSize:100}")
+    private int chunkSize;
+    @Value("${gridPolicy.groupMonthsOlderThan:24}")
+    private int groupMonthsOlderThan;
+    @Value("${gridPolicy.maxCellsPerPartition:12}")
+    private int maxCellsPerPartition;
+    @Value("${gridPolicy.strategy:yearly}")
+    private String gridStrategy;
+    @Value("${gridPolicy.gridSize:300}")
+    private int gridSize;
+    @Value("${gridPolicy.targetRowsPerPartition:5000}")
+    private int targetRowsPerPartition;
+    @Value("${gridPolicy.cellOverheadRows:50}")
+    private int cellOverheadRows;
+    @Value("${gridPolicy.unknownCellRows:500}")
+    private int unknownCellRows;
+    @Value("${partitionPolicy.mode:local}")
+    private String partitionMode;
+    @Value("${fetchEnginePolicy.enabled:false}")
+    private boolean fetchEngineEnabled;
+    @Value("${launchPolicy.mode:sequential}")
+    private String launchMode;
+    @Value("${pipelinePolicy.enabled:false}")
+    private boolean pipelineEnabled;
+    @Value("${partitionPolicy.poolSize:8}")
+    private int partitionWorkerConcurrency;
+    @Value("${partitionPolicy.remotePollIntervalMillis:1000}")
+    private long remotePollIntervalMillis;
+    @Value("${partitionPolicy.remoteTimeoutHours:24}")
+    private long remoteTimeoutHours;
+    @Value("${partitionPolicy.remoteLeaseSeconds:300}")
+    private long remoteLeaseSeconds;
+
+    @Bean(name = "realEstateJob")
     public Job createRealEstateJob() throws Exception {
         return jobBuilderFactory.get("realEstateJob")
                 .incrementer(new RunIdIncrementer())
-                .flow(masterStep(null))
+                .listener(ingestionWatermarkListener)
+                .listener((JobExecutionListener) slaveStepFailureLimitListener)
+                .flow(masterStep(null, null))
                 .end()
                 .build();
     }
 
     @Bean
     @JobScope
-    public Step masterStep(@Value("#{jobParameters['bjdCode']}") String bjdCode) throws Exception {
+    public Step masterStep(@Value("#{jobParameters['bjdCode']}") String bjdCode,
+                           @Value("#{jobParameters['partitionPoolSize']}") Long partitionPoolSize) throws Exception {
         return stepBuilderFactory.get("법정동코드" + ":" + bjdCode)
-                .partitioner("slaveStep", dealYearMonthPartitioner())
-                .step(slaveStep())
-                .gridSize(300)
+                .partitioner("slaveStep", dealYearMonthPartitioner(null, null, null))
+                .partitionHandler(partitionHandler(slaveStep(), partitionPoolSize))
                 .build();
     }
 
+    /**
+     * 파티션 스레드에는 job scope 가 없으므로 slave step 은 singleton 으로 둔다. reader 와 processor 는 step scope 이다.
+     */
     @Bean
-    @JobScope
     public Step slaveStep() throws Exception {
-        return stepBuilderFactory.get("계약월")
-                .<RealEstateDto, RealEstate>chunk(100)
-                .reader(createApiItemReader(null, null))
-                .processor(createRealEstateProcessor(null))
-                .writer(createRealEstateWriter())
-                .listener(stepExceptionLogger)
-                .listener(slaveStepFailureLimitListener)
+        // bulk 적재는 RealEstate 를 staging 파일로 쓰므로 DTO 경로를 사용한다
+        if (rowBinding && !"bulk".equals(writerType) && !responseArchive.isReplay()) {
+            // JSON 토큰을 RealEstateRow 로 바로 읽어 JDBC batch 로 쓴다. 변환할 DTO 가 없으므로 processor 를 두지 않는다
+            return withSlaveListeners(stepBuilderFactory.get("계약월")
+                    .<RealEstateRow, RealEstateRow>chunk(chunkSize)
+                    .reader(createApiRowItemReader(null, null, null))
+                    .writer(createRealEstateRowWriter()));
+        }
+        if (rowBinding) {
+            log.warn("writerPolicy.rowBinding 은 writerPolicy.type=bulk, archivePolicy.replay 에서는 사용하지 않고 DTO 로 변환하여 씀");
+        }
+        return buildSlaveStep("계약월", responseArchive.isReplay() ? createArchiveReplayItemReader(null) : createApiItemReader(null, null));
+    }
+
+    /**
+     * 부동산 종류 하나의 모든 법정동 코드와 계약 연월을 한 job 에서 수집한다. 파티션은 RegionMonthGridPartitioner 가 나눈다.
+     */
+    @Bean(name = "realEstateGridJob")
+    public Job createRealEstateGridJob() throws Exception {
+        return jobBuilderFactory.get("realEstateGridJob")
+                .incrementer(new RunIdIncrementer())
+                .listener(ingestionWatermarkListener)
+                .listener(bulkLoadIndexListener)
+                .listener((JobExecutionListener) slaveStepFailureLimitListener)
+                .flow(gridMasterStep(null))
+                .end()
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public Step gridMasterStep(@Value("#{jobParameters['partitionPoolSize']}") Long partitionPoolSize) throws Exception {
+        checkGridReplay(true);
+        return stepBuilderFactory.get("법정동코드x계약월")
+                .partitioner("gridSlaveStep", regionMonthGridPartitioner(null))
+                .partitionHandler(partitionHandler(gridSlaveStep(), partitionPoolSize))
                 .build();
     }
 
+    /**
+     * 예상 데이터 건수가 큰 파티션부터 실행하여 가장 무거운 파티션 때문에 job 이 늦게 끝나는 것을 줄인다.
+     * partitionPolicy.mode 가 manager, embedded 이면 파티션을 worker 에게 보내고 job repository 에서 결과를 모은다.
+     */
+    private PartitionHandler partitionHandler(Step step, Long partitionPoolSize) {
+        if ("manager".equals(partitionMode) || "embedded".equals(partitionMode)) {
+            RemotePartitionHandler partitionHandler = new RemotePartitionHandler(step.getName(), partitionRequestChannel, jobExplorer,
+                    remotePollIntervalMillis, remoteTimeoutHours * 60 * 60 * 1000);
+            partitionHandler.setGridSize(gridSize);
+            return partitionHandler;
+        }
+        HeaviestFirstPartitionHandler partitionHandler = new HeaviestFirstPartitionHandler();
+        partitionHandler.setStep(step);
+        partitionHandler.setTaskExecutor(PartitionTaskExecutorConfig.resolve(partitionTaskExecutor, partitionPoolSize));
+        partitionHandler.setGridSize(gridSize);
+        return partitionHandler;
+    }
+
+    @Bean
+    public Step gridSlaveStep() throws Exception {
+        checkGridReplay("grid".equals(launchMode) || fetchEngineEnabled);
+        if (rowBinding) {
+            log.warn("writerPolicy.rowBinding 은 realEstateGridJob 에서는 사용하지 않고 DTO 로 변환하여 씀");
+        }
+        return buildSlaveStep("법정동코드x계약월 셀", fetchEngineEnabled ? createAsyncFetchItemReader(null, null) : createGridApiItemReader(null, null));
+    }
+
+    /**
+     * grid job 의 reader(GridApiItemReader, AsyncFetchItemReader)는 보관한 응답을 읽지 못하므로, archivePolicy.replay 와 함께 쓰면
+     * 모르는 사이에 api 를 호출하지 않도록 시작할 때(launchPolicy.mode=grid 또는 fetchEnginePolicy.enabled) 또는 grid job 을 실행할 때 실패시킨다.
+     */
+    private void checkGridReplay(boolean gridJobUsed) {
+        if (gridJobUsed && responseArchive.isReplay()) {
+            throw new IllegalStateException("archivePolicy.replay 는 realEstateJob 에서만 사용할 수 있습니다. "
+                    + "launchPolicy.mode=grid, fetchEnginePolicy.enabled 와 함께 쓸 수 없습니다.");
+        }
+    }
+
+    /**
+     * pipelinePolicy.enabled 이면 DTO 변환을 pipelineTaskExecutor 에서 실행하여(AsyncItemProcessor) 읽기와 변환을 겹치고,
+     * 쓰기 직전에 변환 결과를 모은다(AsyncItemWriter). 쓰기는 그대로 step 스레드의 chunk 트랜잭션에서 실행된다.
+     * writerPolicy.type 이 bulk 이면 BulkLoadItemWriter 가 파티션마다 staging 파일에 모았다가 step 이 끝날 때 한 번에 적재한다.
+     */
+    private Step buildSlaveStep(String stepName, ItemReader<RealEstateDto> reader) {
+        RealEstateProcessor realEstateProcessor = createRealEstateProcessor(null);
+        boolean bulk = "bulk".equals(writerType);
+        ItemWriter<RealEstate> writer = bulk ? createBulkLoadItemWriter() : createRealEstateWriter();
+        if (pipelineEnabled) {
+            SimpleStepBuilder<RealEstateDto, Future<RealEstate>> builder = stepBuilderFactory.get(stepName)
+                    .<RealEstateDto, Future<RealEstate>>chunk(chunkSize)
+                    .reader(reader)
+                    .processor(new AsyncItemProcessor<>(realEstateProcessor, pipelineTaskExecutor))
+                    .writer(new AsyncItemWriter<>(writer));
+            if (bulk) {
+                // AsyncItemWriter 로 감싸면 stream, step listener 로 자동 등록되지 않는다
+                builder.stream((ItemStream) writer)
+                        .listener((StepExecutionListener) writer);
+            }
+            // AsyncItemProcessor 로 감싸면 chunk listener 로 자동 등록되지 않는다
+            builder.listener((ChunkListener) realEstateProcessor);
+            return withSlaveListeners(builder);
+        }
+        return withSlaveListeners(stepBuilderFactory.get(stepName)
+                .<RealEstateDto, RealEstate>chunk(chunkSize)
+                .reader(reader)
+                .processor(realEstateProcessor)
+                .writer(writer));
+    }
+
+    /**
+     * 모든 slave step 에 공통 listener 를 등록한다. 여러 listener 인터페이스를 구현한 listener 는 인터페이스마다 등록해야 모두 호출된다.
+     */
+    private <I, O> Step withSlaveListeners(SimpleStepBuilder<I, O> builder) {
+        withStageListeners(builder, pipelineStageMetricsListener);
+        builder.listener(stepExceptionLogger);
+        builder.listener(slaveStepFailureLimitListener);
+        builder.listener(regionMonthStatisticsListener);
+        return builder.build();
+    }
+
+    /**
+     * 단계별 소요 시간을 재는 listener 는 읽기, 변환, 쓰기, chunk, step listener 를 모두 구현하므로 인터페이스마다 등록한다.
+     */
+    static <I, O> SimpleStepBuilder<I, O> withStageListeners(SimpleStepBuilder<I, O> builder,
+                                                             PipelineStageMetricsListener pipelineStageMetricsListener) {
+        builder.listener((ItemReadListener<Object>) pipelineStageMetricsListener);
+        builder.listener((ItemProcessListener<Object, Object>) pipelineStageMetricsListener);
+        builder.listener((ItemWriteListener<Object>) pipelineStageMetricsListener);
+        builder.listener((StepExecutionListener) pipelineStageMetricsListener);
+        builder.listener((ChunkListener) pipelineStageMetricsListener);
+        return builder;
+    }
+
+    /**
+     * partitionPolicy.mode 가 worker, embedded 일 때만 시작하여 manager 가 보낸 파티션을 실행한다.
+     */
+    @Bean
+    public RemotePartitionWorker remotePartitionWorker() throws Exception {
+        boolean autoStartup = "worker".equals(partitionMode) || "embedded".equals(partitionMode);
+        return new RemotePartitionWorker(partitionRequestChannel, jobExplorer, jobRepository,
+                Arrays.asList(slaveStep(), gridSlaveStep()), partitionWorkerConcurrency,
+                TimeUnit.SECONDS.toMillis(remoteLeaseSeconds) / 3, autoStartup);
+    }
+
+    @Bean
+    @StepScope
+    public GridApiItemReader createGridApiItemReader(
+            @Value("#{jobParameters['baseUrl']}") String baseUrl,
+            @Value("#{jobParameters['serviceKey']}") String serviceKey) {
+        return new GridApiItemReader(baseUrl, serviceKey, apiRequester, numOfRows, readAhead ? readAheadTaskExecutor : null);
+    }
+
+    /**
+     * 파티션의 셀을 한 번에 AsyncFetchEngine 에 맡기고, 먼저 도착한 페이지부터 chunk 로 처리한다.
+     */
+    @Bean
+    @StepScope
+    public AsyncFetchItemReader createAsyncFetchItemReader(
+            @Value("#{jobParameters['baseUrl']}") String baseUrl,
+            @Value("#{jobParameters['serviceKey']}") String serviceKey) {
+        return new AsyncFetchItemReader(baseUrl, serviceKey, asyncFetchEngine);
+    }
+
+    @Bean
+    @JobScope
+    public Partitioner regionMonthGridPartitioner(@Value("#{jobParameters['realEstateType']}") String realEstateType) {
+        RealEstateType type = RealEstateType.valueOf(realEstateType);
+        if ("statistics".equals(gridStrategy)) {
+            // 이전 실행의 셀별 데이터 건수로 빈 셀은 묶고 무거운 셀은 나눈다
+            return new RowCountBalancedPartitioner(generateApiQueryParam.getBjdCodeList(),
+                    bjdCode -> generateApiQueryParam.getDealYearMonthsList(ingestionWatermarkService.resolveFromDealYearMonth(type, bjdCode)),
+                    regionMonthStatisticsService.getRowCountsByCell(type), targetRowsPerPartition, cellOverheadRows, unknownCellRows);
+        }
+        String groupBeforeDealYearMonth = YearMonth.now().minusMonths(groupMonthsOlderThan).format(DateTimeFormatter.ofPattern("yyyyMM"));
+        // 증분 수집이면 법정동 코드마다 기준 연월 이후만 셀로 만든다
+        return new RegionMonthGridPartitioner(generateApiQueryParam.getBjdCodeList(),
+                bjdCode -> generateApiQueryParam.getDealYearMonthsList(ingestionWatermarkService.resolveFromDealYearMonth(type, bjdCode)),
+                groupBeforeDealYearMonth, maxCellsPerPartition);
+    }
+
     @Bean
     @StepScope
     public ApiItemReader createApiItemReader(
             @Value("#{jobParameters['baseUrl']}") String baseUrl,
             @Value("#{jobParameters['serviceKey']}") String serviceKey) throws Exception {
-        return new ApiItemReader(baseUrl, serviceKey, apiRequester);
+        return new ApiItemReader(baseUrl, serviceKey, apiRequester, numOfRows, readAhead ? readAheadTaskExecutor : null);
+    }
+
+    @Bean
+    @StepScope
+    public ApiRowItemReader createApiRowItemReader(
+            @Value("#{jobParameters['baseUrl']}") String baseUrl,
+            @Value("#{jobParameters['serviceKey']}") String serviceKey,
+            @Value("#{jobParameters['realEstateType']}") String realEstateType) {
+        return new ApiRowItemReader(baseUrl, serviceKey, apiRequester, numOfRows, readAhead ? readAheadTaskExecutor : null,
+                RealEstateType.valueOf(realEstateType));
+    }
+
+    @Bean
+    @StepScope
+    public ArchiveReplayItemReader createArchiveReplayItemReader(@Value("#{jobParameters['baseUrl']}") String baseUrl) {
+        return new ArchiveReplayItemReader(responseArchive, realEstateDataFetcher, baseUrl, numOfRows);
     }
 
     @Bean
     @StepScope
-    public ItemProcessor<RealEstateDto, RealEstate> createRealEstateProcessor(@Value("#{jobParameters['realEstateType']}") String realRealEstateType) {
+    public RealEstateProcessor createRealEstateProcessor(@Value("#{jobParameters['realEstateType']}") String realRealEstateType) {
         return new RealEstateProcessor(realRealEstateType);
     }
 
+    /**
+     * chunk 하나를 한 번의 JDBC batch 로 전송한다. 자연키가 같은 행은 갱신하므로 같은 달을 다시 수집해도(incremental 포함) 행이 늘거나 실패하지 않는다.
+     * 단순 insert 하던 jpa, jdbc 는 자연키 unique 제약 이후 재수집마다 실패하므로 받지 않는다.
+     */
     @Bean
-    public RepositoryItemWriter<RealEstate> createRealEstateWriter() {
-        return new RepositoryItemWriterBuilder<RealEstate>()
-                .repository(realEstateRepository)
+    public ItemWriter<RealEstate> createRealEstateWriter() {
+        if (!"upsert".equals(writerType) && !"bulk".equals(writerType)) {
+            throw new IllegalArgumentException("writerPolicy.type 은 upsert 또는 bulk 여야 합니다. -> " + writerType);
+        }
+        return new JdbcBatchItemWriterBuilder<RealEstate>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.UPSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateItemPreparedStatementSetter())
+                .assertUpdates(false)
                 .build();
     }
 
+    /**
+     * staging 파일 위치가 step execution 마다 달라지므로 step scope 이다. 재실행하면 같은 파일을 이어서 쓴다.
+     */
     @Bean
-    public Partitioner dealYearMonthPartitioner() {
+    @StepScope
+    public BulkLoadItemWriter createBulkLoadItemWriter() {
+        return new BulkLoadItemWriter(dataSource, Paths.get(bulkLoadDirectory), bulkLoadFallbackBatchSize);
+    }
+
+    /**
+     * writerPolicy.rowBinding 일 때 사용한다. createRealEstateWriter 와 같은 upsert 를 RealEstateRow 로 바인딩한다.
+     */
+    @Bean
+    public JdbcBatchItemWriter<RealEstateRow> createRealEstateRowWriter() {
+        return new JdbcBatchItemWriterBuilder<RealEstateRow>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.UPSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateRowPreparedStatementSetter())
+                .assertUpdates(false)
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public Partitioner dealYearMonthPartitioner(@Value("#{jobParameters['fromDealYearMonth']}") String fromDealYearMonth,
+                                                @Value("#{jobParameters['realEstateType']}") String realEstateType,
+                                                @Value("#{jobParameters['bjdCode']}") String bjdCode) {
         return gridSize -> {
             Map<String, ExecutionContext> result = new HashMap<>();
-            List<String> dealYearMonthList = generateApiQueryParam.getDealYearMonthsList();
+            List<String> dealYearMonthList = generateApiQueryParam.getDealYearMonthsList(fromDealYearMonth);
+            Map<String, Integer> rowCountsByDealYearMonth = realEstateType == null ? new HashMap<>()
+                    : regionMonthStatisticsService.getRowCountsByDealYearMonth(RealEstateType.valueOf(realEstateType), bjdCode);
             for (String dealYearMonth : dealYearMonthList) {
                 ExecutionContext executionContext = new ExecutionContext();
                 executionContext.putString("dealYearMonth", dealYearMonth);
+                // HeaviestFirstPartitionHandler 가 이전 실행에서 데이터가 많았던 계약 연월부터 실행한다
+                executionContext.putLong(RowCountBalancedPartitioner.ESTIMATED_ROWS,
+                        rowCountsByDealYearMonth.getOrDefault(dealYearMonth, unknownCellRows));
                 result.put(dealYearMonth, executionContext);
             }
             return result;
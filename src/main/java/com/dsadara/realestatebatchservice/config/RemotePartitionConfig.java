@@ -0,0 +1,37 @@
+package com.dsadara.realestatebatchservice.config;
+
+import com.dsadara.realestatebatchservice.partitioner.InMemoryPartitionRequestChannel;
+import com.dsadara.realestatebatchservice.partitioner.JdbcPartitionRequestChannel;
+import com.dsadara.realestatebatchservice.partitioner.PartitionRequestChannel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원격 파티셔닝(partitionPolicy.mode=manager/worker/embedded)에서 파티션 실행 요청을 전달하는 채널.
+ * jdbc 는 여러 JVM 이 공유하는 DB 테이블, memory 는 같은 JVM 안의 큐이다.
+ */
+@Profile({"local-mysql", "rds-mariadb"})
+@Configuration
+public class RemotePartitionConfig {
+
+    @Value("${partitionPolicy.channel:jdbc}")
+    private String channel;
+    @Value("${partitionPolicy.remotePollIntervalMillis:1000}")
+    private long pollIntervalMillis;
+    @Value("${partitionPolicy.remoteLeaseSeconds:300}")
+    private long leaseSeconds;
+
+    @Bean
+    public PartitionRequestChannel partitionRequestChannel(DataSource dataSource) {
+        if ("memory".equals(channel)) {
+            return new InMemoryPartitionRequestChannel();
+        }
+        return new JdbcPartitionRequestChannel(dataSource, pollIntervalMillis, TimeUnit.SECONDS.toMillis(leaseSeconds));
+    }
+
+}
@@ -1,20 +1,77 @@
 package com.dsadara.realestatebatchservice.config;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${httpClientPolicy.maxPerRoute:20}")
+    private int maxPerRoute;
+    @Value("${httpClientPolicy.maxTotal:100}")
+    private int maxTotal;
+    @Value("${httpClientPolicy.keepAliveSeconds:30}")
+    private long keepAliveSeconds;
+    @Value("${httpClientPolicy.idleEvictSeconds:30}")
+    private long idleEvictSeconds;
+    @Value("${httpClientPolicy.connectTimeoutMillis:3000}")
+    private int connectTimeoutMillis;
+    @Value("${httpClientPolicy.readTimeoutMillis:30000}")
+    private int readTimeoutMillis;
+    @Value("${httpClientPolicy.connectionRequestTimeoutMillis:10000}")
+    private int connectionRequestTimeoutMillis;
+    @Value("${httpClientPolicy.gzip:true}")
+    private boolean gzip;
+
     @Bean
     public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient()));
         DefaultUriBuilderFactory defaultUriBuilderFactory = new DefaultUriBuilderFactory();
         defaultUriBuilderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.NONE);
         restTemplate.setUriTemplateHandler(defaultUriBuilderFactory);
         return restTemplate;
     }
 
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setMaxTotal(maxTotal);
+        // 오래 쉬던 연결은 재사용 전에 한번 더 확인하여 서버가 먼저 끊은 연결로 요청하지 않도록 한다
+        connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setSocketTimeout(readTimeoutMillis)
+                .setConnectionRequestTimeout(connectionRequestTimeoutMillis)
+                .build();
+
+        long keepAliveMillis = TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+        HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAliveMillis > 0 ? Math.min(serverKeepAliveMillis, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictSeconds, TimeUnit.SECONDS);
+        if (!gzip) {
+            httpClientBuilder.disableContentCompression();
+        }
+        return httpClientBuilder.build();
+    }
+
 }
@@ -0,0 +1,14 @@
+package com.dsadara.realestatebatchservice.domain;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IngestionWatermarkRepository extends JpaRepository<IngestionWatermark, Integer> {
+
+    Optional<IngestionWatermark> findByRealEstateTypeAndBjdCode(RealEstateType realEstateType, String bjdCode);
+
+}
@@ -9,6 +9,7 @@ import lombok.Setter;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.CreationTimestamp;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
@@ -16,6 +17,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Index;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,12 +28,17 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "real_estate", indexes = @Index(name = "idx_real_estate_type", columnList = "realEstateType", unique = true))
+@Table(name = "real_estate", indexes = {
+        @Index(name = "idx_real_estate_type", columnList = "realEstateType"),
+        @Index(name = "uk_real_estate_natural_key", columnList = "naturalKey", unique = true)})
 public class RealEstate {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
+    @Comment("자연키")
+    @Column(length = 32, nullable = false)
+    private String naturalKey;
     @CreationTimestamp
     private LocalDateTime createdAt;
     // 공통
@@ -87,4 +94,11 @@ public class RealEstate {
     @Comment("시군구")
     private String siGunGu;
 
+    @PrePersist
+    public void fillNaturalKey() {
+        if (naturalKey == null) {
+            naturalKey = RealEstateNaturalKey.of(this);
+        }
+    }
+
 }
@@ -0,0 +1,69 @@
+package com.dsadara.realestatebatchservice.domain;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+/**
+ * 한 건의 거래를 구분하는 자연키.
+ * 부동산 종류, 법정동 코드, 지번, 계약 연월일, 층, 면적, 거래금액/보증금/월세를 '|' 로 이어 붙인 문자열의 MD5(hex) 이다.
+ * null 은 컬럼 기본값('', 0)으로, 금액은 DECIMAL 컬럼에 저장되는 값(소수점 없음)으로 바꾸어
+ * V4 마이그레이션의 MD5(CONCAT_WS('|', ...)) 와 같은 값을 만든다.
+ */
+public final class RealEstateNaturalKey {
+
+    private RealEstateNaturalKey() {
+    }
+
+    public static String of(RealEstate realEstate) {
+        StringJoiner joiner = new StringJoiner("|");
+        joiner.add(realEstate.getRealEstateType() != null ? realEstate.getRealEstateType().name() : "")
+                .add(text(realEstate.getBeopJeongDongCode()))
+                .add(text(realEstate.getParcelNumber()))
+                .add(number(realEstate.getContractYear()))
+                .add(number(realEstate.getContractMonth()))
+                .add(number(realEstate.getContractDay()))
+                .add(text(realEstate.getFloor()))
+                .add(text(realEstate.getJeonYongArea()))
+                .add(amount(realEstate.getDealAmount()))
+                .add(amount(realEstate.getDeposit()))
+                .add(amount(realEstate.getMonthlyRent()));
+        return DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * RealEstateRow 의 숫자, 금액은 이미 컬럼에 저장되는 값이므로 그대로 사용한다.
+     */
+    public static String of(RealEstateRow row) {
+        StringJoiner joiner = new StringJoiner("|");
+        joiner.add(row.getRealEstateType() != null ? row.getRealEstateType().name() : "")
+                .add(text(row.getBeopJeongDongCode()))
+                .add(text(row.getParcelNumber()))
+                .add(String.valueOf(row.getContractYear()))
+                .add(String.valueOf(row.getContractMonth()))
+                .add(String.valueOf(row.getContractDay()))
+                .add(text(row.getFloor()))
+                .add(text(row.getJeonYongArea()))
+                .add(String.valueOf(row.getDealAmount()))
+                .add(String.valueOf(row.getDeposit()))
+                .add(String.valueOf(row.getMonthlyRent()));
+        return DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String number(Short value) {
+        return value != null ? value.toString() : "0";
+    }
+
+    private static String amount(BigDecimal value) {
+        return value != null ? value.setScale(0, RoundingMode.HALF_UP).toPlainString() : "0";
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.dsadara.realestatebatchservice.domain;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Comment;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+@Entity
+@Setter
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "region_month_statistics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_region_month_statistics", columnNames = {"realEstateType", "bjdCode", "dealYearMonth"}))
+public class RegionMonthStatistics {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+    @Comment("부동산 종류")
+    @Enumerated(EnumType.STRING)
+    private RealEstateType realEstateType;
+    @Comment("법정동 코드")
+    private String bjdCode;
+    @Comment("계약 연월")
+    private String dealYearMonth;
+    @Comment("마지막 수집에서 API 가 응답한 전체 데이터 건수")
+    private int rowCount;
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,16 @@
+package com.dsadara.realestatebatchservice.domain;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RegionMonthStatisticsRepository extends JpaRepository<RegionMonthStatistics, Integer> {
+
+    List<RegionMonthStatistics> findByRealEstateType(RealEstateType realEstateType);
+
+    List<RegionMonthStatistics> findByRealEstateTypeAndBjdCode(RealEstateType realEstateType, String bjdCode);
+
+}
@@ -0,0 +1,19 @@
+package com.dsadara.realestatebatchservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ApiPageResult {
+
+    // header
+    private String resultCode;
+    private String resultMsg;
+    // body
+    private int pageNo;
+    private int numOfRows;
+    private int totalCount;
+    private int itemCount;
+
+}
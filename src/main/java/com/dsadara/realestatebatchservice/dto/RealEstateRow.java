@@ -0,0 +1,48 @@
+package com.dsadara.realestatebatchservice.dto;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * real_estate 테이블의 한 행을 컬럼 타입 그대로 담는다. RealEstateRowBinder 가 JSON 토큰에서 바로 채우고
+ * RealEstateRowPreparedStatementSetter 가 그대로 바인딩하므로 RealEstateDto, RealEstate 를 만들지 않는다.
+ * 숫자와 금액은 값이 없으면 컬럼 기본값인 0, 문자열은 null(컬럼 기본값 '')이다.
+ * 종류가 적은 문자열은 ValueInterner 의 인스턴스를 공유하고, createdAt 은 같은 페이지의 행끼리 공유한다.
+ */
+@Getter
+@Setter
+public class RealEstateRow {
+
+    private RealEstateType realEstateType;
+    private LocalDateTime createdAt;
+    // 공통
+    private short constructYear;
+    private short contractYear;
+    private short contractMonth;
+    private short contractDay;
+    private String name;
+    private String beopJeongDong;
+    private String jeonYongArea;
+    private String parcelNumber;
+    private String beopJeongDongCode;
+    private String floor;
+    private String siGunGu;
+    // 매매
+    private long dealAmount;
+    private String cancelDealType;
+    private String cancelDealDay;
+    private String dealType;
+    private String agentAddress;
+    // 전월세
+    private String requestRenewalRight;
+    private String contractType;
+    private String contractPeriod;
+    private long monthlyRent;
+    private long deposit;
+    private long depositBefore;
+    private long monthlyRentBefore;
+
+}
@@ -0,0 +1,20 @@
+package com.dsadara.realestatebatchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * manager 가 worker 에게 실행을 맡기는 파티션 하나. worker 는 공유 job repository 에서 step execution 을 읽어 실행한다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StepExecutionRequest {
+
+    private final Long jobExecutionId;
+    private final Long stepExecutionId;
+    // 실행할 slave step 의 이름 (Step#getName)
+    private final String stepName;
+
+}
@@ -0,0 +1,9 @@
+package com.dsadara.realestatebatchservice.exception;
+
+public class DailyQuotaExceededException extends RuntimeException {
+
+    public DailyQuotaExceededException(String endpoint, long dailyQuota) {
+        super("[" + endpoint + "] 일일 api 호출 한도(" + dailyQuota + "회)를 초과했습니다.");
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.dsadara.realestatebatchservice.exception;
+
+import lombok.Getter;
+
+/**
+ * HTTP 200 으로 왔지만 response.header.resultCode 가 일시적인 서버 오류인 응답.
+ */
+@Getter
+public class OpenApiErrorResponseException extends RuntimeException {
+
+    private final String resultCode;
+
+    public OpenApiErrorResponseException(String endpoint, String resultCode, String resultMsg) {
+        super("[" + endpoint + "] api 오류 응답 ( resultCode: " + resultCode + ", resultMsg: " + resultMsg + " )");
+        this.resultCode = resultCode;
+    }
+
+}
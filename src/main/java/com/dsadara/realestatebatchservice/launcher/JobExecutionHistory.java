@@ -0,0 +1,58 @@
+package com.dsadara.realestatebatchservice.launcher;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * job repository 테이블에서 부동산 종류의 법정동 코드별 마지막 job execution 을 조회한다.
+ * JobExplorer 는 job execution 마다 모든 step execution 과 ExecutionContext 를 함께 읽으므로, 상태만 필요한 재개 모드에서는 한 번의 쿼리로 조회한다.
+ */
+@Profile("!rds-mariadb-migration")
+@Component
+public class JobExecutionHistory {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lastExecutionsSql;
+
+    public JobExecutionHistory(DataSource dataSource, @Value("${spring.batch.jdbc.table-prefix:BATCH_}") String tablePrefix) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.lastExecutionsSql = "SELECT e.JOB_EXECUTION_ID, e.STATUS, b.STRING_VAL AS BJD_CODE"
+                + " FROM " + tablePrefix + "JOB_EXECUTION e"
+                + " JOIN " + tablePrefix + "JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID"
+                + " JOIN " + tablePrefix + "JOB_EXECUTION_PARAMS t ON t.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID AND t.KEY_NAME = 'realEstateType'"
+                + " JOIN " + tablePrefix + "JOB_EXECUTION_PARAMS b ON b.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID AND b.KEY_NAME = 'bjdCode'"
+                + " WHERE i.JOB_NAME = ? AND t.STRING_VAL = ?"
+                + " ORDER BY e.JOB_EXECUTION_ID DESC";
+    }
+
+    /**
+     * @return 법정동 코드별 가장 최근 job execution. 한 번도 실행하지 않은 법정동 코드는 없다
+     */
+    public Map<String, LastJobExecution> findLastExecutions(String jobName, RealEstateType realEstateType) {
+        Map<String, LastJobExecution> lastExecutions = new HashMap<>();
+        jdbcTemplate.query(lastExecutionsSql, rs -> {
+            // 최신 실행부터 읽으므로 법정동 코드마다 처음 나온 행만 남긴다
+            lastExecutions.putIfAbsent(rs.getString("BJD_CODE"),
+                    new LastJobExecution(rs.getLong("JOB_EXECUTION_ID"), BatchStatus.valueOf(rs.getString("STATUS"))));
+        }, jobName, realEstateType.name());
+        return lastExecutions;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LastJobExecution {
+        private final long jobExecutionId;
+        private final BatchStatus status;
+    }
+
+}
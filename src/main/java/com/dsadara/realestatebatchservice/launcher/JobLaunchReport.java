@@ -0,0 +1,62 @@
+package com.dsadara.realestatebatchservice.launcher;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.Getter;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class JobLaunchReport {
+
+    @Getter
+    private final RealEstateType realEstateType;
+    private final Map<BatchStatus, Integer> statusCounts = new EnumMap<>(BatchStatus.class);
+    private final List<String> failedBjdCodes = new ArrayList<>();
+    private int launchErrorCount;
+
+    public JobLaunchReport(RealEstateType realEstateType) {
+        this.realEstateType = realEstateType;
+    }
+
+    public synchronized void addResult(String bjdCode, JobExecution jobExecution) {
+        statusCounts.merge(jobExecution.getStatus(), 1, Integer::sum);
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            failedBjdCodes.add(bjdCode);
+        }
+    }
+
+    public synchronized void addLaunchError(String bjdCode) {
+        launchErrorCount++;
+        failedBjdCodes.add(bjdCode);
+    }
+
+    public synchronized int getCount(BatchStatus batchStatus) {
+        return statusCounts.getOrDefault(batchStatus, 0);
+    }
+
+    public synchronized int getLaunchErrorCount() {
+        return launchErrorCount;
+    }
+
+    public synchronized List<String> getFailedBjdCodes() {
+        return Collections.unmodifiableList(new ArrayList<>(failedBjdCodes));
+    }
+
+    public synchronized boolean isAllCompleted() {
+        return failedBjdCodes.isEmpty();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "[" + realEstateType.getKrName() + "][성공:" + getCount(BatchStatus.COMPLETED)
+                + "][실패:" + getCount(BatchStatus.FAILED)
+                + "][중단:" + getCount(BatchStatus.STOPPED)
+                + "][실행 오류:" + launchErrorCount + "]";
+    }
+
+}
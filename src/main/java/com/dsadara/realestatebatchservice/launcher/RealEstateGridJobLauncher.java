@@ -0,0 +1,42 @@
+package com.dsadara.realestatebatchservice.launcher;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 부동산 종류마다 realEstateGridJob 을 한 번 실행한다. 법정동 코드별로 job 을 실행하는 RealEstateJobLauncher 와 달리
+ * job instance 와 master step 이 부동산 종류당 하나뿐이므로 job repository 기록과 실행 준비 비용이 줄어든다.
+ */
+@Profile({"local-mysql", "rds-mariadb"})
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RealEstateGridJobLauncher {
+
+    private final JobLauncher jobLauncher;
+    private final Job realEstateGridJob;
+    private final Environment env;
+
+    public JobExecution launchJob(RealEstateType realEstateType) throws Exception {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("baseUrl", env.getProperty("openapi.request.url." + realEstateType.name()))
+                .addString("serviceKey", env.getProperty("openapi.request.serviceKey"))
+                .addString("realEstateType", realEstateType.name())
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters();
+        JobExecution jobExecution = jobLauncher.run(realEstateGridJob, jobParameters);
+        log.info("[{}] grid job 실행 완료 -> ( 상태: {}, 파티션 수: {} )", realEstateType.getKrName(), jobExecution.getStatus(),
+                jobExecution.getStepExecutions().size() - 1);
+        return jobExecution;
+    }
+
+}
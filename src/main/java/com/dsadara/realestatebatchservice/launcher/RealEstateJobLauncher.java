@@ -1,17 +1,36 @@
 package com.dsadara.realestatebatchservice.launcher;
 
 import com.dsadara.realestatebatchservice.service.GenerateApiQueryParam;
+import com.dsadara.realestatebatchservice.service.IngestionWatermarkService;
 import com.dsadara.realestatebatchservice.type.RealEstateType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 @Profile("!rds-mariadb-migration")
 @Slf4j
 @RequiredArgsConstructor
@@ -22,37 +41,201 @@ public class RealEstateJobLauncher {
     private final Job realEstateJob;
     private final Environment env;
     private final GenerateApiQueryParam generateApiQueryParam;
+    private final TaskExecutor jobLaunchTaskExecutor;
+    private final IngestionWatermarkService ingestionWatermarkService;
+    private final JobExecutionHistory jobExecutionHistory;
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+    @Value("${launchPolicy.maxInFlightJobs:4}")
+    private int maxInFlightJobs = 4;
+    @Value("${launchPolicy.staleStartedMinutes:0}")
+    private long staleStartedMinutes;
 
     public void launchJob(RealEstateType realEstateType) throws Exception {
-        String requestUrl = env.getProperty("openapi.request.url." + realEstateType.name());
-        String serviceKey = env.getProperty("openapi.request.serviceKey");
         for (String bjdCode : generateApiQueryParam.getBjdCodeList()) {
-            JobParameters jobParameters = new JobParametersBuilder()
-                    .addString("baseUrl", requestUrl)
-                    .addString("serviceKey", serviceKey)
-                    .addString("bjdCode", bjdCode)
-                    .addString("realEstateType", realEstateType.name())
-                    .addLong("time", System.currentTimeMillis())
-                    .toJobParameters();
-            jobLauncher.run(realEstateJob, jobParameters);
+            jobLauncher.run(realEstateJob, createJobParameters(realEstateType, bjdCode));
+        }
+    }
+
+    /**
+     * 모든 부동산 종류와 법정동 코드의 job 을 jobLaunchTaskExecutor 에서 동시에 실행하고, 모든 job 이 끝날 때까지 기다린다.
+     * 동시에 실행되는 job 의 개수는 launchPolicy.maxInFlightJobs 로 제한되며, 자리가 없으면 제출하는 스레드가 기다린다.
+     * 실패하거나 중단된 job 은 executeWithRetry 와 같이 maxAttempts 번까지 재시작하고 마지막 결과를 보고서에 남긴다.
+     */
+    public Map<RealEstateType, JobLaunchReport> launchJobsConcurrently(List<RealEstateType> realEstateTypes, int maxAttempts) {
+        Map<RealEstateType, JobLaunchReport> reports = new EnumMap<>(RealEstateType.class);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        Semaphore inFlightJobs = new Semaphore(maxInFlightJobs);
+        for (RealEstateType realEstateType : realEstateTypes) {
+            JobLaunchReport report = new JobLaunchReport(realEstateType);
+            reports.put(realEstateType, report);
+            for (String bjdCode : generateApiQueryParam.getBjdCodeList()) {
+                JobParameters jobParameters = createJobParameters(realEstateType, bjdCode);
+                try {
+                    inFlightJobs.acquire();
+                    futures.add(CompletableFuture.runAsync(() -> runJob(report, bjdCode, jobParameters, maxAttempts), jobLaunchTaskExecutor)
+                            .whenComplete((result, e) -> inFlightJobs.release()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.error("[{}][법정동 코드 {}] job 제출 대기 중 인터럽트", realEstateType.getKrName(), bjdCode);
+                    report.addLaunchError(bjdCode);
+                } catch (RejectedExecutionException e) {
+                    // 종료 중인 executor
+                    inFlightJobs.release();
+                    log.error("[{}][법정동 코드 {}] job 제출 거부", realEstateType.getKrName(), bjdCode, e);
+                    report.addLaunchError(bjdCode);
+                }
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        reports.values().forEach(report -> log.info("[job 동시 실행 완료]{}", report));
+        return reports;
+    }
+
+    private void runJob(JobLaunchReport report, String bjdCode, JobParameters jobParameters, int maxAttempts) {
+        JobExecution jobExecution = runWithRestart(report.getRealEstateType(), bjdCode, jobParameters, maxAttempts);
+        if (jobExecution == null) {
+            report.addLaunchError(bjdCode);
+        } else {
+            report.addResult(bjdCode, jobExecution);
+        }
+    }
+
+    private JobParameters createJobParameters(RealEstateType realEstateType, String bjdCode) {
+        JobParametersBuilder jobParametersBuilder = new JobParametersBuilder()
+                .addString("baseUrl", env.getProperty("openapi.request.url." + realEstateType.name()))
+                .addString("serviceKey", env.getProperty("openapi.request.serviceKey"))
+                .addString("bjdCode", bjdCode)
+                .addString("realEstateType", realEstateType.name())
+                .addLong("time", System.currentTimeMillis());
+        // 증분 수집이면 기준 연월 이후만 호출한다
+        String fromDealYearMonth = ingestionWatermarkService.resolveFromDealYearMonth(realEstateType, bjdCode);
+        if (fromDealYearMonth != null) {
+            jobParametersBuilder.addString("fromDealYearMonth", fromDealYearMonth);
         }
+        return jobParametersBuilder.toJobParameters();
     }
 
+    /**
+     * 법정동 코드마다 job 을 실행하고, 실패하거나 중단된 job 은 같은 job parameter 로 다시 실행한다.
+     * 같은 job instance 를 재시작하므로 완료된 파티션은 건너뛰고 실패한 파티션(step execution)만, 저장된 페이지부터 다시 읽는다.
+     * api 호출 하나의 재시도는 ApiRetryer 가 맡는다.
+     */
     public void executeWithRetry(RealEstateType realEstateType, int maxAttempts) {
-        int attempt = 0;
-        while (attempt < maxAttempts) {
-            try {
-                launchJob(realEstateType);
-                return;
-            } catch (Exception e) {
-                attempt++;
-                if (attempt >= maxAttempts) {
-                    log.error("[{}] {} 번 재시도 후에도 데이터 호출 실패.", realEstateType.getKrName(), maxAttempts);
+        for (String bjdCode : generateApiQueryParam.getBjdCodeList()) {
+            runWithRestart(realEstateType, bjdCode, createJobParameters(realEstateType, bjdCode), maxAttempts);
+        }
+    }
+
+    /**
+     * 재개 모드(launchPolicy.resume). 법정동 코드별 마지막 job 이 FAILED, STOPPED 이면 그 job 의 job parameter 로 재시작하여
+     * 실패하거나 중단된 파티션만 다시 실행한다. 마지막 job 이 완료된 법정동 코드는 건너뛰고, 실행한 적 없는 법정동 코드는 새로 실행한다.
+     * 비정상 종료로 STARTED 로 남은 job 은 다른 프로세스가 실행 중일 수 있으므로 건너뛰고, 마지막 갱신 후 launchPolicy.staleStartedMinutes 가
+     * 지났으면 멈춘 실행으로 보고 FAILED 로 바꾼 뒤 재시작한다.
+     */
+    public void resume(RealEstateType realEstateType, int maxAttempts) {
+        Map<String, JobExecutionHistory.LastJobExecution> lastExecutions =
+                jobExecutionHistory.findLastExecutions(realEstateJob.getName(), realEstateType);
+        int restarted = 0;
+        int skipped = 0;
+        int launched = 0;
+        for (String bjdCode : generateApiQueryParam.getBjdCodeList()) {
+            JobExecutionHistory.LastJobExecution lastExecution = lastExecutions.get(bjdCode);
+            if (lastExecution == null) {
+                runWithRestart(realEstateType, bjdCode, createJobParameters(realEstateType, bjdCode), maxAttempts);
+                launched++;
+            } else if (isRestartable(lastExecution.getStatus())) {
+                JobExecution jobExecution = jobExplorer.getJobExecution(lastExecution.getJobExecutionId());
+                log.info("[{}][법정동 코드 {}] {} 상태인 job execution {} 의 실패한 파티션만 재시작", realEstateType.getKrName(), bjdCode,
+                        lastExecution.getStatus(), lastExecution.getJobExecutionId());
+                runWithRestart(realEstateType, bjdCode, jobExecution.getJobParameters(), maxAttempts);
+                restarted++;
+            } else if (lastExecution.getStatus().isRunning()) {
+                JobExecution jobExecution = jobExplorer.getJobExecution(lastExecution.getJobExecutionId());
+                Date lastUpdated = getLastUpdated(jobExecution);
+                if (isStale(lastUpdated)) {
+                    log.warn("[{}][법정동 코드 {}] {} 상태인 job execution {} 이 {} 이후 갱신되지 않아 FAILED 로 바꾸고 재시작", realEstateType.getKrName(),
+                            bjdCode, lastExecution.getStatus(), lastExecution.getJobExecutionId(), lastUpdated);
+                    markFailed(jobExecution);
+                    runWithRestart(realEstateType, bjdCode, jobExecution.getJobParameters(), maxAttempts);
+                    restarted++;
                 } else {
-                    log.error("[{}] {} 번째 재실행 시작", realEstateType.getKrName(), attempt);
+                    log.warn("[{}][법정동 코드 {}] 마지막 job execution {} 이 {} 상태(마지막 갱신 {})여서 재개하지 않음. "
+                                    + "실행 중인 프로세스가 없으면 launchPolicy.staleStartedMinutes 를 마지막 갱신 이후 지난 시간(분)보다 작게 설정하고 다시 재개",
+                            realEstateType.getKrName(), bjdCode, lastExecution.getJobExecutionId(), lastExecution.getStatus(), lastUpdated);
+                    skipped++;
                 }
+            } else {
+                skipped++;
             }
         }
+        log.info("[{}] 재개 완료 -> ( 재시작: {}, 새로 실행: {}, 건너뜀: {} )", realEstateType.getKrName(), restarted, launched, skipped);
+    }
+
+    /**
+     * 파티션(step execution)은 chunk 마다 갱신되므로 job execution 과 step execution 중 가장 최근 갱신 시각을 사용한다.
+     */
+    private static Date getLastUpdated(JobExecution jobExecution) {
+        Date lastUpdated = jobExecution.getLastUpdated() != null ? jobExecution.getLastUpdated() : jobExecution.getCreateTime();
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            if (stepExecution.getLastUpdated() != null && stepExecution.getLastUpdated().after(lastUpdated)) {
+                lastUpdated = stepExecution.getLastUpdated();
+            }
+        }
+        return lastUpdated;
+    }
+
+    private boolean isStale(Date lastUpdated) {
+        return staleStartedMinutes > 0
+                && System.currentTimeMillis() - lastUpdated.getTime() >= TimeUnit.MINUTES.toMillis(staleStartedMinutes);
+    }
+
+    /**
+     * 멈춘 실행의 실행 중인 파티션과 job 을 FAILED 로 끝내서, 같은 job instance 를 재시작할 수 있게 한다.
+     */
+    private void markFailed(JobExecution jobExecution) {
+        Date now = new Date();
+        ExitStatus exitStatus = ExitStatus.FAILED.addExitDescription("재개 모드에서 갱신되지 않는 실행을 FAILED 로 변경");
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            if (stepExecution.getStatus().isRunning()) {
+                stepExecution.setStatus(BatchStatus.FAILED);
+                stepExecution.setExitStatus(exitStatus);
+                stepExecution.setEndTime(now);
+                jobRepository.update(stepExecution);
+            }
+        }
+        jobExecution.setStatus(BatchStatus.FAILED);
+        jobExecution.setExitStatus(exitStatus);
+        jobExecution.setEndTime(now);
+        jobRepository.update(jobExecution);
+    }
+
+    /**
+     * @return 마지막 job execution. 모든 시도에서 job 을 실행하지 못했으면 null
+     */
+    private JobExecution runWithRestart(RealEstateType realEstateType, String bjdCode, JobParameters jobParameters, int maxAttempts) {
+        JobExecution jobExecution = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                jobExecution = jobLauncher.run(realEstateJob, jobParameters);
+                if (jobExecution == null || !isRestartable(jobExecution.getStatus())) {
+                    return jobExecution;
+                }
+                log.warn("[{}][법정동 코드 {}] job 이 {} 상태로 끝남", realEstateType.getKrName(), bjdCode, jobExecution.getStatus());
+            } catch (Exception e) {
+                log.error("[{}][법정동 코드 {}] job 실행 실패", realEstateType.getKrName(), bjdCode, e);
+            }
+            if (attempt >= maxAttempts) {
+                log.error("[{}] {} 번 재시도 후에도 데이터 호출 실패.", realEstateType.getKrName(), maxAttempts);
+            } else {
+                log.error("[{}] {} 번째 재실행 시작", realEstateType.getKrName(), attempt);
+            }
+        }
+        return jobExecution;
+    }
+
+    private static boolean isRestartable(BatchStatus status) {
+        return status == BatchStatus.FAILED || status == BatchStatus.STOPPED;
     }
 
 }
\ No newline at end of file
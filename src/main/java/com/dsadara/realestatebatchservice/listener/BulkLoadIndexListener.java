@@ -0,0 +1,62 @@
+package com.dsadara.realestatebatchservice.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.listener.JobExecutionListenerSupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * bulkLoadPolicy.disableIndexes 이고 writerPolicy.type 이 bulk 이면 job 시작 전에 보조 인덱스를 제거하고, job 이 끝나면 성공 여부와 관계없이 다시 만든다.
+ * 스크립트는 db/bulkload 에 둔다. flyway migration 은 버전마다 한 번만 실행되므로 실행할 때마다 필요한 작업은 listener 가 맡는다.
+ * 여러 job 이 동시에 실행되거나 이전 job 이 인덱스를 다시 만들지 못하고 종료되어도 실패하지 않도록 MariaDB 의 IF [NOT] EXISTS 문법을 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkLoadIndexListener extends JobExecutionListenerSupport {
+
+    static final String DROP_SCRIPT = "db/bulkload/drop-secondary-indexes.sql";
+    static final String REBUILD_SCRIPT = "db/bulkload/rebuild-secondary-indexes.sql";
+
+    private final DataSource dataSource;
+
+    @Value("${bulkLoadPolicy.disableIndexes:false}")
+    private boolean disableIndexes;
+    @Value("${writerPolicy.type:upsert}")
+    private String writerType;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        if (enabled()) {
+            log.info("[{}] bulk 적재 전 보조 인덱스 제거", jobExecution.getJobInstance().getJobName());
+            execute(DROP_SCRIPT);
+        }
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (enabled()) {
+            long start = System.currentTimeMillis();
+            execute(REBUILD_SCRIPT);
+            log.info("[{}] 보조 인덱스 재생성 완료 -> ( 소요 시간: {}ms )", jobExecution.getJobInstance().getJobName(),
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    private boolean enabled() {
+        return disableIndexes && "bulk".equals(writerType);
+    }
+
+    private void execute(String script) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(script));
+        populator.setCommentPrefixes("--", "#");
+        populator.execute(dataSource);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.dsadara.realestatebatchservice.listener;
+
+import com.dsadara.realestatebatchservice.service.GenerateApiQueryParam;
+import com.dsadara.realestatebatchservice.service.IngestionWatermarkService;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.listener.JobExecutionListenerSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * job 이 모든 계약 연월을 수집하고 완료되면 해당 부동산 종류, 법정동 코드의 기준 연월을 마지막 계약 연월로 갱신한다.
+ * 실패하거나 중단된 job 은 기준 연월을 바꾸지 않으므로 다음 실행에서 같은 구간을 다시 호출한다.
+ * 법정동 코드가 job parameter 에 없는 realEstateGridJob 은 모든 법정동 코드의 기준 연월을 갱신한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestionWatermarkListener extends JobExecutionListenerSupport {
+
+    private final IngestionWatermarkService ingestionWatermarkService;
+    private final GenerateApiQueryParam generateApiQueryParam;
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            return;
+        }
+        JobParameters jobParameters = jobExecution.getJobParameters();
+        String realEstateType = jobParameters.getString("realEstateType");
+        String bjdCode = jobParameters.getString("bjdCode");
+        List<String> dealYearMonthsList = generateApiQueryParam.getDealYearMonthsList();
+        if (realEstateType == null || dealYearMonthsList.isEmpty()) {
+            return;
+        }
+        String lastDealYearMonth = dealYearMonthsList.get(dealYearMonthsList.size() - 1);
+        List<String> bjdCodes = bjdCode != null ? Collections.singletonList(bjdCode) : generateApiQueryParam.getBjdCodeList();
+        for (String code : bjdCodes) {
+            ingestionWatermarkService.advance(RealEstateType.valueOf(realEstateType), code, lastDealYearMonth);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.dsadara.realestatebatchservice.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * slave step 하나가 단계별로 기록하는 meter 를 모은다. 부동산 종류(realEstateType), 법정동 코드(region), 계약 연월(month) tag 를 붙인다.
+ * step 을 시작할 때 PipelineStageMetricsListener 가 만들어 StepContext 에 두므로, 같은 step 을 등록한 작업 스레드(AsyncItemProcessor)도 같은 meter 를 사용한다.
+ * region, month tag 는 metricsPolicy.regionMonthTags 가 꺼져 있으면 registry 에서 제거된다.
+ */
+@Getter
+public class PipelineStageMeters {
+
+    static final String ATTRIBUTE = PipelineStageMeters.class.getName();
+    private static final String NONE = "none";
+    private static final PipelineStageMeters UNTAGGED = new PipelineStageMeters(Tags.empty());
+
+    private final Timer readTimer;
+    private final Timer processTimer;
+    private final Timer processWaitTimer;
+    private final Timer writeTimer;
+    private final Counter readItems;
+    private final Counter processItems;
+    private final Counter writeItems;
+    private final Timer chunkTimer;
+    private final DistributionSummary chunkThroughput;
+
+    PipelineStageMeters(Tags tags) {
+        readTimer = stageTimer("read", tags);
+        processTimer = stageTimer("process", tags);
+        processWaitTimer = stageTimer("processWait", tags);
+        writeTimer = stageTimer("write", tags);
+        readItems = Metrics.counter("pipeline.stage.items", tags.and("stage", "read"));
+        processItems = Metrics.counter("pipeline.stage.items", tags.and("stage", "process"));
+        writeItems = Metrics.counter("pipeline.stage.items", tags.and("stage", "write"));
+        chunkTimer = Timer.builder("pipeline.chunk.latency")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+        chunkThroughput = DistributionSummary.builder("pipeline.chunk.throughput")
+                .description("chunk 하나의 초당 쓰기 건수")
+                .baseUnit("rows_per_second")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(Metrics.globalRegistry);
+    }
+
+    static PipelineStageMeters of(StepExecution stepExecution) {
+        JobParameters jobParameters = stepExecution.getJobParameters();
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        return new PipelineStageMeters(Tags.of(
+                "realEstateType", valueOf(jobParameters.getString("realEstateType")),
+                "region", valueOf(executionContext.getString("bjdCode", jobParameters.getString("bjdCode"))),
+                "month", valueOf(executionContext.getString("dealYearMonth", null))));
+    }
+
+    /**
+     * 현재 스레드에 등록된 step 의 meter 를 반환한다. step 밖에서 호출하면 tag 가 없는 meter 를 반환한다.
+     */
+    public static PipelineStageMeters current() {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        Object meters = stepContext != null ? stepContext.getAttribute(ATTRIBUTE) : null;
+        return meters != null ? (PipelineStageMeters) meters : UNTAGGED;
+    }
+
+    private static Timer stageTimer(String stage, Tags tags) {
+        return Timer.builder("pipeline.stage.latency")
+                .tags(tags)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+
+    private static String valueOf(String value) {
+        return value != null && !value.isEmpty() ? value : NONE;
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.dsadara.realestatebatchservice.listener;
+
+import com.dsadara.realestatebatchservice.processor.AsyncItemProcessor;
+import com.dsadara.realestatebatchservice.service.ThroughputMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * slave step 의 읽기, 변환, 쓰기 단계별 소요 시간과 처리 건수(pipeline.stage.latency, pipeline.stage.items),
+ * chunk 하나의 소요 시간과 초당 쓰기 건수(pipeline.chunk.latency, pipeline.chunk.throughput)를 기록한다. 단계별 처리량을 비교하여 병목 단계를 찾는다.
+ * 같은 측정값을 chunk 마다 더해 ThroughputMonitor(대시보드)에도 기록하고, 실행 중인 파티션 수를 센다.
+ * chunk 는 step 스레드 하나에서 실행되므로 측정 중인 값은 ThreadLocal 에 둔다.
+ * pipelinePolicy.enabled 이면 변환 단계는 AsyncItemProcessor 가 작업 스레드에서 기록하고, 쓰기가 끝난 뒤 Future 에 담긴 변환 시간과 끝난 시각으로
+ * AsyncItemWriter 가 변환을 기다린 시간(processWait)과 실제로 쓴 시간(write)을 나눈다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineStageMetricsListener implements StepExecutionListener, ChunkListener,
+        ItemReadListener<Object>, ItemProcessListener<Object, Object>, ItemWriteListener<Object> {
+
+    private static final int CHUNK_START = 0;
+    private static final int STAGE_START = 1;
+    private static final int READ = 2;
+    private static final int PROCESS = 3;
+    private static final int WRITE = 4;
+    private static final int READ_COUNT = 5;
+    private static final int PROCESS_COUNT = 6;
+    private static final int WRITE_COUNT = 7;
+
+    private final ThroughputMonitor throughputMonitor;
+    private final ThreadLocal<long[]> chunkTimes = ThreadLocal.withInitial(() -> new long[8]);
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        StepSynchronizationManager.getContext().setAttribute(PipelineStageMeters.ATTRIBUTE, PipelineStageMeters.of(stepExecution));
+        throughputMonitor.partitionStarted();
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        throughputMonitor.partitionFinished(stepExecution.getStatus());
+        chunkTimes.remove();
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        long[] times = chunkTimes.get();
+        Arrays.fill(times, 0);
+        times[CHUNK_START] = System.nanoTime();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        long[] times = chunkTimes.get();
+        long elapsedNanos = System.nanoTime() - times[CHUNK_START];
+        PipelineStageMeters meters = PipelineStageMeters.current();
+        meters.getChunkTimer().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (times[WRITE_COUNT] > 0 && elapsedNanos > 0) {
+            meters.getChunkThroughput().record(times[WRITE_COUNT] * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        }
+        // 마지막에 읽을 데이터가 없어서 빈 chunk 는 대시보드에 기록하지 않는다
+        if (times[READ_COUNT] > 0) {
+            throughputMonitor.recordChunk(elapsedNanos, times[READ], times[PROCESS_COUNT] > 0 ? times[PROCESS] : -1, times[WRITE]);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+    }
+
+    @Override
+    public void beforeRead() {
+        chunkTimes.get()[STAGE_START] = System.nanoTime();
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        long[] times = chunkTimes.get();
+        long elapsedNanos = System.nanoTime() - times[STAGE_START];
+        times[READ] += elapsedNanos;
+        times[READ_COUNT]++;
+        PipelineStageMeters meters = PipelineStageMeters.current();
+        meters.getReadTimer().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meters.getReadItems().increment();
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+    }
+
+    @Override
+    public void beforeProcess(Object item) {
+        chunkTimes.get()[STAGE_START] = System.nanoTime();
+    }
+
+    @Override
+    public void afterProcess(Object item, Object result) {
+        // AsyncItemProcessor 는 변환을 제출만 하므로 작업 스레드에서 따로 기록한다
+        if (result instanceof Future) {
+            return;
+        }
+        long[] times = chunkTimes.get();
+        long elapsedNanos = System.nanoTime() - times[STAGE_START];
+        times[PROCESS] += elapsedNanos;
+        times[PROCESS_COUNT]++;
+        PipelineStageMeters meters = PipelineStageMeters.current();
+        meters.getProcessTimer().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meters.getProcessItems().increment();
+    }
+
+    @Override
+    public void onProcessError(Object item, Exception e) {
+    }
+
+    @Override
+    public void beforeWrite(List<?> items) {
+        chunkTimes.get()[STAGE_START] = System.nanoTime();
+    }
+
+    @Override
+    public void afterWrite(List<?> items) {
+        long[] times = chunkTimes.get();
+        long end = System.nanoTime();
+        long writeStart = times[STAGE_START];
+        PipelineStageMeters meters = PipelineStageMeters.current();
+        // AsyncItemWriter 는 모든 Future 가 끝난 뒤에 쓰므로, 마지막 변환이 끝난 시각까지는 변환을 기다린 시간이다
+        long lastProcessDone = writeStart;
+        for (Object item : items) {
+            if (item instanceof AsyncItemProcessor.ProcessFuture) {
+                AsyncItemProcessor.ProcessFuture<?> future = (AsyncItemProcessor.ProcessFuture<?>) item;
+                if (future.getProcessNanos() >= 0) {
+                    times[PROCESS] += future.getProcessNanos();
+                    times[PROCESS_COUNT]++;
+                    lastProcessDone = Math.max(lastProcessDone, Math.min(future.getDoneNanos(), end));
+                }
+            }
+        }
+        if (!items.isEmpty() && items.get(0) instanceof Future) {
+            meters.getProcessWaitTimer().record(lastProcessDone - writeStart, TimeUnit.NANOSECONDS);
+        }
+        long writeNanos = end - lastProcessDone;
+        times[WRITE] += writeNanos;
+        times[WRITE_COUNT] += items.size();
+        meters.getWriteTimer().record(writeNanos, TimeUnit.NANOSECONDS);
+        meters.getWriteItems().increment(items.size());
+        throughputMonitor.recordWritten(items.size());
+    }
+
+    @Override
+    public void onWriteError(Exception exception, List<?> items) {
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.dsadara.realestatebatchservice.listener;
+
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import com.dsadara.realestatebatchservice.reader.ApiItemReader;
+import com.dsadara.realestatebatchservice.reader.AsyncFetchItemReader;
+import com.dsadara.realestatebatchservice.reader.GridApiItemReader;
+import com.dsadara.realestatebatchservice.service.RegionMonthStatisticsService;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * slave step 이 완료되면 reader 가 ExecutionContext 에 남긴 셀별 전체 데이터 건수를 저장한다.
+ * 통계 저장에 실패해도 수집 결과에는 영향이 없으므로 step 은 실패로 바꾸지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegionMonthStatisticsListener implements StepExecutionListener {
+
+    private static final String GRID_ROW_COUNTS = "gridApiItemReader." + GridApiItemReader.ROW_COUNTS;
+    private static final String ASYNC_ROW_COUNTS = "asyncFetchItemReader." + AsyncFetchItemReader.ROW_COUNTS;
+    private static final String TOTAL_COUNT = "apiItemReader." + ApiItemReader.TOTAL_COUNT;
+
+    private final RegionMonthStatisticsService regionMonthStatisticsService;
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        String realEstateType = stepExecution.getJobParameters().getString("realEstateType");
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED || realEstateType == null) {
+            return stepExecution.getExitStatus();
+        }
+        Map<String, Integer> rowCountsByCell = getRowCountsByCell(stepExecution);
+        if (rowCountsByCell.isEmpty()) {
+            return stepExecution.getExitStatus();
+        }
+        try {
+            regionMonthStatisticsService.record(RealEstateType.valueOf(realEstateType), rowCountsByCell);
+        } catch (Exception e) {
+            log.warn("[{}] 셀 데이터 건수 저장 실패: {}", stepExecution.getStepName(), e.getMessage());
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    private Map<String, Integer> getRowCountsByCell(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        // realEstateGridJob 의 파티션은 여러 셀을 읽으므로 셀별 건수를 가지고 있다
+        if (executionContext.containsKey(GRID_ROW_COUNTS)) {
+            return GridApiItemReader.decodeRowCounts(executionContext.getString(GRID_ROW_COUNTS));
+        }
+        if (executionContext.containsKey(ASYNC_ROW_COUNTS)) {
+            return GridApiItemReader.decodeRowCounts(executionContext.getString(ASYNC_ROW_COUNTS));
+        }
+        String bjdCode = stepExecution.getJobParameters().getString("bjdCode");
+        String dealYearMonth = executionContext.getString("dealYearMonth", null);
+        if (!executionContext.containsKey(TOTAL_COUNT) || bjdCode == null || dealYearMonth == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.singletonMap(RegionMonthGridPartitioner.cellOf(bjdCode, dealYearMonth), executionContext.getInt(TOTAL_COUNT));
+    }
+
+}
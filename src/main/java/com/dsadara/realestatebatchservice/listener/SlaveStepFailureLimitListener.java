@@ -1,45 +1,151 @@
 package com.dsadara.realestatebatchservice.listener;
 
+import com.dsadara.realestatebatchservice.service.PartitionCircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobExecutionNotRunningException;
 import org.springframework.batch.core.launch.JobOperator;
 import org.springframework.batch.core.launch.NoSuchJobExecutionException;
 import org.springframework.batch.core.listener.StepExecutionListenerSupport;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * slave step 결과를 job 실행마다 PartitionCircuitBreaker 로 집계하여, 실패한 step 수나 최근 실패율이 기준을 넘으면 job 을 중단한다.
+ * 기준은 circuitBreakerPolicy.{부동산 종류}.* 가 있으면 그 값을, 없으면 circuitBreakerPolicy.* 기본값을 사용한다.
+ * circuit breaker 가 열린 뒤 시작하는 파티션은 beforeStep 에서 중단 표시하므로 첫 chunk 전에, 즉 api 를 호출하기 전에 STOPPED 로 끝난다.
+ * circuit breaker 는 JVM 마다 따로 있으므로 partitionPolicy.mode 가 remote, embedded 이면 기준은 worker 하나가 실행한 파티션마다 적용되고,
+ * 한 worker 가 연 circuit breaker 는 jobOperator.stop 으로 job 을 중단시켜 다른 worker 의 남은 파티션도 멈춘다.
+ * job 의 circuit breaker 는 job 이 끝나면(afterJob) 지우고, afterJob 이 호출되지 않는 worker 에서는 새 job 의 파티션이 끝날 때
+ * job repository 에서 실행 중이 아닌 job 의 것을 지운다.
+ */
 @Slf4j
 @Component
-public class SlaveStepFailureLimitListener extends StepExecutionListenerSupport {
+public class SlaveStepFailureLimitListener extends StepExecutionListenerSupport implements JobExecutionListener {
+
+    public static final String FAILED_STEPS = "failedSteps";
 
     @Autowired
     private JobOperator jobOperator;
+    @Autowired(required = false)
+    private Environment env;
+    @Autowired(required = false)
+    private JobExplorer jobExplorer;
+
+    // 원격 worker 가 따로 조회한 JobExecution 도 같은 circuit breaker 를 사용하도록 job execution id 로 찾는다
+    private final ConcurrentMap<Long, PartitionCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        circuitBreakers.remove(jobExecution.getId());
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        PartitionCircuitBreaker circuitBreaker = circuitBreakers.get(stepExecution.getJobExecutionId());
+        if (circuitBreaker != null && circuitBreaker.isOpen()) {
+            // job 의 STOPPING 상태가 job repository 를 거쳐 전달되기를 기다리지 않고 바로 중단한다
+            stepExecution.setTerminateOnly();
+            log.warn("[{}] job 중단이 요청되어 파티션을 실행하지 않습니다.", stepExecution.getStepName());
+        }
+    }
 
     @Override
     public ExitStatus afterStep(StepExecution stepExecution) {
-        if (stepExecution.getStatus() == BatchStatus.FAILED) {
-            JobExecution jobExecution = stepExecution.getJobExecution();
-            int failedSteps = jobExecution.getExecutionContext().getInt("failedSteps", 0);
-            jobExecution.getExecutionContext().put("failedSteps", ++failedSteps);
-            if (failedSteps >= 50) {
-                try {
-                    return handleFailureLimitExceed(stepExecution);
-                } catch (NoSuchJobExecutionException | JobExecutionNotRunningException e) {
-                    throw new RuntimeException(e);
-                }
-            }
+        BatchStatus status = stepExecution.getStatus();
+        // 중단된 step 은 실패율에 넣지 않는다
+        if (status != BatchStatus.COMPLETED && status != BatchStatus.FAILED) {
+            return stepExecution.getExitStatus();
+        }
+        JobExecution jobExecution = stepExecution.getJobExecution();
+        PartitionCircuitBreaker circuitBreaker = getCircuitBreaker(jobExecution);
+        boolean failed = status == BatchStatus.FAILED;
+        boolean opened = circuitBreaker.record(failed);
+        if (failed) {
+            publishFailedSteps(jobExecution.getExecutionContext(), circuitBreaker);
+        }
+        if (opened) {
+            handleFailureLimitExceed(stepExecution, circuitBreaker);
         }
         return stepExecution.getExitStatus();
     }
 
-    public ExitStatus handleFailureLimitExceed(StepExecution stepExecution) throws NoSuchJobExecutionException, JobExecutionNotRunningException {
-        jobOperator.stop(stepExecution.getJobExecutionId());
-        log.error("slave step의 실패 횟수가 50개를 초과하여 job의 실행을 중단합니다.");
-        return ExitStatus.FAILED;
+    /**
+     * 여러 slave step 이 동시에 쓰므로, 쓴 뒤 저장된 값이 최신 실패 건수와 다르면 다시 쓴다. 마지막으로 쓴 스레드가 항상 최신 값을 남긴다.
+     */
+    private void publishFailedSteps(ExecutionContext jobExecutionContext, PartitionCircuitBreaker circuitBreaker) {
+        int failedSteps;
+        do {
+            failedSteps = circuitBreaker.getFailedSteps();
+            jobExecutionContext.putInt(FAILED_STEPS, failedSteps);
+        } while (jobExecutionContext.getInt(FAILED_STEPS) != circuitBreaker.getFailedSteps());
+    }
+
+    private PartitionCircuitBreaker getCircuitBreaker(JobExecution jobExecution) {
+        PartitionCircuitBreaker circuitBreaker = circuitBreakers.get(jobExecution.getId());
+        if (circuitBreaker != null) {
+            return circuitBreaker;
+        }
+        evictFinishedJobs();
+        return circuitBreakers.computeIfAbsent(jobExecution.getId(), id -> createCircuitBreaker(jobExecution));
+    }
+
+    /**
+     * worker 에서는 afterJob 이 호출되지 않고 worker 가 조회한 JobExecution 은 갱신되지 않으므로, 새 job 의 첫 파티션이 끝날 때
+     * job repository 에서 실행 중이 아닌 job 의 circuit breaker 를 지운다.
+     */
+    private void evictFinishedJobs() {
+        if (jobExplorer == null) {
+            return;
+        }
+        circuitBreakers.keySet().removeIf(jobExecutionId -> {
+            JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
+            return jobExecution == null || !jobExecution.isRunning();
+        });
+    }
+
+    private PartitionCircuitBreaker createCircuitBreaker(JobExecution jobExecution) {
+        String realEstateType = jobExecution.getJobParameters().getString("realEstateType");
+        String policyPrefix = realEstateType == null ? "circuitBreakerPolicy." : "circuitBreakerPolicy." + realEstateType + ".";
+        int windowSize = getPolicy(policyPrefix, "windowSize", Integer.class, 20);
+        return new PartitionCircuitBreaker(
+                getPolicy(policyPrefix, "maxFailedSteps", Integer.class, 50),
+                getPolicy(policyPrefix, "failureRate", Double.class, 0.0),
+                windowSize,
+                getPolicy(policyPrefix, "minimumSteps", Integer.class, windowSize));
+    }
+
+    private <T> T getPolicy(String policyPrefix, String name, Class<T> type, T defaultValue) {
+        if (env == null) {
+            return defaultValue;
+        }
+        T value = env.getProperty(policyPrefix + name, type);
+        return value != null ? value : env.getProperty("circuitBreakerPolicy." + name, type, defaultValue);
+    }
+
+    public void handleFailureLimitExceed(StepExecution stepExecution, PartitionCircuitBreaker circuitBreaker) {
+        log.error("slave step 실패가 기준을 넘어 job의 실행을 중단합니다. ( 실패 {}/{}개, 최근 실패율 {}% )",
+                circuitBreaker.getFailedSteps(), circuitBreaker.getMaxFailedSteps(), Math.round(circuitBreaker.getWindowFailureRate() * 100));
+        try {
+            jobOperator.stop(stepExecution.getJobExecutionId());
+        } catch (NoSuchJobExecutionException | JobExecutionNotRunningException e) {
+            // 이 프로세스의 남은 파티션은 circuit breaker 로 이미 중단된다
+            log.warn("job 중단 요청 실패 ( jobExecutionId: {} ): {}", stepExecution.getJobExecutionId(), e.getMessage());
+        }
     }
 
 }
@@ -19,7 +19,9 @@ public class StepExceptionLogger implements StepExecutionListener {
     public ExitStatus afterStep(StepExecution stepExecution) {
         String exitCode = stepExecution.getExitStatus().getExitCode();
         String errorMessage = stepExecution.getExitStatus().getExitDescription();
-        String bjdCode = stepExecution.getJobExecution().getJobParameters().getString("bjdCode", "11110");
+        // realEstateGridJob 의 파티션은 법정동 코드를 step ExecutionContext 에 가지고 있다
+        String bjdCode = stepExecution.getExecutionContext().getString("bjdCode",
+                stepExecution.getJobExecution().getJobParameters().getString("bjdCode", "11110"));
         String dealYearMonth = stepExecution.getExecutionContext().getString("dealYearMonth", "200001");
 
         if (exitCode.equals("FAILED")) {
@@ -0,0 +1,35 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 파티션을 예상 데이터 건수(estimatedRows)가 큰 순서로 task executor 에 제출한다 (longest-processing-time-first).
+ * StepExecutionSplitter 는 파티션을 HashSet 으로 넘기므로 순서를 정하지 않으면 가장 무거운 파티션이 마지막에 시작되어 job 전체가 늦게 끝날 수 있다.
+ */
+public class HeaviestFirstPartitionHandler extends TaskExecutorPartitionHandler {
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution masterStepExecution, Set<StepExecution> partitionStepExecutions) throws Exception {
+        return super.doHandle(masterStepExecution, new LinkedHashSet<>(heaviestFirst(partitionStepExecutions)));
+    }
+
+    static List<StepExecution> heaviestFirst(Set<StepExecution> partitionStepExecutions) {
+        List<StepExecution> ordered = new ArrayList<>(partitionStepExecutions);
+        ordered.sort(Comparator.comparingLong(HeaviestFirstPartitionHandler::estimatedRowsOf).reversed());
+        return ordered;
+    }
+
+    private static long estimatedRowsOf(StepExecution stepExecution) {
+        // 재실행에서 ExecutionContext 를 역직렬화하면 작은 long 값이 Integer 로 돌아오므로 Number 로 읽는다
+        Object estimatedRows = stepExecution.getExecutionContext().get(RowCountBalancedPartitioner.ESTIMATED_ROWS);
+        return estimatedRows instanceof Number ? ((Number) estimatedRows).longValue() : 0L;
+    }
+
+}
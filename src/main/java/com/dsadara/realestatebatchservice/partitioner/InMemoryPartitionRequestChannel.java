@@ -0,0 +1,26 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import com.dsadara.realestatebatchservice.dto.StepExecutionRequest;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 JVM 안의 worker 에게 요청을 전달한다. 테스트와 partitionPolicy.mode=embedded 에서 브로커 대신 사용한다.
+ */
+public class InMemoryPartitionRequestChannel implements PartitionRequestChannel {
+
+    private final BlockingQueue<StepExecutionRequest> queue = new LinkedBlockingQueue<>();
+
+    @Override
+    public void send(StepExecutionRequest request) {
+        queue.add(request);
+    }
+
+    @Override
+    public StepExecutionRequest receive(long timeoutMillis) throws InterruptedException {
+        return queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import com.dsadara.realestatebatchservice.dto.StepExecutionRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * job repository 와 같은 DB 의 partition_request 테이블을 큐로 사용한다. 별도 브로커 없이 여러 JVM 의 worker 가 요청을 나눠 가진다.
+ * worker 는 요청 행에 자신(claimed_by)과 시각(claimed_at)을 기록하는 데 성공했을 때만 실행하므로 요청 하나는 한 번에 worker 하나만 실행한다.
+ * 행은 step 이 끝난 뒤 complete 에서 삭제한다. 실행 중에는 renew 로 claimed_at 을 갱신하고,
+ * worker 가 죽어 leaseMillis 동안 갱신되지 않은 요청은 다른 worker 가 다시 가져간다.
+ */
+@Slf4j
+public class JdbcPartitionRequestChannel implements PartitionRequestChannel {
+
+    static final String INSERT_SQL = "INSERT INTO partition_request (job_execution_id, step_execution_id, step_name, created_at) VALUES (?, ?, ?, ?)";
+    static final String SELECT_SQL = "SELECT id, job_execution_id, step_execution_id, step_name, claimed_by FROM partition_request"
+            + " WHERE claimed_at IS NULL OR claimed_at < ? ORDER BY id LIMIT 1";
+    static final String CLAIM_SQL = "UPDATE partition_request SET claimed_by = ?, claimed_at = ?"
+            + " WHERE id = ? AND (claimed_at IS NULL OR claimed_at < ?)";
+    static final String RENEW_SQL = "UPDATE partition_request SET claimed_at = ? WHERE step_execution_id = ? AND claimed_by = ?";
+    static final String COMPLETE_SQL = "DELETE FROM partition_request WHERE step_execution_id = ? AND claimed_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollIntervalMillis;
+    private final long leaseMillis;
+    private final String owner;
+
+    /**
+     * @param leaseMillis worker 가 갱신하지 않은 요청을 다른 worker 가 다시 가져가기까지의 시간. worker 들의 시계 차이보다 충분히 길어야 한다
+     */
+    public JdbcPartitionRequestChannel(DataSource dataSource, long pollIntervalMillis, long leaseMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.pollIntervalMillis = Math.max(pollIntervalMillis, 1);
+        this.leaseMillis = Math.max(leaseMillis, 1);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public void send(StepExecutionRequest request) {
+        jdbcTemplate.update(INSERT_SQL, request.getJobExecutionId(), request.getStepExecutionId(), request.getStepName(),
+                new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Override
+    public StepExecutionRequest receive(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            long now = System.currentTimeMillis();
+            Timestamp expiredBefore = new Timestamp(now - leaseMillis);
+            List<ClaimCandidate> candidates = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new ClaimCandidate(rs.getLong("id"),
+                    new StepExecutionRequest(rs.getLong("job_execution_id"), rs.getLong("step_execution_id"), rs.getString("step_name")),
+                    rs.getString("claimed_by")), expiredBefore);
+            if (!candidates.isEmpty()) {
+                ClaimCandidate candidate = candidates.get(0);
+                // 다른 worker 가 먼저 가져갔으면 바로 다음 요청을 찾는다
+                if (jdbcTemplate.update(CLAIM_SQL, owner, new Timestamp(now), candidate.id, expiredBefore) == 1) {
+                    if (candidate.previousOwner != null) {
+                        log.warn("lease 가 만료된 파티션 요청을 다시 가져옴 -> ( 요청: {}, 이전 worker: {} )", candidate.request, candidate.previousOwner);
+                    }
+                    return candidate.request;
+                }
+                continue;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            Thread.sleep(Math.min(pollIntervalMillis, remaining));
+        }
+    }
+
+    @Override
+    public void renew(StepExecutionRequest request) {
+        if (jdbcTemplate.update(RENEW_SQL, new Timestamp(System.currentTimeMillis()), request.getStepExecutionId(), owner) == 0) {
+            log.warn("파티션 요청의 lease 를 갱신하지 못함 (다른 worker 가 가져갔거나 이미 완료됨): {}", request);
+        }
+    }
+
+    @Override
+    public void complete(StepExecutionRequest request) {
+        jdbcTemplate.update(COMPLETE_SQL, request.getStepExecutionId(), owner);
+    }
+
+    private static class ClaimCandidate {
+        private final long id;
+        private final StepExecutionRequest request;
+        private final String previousOwner;
+
+        private ClaimCandidate(long id, StepExecutionRequest request, String previousOwner) {
+            this.id = id;
+            this.request = request;
+            this.previousOwner = previousOwner;
+        }
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import com.dsadara.realestatebatchservice.dto.StepExecutionRequest;
+
+/**
+ * 원격 파티셔닝에서 manager 가 파티션 실행 요청을 보내고 worker 가 받는 통로.
+ * 파티션의 실행 결과는 채널이 아니라 manager 와 worker 가 함께 쓰는 job repository 로 전달된다.
+ */
+public interface PartitionRequestChannel {
+
+    void send(StepExecutionRequest request);
+
+    /**
+     * @return 요청 하나. timeoutMillis 동안 요청이 없으면 null
+     */
+    StepExecutionRequest receive(long timeoutMillis) throws InterruptedException;
+
+    /**
+     * 받은 요청을 실행하는 동안 주기적으로 호출하여 worker 가 살아 있음을 알린다.
+     */
+    default void renew(StepExecutionRequest request) {
+    }
+
+    /**
+     * step 이 끝난 요청을 채널에서 지운다. 호출하지 못하고 worker 가 죽은 요청은 채널에 따라 다른 worker 에게 다시 전달된다.
+     */
+    default void complete(StepExecutionRequest request) {
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * (법정동 코드 x 계약 연월) 전체를 한 job 의 파티션으로 나눈다.
+ * groupBeforeDealYearMonth 이전의 계약 연월은 데이터가 적고 바뀌지 않으므로 법정동 코드, 연도별로 최대 maxCellsPerPartition 개씩 묶어
+ * step execution 하나에서 처리하고, 최근 계약 연월은 하나씩 파티션으로 만든다.
+ * 각 파티션의 ExecutionContext 에는 처리할 셀 목록(cells: "법정동코드:계약연월" 을 ',' 로 연결)이 들어간다.
+ */
+public class RegionMonthGridPartitioner implements Partitioner {
+
+    public static final String CELLS = "cells";
+    public static final String CELL_SEPARATOR = ",";
+    public static final String REGION_MONTH_SEPARATOR = ":";
+
+    private final List<String> bjdCodeList;
+    private final Function<String, List<String>> dealYearMonthsByBjdCode;
+    private final String groupBeforeDealYearMonth;
+    private final int maxCellsPerPartition;
+
+    public RegionMonthGridPartitioner(List<String> bjdCodeList, Function<String, List<String>> dealYearMonthsByBjdCode,
+                                      String groupBeforeDealYearMonth, int maxCellsPerPartition) {
+        this.bjdCodeList = bjdCodeList;
+        this.dealYearMonthsByBjdCode = dealYearMonthsByBjdCode;
+        this.groupBeforeDealYearMonth = groupBeforeDealYearMonth;
+        this.maxCellsPerPartition = Math.max(maxCellsPerPartition, 1);
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> result = new LinkedHashMap<>();
+        for (String bjdCode : bjdCodeList) {
+            List<String> group = new ArrayList<>();
+            String groupYear = null;
+            for (String dealYearMonth : dealYearMonthsByBjdCode.apply(bjdCode)) {
+                if (dealYearMonth.compareTo(groupBeforeDealYearMonth) >= 0) {
+                    addPartition(result, bjdCode, group);
+                    group = new ArrayList<>();
+                    addPartition(result, bjdCode, singletonList(dealYearMonth));
+                    continue;
+                }
+                String year = dealYearMonth.substring(0, 4);
+                if (!year.equals(groupYear) || group.size() >= maxCellsPerPartition) {
+                    addPartition(result, bjdCode, group);
+                    group = new ArrayList<>();
+                    groupYear = year;
+                }
+                group.add(dealYearMonth);
+            }
+            addPartition(result, bjdCode, group);
+        }
+        return result;
+    }
+
+    private void addPartition(Map<String, ExecutionContext> result, String bjdCode, List<String> dealYearMonths) {
+        if (dealYearMonths.isEmpty()) {
+            return;
+        }
+        String first = dealYearMonths.get(0);
+        String last = dealYearMonths.get(dealYearMonths.size() - 1);
+        String label = first.equals(last) ? first : first + "-" + last;
+
+        List<String> cells = new ArrayList<>(dealYearMonths.size());
+        for (String dealYearMonth : dealYearMonths) {
+            cells.add(cellOf(bjdCode, dealYearMonth));
+        }
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putString("bjdCode", bjdCode);
+        executionContext.putString("dealYearMonth", label);
+        executionContext.putString(CELLS, String.join(CELL_SEPARATOR, cells));
+        result.put(bjdCode + REGION_MONTH_SEPARATOR + label, executionContext);
+    }
+
+    public static String cellOf(String bjdCode, String dealYearMonth) {
+        return bjdCode + REGION_MONTH_SEPARATOR + dealYearMonth;
+    }
+
+    private static List<String> singletonList(String value) {
+        List<String> list = new ArrayList<>(1);
+        list.add(value);
+        return list;
+    }
+
+}
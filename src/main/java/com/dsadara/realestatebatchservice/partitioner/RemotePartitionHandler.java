@@ -0,0 +1,79 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import com.dsadara.realestatebatchservice.dto.StepExecutionRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.partition.support.AbstractPartitionHandler;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * manager 쪽 파티션 핸들러. 파티션마다 실행 요청을 PartitionRequestChannel 로 보내고(예상 건수가 큰 순서),
+ * worker 가 공유 job repository 에 남긴 step execution 상태를 조회하여 모든 파티션이 끝나기를 기다린다.
+ * 반환한 step execution 들은 PartitionStep 이 master step execution 과 job execution 에 합산한다.
+ */
+@Slf4j
+public class RemotePartitionHandler extends AbstractPartitionHandler {
+
+    private final String stepName;
+    private final PartitionRequestChannel partitionRequestChannel;
+    private final JobExplorer jobExplorer;
+    private final long pollIntervalMillis;
+    private final long timeoutMillis;
+
+    /**
+     * @param stepName      worker 가 실행할 slave step 의 이름
+     * @param timeoutMillis 0 이하이면 제한 없이 기다린다
+     */
+    public RemotePartitionHandler(String stepName, PartitionRequestChannel partitionRequestChannel, JobExplorer jobExplorer,
+                                  long pollIntervalMillis, long timeoutMillis) {
+        this.stepName = stepName;
+        this.partitionRequestChannel = partitionRequestChannel;
+        this.jobExplorer = jobExplorer;
+        this.pollIntervalMillis = Math.max(pollIntervalMillis, 1);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution masterStepExecution, Set<StepExecution> partitionStepExecutions) throws Exception {
+        for (StepExecution stepExecution : HeaviestFirstPartitionHandler.heaviestFirst(partitionStepExecutions)) {
+            partitionRequestChannel.send(new StepExecutionRequest(stepExecution.getJobExecutionId(), stepExecution.getId(), stepName));
+        }
+        log.info("[{}] 파티션 {} 개 실행 요청 전송", masterStepExecution.getStepName(), partitionStepExecutions.size());
+        return pollRepositoryForResults(masterStepExecution, partitionStepExecutions);
+    }
+
+    private Set<StepExecution> pollRepositoryForResults(StepExecution masterStepExecution, Set<StepExecution> partitionStepExecutions)
+            throws InterruptedException, TimeoutException {
+        long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : Long.MAX_VALUE;
+        Map<Long, StepExecution> pending = new LinkedHashMap<>();
+        partitionStepExecutions.forEach(stepExecution -> pending.put(stepExecution.getId(), stepExecution));
+        Set<StepExecution> result = new HashSet<>();
+        while (true) {
+            Iterator<StepExecution> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                StepExecution stepExecution = iterator.next();
+                StepExecution latest = jobExplorer.getStepExecution(stepExecution.getJobExecutionId(), stepExecution.getId());
+                if (latest != null && !latest.getStatus().isRunning()) {
+                    result.add(latest);
+                    iterator.remove();
+                }
+            }
+            if (pending.isEmpty()) {
+                return result;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException(String.format("[%s] 파티션 %d 개가 %d ms 안에 끝나지 않음",
+                        masterStepExecution.getStepName(), pending.size(), timeoutMillis));
+            }
+            Thread.sleep(pollIntervalMillis);
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import com.dsadara.realestatebatchservice.dto.StepExecutionRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * worker 쪽에서 PartitionRequestChannel 의 요청을 받아 공유 job repository 의 step execution 을 실행한다.
+ * 요청을 받는 스레드가 concurrency 개이므로 worker JVM 하나에서 파티션을 최대 concurrency 개까지 동시에 실행한다.
+ * 실행 중인 요청은 leaseRenewIntervalMillis 마다 PartitionRequestChannel#renew 하고, step 이 끝나면 complete 한다.
+ * 다른 worker 가 죽어 다시 전달된 요청은 step execution 에 저장된 마지막 commit 지점부터 이어서 실행한다.
+ */
+@Slf4j
+public class RemotePartitionWorker implements SmartLifecycle {
+
+    private static final long RECEIVE_TIMEOUT_MILLIS = 1000;
+
+    private final PartitionRequestChannel partitionRequestChannel;
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+    private final Map<String, Step> stepsByName = new HashMap<>();
+    private final int concurrency;
+    private final long leaseRenewIntervalMillis;
+    private final boolean autoStartup;
+
+    private final List<Thread> consumers = new ArrayList<>();
+    private final Set<StepExecutionRequest> executing = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService leaseRenewer;
+    private volatile boolean running;
+
+    public RemotePartitionWorker(PartitionRequestChannel partitionRequestChannel, JobExplorer jobExplorer, JobRepository jobRepository,
+                                 List<Step> steps, int concurrency, long leaseRenewIntervalMillis, boolean autoStartup) {
+        this.partitionRequestChannel = partitionRequestChannel;
+        this.jobExplorer = jobExplorer;
+        this.jobRepository = jobRepository;
+        steps.forEach(step -> stepsByName.put(step.getName(), step));
+        this.concurrency = Math.max(concurrency, 1);
+        this.leaseRenewIntervalMillis = Math.max(leaseRenewIntervalMillis, 1);
+        this.autoStartup = autoStartup;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "partition-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        leaseRenewer.scheduleWithFixedDelay(this::renewLeases, leaseRenewIntervalMillis, leaseRenewIntervalMillis, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < concurrency; i++) {
+            Thread consumer = new Thread(this::consume, "partition-worker-" + i);
+            consumers.add(consumer);
+            consumer.start();
+        }
+        log.info("파티션 worker 시작 -> ( 동시 실행: {}, step: {} )", concurrency, stepsByName.keySet());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        // 실행 중인 파티션은 끝까지 실행하고 새 요청만 받지 않는다
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        consumers.clear();
+        leaseRenewer.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return autoStartup;
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                StepExecutionRequest request = partitionRequestChannel.receive(RECEIVE_TIMEOUT_MILLIS);
+                if (request != null) {
+                    execute(request);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("파티션 요청 처리 실패", e);
+            }
+        }
+    }
+
+    void execute(StepExecutionRequest request) throws Exception {
+        StepExecution stepExecution = jobExplorer.getStepExecution(request.getJobExecutionId(), request.getStepExecutionId());
+        if (stepExecution == null) {
+            log.warn("step execution 이 없는 요청 무시: {}", request);
+            partitionRequestChannel.complete(request);
+            return;
+        }
+        if (!stepExecution.getStatus().isRunning()) {
+            // lease 가 만료된 뒤 이전 worker 가 끝낸 요청
+            log.info("이미 끝난 파티션 요청 무시 -> ( 요청: {}, 상태: {} )", request, stepExecution.getStatus());
+            partitionRequestChannel.complete(request);
+            return;
+        }
+        Step step = stepsByName.get(request.getStepName());
+        if (step == null) {
+            // manager 가 끝없이 기다리지 않도록 실패로 기록한다
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.setExitStatus(ExitStatus.FAILED.addExitDescription("worker 에 없는 step: " + request.getStepName()));
+            jobRepository.update(stepExecution);
+            partitionRequestChannel.complete(request);
+            log.error("worker 에 없는 step 요청: {}", request);
+            return;
+        }
+        if (stepExecution.getStatus() == BatchStatus.STARTED) {
+            log.warn("다른 worker 가 실행하다 멈춘 파티션을 이어서 실행: {}", request);
+        }
+        executing.add(request);
+        try {
+            step.execute(stepExecution);
+        } finally {
+            executing.remove(request);
+        }
+        // step 결과를 job repository 에 남기지 못했으면 요청을 지우지 않아 lease 가 만료된 뒤 다시 실행되도록 한다
+        if (!stepExecution.getStatus().isRunning()) {
+            partitionRequestChannel.complete(request);
+        }
+    }
+
+    private void renewLeases() {
+        for (StepExecutionRequest request : executing) {
+            try {
+                partitionRequestChannel.renew(request);
+            } catch (Exception e) {
+                log.warn("파티션 요청 lease 갱신 실패: {}", request, e);
+            }
+        }
+    }
+
+}
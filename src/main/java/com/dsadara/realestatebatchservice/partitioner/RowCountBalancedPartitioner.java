@@ -0,0 +1,128 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * 이전 실행에서 저장한 셀(법정동 코드 x 계약 연월)별 데이터 건수로 파티션을 나눈다.
+ * 셀의 무게는 데이터 건수에 API 호출 한 번의 비용(cellOverheadRows)을 더한 값이고, 건수를 모르는 셀은 unknownCellRows 건으로 본다.
+ * 무게가 targetRowsPerPartition 이상인 셀은 단독 파티션이 되고, 나머지는 무거운 셀과 가벼운 셀을 짝지어 targetRowsPerPartition 까지 묶는다.
+ * gridSize 가 있으면 파티션 수가 gridSize 를 크게 넘지 않도록 목표 무게를 늘린다.
+ * 파티션은 예상 무게가 큰 순서로 반환하고, 예상 무게를 ExecutionContext 의 estimatedRows 에 넣는다(HeaviestFirstPartitionHandler).
+ */
+public class RowCountBalancedPartitioner implements Partitioner {
+
+    public static final String ESTIMATED_ROWS = "estimatedRows";
+
+    private final List<String> bjdCodeList;
+    private final Function<String, List<String>> dealYearMonthsByBjdCode;
+    private final Map<String, Integer> rowCountsByCell;
+    private final int targetRowsPerPartition;
+    private final int cellOverheadRows;
+    private final int unknownCellRows;
+
+    public RowCountBalancedPartitioner(List<String> bjdCodeList, Function<String, List<String>> dealYearMonthsByBjdCode,
+                                       Map<String, Integer> rowCountsByCell, int targetRowsPerPartition,
+                                       int cellOverheadRows, int unknownCellRows) {
+        this.bjdCodeList = bjdCodeList;
+        this.dealYearMonthsByBjdCode = dealYearMonthsByBjdCode;
+        this.rowCountsByCell = rowCountsByCell;
+        this.targetRowsPerPartition = Math.max(targetRowsPerPartition, 1);
+        this.cellOverheadRows = Math.max(cellOverheadRows, 0);
+        this.unknownCellRows = Math.max(unknownCellRows, 0);
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<Cell> cells = new ArrayList<>();
+        long totalWeight = 0;
+        for (String bjdCode : bjdCodeList) {
+            for (String dealYearMonth : dealYearMonthsByBjdCode.apply(bjdCode)) {
+                String cell = RegionMonthGridPartitioner.cellOf(bjdCode, dealYearMonth);
+                long weight = (long) rowCountsByCell.getOrDefault(cell, unknownCellRows) + cellOverheadRows;
+                cells.add(new Cell(cell, bjdCode, dealYearMonth, weight));
+                totalWeight += weight;
+            }
+        }
+        long target = targetRowsPerPartition;
+        if (gridSize > 0) {
+            target = Math.max(target, (totalWeight + gridSize - 1) / gridSize);
+        }
+
+        // 무거운 셀부터 파티션을 열고, 남은 무게를 가장 가벼운 셀들로 채운다
+        cells.sort(Comparator.comparingLong((Cell cell) -> cell.weight).reversed());
+        List<List<Cell>> bins = new ArrayList<>();
+        int head = 0;
+        int tail = cells.size() - 1;
+        while (head <= tail) {
+            List<Cell> bin = new ArrayList<>();
+            long binWeight = cells.get(head).weight;
+            bin.add(cells.get(head++));
+            while (head <= tail && binWeight + cells.get(tail).weight <= target) {
+                binWeight += cells.get(tail).weight;
+                bin.add(cells.get(tail--));
+            }
+            bins.add(bin);
+        }
+        bins.sort(Comparator.comparingLong(RowCountBalancedPartitioner::weightOf).reversed());
+
+        Map<String, ExecutionContext> result = new LinkedHashMap<>();
+        for (int i = 0; i < bins.size(); i++) {
+            result.put(String.format("partition%05d", i), toExecutionContext(bins.get(i)));
+        }
+        return result;
+    }
+
+    private static ExecutionContext toExecutionContext(List<Cell> bin) {
+        // 같은 법정동 코드, 계약 연월 순서로 읽도록 셀을 정렬한다
+        bin.sort(Comparator.comparing((Cell cell) -> cell.cell));
+        TreeSet<String> bjdCodes = new TreeSet<>();
+        TreeSet<String> dealYearMonths = new TreeSet<>();
+        List<String> cells = new ArrayList<>(bin.size());
+        for (Cell cell : bin) {
+            bjdCodes.add(cell.bjdCode);
+            dealYearMonths.add(cell.dealYearMonth);
+            cells.add(cell.cell);
+        }
+        String first = dealYearMonths.first();
+        String last = dealYearMonths.last();
+
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putString("bjdCode", String.join(RegionMonthGridPartitioner.CELL_SEPARATOR, bjdCodes));
+        executionContext.putString("dealYearMonth", first.equals(last) ? first : first + "-" + last);
+        executionContext.putString(RegionMonthGridPartitioner.CELLS, String.join(RegionMonthGridPartitioner.CELL_SEPARATOR, cells));
+        executionContext.putLong(ESTIMATED_ROWS, weightOf(bin));
+        return executionContext;
+    }
+
+    private static long weightOf(List<Cell> bin) {
+        long weight = 0;
+        for (Cell cell : bin) {
+            weight += cell.weight;
+        }
+        return weight;
+    }
+
+    private static class Cell {
+        private final String cell;
+        private final String bjdCode;
+        private final String dealYearMonth;
+        private final long weight;
+
+        private Cell(String cell, String bjdCode, String dealYearMonth, long weight) {
+            this.cell = cell;
+            this.bjdCode = bjdCode;
+            this.dealYearMonth = dealYearMonth;
+            this.weight = weight;
+        }
+    }
+
+}
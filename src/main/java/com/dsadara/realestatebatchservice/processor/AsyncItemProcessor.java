@@ -0,0 +1,110 @@
+package com.dsadara.realestatebatchservice.processor;
+
+import com.dsadara.realestatebatchservice.listener.PipelineStageMeters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * delegate processor 를 taskExecutor 에서 실행하고 결과를 Future 로 반환한다. AsyncItemWriter 가 Future 를 풀어서 쓴다.
+ * step 스레드는 변환을 기다리지 않고 다음 데이터를 읽으므로 API 호출(읽기)과 DTO 변환이 겹쳐서 실행된다.
+ * taskExecutor 의 큐가 가득 차면 step 스레드가 직접 변환하도록(CallerRunsPolicy) 설정하여 읽기 속도를 늦춘다.
+ * step scope 빈(RealEstateProcessor)을 다른 스레드에서 호출할 수 있도록 현재 step execution 을 작업 스레드에 등록한다.
+ */
+public class AsyncItemProcessor<I, O> implements ItemProcessor<I, Future<O>> {
+
+    private final ItemProcessor<I, O> delegate;
+    private final TaskExecutor taskExecutor;
+
+    public AsyncItemProcessor(ItemProcessor<I, O> delegate, TaskExecutor taskExecutor) {
+        this.delegate = delegate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public Future<O> process(I item) {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        StepExecution stepExecution = stepContext != null ? stepContext.getStepExecution() : null;
+        ProcessFuture<O> task = new ProcessFuture<>(() -> {
+            if (stepExecution != null) {
+                StepSynchronizationManager.register(stepExecution);
+            }
+            try {
+                PipelineStageMeters meters = PipelineStageMeters.current();
+                O result = meters.getProcessTimer().recordCallable(() -> delegate.process(item));
+                meters.getProcessItems().increment();
+                return result;
+            } finally {
+                if (stepExecution != null) {
+                    StepSynchronizationManager.close();
+                }
+            }
+        });
+        taskExecutor.execute(task);
+        return task;
+    }
+
+    /**
+     * 변환 결과와 함께 작업 스레드에서 변환에 걸린 시간과 끝난 시각을 전달한다. 변환은 step 스레드의 ItemProcessListener 밖에서 실행되므로
+     * PipelineStageMetricsListener 는 쓰기가 끝난 뒤(모든 Future 가 끝난 뒤) 이 시간을 chunk 의 변환 시간으로 더하고,
+     * 끝난 시각으로 쓰기 단계에서 변환을 기다린 시간을 뺀다.
+     */
+    public static class ProcessFuture<O> extends FutureTask<O> {
+
+        private final TimedCallable<O> callable;
+
+        private ProcessFuture(Callable<O> callable) {
+            this(new TimedCallable<>(callable));
+        }
+
+        private ProcessFuture(TimedCallable<O> callable) {
+            super(callable);
+            this.callable = callable;
+        }
+
+        /**
+         * @return 변환에 걸린 시간. 아직 실행하지 않았거나 취소되었으면 -1
+         */
+        public long getProcessNanos() {
+            return callable.elapsedNanos;
+        }
+
+        /**
+         * @return 변환이 끝난 System.nanoTime(). 아직 실행하지 않았거나 취소되었으면 의미 없음(getProcessNanos 가 -1)
+         */
+        public long getDoneNanos() {
+            return callable.doneNanos;
+        }
+
+    }
+
+    private static class TimedCallable<O> implements Callable<O> {
+
+        private final Callable<O> delegate;
+        private volatile long doneNanos;
+        private volatile long elapsedNanos = -1;
+
+        private TimedCallable(Callable<O> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public O call() throws Exception {
+            long start = System.nanoTime();
+            try {
+                return delegate.call();
+            } finally {
+                doneNanos = System.nanoTime();
+                elapsedNanos = doneNanos - start;
+            }
+        }
+
+    }
+
+}
@@ -3,48 +3,73 @@ package com.dsadara.realestatebatchservice.processor;
 import com.dsadara.realestatebatchservice.domain.RealEstate;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
 import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.item.ItemProcessor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-public class RealEstateProcessor implements ItemProcessor<RealEstateDto, RealEstate> {
+import static com.dsadara.realestatebatchservice.processor.RealEstateValueParser.parseAmount;
+import static com.dsadara.realestatebatchservice.processor.RealEstateValueParser.parseShort;
+
+/**
+ * 숫자와 금액은 RealEstateValueParser 로 문자열에서 바로 변환하고,
+ * 종류가 적은 값(법정동, 시군구, 거래유형, 계약구분, 갱신요구권사용)은 같은 String 인스턴스를 재사용한다.
+ * 생성 시각은 chunk 가 시작될 때 한 번만 구한다. step 밖에서 호출되면 데이터마다 구한다.
+ */
+public class RealEstateProcessor implements ItemProcessor<RealEstateDto, RealEstate>, ChunkListener {
 
     private final RealEstateType realEstateType;
+    private final ValueInterner valueInterner = new ValueInterner();
+    private volatile LocalDateTime chunkTimestamp;
 
     public RealEstateProcessor(String realEstateType) {
         this.realEstateType = RealEstateType.valueOf(realEstateType);
     }
 
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkTimestamp = LocalDateTime.now();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+    }
+
     @Override
     public RealEstate process(RealEstateDto realEstateDto) throws Exception {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdAt = chunkTimestamp != null ? chunkTimestamp : LocalDateTime.now();
         return RealEstate.builder()
-                .constructYear(Short.valueOf(realEstateDto.getConstructYear()))
-                .contractYear(Short.valueOf(realEstateDto.getContractYear()))
+                .constructYear(parseShort(realEstateDto.getConstructYear()))
+                .contractYear(parseShort(realEstateDto.getContractYear()))
                 .name(realEstateDto.getName())
-                .beopJeongDong(realEstateDto.getBeopJeongDong())
-                .siGunGu(realEstateDto.getSiGunGu())
-                .contractMonth(Short.valueOf(realEstateDto.getContractMonth()))
-                .contractDay(Short.valueOf(realEstateDto.getContractDay()))
+                .beopJeongDong(valueInterner.intern(realEstateDto.getBeopJeongDong()))
+                .siGunGu(valueInterner.intern(realEstateDto.getSiGunGu()))
+                .contractMonth(parseShort(realEstateDto.getContractMonth()))
+                .contractDay(parseShort(realEstateDto.getContractDay()))
                 .jeonYongArea(realEstateDto.getJeonYongArea())
                 .parcelNumber(realEstateDto.getParcelNumber())
                 .beopJeongDongCode(realEstateDto.getBeopJeongDongCode())
                 .floor(realEstateDto.getFloor())
-                .dealAmount(new BigDecimal(realEstateDto.getDealAmount()))
+                .dealAmount(parseAmount(realEstateDto.getDealAmount()))
                 .CancelDealType(realEstateDto.getCancelDealType())
                 .CancelDealDay(realEstateDto.getCancelDealDay())
-                .dealType(realEstateDto.getDealType())
+                .dealType(valueInterner.intern(realEstateDto.getDealType()))
                 .agentAddress(realEstateDto.getAgentAddress())
-                .requestRenewalRight(realEstateDto.getRequestRenewalRight())
-                .contractType(realEstateDto.getContractType())
+                .requestRenewalRight(valueInterner.intern(realEstateDto.getRequestRenewalRight()))
+                .contractType(valueInterner.intern(realEstateDto.getContractType()))
                 .contractPeriod(realEstateDto.getContractPeriod())
-                .monthlyRent(new BigDecimal(realEstateDto.getMonthlyRent()))
-                .deposit(new BigDecimal(realEstateDto.getDeposit()))
-                .depositBefore(new BigDecimal(realEstateDto.getDepositBefore()))
-                .monthlyRentBefore(new BigDecimal(realEstateDto.getMonthlyRentBefore()))
-                .createdAt(now)
+                .monthlyRent(parseAmount(realEstateDto.getMonthlyRent()))
+                .deposit(parseAmount(realEstateDto.getDeposit()))
+                .depositBefore(parseAmount(realEstateDto.getDepositBefore()))
+                .monthlyRentBefore(parseAmount(realEstateDto.getMonthlyRentBefore()))
+                .createdAt(createdAt)
                 .realEstateType(realEstateType)
                 .build();
     }
+
 }
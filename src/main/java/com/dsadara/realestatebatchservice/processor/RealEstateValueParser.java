@@ -0,0 +1,164 @@
+package com.dsadara.realestatebatchservice.processor;
+
+import java.math.BigDecimal;
+
+/**
+ * OpenAPI 응답의 숫자 문자열을 중간 문자열 없이 바로 변환한다.
+ * 앞뒤 공백과 천 단위 구분 기호(',')는 건너뛰고, 공백뿐인 값은 null 로 변환한다.
+ * 그 외의 문자가 있으면 NumberFormatException 을 던진다.
+ */
+public final class RealEstateValueParser {
+
+    // long 으로 넘치지 않고 누적할 수 있는 최대 자릿수
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private RealEstateValueParser() {
+    }
+
+    public static Short parseShort(String value) {
+        if (value == null) {
+            return null;
+        }
+        int result = 0;
+        int digits = 0;
+        boolean negative = false;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                result = result * 10 + (c - '0');
+                if (++digits > 5) {
+                    throw new NumberFormatException("Value out of range for short: \"" + value + "\"");
+                }
+            } else if (c == '-' && digits == 0 && !negative) {
+                negative = true;
+            } else if (!isSkippable(c)) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+        }
+        if (digits == 0) {
+            if (negative) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            return null;
+        }
+        result = negative ? -result : result;
+        if (result < Short.MIN_VALUE || result > Short.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range for short: \"" + value + "\"");
+        }
+        return (short) result;
+    }
+
+    public static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            return null;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean negative = false;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_LONG_DIGITS) {
+                    return parseLongAmount(value);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else if (c == '-' && digits == 0 && !negative) {
+                negative = true;
+            } else if (!isSkippable(c)) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+        }
+        if (digits == 0) {
+            if (negative || scale >= 0) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            return null;
+        }
+        unscaled = negative ? -unscaled : unscaled;
+        return scale > 0 ? BigDecimal.valueOf(unscaled, scale) : BigDecimal.valueOf(unscaled);
+    }
+
+    /**
+     * JSON 파서의 문자 버퍼에서 바로 변환한다. 공백뿐인 값은 컬럼 기본값인 0 으로 변환한다.
+     */
+    public static short parseShort(char[] chars, int offset, int length) {
+        int result = 0;
+        int digits = 0;
+        boolean negative = false;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                result = result * 10 + (c - '0');
+                if (++digits > 5) {
+                    throw new NumberFormatException("Value out of range for short: \"" + new String(chars, offset, length) + "\"");
+                }
+            } else if (c == '-' && digits == 0 && !negative) {
+                negative = true;
+            } else if (!isSkippable(c)) {
+                throw new NumberFormatException("For input string: \"" + new String(chars, offset, length) + "\"");
+            }
+        }
+        result = negative ? -result : result;
+        if (result < Short.MIN_VALUE || result > Short.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range for short: \"" + new String(chars, offset, length) + "\"");
+        }
+        return (short) result;
+    }
+
+    /**
+     * JSON 파서의 문자 버퍼에서 바로 변환한다. 금액 컬럼(DECIMAL)은 소수점이 없으므로 소수점 아래는 반올림하고,
+     * 공백뿐인 값은 컬럼 기본값인 0 으로 변환한다.
+     */
+    public static long parseAmount(char[] chars, int offset, int length) {
+        long result = 0;
+        int digits = 0;
+        boolean fraction = false;
+        boolean roundUp = false;
+        boolean negative = false;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                if (fraction) {
+                    // 소수점 아래 첫 자리만 반올림에 사용한다
+                    roundUp |= digits == 0 && c >= '5';
+                    digits = Math.max(digits, 1);
+                } else if (++digits > MAX_LONG_DIGITS) {
+                    throw new NumberFormatException("Value out of range for long: \"" + new String(chars, offset, length) + "\"");
+                } else {
+                    result = result * 10 + (c - '0');
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+                digits = 0;
+            } else if (c == '-' && digits == 0 && !fraction && !negative) {
+                negative = true;
+            } else if (!isSkippable(c)) {
+                throw new NumberFormatException("For input string: \"" + new String(chars, offset, length) + "\"");
+            }
+        }
+        result = roundUp ? result + 1 : result;
+        return negative ? -result : result;
+    }
+
+    private static BigDecimal parseLongAmount(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (!isSkippable(c)) {
+                builder.append(c);
+            }
+        }
+        return new BigDecimal(builder.toString());
+    }
+
+    private static boolean isSkippable(char c) {
+        return c == ',' || Character.isWhitespace(c);
+    }
+
+}
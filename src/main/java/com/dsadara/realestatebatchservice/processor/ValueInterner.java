@@ -0,0 +1,88 @@
+package com.dsadara.realestatebatchservice.processor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 종류가 적은 문자열 값(법정동, 시군구, 거래유형 등)을 같은 String 인스턴스로 바꾼다.
+ * char 배열의 일부로도 찾을 수 있어서, 이미 있는 값이면 JSON 파서의 버퍼에서 String 을 만들지 않는다.
+ * 여러 스레드가 같이 사용한다. 경쟁 중에 같은 값이 두 번 들어갈 수는 있지만 결과는 항상 같은 값의 String 이다.
+ * 잘못된 값이 섞여도 메모리가 늘지 않도록 maxValues 개까지만 저장하고, 넘으면 새 String 을 그대로 반환한다.
+ */
+public class ValueInterner {
+
+    // 동/시군구 개수보다 충분히 크고, 잘못된 값이 섞여도 메모리가 늘지 않도록 제한한다
+    public static final int DEFAULT_MAX_VALUES = 4096;
+
+    private final String[] table;
+    private final int mask;
+    private final int maxValues;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ValueInterner() {
+        this(DEFAULT_MAX_VALUES);
+    }
+
+    public ValueInterner(int maxValues) {
+        int capacity = Integer.highestOneBit(Math.max(maxValues, 8) * 2 - 1) << 1;
+        this.table = new String[capacity];
+        this.mask = capacity - 1;
+        this.maxValues = maxValues;
+    }
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int index = value.hashCode() & mask;
+        for (int probe = 0; probe < table.length; probe++, index = (index + 1) & mask) {
+            String candidate = table[index];
+            if (candidate == null) {
+                return store(index, value);
+            }
+            if (candidate.equals(value)) {
+                return candidate;
+            }
+        }
+        return value;
+    }
+
+    public String intern(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int index = hash & mask;
+        for (int probe = 0; probe < table.length; probe++, index = (index + 1) & mask) {
+            String candidate = table[index];
+            if (candidate == null) {
+                return store(index, new String(chars, offset, length));
+            }
+            if (matches(candidate, chars, offset, length)) {
+                return candidate;
+            }
+        }
+        return new String(chars, offset, length);
+    }
+
+    private String store(int index, String value) {
+        if (size.get() >= maxValues) {
+            return value;
+        }
+        size.incrementAndGet();
+        table[index] = value;
+        return value;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
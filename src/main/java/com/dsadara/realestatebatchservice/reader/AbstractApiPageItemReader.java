@@ -0,0 +1,172 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.service.ApiRequester;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * 한 파티션(법정동 코드, 계약 연월)의 데이터를 페이지 단위로 필요할 때마다 호출하여 읽는다.
+ * 읽은 페이지 번호와 페이지 안의 위치를 ExecutionContext 에 저장하므로, 재실행 시 마지막으로 커밋한 위치부터 이어서 읽는다.
+ * readAheadExecutor 가 있으면 현재 페이지를 읽는 동안 다음 페이지를 미리 호출한다.
+ * 한 페이지를 어떤 item 으로 읽을지는 하위 클래스의 fetchPage 가 정한다.
+ */
+@Slf4j
+public abstract class AbstractApiPageItemReader<T> extends ItemStreamSupport implements ItemStreamReader<T> {
+
+    private static final String PAGE_NO = "pageNo";
+    private static final String OFFSET = "offset";
+    public static final String TOTAL_COUNT = "totalCount";
+
+    protected final String baseUrl;
+    protected final String serviceKey;
+    protected final ApiRequester apiRequester;
+    protected final int numOfRows;
+    private final TaskExecutor readAheadExecutor;
+    protected String bjdCode;
+    protected String dealYearMonth;
+
+    private List<T> currentPage = Collections.emptyList();
+    private int pageNo;
+    private int offset;
+    private int totalPages = -1;
+    private int totalCount = -1;
+    private int resumeOffset;
+    private CompletableFuture<Page<T>> nextPage;
+
+    protected AbstractApiPageItemReader(String baseUrl, String serviceKey, ApiRequester apiRequester, int numOfRows, TaskExecutor readAheadExecutor) {
+        this.baseUrl = baseUrl;
+        this.serviceKey = serviceKey;
+        this.apiRequester = apiRequester;
+        this.numOfRows = numOfRows;
+        this.readAheadExecutor = readAheadExecutor;
+        setName("apiItemReader");
+    }
+
+    @Override
+    public T read() throws Exception {
+        while (offset >= currentPage.size()) {
+            if (totalPages >= 0 && pageNo >= totalPages) {
+                return null;
+            }
+            loadPage(pageNo + 1);
+        }
+        return currentPage.get(offset++);
+    }
+
+    @BeforeStep
+    public void beforeStep(StepExecution stepExecution) {
+        setPartition(stepExecution.getJobParameters().getString("bjdCode"),
+                stepExecution.getExecutionContext().getString("dealYearMonth"));
+    }
+
+    void setPartition(String bjdCode, String dealYearMonth) {
+        this.bjdCode = bjdCode;
+        this.dealYearMonth = dealYearMonth;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        // 재실행이면 저장된 페이지의 바로 앞 페이지까지 읽은 것으로 두고, 첫 read() 에서 저장된 페이지를 다시 호출한다
+        int savedPageNo = executionContext.getInt(getExecutionContextKey(PAGE_NO), 0);
+        if (savedPageNo > 0) {
+            pageNo = savedPageNo - 1;
+            resumeOffset = executionContext.getInt(getExecutionContextKey(OFFSET), 0);
+            log.info("[법정동 코드 {}][계약 연월일 {}] {} 페이지 {} 번째 데이터부터 이어서 읽기", bjdCode, dealYearMonth, savedPageNo, resumeOffset);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putInt(getExecutionContextKey(PAGE_NO), pageNo);
+        executionContext.putInt(getExecutionContextKey(OFFSET), offset);
+        // 파티션 통계(RegionMonthStatisticsListener)에서 사용하는 전체 데이터 건수. 첫 페이지를 호출하기 전에는 저장하지 않는다
+        if (totalCount >= 0) {
+            executionContext.putInt(getExecutionContextKey(TOTAL_COUNT), totalCount);
+        }
+    }
+
+    /**
+     * @return 첫 페이지 응답의 전체 데이터 건수. 아직 호출하지 않았으면 -1
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        currentPage = Collections.emptyList();
+    }
+
+    private void loadPage(int targetPageNo) throws Exception {
+        Page<T> page = nextPage != null ? awaitNextPage() : requestPage(targetPageNo);
+        nextPage = null;
+
+        if (totalPages < 0) {
+            totalPages = ApiRequester.getTotalPages(page.result, numOfRows);
+            totalCount = page.result.getTotalCount();
+        }
+        pageNo = targetPageNo;
+        currentPage = page.items;
+        offset = Math.min(resumeOffset, currentPage.size());
+        resumeOffset = 0;
+
+        if (readAheadExecutor != null && pageNo < totalPages) {
+            int readAheadPageNo = pageNo + 1;
+            nextPage = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return requestPage(readAheadPageNo);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, readAheadExecutor);
+        }
+    }
+
+    private Page<T> awaitNextPage() throws Exception {
+        try {
+            return nextPage.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    private Page<T> requestPage(int targetPageNo) throws Exception {
+        List<T> items = new ArrayList<>(numOfRows);
+        ApiPageResult result = fetchPage(targetPageNo, items::add);
+        return new Page<>(result, items);
+    }
+
+    /**
+     * 현재 파티션(bjdCode, dealYearMonth)의 pageNo 페이지를 호출하여 item 을 순서대로 consumer 에 전달한다.
+     */
+    protected abstract ApiPageResult fetchPage(int pageNo, Consumer<T> consumer) throws Exception;
+
+    private static class Page<T> {
+        private final ApiPageResult result;
+        private final List<T> items;
+
+        private Page(ApiPageResult result, List<T> items) {
+            this.result = result;
+            this.items = items;
+        }
+    }
+
+}
@@ -1,43 +1,24 @@
 package com.dsadara.realestatebatchservice.reader;
 
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
 import com.dsadara.realestatebatchservice.service.ApiRequester;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.batch.core.StepExecution;
-import org.springframework.batch.core.annotation.BeforeStep;
-import org.springframework.batch.item.ItemReader;
+import org.springframework.core.task.TaskExecutor;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.function.Consumer;
 
-@Slf4j
-public class ApiItemReader implements ItemReader<RealEstateDto> {
+/**
+ * 한 파티션(법정동 코드, 계약 연월)의 데이터를 RealEstateDto 로 읽는다. 페이지 호출과 재실행은 AbstractApiPageItemReader 를 따른다.
+ */
+public class ApiItemReader extends AbstractApiPageItemReader<RealEstateDto> {
 
-    private final String baseUrl;
-    private final String serviceKey;
-    private final ApiRequester apiRequester;
-    private final List<RealEstateDto> items = new LinkedList<>();
-
-    public ApiItemReader(String baseUrl, String serviceKey, ApiRequester apiRequester) {
-        this.baseUrl = baseUrl;
-        this.serviceKey = serviceKey;
-        this.apiRequester = apiRequester;
+    public ApiItemReader(String baseUrl, String serviceKey, ApiRequester apiRequester, int numOfRows, TaskExecutor readAheadExecutor) {
+        super(baseUrl, serviceKey, apiRequester, numOfRows, readAheadExecutor);
     }
 
     @Override
-    public RealEstateDto read() {
-        if (items.isEmpty()) {
-            return null;
-        } else {
-            return items.remove(0);
-        }
-    }
-
-    @BeforeStep
-    public void beforeStep(StepExecution stepExecution) throws Exception {
-        String bjdCode = stepExecution.getJobParameters().getString("bjdCode");
-        String dealYearMonth = stepExecution.getExecutionContext().getString("dealYearMonth");
-        items.addAll(apiRequester.fetchData(baseUrl, serviceKey, bjdCode, dealYearMonth));
+    protected ApiPageResult fetchPage(int pageNo, Consumer<RealEstateDto> consumer) throws Exception {
+        return apiRequester.fetchPage(baseUrl, serviceKey, bjdCode, dealYearMonth, pageNo, numOfRows, consumer);
     }
 
 }
@@ -0,0 +1,37 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import com.dsadara.realestatebatchservice.service.ApiRequester;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.springframework.core.task.TaskExecutor;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 한 파티션(법정동 코드, 계약 연월)의 데이터를 RealEstateDto, RealEstate 를 거치지 않고 RealEstateRow 로 바로 읽는다.
+ * 부동산 종류와 생성 시각은 페이지마다 한 번 정해서 같은 페이지의 행에 채운다.
+ * ExecutionContext 키는 ApiItemReader 와 같으므로 재실행과 파티션 통계도 그대로 동작한다.
+ */
+public class ApiRowItemReader extends AbstractApiPageItemReader<RealEstateRow> {
+
+    private final RealEstateType realEstateType;
+
+    public ApiRowItemReader(String baseUrl, String serviceKey, ApiRequester apiRequester, int numOfRows,
+                            TaskExecutor readAheadExecutor, RealEstateType realEstateType) {
+        super(baseUrl, serviceKey, apiRequester, numOfRows, readAheadExecutor);
+        this.realEstateType = realEstateType;
+    }
+
+    @Override
+    protected ApiPageResult fetchPage(int pageNo, Consumer<RealEstateRow> consumer) throws Exception {
+        LocalDateTime createdAt = LocalDateTime.now();
+        return apiRequester.fetchRowPage(baseUrl, serviceKey, bjdCode, dealYearMonth, pageNo, numOfRows, row -> {
+            row.setRealEstateType(realEstateType);
+            row.setCreatedAt(createdAt);
+            consumer.accept(row);
+        });
+    }
+
+}
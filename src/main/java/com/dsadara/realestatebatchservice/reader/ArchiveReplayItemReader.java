@@ -0,0 +1,80 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.service.RealEstateDataFetcher;
+import com.dsadara.realestatebatchservice.service.ResponseArchive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * ResponseArchive 에 보관한 응답을 api 호출 없이 읽는다. 한 파티션(법정동 코드, 계약 연월)의 레코드를 페이지 순서로 하나씩 풀어 item 을 반환한다.
+ * 페이지 크기(openapi.request.numOfRows)가 같은 레코드만 읽으므로 보관할 때와 같은 페이지 크기로 실행해야 한다.
+ * 재실행 시에는 읽은 item 개수만큼 건너뛴다.
+ */
+@Slf4j
+public class ArchiveReplayItemReader extends AbstractItemCountingItemStreamItemReader<RealEstateDto> {
+
+    private final ResponseArchive responseArchive;
+    private final RealEstateDataFetcher realEstateDataFetcher;
+    private final String baseUrl;
+    private final int numOfRows;
+    private String bjdCode;
+    private String dealYearMonth;
+
+    private ResponseArchive.Segment segment;
+    private Iterator<ResponseArchive.Record> records;
+    private Iterator<RealEstateDto> currentPage = Collections.emptyIterator();
+
+    public ArchiveReplayItemReader(ResponseArchive responseArchive, RealEstateDataFetcher realEstateDataFetcher, String baseUrl, int numOfRows) {
+        this.responseArchive = responseArchive;
+        this.realEstateDataFetcher = realEstateDataFetcher;
+        this.baseUrl = baseUrl;
+        this.numOfRows = numOfRows;
+        setName("archiveReplayItemReader");
+    }
+
+    @BeforeStep
+    public void beforeStep(StepExecution stepExecution) {
+        bjdCode = stepExecution.getJobParameters().getString("bjdCode");
+        dealYearMonth = stepExecution.getExecutionContext().getString("dealYearMonth");
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        segment = responseArchive.openSegment(baseUrl, bjdCode);
+        List<ResponseArchive.Record> dealYearMonthRecords = segment.records(dealYearMonth, numOfRows);
+        if (dealYearMonthRecords.isEmpty()) {
+            log.warn("[법정동 코드 {}][계약 연월일 {}] 페이지 크기 {} 로 보관된 응답 없음", bjdCode, dealYearMonth, numOfRows);
+        }
+        records = dealYearMonthRecords.iterator();
+    }
+
+    @Override
+    protected RealEstateDto doRead() throws Exception {
+        while (!currentPage.hasNext()) {
+            if (!records.hasNext()) {
+                return null;
+            }
+            List<RealEstateDto> items = new ArrayList<>();
+            realEstateDataFetcher.readItems(new ByteArrayInputStream(segment.read(records.next())), items::add);
+            currentPage = items.iterator();
+        }
+        return currentPage.next();
+    }
+
+    @Override
+    protected void doClose() {
+        segment = null;
+        records = null;
+        currentPage = Collections.emptyIterator();
+    }
+
+}
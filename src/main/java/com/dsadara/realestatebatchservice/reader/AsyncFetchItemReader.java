@@ -0,0 +1,88 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import com.dsadara.realestatebatchservice.service.AsyncFetchEngine;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파티션의 셀(법정동 코드, 계약 연월)을 AsyncFetchEngine 으로 동시에 호출하여 읽는다.
+ * 셀끼리의 순서가 정해져 있지 않으므로 페이지 위치 대신 다 읽은 셀과 데이터 건수(rowCounts)를 ExecutionContext 에 저장하고,
+ * 재실행 시 다 읽지 못한 셀만 처음부터 다시 호출한다.
+ * 호출은 open 이 아니라 첫 read() 에서 시작한다. circuit breaker 가 beforeStep 에서 중단 표시한 파티션은 첫 chunk 전에 끝나므로 api 를 호출하지 않는다.
+ */
+public class AsyncFetchItemReader extends ItemStreamSupport implements ItemStreamReader<RealEstateDto> {
+
+    public static final String ROW_COUNTS = "rowCounts";
+
+    private final String baseUrl;
+    private final String serviceKey;
+    private final AsyncFetchEngine asyncFetchEngine;
+
+    private List<String> cells = Collections.emptyList();
+    private Map<String, Integer> rowCounts;
+    private List<String> remainingCells = Collections.emptyList();
+    private AsyncFetchEngine.FetchStream stream;
+
+    public AsyncFetchItemReader(String baseUrl, String serviceKey, AsyncFetchEngine asyncFetchEngine) {
+        this.baseUrl = baseUrl;
+        this.serviceKey = serviceKey;
+        this.asyncFetchEngine = asyncFetchEngine;
+        setName("asyncFetchItemReader");
+    }
+
+    @BeforeStep
+    public void beforeStep(StepExecution stepExecution) {
+        String joinedCells = stepExecution.getExecutionContext().getString(RegionMonthGridPartitioner.CELLS, "");
+        cells = joinedCells.isEmpty() ? Collections.emptyList() : Arrays.asList(joinedCells.split(RegionMonthGridPartitioner.CELL_SEPARATOR));
+    }
+
+    @Override
+    public RealEstateDto read() throws Exception {
+        if (stream == null) {
+            if (remainingCells.isEmpty()) {
+                return null;
+            }
+            stream = asyncFetchEngine.open(baseUrl, serviceKey, remainingCells);
+            remainingCells = Collections.emptyList();
+        }
+        return stream.read(rowCounts::put);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        rowCounts = GridApiItemReader.decodeRowCounts(executionContext.getString(getExecutionContextKey(ROW_COUNTS), ""));
+        remainingCells = new ArrayList<>();
+        for (String cell : cells) {
+            if (!rowCounts.containsKey(cell)) {
+                remainingCells.add(cell);
+            }
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putString(getExecutionContextKey(ROW_COUNTS), GridApiItemReader.encodeRowCounts(rowCounts));
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        remainingCells = Collections.emptyList();
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+}
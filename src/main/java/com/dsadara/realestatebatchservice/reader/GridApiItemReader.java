@@ -0,0 +1,127 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import com.dsadara.realestatebatchservice.service.ApiRequester;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * RegionMonthGridPartitioner 가 만든 파티션의 셀(법정동 코드, 계약 연월)을 순서대로 ApiItemReader 로 읽는다.
+ * 읽고 있는 셀의 순번과 해당 셀의 페이지, 위치를 ExecutionContext 에 저장하여 재실행 시 이어서 읽는다.
+ * 다 읽은 셀의 전체 데이터 건수도 함께 저장한다(rowCounts).
+ */
+public class GridApiItemReader extends ItemStreamSupport implements ItemStreamReader<RealEstateDto> {
+
+    private static final String CELL_INDEX = "cellIndex";
+    public static final String ROW_COUNTS = "rowCounts";
+    private static final String ROW_COUNT_SEPARATOR = "=";
+
+    private final String baseUrl;
+    private final String serviceKey;
+    private final ApiRequester apiRequester;
+    private final int numOfRows;
+    private final TaskExecutor readAheadExecutor;
+
+    private List<String> cells = Collections.emptyList();
+    private int cellIndex;
+    private ApiItemReader delegate;
+    // 다 읽은 셀의 전체 데이터 건수. 다음 실행의 파티션 크기를 정하는 통계로 저장된다
+    private Map<String, Integer> rowCounts = new LinkedHashMap<>();
+
+    public GridApiItemReader(String baseUrl, String serviceKey, ApiRequester apiRequester, int numOfRows, TaskExecutor readAheadExecutor) {
+        this.baseUrl = baseUrl;
+        this.serviceKey = serviceKey;
+        this.apiRequester = apiRequester;
+        this.numOfRows = numOfRows;
+        this.readAheadExecutor = readAheadExecutor;
+        setName("gridApiItemReader");
+    }
+
+    @BeforeStep
+    public void beforeStep(StepExecution stepExecution) {
+        String joinedCells = stepExecution.getExecutionContext().getString(RegionMonthGridPartitioner.CELLS, "");
+        cells = joinedCells.isEmpty() ? Collections.emptyList() : Arrays.asList(joinedCells.split(RegionMonthGridPartitioner.CELL_SEPARATOR));
+    }
+
+    @Override
+    public RealEstateDto read() throws Exception {
+        while (delegate != null) {
+            RealEstateDto item = delegate.read();
+            if (item != null) {
+                return item;
+            }
+            rowCounts.put(cells.get(cellIndex), Math.max(delegate.getTotalCount(), 0));
+            delegate.close();
+            delegate = ++cellIndex < cells.size() ? openCell(new ExecutionContext()) : null;
+        }
+        return null;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        cellIndex = executionContext.getInt(getExecutionContextKey(CELL_INDEX), 0);
+        rowCounts = decodeRowCounts(executionContext.getString(getExecutionContextKey(ROW_COUNTS), ""));
+        // 재실행이면 저장된 셀의 페이지와 위치부터 이어서 읽는다
+        delegate = cellIndex < cells.size() ? openCell(executionContext) : null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putInt(getExecutionContextKey(CELL_INDEX), cellIndex);
+        executionContext.putString(getExecutionContextKey(ROW_COUNTS), encodeRowCounts(rowCounts));
+        if (delegate != null) {
+            delegate.update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (delegate != null) {
+            delegate.close();
+            delegate = null;
+        }
+    }
+
+    /**
+     * "법정동코드:계약연월=건수" 를 ',' 로 연결한 문자열을 셀별 건수로 바꾼다.
+     */
+    public static Map<String, Integer> decodeRowCounts(String encoded) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return result;
+        }
+        for (String entry : encoded.split(RegionMonthGridPartitioner.CELL_SEPARATOR)) {
+            String[] cellAndCount = entry.split(ROW_COUNT_SEPARATOR);
+            result.put(cellAndCount[0], Integer.parseInt(cellAndCount[1]));
+        }
+        return result;
+    }
+
+    static String encodeRowCounts(Map<String, Integer> rowCounts) {
+        StringJoiner joiner = new StringJoiner(RegionMonthGridPartitioner.CELL_SEPARATOR);
+        rowCounts.forEach((cell, count) -> joiner.add(cell + ROW_COUNT_SEPARATOR + count));
+        return joiner.toString();
+    }
+
+    private ApiItemReader openCell(ExecutionContext executionContext) {
+        String[] cell = cells.get(cellIndex).split(RegionMonthGridPartitioner.REGION_MONTH_SEPARATOR);
+        ApiItemReader reader = new ApiItemReader(baseUrl, serviceKey, apiRequester, numOfRows, readAheadExecutor);
+        reader.setPartition(cell[0], cell[1]);
+        reader.open(executionContext);
+        return reader;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.dsadara.realestatebatchservice.runner;
 
+import com.dsadara.realestatebatchservice.launcher.RealEstateGridJobLauncher;
 import com.dsadara.realestatebatchservice.launcher.RealEstateJobLauncher;
 import com.dsadara.realestatebatchservice.type.RealEstateType;
 import lombok.extern.slf4j.Slf4j;
@@ -7,22 +8,63 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 
+import java.util.Arrays;
+
 @Slf4j
 public class RealEstateJobLauncherCommandLineRunner implements CommandLineRunner {
 
     @Autowired
     private RealEstateJobLauncher realEstateJobLauncher;
+    @Autowired
+    private RealEstateGridJobLauncher realEstateGridJobLauncher;
     @Value("${retryPolicy.maxAttempts}")
     private int maxAttempts;
+    @Value("${launchPolicy.mode:sequential}")
+    private String launchMode;
+    @Value("${launchPolicy.resume:false}")
+    private boolean resume;
+    @Value("${partitionPolicy.mode:local}")
+    private String partitionMode;
 
     @Override
     public void run(String... args) {
+        if ("worker".equals(partitionMode)) {
+            log.info("worker 모드: job 을 실행하지 않고 manager 의 파티션 요청을 기다림");
+            return;
+        }
+        if ("concurrent".equals(launchMode)) {
+            if (resume) {
+                // 재개는 법정동 코드마다 마지막 job execution 을 확인해야 하므로 순서대로 실행한다
+                log.warn("launchPolicy.resume 이면 concurrent 모드 대신 순서대로 재개함");
+            } else {
+                realEstateJobLauncher.launchJobsConcurrently(Arrays.asList(RealEstateType.values()), maxAttempts);
+                return;
+            }
+        }
+        if ("grid".equals(launchMode)) {
+            launchGridJobsForAllTypes();
+            return;
+        }
         launchJobsForAllTypes();
     }
 
+    private void launchGridJobsForAllTypes() {
+        for (RealEstateType realEstateType : RealEstateType.values()) {
+            try {
+                realEstateGridJobLauncher.launchJob(realEstateType);
+            } catch (Exception e) {
+                log.error("[{}] grid job 실행 실패", realEstateType.getKrName(), e);
+            }
+        }
+    }
+
     private void launchJobsForAllTypes() {
         for (RealEstateType realEstateType : RealEstateType.values()) {
-            realEstateJobLauncher.executeWithRetry(realEstateType, maxAttempts);
+            if (resume) {
+                realEstateJobLauncher.resume(realEstateType, maxAttempts);
+            } else {
+                realEstateJobLauncher.executeWithRetry(realEstateType, maxAttempts);
+            }
         }
     }
 
@@ -0,0 +1,88 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.exception.DailyQuotaExceededException;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증키와 api 주소(openapi.yml 의 openapi.request.url) 별로 토큰 버킷을 두어 호출 속도와 일일 호출 횟수를 제한한다.
+ * 설정은 rateLimitPolicy.{부동산 종류}.* 가 있으면 그 값을, 없으면 rateLimitPolicy.* 기본값을 사용한다.
+ */
+@Slf4j
+@Component
+public class ApiRateLimiter {
+
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, LimitedEndpoint> endpoints = new ConcurrentHashMap<>();
+
+    public ApiRateLimiter(Environment env) {
+        this.env = env;
+        this.meterRegistry = Metrics.globalRegistry;
+    }
+
+    public void acquire(String baseUrl, String serviceKey) {
+        LimitedEndpoint endpoint = endpoints.computeIfAbsent(baseUrl + "|" + serviceKey,
+                key -> createEndpoint(baseUrl, serviceKey));
+        if (!endpoint.bucket.tryConsumeDailyQuota()) {
+            endpoint.quotaExceeded.increment();
+            throw new DailyQuotaExceededException(endpoint.name, endpoint.bucket.getDailyQuota());
+        }
+        long waitNanos = endpoint.bucket.acquire();
+        endpoint.waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private LimitedEndpoint createEndpoint(String baseUrl, String serviceKey) {
+        String policyPrefix = resolvePolicyPrefix(baseUrl);
+        double permitsPerSecond = getPolicy(policyPrefix, "permitsPerSecond", Double.class, 10.0);
+        int burst = getPolicy(policyPrefix, "burst", Integer.class, 10);
+        long dailyQuota = getPolicy(policyPrefix, "dailyQuota", Long.class, 0L);
+        TokenBucket bucket = new TokenBucket(permitsPerSecond, burst, dailyQuota);
+
+        String name = baseUrl.substring(baseUrl.lastIndexOf('/') + 1);
+        Tags tags = Tags.of("endpoint", name, "serviceKey", Integer.toHexString(serviceKey.hashCode()));
+        Gauge.builder("openapi.ratelimit.daily.usage", bucket, TokenBucket::getDailyUsage)
+                .tags(tags)
+                .register(meterRegistry);
+        log.info("[{}] api 호출 제한 설정 -> ( 초당 {}회, burst {}, 일일 {}회 )", name, permitsPerSecond, burst, dailyQuota);
+        return new LimitedEndpoint(name, bucket,
+                Timer.builder("openapi.ratelimit.wait").tags(tags).register(meterRegistry),
+                Counter.builder("openapi.ratelimit.quota.exceeded").tags(tags).register(meterRegistry));
+    }
+
+    private String resolvePolicyPrefix(String baseUrl) {
+        for (RealEstateType realEstateType : RealEstateType.values()) {
+            if (baseUrl.equals(env.getProperty("openapi.request.url." + realEstateType.name()))) {
+                return "rateLimitPolicy." + realEstateType.name() + ".";
+            }
+        }
+        return "rateLimitPolicy.";
+    }
+
+    private <T> T getPolicy(String policyPrefix, String name, Class<T> type, T defaultValue) {
+        T value = env.getProperty(policyPrefix + name, type);
+        return value != null ? value : env.getProperty("rateLimitPolicy." + name, type, defaultValue);
+    }
+
+    @AllArgsConstructor
+    private static class LimitedEndpoint {
+        private final String name;
+        private final TokenBucket bucket;
+        private final Timer waitTimer;
+        private final Counter quotaExceeded;
+    }
+
+}
@@ -1,39 +1,163 @@
 package com.dsadara.realestatebatchservice.service;
 
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
-public class ApiRequester {
+public class ApiRequester implements DisposableBean {
 
     private final RealEstateDataFetcher realEstateDataFetcher;
+    @Value("${openapi.request.numOfRows:1000}")
+    private int numOfRows = 1000;
+    @Value("${openapi.request.pageConcurrency:1}")
+    private int pageConcurrency = 1;
+    private ExecutorService pageExecutor;
 
     public ApiRequester(RealEstateDataFetcher realEstateDataFetcher) {
         this.realEstateDataFetcher = realEstateDataFetcher;
     }
 
+    @PostConstruct
+    public void init() {
+        if (pageConcurrency > 1) {
+            pageExecutor = Executors.newFixedThreadPool(pageConcurrency);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (pageExecutor != null) {
+            pageExecutor.shutdown();
+        }
+    }
+
     public List<RealEstateDto> fetchData(String baseURL, String servicekey, String bjdCode, String dealYearMonth) throws Exception {
+        List<RealEstateDto> realEstateDtos = new ArrayList<>();
+        fetchData(baseURL, servicekey, bjdCode, dealYearMonth, realEstateDtos::add);
+        return realEstateDtos;
+    }
+
+    /**
+     * 첫 페이지의 totalCount 로 전체 페이지 수를 구한 뒤 나머지 페이지를 모두 호출하여 item 을 페이지 순서대로 consumer 에 전달한다.
+     * openapi.request.pageConcurrency 가 1보다 크면 나머지 페이지를 동시에 호출한다.
+     */
+    public ApiPageResult fetchData(String baseURL, String servicekey, String bjdCode, String dealYearMonth,
+                                   Consumer<RealEstateDto> consumer) throws Exception {
+        ApiPageResult firstPage = fetchPage(baseURL, servicekey, bjdCode, dealYearMonth, 1, numOfRows, consumer);
+        int totalPages = getTotalPages(firstPage, numOfRows);
+        int itemCount = firstPage.getItemCount();
+
+        if (pageExecutor == null || totalPages <= 2) {
+            for (int pageNo = 2; pageNo <= totalPages; pageNo++) {
+                itemCount += fetchPage(baseURL, servicekey, bjdCode, dealYearMonth, pageNo, numOfRows, consumer).getItemCount();
+            }
+        } else {
+            itemCount += fetchRemainingPagesConcurrently(baseURL, servicekey, bjdCode, dealYearMonth, totalPages, consumer);
+        }
+        firstPage.setItemCount(itemCount);
+        log.info("[법정동 코드 {}][계약 연월일 {}] api 호출 완료 -> ( 데이터 개수: {}, 페이지 수: {} )", bjdCode, dealYearMonth, itemCount, totalPages);
+
+        return firstPage;
+    }
+
+    public ApiPageResult fetchPage(String baseURL, String servicekey, String bjdCode, String dealYearMonth,
+                                   int pageNo, int numOfRows, Consumer<RealEstateDto> consumer) throws Exception {
+        return requestPage(baseURL, servicekey, bjdCode, dealYearMonth, pageNo, numOfRows,
+                queryParams -> realEstateDataFetcher.fetchItems(baseURL, queryParams, consumer));
+    }
+
+    /**
+     * fetchPage 와 같지만 item 을 RealEstateDto 를 거치지 않고 RealEstateRow 로 바로 읽는다.
+     */
+    public ApiPageResult fetchRowPage(String baseURL, String servicekey, String bjdCode, String dealYearMonth,
+                                      int pageNo, int numOfRows, Consumer<RealEstateRow> consumer) throws Exception {
+        return requestPage(baseURL, servicekey, bjdCode, dealYearMonth, pageNo, numOfRows,
+                queryParams -> realEstateDataFetcher.fetchRows(baseURL, queryParams, consumer));
+    }
+
+    private ApiPageResult requestPage(String baseURL, String servicekey, String bjdCode, String dealYearMonth,
+                                      int pageNo, int numOfRows, PageRequest pageRequest) throws Exception {
         MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
         queryParams.add("LAWD_CD", bjdCode);
         queryParams.add("DEAL_YMD", dealYearMonth);
         queryParams.add("serviceKey", servicekey);
+        queryParams.add("numOfRows", String.valueOf(numOfRows));
+        queryParams.add("pageNo", String.valueOf(pageNo));
 
-        ResponseEntity<String> response = realEstateDataFetcher.getResponse(baseURL, queryParams);
-        Optional<JsonNode> itemOptional = realEstateDataFetcher.stringToJsonNode(response.getBody());
-        List<RealEstateDto> realEstateDtos = realEstateDataFetcher.jsonNodeToPOJO(itemOptional).orElse(new ArrayList<>());
-        log.info("[법정동 코드 {}][계약 연월일 {}] api 호출 완료 -> ( 데이터 개수: {} )", bjdCode, dealYearMonth, realEstateDtos.size());
+        String endpoint = baseURL.substring(baseURL.lastIndexOf('/') + 1);
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        ApiPageResult apiPageResult = pageRequest.fetch(queryParams);
+        sample.stop(Metrics.timer("openapi.page.latency", "endpoint", endpoint));
+        DistributionSummary.builder("openapi.page.items")
+                .tag("endpoint", endpoint)
+                .register(Metrics.globalRegistry)
+                .record(apiPageResult.getItemCount());
+        log.debug("[법정동 코드 {}][계약 연월일 {}][페이지 {}] api 호출 완료 -> ( 데이터 개수: {} )", bjdCode, dealYearMonth, pageNo, apiPageResult.getItemCount());
 
-        return realEstateDtos;
+        return apiPageResult;
+    }
+
+    public static int getTotalPages(ApiPageResult firstPage, int numOfRows) {
+        if (firstPage.getTotalCount() <= 0) {
+            return 1;
+        }
+        return (firstPage.getTotalCount() + numOfRows - 1) / numOfRows;
+    }
+
+    private int fetchRemainingPagesConcurrently(String baseURL, String servicekey, String bjdCode, String dealYearMonth,
+                                                int totalPages, Consumer<RealEstateDto> consumer) throws Exception {
+        List<CompletableFuture<List<RealEstateDto>>> futures = new ArrayList<>();
+        for (int pageNo = 2; pageNo <= totalPages; pageNo++) {
+            int page = pageNo;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<RealEstateDto> pageItems = new ArrayList<>();
+                try {
+                    fetchPage(baseURL, servicekey, bjdCode, dealYearMonth, page, numOfRows, pageItems::add);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+                return pageItems;
+            }, pageExecutor));
+        }
+
+        int itemCount = 0;
+        for (CompletableFuture<List<RealEstateDto>> future : futures) {
+            try {
+                List<RealEstateDto> pageItems = future.join();
+                pageItems.forEach(consumer);
+                itemCount += pageItems.size();
+            } catch (CompletionException e) {
+                futures.forEach(remaining -> remaining.cancel(true));
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        return itemCount;
+    }
+
+    @FunctionalInterface
+    private interface PageRequest {
+        ApiPageResult fetch(MultiValueMap<String, String> queryParams) throws IOException;
     }
 
 }
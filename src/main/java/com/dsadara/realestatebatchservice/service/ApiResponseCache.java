@@ -0,0 +1,257 @@
+package com.dsadara.realestatebatchservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 정상 응답(resultCode 00)의 원본 JSON 을 gzip 으로 압축해 디스크에 저장하고, 같은 요청이면 네트워크 대신 파일을 읽는다.
+ * 키는 api 주소의 마지막 경로, 법정동 코드, 계약 연월, numOfRows, pageNo 이고 인증키는 포함하지 않는다.
+ * 계약 연월이 immutableAfterMonths 개월보다 오래되면 만료되지 않고, 최근 연월은 recentTtlHours 시간 뒤 만료된다.
+ * 전체 크기가 maxSizeMb 를 넘으면 가장 오래 사용하지 않은 파일부터 지운다.
+ */
+@Slf4j
+@Component
+public class ApiResponseCache {
+
+    private static final DateTimeFormatter DEAL_YEAR_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String SUFFIX = ".json.gz";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final int immutableAfterMonths;
+    private final Duration recentTtl;
+    private final Clock clock;
+
+    // 파일 경로(directory 기준 상대 경로) -> 크기, 접근 순서로 정렬하여 LRU 로 사용한다
+    private final LinkedHashMap<String, CachedFile> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter expiredCounter;
+    private final Counter evictionCounter;
+
+    @Autowired
+    public ApiResponseCache(Environment env) {
+        this(env, Clock.system(ZoneId.of("Asia/Seoul")));
+    }
+
+    ApiResponseCache(Environment env, Clock clock) {
+        this.enabled = env.getProperty("responseCachePolicy.enabled", Boolean.class, false);
+        this.directory = Paths.get(env.getProperty("responseCachePolicy.directory", "cache/openapi"));
+        this.maxSizeBytes = env.getProperty("responseCachePolicy.maxSizeMb", Long.class, 2048L) * 1024 * 1024;
+        this.immutableAfterMonths = env.getProperty("responseCachePolicy.immutableAfterMonths", Integer.class, 12);
+        this.recentTtl = Duration.ofHours(env.getProperty("responseCachePolicy.recentTtlHours", Long.class, 6L));
+        this.clock = clock;
+
+        hitCounter = Metrics.counter("openapi.cache.requests", "result", "hit");
+        missCounter = Metrics.counter("openapi.cache.requests", "result", "miss");
+        expiredCounter = Metrics.counter("openapi.cache.requests", "result", "expired");
+        evictionCounter = Metrics.counter("openapi.cache.evictions");
+        Gauge.builder("openapi.cache.size.bytes", this, ApiResponseCache::getSizeBytes)
+                .register(Metrics.globalRegistry);
+
+        if (enabled) {
+            loadIndex();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static String keyOf(String baseUrl, MultiValueMap<String, String> queryParams) {
+        String endpoint = baseUrl.substring(baseUrl.lastIndexOf('/') + 1).replace("?", "");
+        return endpoint + "/" + queryParams.getFirst("LAWD_CD") + "/" + queryParams.getFirst("DEAL_YMD")
+                + "-" + queryParams.getFirst("numOfRows") + "-" + queryParams.getFirst("pageNo") + SUFFIX;
+    }
+
+    /**
+     * @return 압축을 푼 응답 본문. 없거나 만료되었으면 null
+     */
+    public InputStream open(String key) throws IOException {
+        CachedFile cachedFile;
+        synchronized (index) {
+            cachedFile = index.get(key);
+        }
+        if (cachedFile == null) {
+            missCounter.increment();
+            return null;
+        }
+        if (isExpired(key, cachedFile)) {
+            expiredCounter.increment();
+            evict(key);
+            return null;
+        }
+        try {
+            InputStream inputStream = new GZIPInputStream(Files.newInputStream(directory.resolve(key)));
+            hitCounter.increment();
+            return inputStream;
+        } catch (IOException e) {
+            // 다른 스레드가 지웠거나 손상된 파일이면 네트워크에서 다시 받는다
+            log.warn("[응답 캐시] {} 읽기 실패, 캐시에서 제거", key, e);
+            missCounter.increment();
+            evict(key);
+            return null;
+        }
+    }
+
+    public void put(String key, byte[] body) {
+        Path target = directory.resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "put-", ".tmp");
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                outputStream.write(body);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(target);
+            synchronized (index) {
+                CachedFile previous = index.put(key, new CachedFile(size, clock.instant()));
+                sizeBytes += size - (previous != null ? previous.size : 0);
+            }
+            evictOverflow();
+        } catch (IOException e) {
+            log.warn("[응답 캐시] {} 저장 실패", key, e);
+        }
+    }
+
+    /**
+     * 압축을 푼 뒤 파싱에 실패한 경우처럼 저장된 응답을 더 이상 사용할 수 없을 때 호출한다.
+     */
+    public void evict(String key) {
+        CachedFile removed;
+        synchronized (index) {
+            removed = index.remove(key);
+            if (removed != null) {
+                sizeBytes -= removed.size;
+            }
+        }
+        if (removed != null) {
+            deleteQuietly(key);
+        }
+    }
+
+    public long getSizeBytes() {
+        synchronized (index) {
+            return sizeBytes;
+        }
+    }
+
+    private boolean isExpired(String key, CachedFile cachedFile) {
+        YearMonth dealYearMonth = parseDealYearMonth(key);
+        YearMonth immutableBefore = YearMonth.now(clock).minusMonths(immutableAfterMonths);
+        if (dealYearMonth != null && !dealYearMonth.isAfter(immutableBefore)) {
+            return false;
+        }
+        return cachedFile.storedAt.plus(recentTtl).isBefore(clock.instant());
+    }
+
+    private YearMonth parseDealYearMonth(String key) {
+        String fileName = key.substring(key.lastIndexOf('/') + 1);
+        try {
+            return YearMonth.parse(fileName.substring(0, 6), DEAL_YEAR_MONTH_FORMAT);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void evictOverflow() {
+        while (true) {
+            String eldest;
+            synchronized (index) {
+                if (sizeBytes <= maxSizeBytes || index.isEmpty()) {
+                    return;
+                }
+                Iterator<Map.Entry<String, CachedFile>> iterator = index.entrySet().iterator();
+                Map.Entry<String, CachedFile> entry = iterator.next();
+                eldest = entry.getKey();
+                sizeBytes -= entry.getValue().size;
+                iterator.remove();
+            }
+            evictionCounter.increment();
+            deleteQuietly(eldest);
+        }
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            Files.deleteIfExists(directory.resolve(key));
+        } catch (IOException e) {
+            log.warn("[응답 캐시] {} 삭제 실패", key, e);
+        }
+    }
+
+    // 이전 실행에서 저장한 파일을 수정 시간 순서로 읽어 LRU 순서를 복원한다
+    private void loadIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> files = paths.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .collect(Collectors.toList());
+            synchronized (index) {
+                for (Path file : files) {
+                    long size = Files.size(file);
+                    String key = directory.relativize(file).toString().replace('\\', '/');
+                    index.put(key, new CachedFile(size, lastModified(file)));
+                    sizeBytes += size;
+                }
+            }
+            log.info("[응답 캐시] {} 개 파일, {} bytes 불러옴", files.size(), getSizeBytes());
+        } catch (IOException e) {
+            log.warn("[응답 캐시] {} 읽기 실패, 빈 캐시로 시작", directory, e);
+        }
+        evictOverflow();
+    }
+
+    private Instant lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static class CachedFile {
+        private final long size;
+        private final Instant storedAt;
+
+        private CachedFile(long size, Instant storedAt) {
+            this.size = size;
+            this.storedAt = storedAt;
+        }
+    }
+
+}
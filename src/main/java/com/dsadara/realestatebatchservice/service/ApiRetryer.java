@@ -0,0 +1,188 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.exception.OpenApiErrorResponseException;
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * api 호출 하나를 지수 backoff 와 jitter 로 재시도한다. 재시도는 endpoint 별 retry budget 안에서만 하여 api 서버 장애 때 호출량이 불어나지 않도록 한다.
+ * 재시도하는 오류는 연결, 읽기 timeout 등 I/O 오류, 5xx, 429, JSON 이 아닌 응답(게이트웨이 오류 응답), 일시적인 resultCode 오류 응답이다.
+ * 설정은 retryPolicy.request.* 를 사용한다.
+ */
+@Slf4j
+@Component
+public class ApiRetryer {
+
+    // 01 APPLICATION_ERROR, 02 DB_ERROR, 04 HTTP_ERROR, 05 SERVICETIMEOUT_ERROR, 99 UNKNOWN_ERROR
+    private static final Set<String> TRANSIENT_RESULT_CODES = new HashSet<>(Arrays.asList("01", "02", "04", "05", "99"));
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double budgetRatio;
+    private final int budgetCapacity;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public ApiRetryer(Environment env) {
+        this.maxAttempts = Math.max(1, env.getProperty("retryPolicy.request.maxAttempts", Integer.class, 4));
+        this.initialBackoffMillis = env.getProperty("retryPolicy.request.initialBackoffMillis", Long.class, 500L);
+        this.maxBackoffMillis = env.getProperty("retryPolicy.request.maxBackoffMillis", Long.class, 10000L);
+        this.budgetRatio = env.getProperty("retryPolicy.request.budgetRatio", Double.class, 0.2);
+        this.budgetCapacity = env.getProperty("retryPolicy.request.budgetCapacity", Integer.class, 100);
+        this.meterRegistry = Metrics.globalRegistry;
+    }
+
+    /**
+     * resultCode 가 재시도할 만한 일시적 오류인지 확인한다. 00(정상)이나 03(데이터 없음), 인증키 오류 등은 다시 호출해도 같으므로 제외한다.
+     */
+    public static boolean isTransientResultCode(String resultCode) {
+        return resultCode != null && TRANSIENT_RESULT_CODES.contains(resultCode);
+    }
+
+    public <T, E extends Exception> T execute(String baseUrl, ApiCall<T, E> call) throws E {
+        return execute(baseUrl, call, () -> true);
+    }
+
+    /**
+     * @param retryAllowed 실패한 뒤 다시 호출해도 되는지. 응답 일부를 이미 넘겼다면 false 를 반환하여 중복을 막는다
+     */
+    public <T, E extends Exception> T execute(String baseUrl, ApiCall<T, E> call, BooleanSupplier retryAllowed) throws E {
+        String endpoint = baseUrl.substring(baseUrl.lastIndexOf('/') + 1);
+        RetryBudget budget = budgets.computeIfAbsent(endpoint, key -> new RetryBudget(budgetRatio, budgetCapacity));
+        budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                String reason = retryReason(e);
+                if (attempt >= maxAttempts || reason == null || !retryAllowed.getAsBoolean()) {
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    retryCounter(endpoint, "budget_exhausted").increment();
+                    log.warn("[{}] retry budget 을 모두 사용하여 재시도하지 않습니다. : {}", endpoint, e.toString());
+                    throw e;
+                }
+                long backoffMillis = backoffMillis(attempt, e);
+                retryCounter(endpoint, reason).increment();
+                log.warn("[{}] api 호출 실패 ({}), {}ms 후 재시도 ({}/{}) : {}", endpoint, reason, backoffMillis, attempt, maxAttempts - 1, e.toString());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 재시도할 오류이면 metric 에 남길 이유, 아니면 null
+     */
+    static String retryReason(Exception e) {
+        if (e instanceof OpenApiErrorResponseException) {
+            return "result_code";
+        }
+        if (e instanceof HttpServerErrorException) {
+            return "server_error";
+        }
+        if (e instanceof HttpStatusCodeException && ((HttpStatusCodeException) e).getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return "too_many_requests";
+        }
+        // 본문을 바로 읽는 경우 JSON 오류도 ResourceAccessException 으로 감싸진다
+        if (e instanceof JsonParseException || (e instanceof ResourceAccessException && e.getCause() instanceof JsonParseException)) {
+            return "invalid_body";
+        }
+        if (e instanceof ResourceAccessException) {
+            return "io_error";
+        }
+        return null;
+    }
+
+    /**
+     * 상한(initialBackoffMillis * 2^(attempt-1), 최대 maxBackoffMillis)의 절반은 고정, 절반은 무작위로 기다린다(equal jitter).
+     * 응답에 Retry-After(초)가 있으면 maxBackoffMillis 안에서 그만큼은 기다린다.
+     */
+    long backoffMillis(int attempt, Exception e) {
+        long cap = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long backoff = cap <= 1 ? Math.max(cap, 0) : cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+        if (e instanceof HttpStatusCodeException) {
+            HttpHeaders headers = ((HttpStatusCodeException) e).getResponseHeaders();
+            String retryAfter = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null && retryAfter.trim().matches("\\d+")) {
+                backoff = Math.max(backoff, Math.min(maxBackoffMillis, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()))));
+            }
+        }
+        return backoff;
+    }
+
+    private Counter retryCounter(String endpoint, String reason) {
+        return Counter.builder("openapi.retry")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface ApiCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * 첫 호출마다 budgetRatio 만큼 적립하고 재시도마다 1 을 꺼내 쓰는 lock-free retry budget.
+     * 가득 찬 상태(budgetCapacity)로 시작하므로 짧은 장애는 바로 재시도하고, 장애가 길어지면 재시도가 첫 호출의 budgetRatio 배로 제한된다.
+     */
+    static class RetryBudget {
+
+        private static final long SCALE = 1000;
+
+        private final long depositPerRequest;
+        private final long capacity;
+        private final AtomicLong balance;
+
+        RetryBudget(double ratio, int capacity) {
+            this.depositPerRequest = Math.round(ratio * SCALE);
+            this.capacity = capacity * SCALE;
+            this.balance = new AtomicLong(this.capacity);
+        }
+
+        void deposit() {
+            balance.accumulateAndGet(depositPerRequest, (current, amount) -> Math.min(capacity, current + amount));
+        }
+
+        boolean tryWithdraw() {
+            while (true) {
+                long current = balance.get();
+                if (current < SCALE) {
+                    return false;
+                }
+                if (balance.compareAndSet(current, current - SCALE)) {
+                    return true;
+                }
+            }
+        }
+
+    }
+
+}
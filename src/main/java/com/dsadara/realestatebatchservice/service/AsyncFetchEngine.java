@@ -0,0 +1,250 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 셀(법정동 코드, 계약 연월)을 동시에 호출하고, 받은 페이지를 크기가 제한된 큐로 reader 에 전달한다.
+ * 동시에 호출 중인 셀은 fetchEnginePolicy.maxInFlight 개를 넘지 않는다. 페이지는 호출하기 전에 engine 전체에서 queueCapacity 개인
+ * 자리를 먼저 잡고(받는 중, 큐에 있는 중, reader 가 읽는 중인 페이지 포함), 자리가 없으면 호출 스레드가 reader 가 페이지를 다 읽기를 기다리므로
+ * 동시에 열린 stream(파티션) 수와 maxInFlight 와 관계없이 메모리에 올라가는 데이터는 queueCapacity 페이지 이하이다.
+ * JDK 21 이상에서 실행하면 셀마다 virtual thread 를 사용하고(fetchEnginePolicy.threads=virtual), 그 밖에는 platform thread pool 을 사용한다.
+ */
+@Slf4j
+@Service
+public class AsyncFetchEngine implements DisposableBean {
+
+    private final ApiRequester apiRequester;
+    @Value("${fetchEnginePolicy.threads:virtual}")
+    private String threads = "virtual";
+    @Value("${fetchEnginePolicy.platformThreads:32}")
+    private int platformThreads = 32;
+    @Value("${fetchEnginePolicy.maxInFlight:200}")
+    private int maxInFlight = 200;
+    @Value("${fetchEnginePolicy.queueCapacity:64}")
+    private int queueCapacity = 64;
+    @Value("${openapi.request.numOfRows:1000}")
+    private int numOfRows = 1000;
+
+    private ExecutorService executor;
+    private Semaphore inFlight;
+    private Semaphore bufferedPages;
+    private boolean virtualThreads;
+
+    public AsyncFetchEngine(ApiRequester apiRequester) {
+        this.apiRequester = apiRequester;
+    }
+
+    @PostConstruct
+    public void init() {
+        executor = "virtual".equals(threads) ? newVirtualThreadPerTaskExecutor() : null;
+        virtualThreads = executor != null;
+        if (executor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(platformThreads, runnable -> {
+                Thread thread = new Thread(runnable, "fetch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        inFlight = new Semaphore(maxInFlight, true);
+        bufferedPages = new Semaphore(Math.max(queueCapacity, 1), true);
+        Gauge.builder("openapi.fetch.inflight", () -> maxInFlight - inFlight.availablePermits())
+                .register(Metrics.globalRegistry);
+        log.info("fetch engine 시작 -> ( virtual thread: {}, 최대 동시 호출 셀: {}, 큐 크기: {} )", virtualThreads, maxInFlight, queueCapacity);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * 셀마다 모든 페이지를 호출한다. 셀 안의 페이지는 순서대로 전달되지만 셀끼리는 먼저 끝난 페이지부터 섞여서 전달된다.
+     *
+     * @param cells "법정동코드:계약연월" 목록
+     */
+    public FetchStream open(String baseUrl, String serviceKey, List<String> cells) {
+        FetchStream stream = new FetchStream(cells.size(), bufferedPages);
+        for (String cell : cells) {
+            stream.futures.add(executor.submit(() -> fetchCell(stream, baseUrl, serviceKey, cell)));
+        }
+        return stream;
+    }
+
+    private void fetchCell(FetchStream stream, String baseUrl, String serviceKey, String cell) {
+        String[] bjdCodeAndDealYearMonth = cell.split(RegionMonthGridPartitioner.REGION_MONTH_SEPARATOR);
+        try {
+            inFlight.acquire();
+            try {
+                int totalPages = 1;
+                for (int pageNo = 1; pageNo <= totalPages; pageNo++) {
+                    // 페이지를 받기 전에 자리를 잡아야 받아 놓고 큐를 기다리는 페이지까지 queueCapacity 안에 들어간다
+                    bufferedPages.acquire();
+                    List<RealEstateDto> items = new ArrayList<>(numOfRows);
+                    ApiPageResult result;
+                    try {
+                        result = apiRequester.fetchPage(baseUrl, serviceKey, bjdCodeAndDealYearMonth[0],
+                                bjdCodeAndDealYearMonth[1], pageNo, numOfRows, items::add);
+                    } catch (Exception e) {
+                        bufferedPages.release();
+                        throw e;
+                    }
+                    if (pageNo == 1) {
+                        totalPages = ApiRequester.getTotalPages(result, numOfRows);
+                    }
+                    if (!stream.enqueue(new Page(cell, items, pageNo == totalPages, Math.max(result.getTotalCount(), 0), null))) {
+                        // 닫힌 stream
+                        bufferedPages.release();
+                        return;
+                    }
+                }
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // 실패는 데이터가 없으므로 bufferedPages 를 기다리지 않고 넣어 reader 가 바로 알 수 있도록 한다
+            stream.enqueue(new Page(cell, Collections.emptyList(), true, 0, e));
+        }
+    }
+
+    /**
+     * JDK 21 의 Executors.newVirtualThreadPerTaskExecutor(). 소스는 Java 8 로 컴파일하므로 reflection 으로 찾는다.
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            log.info("virtual thread 를 지원하지 않는 JDK({}) 이므로 platform thread 사용", System.getProperty("java.version"));
+            return null;
+        } catch (ReflectiveOperationException e) {
+            log.warn("virtual thread executor 생성 실패, platform thread 사용", e);
+            return null;
+        }
+    }
+
+    /**
+     * open() 으로 시작한 셀들의 데이터를 하나씩 읽는다. 스레드 하나(step 스레드)에서만 읽어야 한다.
+     */
+    public static class FetchStream implements AutoCloseable {
+
+        private final BlockingQueue<Page> queue = new LinkedBlockingQueue<>();
+        private final Semaphore bufferedPages;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private boolean closed;
+        private int remainingCells;
+        private Page current;
+        private Iterator<RealEstateDto> items = Collections.emptyIterator();
+
+        private FetchStream(int cellCount, Semaphore bufferedPages) {
+            this.remainingCells = cellCount;
+            this.bufferedPages = bufferedPages;
+        }
+
+        /**
+         * @return stream 이 이미 닫혔으면 false
+         */
+        private synchronized boolean enqueue(Page page) {
+            if (closed) {
+                return false;
+            }
+            queue.add(page);
+            return true;
+        }
+
+        /**
+         * @param listener 셀의 마지막 데이터를 읽은 직후 셀과 전체 데이터 건수를 받는다
+         * @return 다음 데이터. 모든 셀을 다 읽었으면 null
+         */
+        public RealEstateDto read(CellCompletionListener listener) throws Exception {
+            while (!items.hasNext()) {
+                if (current != null && current.last) {
+                    remainingCells--;
+                    listener.onCellCompleted(current.cell, current.totalCount);
+                }
+                release(current);
+                current = null;
+                if (remainingCells == 0) {
+                    return null;
+                }
+                current = queue.take();
+                if (current.error != null) {
+                    throw current.error;
+                }
+                items = current.items.iterator();
+            }
+            return items.next();
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            futures.forEach(future -> future.cancel(true));
+            release(current);
+            current = null;
+            items = Collections.emptyIterator();
+            Page page;
+            while ((page = queue.poll()) != null) {
+                release(page);
+            }
+        }
+
+        private void release(Page page) {
+            if (page != null && page.error == null) {
+                bufferedPages.release();
+            }
+        }
+
+    }
+
+    public interface CellCompletionListener {
+        void onCellCompleted(String cell, int totalCount);
+    }
+
+    private static class Page {
+        private final String cell;
+        private final List<RealEstateDto> items;
+        private final boolean last;
+        private final int totalCount;
+        private final Exception error;
+
+        private Page(String cell, List<RealEstateDto> items, boolean last, int totalCount, Exception error) {
+            this.cell = cell;
+            this.items = items;
+            this.last = last;
+            this.totalCount = totalCount;
+            this.error = error;
+        }
+    }
+
+}
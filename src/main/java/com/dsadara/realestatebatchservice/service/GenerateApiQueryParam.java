@@ -14,6 +14,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 @Service
 @Getter
@@ -34,6 +35,18 @@ public class GenerateApiQueryParam {
         bjdCodeList = new LinkedList<>(bjdCodeMap.keySet());
     }
 
+    /**
+     * fromDealYearMonth(yyyyMM) 이후의 계약 연월만 반환한다. null 이면 전체 계약 연월을 반환한다.
+     */
+    public List<String> getDealYearMonthsList(String fromDealYearMonth) {
+        if (fromDealYearMonth == null) {
+            return dealYearMonthsList;
+        }
+        return dealYearMonthsList.stream()
+                .filter(dealYearMonth -> dealYearMonth.compareTo(fromDealYearMonth) >= 0)
+                .collect(Collectors.toList());
+    }
+
     private void generateDealYearMonth() {
         Period period = Period.between(LocalDate.of(2005, 1, 1), LocalDate.now());
         int periodMonths = period.getYears() * 12 + period.getMonths();
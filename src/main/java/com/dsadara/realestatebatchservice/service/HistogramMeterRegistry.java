@@ -0,0 +1,34 @@
+package com.dsadara.realestatebatchservice.service;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.cumulative.CumulativeDistributionSummary;
+import io.micrometer.core.instrument.cumulative.CumulativeTimer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.pause.PauseDetector;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * publishPercentileHistogram 을 켠 timer, distribution summary 에 Prometheus registry 와 같은 bucket 을 만드는 누적 registry.
+ * SimpleMeterRegistry 는 이 설정을 무시하고, bucket 을 지정하면 bucket 마다 gauge 를 따로 등록하므로 두 meter 만 바꿔서 만든다.
+ */
+public class HistogramMeterRegistry extends SimpleMeterRegistry {
+
+    public HistogramMeterRegistry() {
+        super(SimpleConfig.DEFAULT, Clock.SYSTEM);
+    }
+
+    @Override
+    protected Timer newTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector) {
+        return new CumulativeTimer(id, clock, distributionStatisticConfig, pauseDetector, getBaseTimeUnit(), true);
+    }
+
+    @Override
+    protected DistributionSummary newDistributionSummary(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, double scale) {
+        return new CumulativeDistributionSummary(id, clock, distributionStatisticConfig, scale, true);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.domain.IngestionWatermark;
+import com.dsadara.realestatebatchservice.domain.IngestionWatermarkRepository;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 증분 수집(ingestionPolicy.mode=incremental)에서 job 이 호출할 첫 계약 연월을 정하고, 수집이 끝나면 기준 연월을 갱신한다.
+ * 늦게 신고되거나 해제되는 거래를 다시 반영하기 위해 마지막으로 수집한 연월에서 lookbackMonths 개월 전부터 다시 호출한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestionWatermarkService {
+
+    private static final DateTimeFormatter DEAL_YEAR_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final IngestionWatermarkRepository ingestionWatermarkRepository;
+
+    @Value("${ingestionPolicy.mode:full}")
+    private String mode = "full";
+    @Value("${ingestionPolicy.lookbackMonths:6}")
+    private int lookbackMonths = 6;
+
+    /**
+     * @return 호출을 시작할 계약 연월(yyyyMM). 전체 수집이거나 기준 연월이 없으면 null (2005년 1월부터 전부 호출)
+     */
+    @Transactional(readOnly = true)
+    public String resolveFromDealYearMonth(RealEstateType realEstateType, String bjdCode) {
+        if (!"incremental".equals(mode)) {
+            return null;
+        }
+        return ingestionWatermarkRepository.findByRealEstateTypeAndBjdCode(realEstateType, bjdCode)
+                .map(watermark -> YearMonth.parse(watermark.getDealYearMonth(), DEAL_YEAR_MONTH_FORMAT)
+                        .minusMonths(Math.max(lookbackMonths - 1, 0))
+                        .format(DEAL_YEAR_MONTH_FORMAT))
+                .orElse(null);
+    }
+
+    @Transactional
+    public void advance(RealEstateType realEstateType, String bjdCode, String dealYearMonth) {
+        IngestionWatermark watermark = ingestionWatermarkRepository.findByRealEstateTypeAndBjdCode(realEstateType, bjdCode)
+                .orElseGet(() -> IngestionWatermark.builder()
+                        .realEstateType(realEstateType)
+                        .bjdCode(bjdCode)
+                        .build());
+        if (watermark.getDealYearMonth() != null && watermark.getDealYearMonth().compareTo(dealYearMonth) >= 0) {
+            return;
+        }
+        watermark.setDealYearMonth(dealYearMonth);
+        ingestionWatermarkRepository.save(watermark);
+        log.info("[{}][법정동 코드 {}] 수집 기준 연월 갱신: {}", realEstateType.getKrName(), bjdCode, dealYearMonth);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.dsadara.realestatebatchservice.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HdrHistogram 과 같은 log-linear bucket 을 AtomicLongArray 로 두는 lock-free 지연 시간 histogram.
+ * 2의 거듭제곱 구간마다 bucket 을 SUB_BUCKETS / 2 개로 나누므로 백분위 값의 상대 오차는 약 3% 이내이다.
+ * 기록은 bucket 하나의 incrementAndGet 뿐이라 여러 파티션 스레드가 동시에 기록해도 경합이 적다.
+ * 조회는 bucket 을 순서대로 읽으므로 조회 중에 기록된 값은 일부만 반영될 수 있다.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    // 마이크로초 단위로 약 2^40us(12일)까지 기록하고, 더 큰 값은 마지막 bucket 에 넣는다
+    private static final long MAX_VALUE = (1L << 40) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+
+    public void record(long duration, TimeUnit unit) {
+        long micros = Math.min(Math.max(unit.toMicros(duration), 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.increment();
+        totalMicros.add(micros);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public double getMeanMillis() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : totalMicros.sum() / 1000.0 / count;
+    }
+
+    /**
+     * percentile(0~100) 에 해당하는 값이 들어 있는 bucket 의 중간값을 밀리초로 반환한다. 기록이 없으면 0 이다.
+     */
+    public double getPercentileMillis(double percentile) {
+        long count = 0;
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                long lower = lowerBoundOf(i);
+                long upper = lowerBoundOf(i + 1) - 1;
+                return (lower + upper) / 2.0 / 1000.0;
+            }
+        }
+        return MAX_VALUE / 1000.0;
+    }
+
+    public double getMaxMillis() {
+        for (int i = counts.length() - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return (lowerBoundOf(i + 1) - 1) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return exponent * HALF_SUB_BUCKETS + (int) (value >>> exponent);
+    }
+
+    static long lowerBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / HALF_SUB_BUCKETS - 1;
+        return (long) (index - exponent * HALF_SUB_BUCKETS) << exponent;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.dsadara.realestatebatchservice.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * job 실행 하나의 slave step 결과를 집계하는 lock-free circuit breaker.
+ * 실패한 step 이 maxFailedSteps 개가 되거나, 최근 windowSize 개 step 중 실패 비율이 failureRate 이상이면 열린다.
+ * failureRate 가 0 이면 실패율은 보지 않는다. 한 번 열리면 닫히지 않고, 연 호출 하나만 record 에서 true 를 받는다.
+ */
+public class PartitionCircuitBreaker {
+
+    private final int maxFailedSteps;
+    private final double failureRate;
+    private final int minimumSteps;
+    // 최근 step 결과의 ring buffer (1: 실패, 0: 성공)
+    private final AtomicIntegerArray window;
+    private final AtomicLong finishedSteps = new AtomicLong();
+    private final AtomicInteger failedSteps = new AtomicInteger();
+    private final AtomicInteger windowFailures = new AtomicInteger();
+    private final AtomicBoolean open = new AtomicBoolean();
+
+    public PartitionCircuitBreaker(int maxFailedSteps, double failureRate, int windowSize, int minimumSteps) {
+        if (maxFailedSteps <= 0 || windowSize <= 0 || failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("maxFailedSteps, windowSize 는 0보다 크고 failureRate 는 0 이상 1 이하여야 합니다.");
+        }
+        this.maxFailedSteps = maxFailedSteps;
+        this.failureRate = failureRate;
+        this.window = new AtomicIntegerArray(windowSize);
+        this.minimumSteps = Math.max(1, minimumSteps);
+    }
+
+    /**
+     * 끝난 step 하나의 결과를 기록한다.
+     *
+     * @return 이 기록으로 circuit breaker 가 열렸으면 true
+     */
+    public boolean record(boolean failed) {
+        long sequence = finishedSteps.getAndIncrement();
+        int outcome = failed ? 1 : 0;
+        // getAndSet 으로 밀려난 결과와의 차이만 더하므로 windowFailures 는 ring buffer 의 합과 같아진다
+        int evicted = window.getAndSet((int) (sequence % window.length()), outcome);
+        int windowFailureCount = outcome == evicted ? windowFailures.get() : windowFailures.addAndGet(outcome - evicted);
+        int failedCount = failed ? failedSteps.incrementAndGet() : failedSteps.get();
+
+        boolean exceeded = failedCount >= maxFailedSteps;
+        if (!exceeded && failureRate > 0 && sequence + 1 >= minimumSteps) {
+            exceeded = windowFailureCount >= failureRate * Math.min(sequence + 1, window.length());
+        }
+        return exceeded && open.compareAndSet(false, true);
+    }
+
+    public boolean isOpen() {
+        return open.get();
+    }
+
+    public int getFailedSteps() {
+        return failedSteps.get();
+    }
+
+    public int getMaxFailedSteps() {
+        return maxFailedSteps;
+    }
+
+    /**
+     * @return 최근 windowSize 개 step 중 실패한 비율. 끝난 step 이 없으면 0
+     */
+    public double getWindowFailureRate() {
+        long finished = Math.min(finishedSteps.get(), window.length());
+        return finished == 0 ? 0 : (double) windowFailures.get() / finished;
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.dsadara.realestatebatchservice.service;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * registry 의 모든 meter 를 Prometheus text format(0.0.4)으로 metricsPolicy.file 에 주기적으로 덮어쓴다.
+ * node_exporter 의 textfile collector 가 읽거나, 네트워크가 없는 환경에서 실행 후 파일을 그대로 확인할 수 있다.
+ * 임시 파일에 쓴 뒤 이동하므로 읽는 쪽은 항상 완성된 파일을 본다. 애플리케이션 종료 시 마지막으로 한 번 더 쓴다.
+ */
+@Slf4j
+@Component
+public class PrometheusTextFileExporter implements DisposableBean {
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    public PrometheusTextFileExporter(MeterRegistry histogramMeterRegistry, Environment env) {
+        this.registry = histogramMeterRegistry;
+        this.enabled = env.getProperty("metricsPolicy.enabled", Boolean.class, true);
+        this.file = Paths.get(env.getProperty("metricsPolicy.file", "metrics/real-estate-batch.prom"));
+        long intervalSeconds = env.getProperty("metricsPolicy.intervalSeconds", Long.class, 15L);
+        if (!enabled) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::exportQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void export() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, scrape(registry).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            exportQuietly();
+        }
+        Metrics.removeRegistry(registry);
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (Exception e) {
+            log.warn("metric 파일 저장 실패: {}", file, e);
+        }
+    }
+
+    /**
+     * timer 와 distribution summary 는 histogram 이 있으면 histogram, 없으면 summary 로, 최대값은 _max gauge 로 쓴다.
+     * timer 는 초 단위(_seconds), counter 는 _total 을 붙인다.
+     */
+    public static String scrape(MeterRegistry registry) {
+        Map<String, Family> families = new TreeMap<>();
+        for (Meter meter : registry.getMeters()) {
+            String name = meter.getId().getConventionName(NamingConvention.snakeCase);
+            String baseUnit = meter.getId().getBaseUnit();
+            String tags = tags(meter.getId().getConventionTags(NamingConvention.snakeCase));
+            meter.use(
+                    gauge -> family(families, name, "gauge").sample(name, tags, gauge.value()),
+                    counter -> family(families, withUnit(name, baseUnit) + "_total", "counter")
+                            .sample(withUnit(name, baseUnit) + "_total", tags, counter.count()),
+                    timer -> distribution(families, name + "_seconds", tags, timer.takeSnapshot(), TimeUnit.SECONDS),
+                    summary -> distribution(families, withUnit(name, baseUnit), tags, summary.takeSnapshot(), null),
+                    longTaskTimer -> {
+                        String seconds = name + "_seconds";
+                        family(families, seconds + "_active_count", "gauge").sample(seconds + "_active_count", tags, longTaskTimer.activeTasks());
+                        family(families, seconds + "_duration_sum", "gauge")
+                                .sample(seconds + "_duration_sum", tags, longTaskTimer.duration(TimeUnit.SECONDS));
+                    },
+                    timeGauge -> family(families, name + "_seconds", "gauge").sample(name + "_seconds", tags, timeGauge.value(TimeUnit.SECONDS)),
+                    functionCounter -> family(families, withUnit(name, baseUnit) + "_total", "counter")
+                            .sample(withUnit(name, baseUnit) + "_total", tags, functionCounter.count()),
+                    functionTimer -> {
+                        String seconds = name + "_seconds";
+                        Family family = family(families, seconds, "summary");
+                        family.sample(seconds + "_count", tags, functionTimer.count());
+                        family.sample(seconds + "_sum", tags, functionTimer.totalTime(TimeUnit.SECONDS));
+                    },
+                    other -> other.measure().forEach(measurement -> {
+                        String statistic = name + "_" + measurement.getStatistic().getTagValueRepresentation();
+                        family(families, statistic, "untyped").sample(statistic, tags, measurement.getValue());
+                    }));
+        }
+        StringBuilder text = new StringBuilder();
+        families.forEach((name, family) -> {
+            text.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            family.lines.forEach(line -> text.append(line).append('\n'));
+        });
+        return text.toString();
+    }
+
+    private static void distribution(Map<String, Family> families, String name, String tags, HistogramSnapshot snapshot, TimeUnit unit) {
+        CountAtBucket[] buckets = snapshot.histogramCounts();
+        Family family = family(families, name, buckets.length > 0 ? "histogram" : "summary");
+        for (CountAtBucket bucket : buckets) {
+            double le = unit != null ? bucket.bucket(unit) : bucket.bucket();
+            family.sample(name + "_bucket", withLe(tags, format(le)), bucket.count());
+        }
+        if (buckets.length > 0) {
+            family.sample(name + "_bucket", withLe(tags, "+Inf"), snapshot.count());
+        }
+        family.sample(name + "_count", tags, snapshot.count());
+        family.sample(name + "_sum", tags, unit != null ? snapshot.total(unit) : snapshot.total());
+        family(families, name + "_max", "gauge").sample(name + "_max", tags, unit != null ? snapshot.max(unit) : snapshot.max());
+    }
+
+    private static Family family(Map<String, Family> families, String name, String type) {
+        return families.computeIfAbsent(name, key -> new Family(type));
+    }
+
+    private static String withUnit(String name, String baseUnit) {
+        if (baseUnit == null || baseUnit.isEmpty() || name.endsWith("_" + baseUnit)) {
+            return name;
+        }
+        return name + "_" + baseUnit;
+    }
+
+    private static String tags(List<Tag> tags) {
+        if (tags.isEmpty()) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Tag tag : tags) {
+            text.append(text.length() == 0 ? "" : ",").append(tag.getKey()).append("=\"").append(escape(tag.getValue())).append('"');
+        }
+        return text.toString();
+    }
+
+    private static String withLe(String tags, String le) {
+        return (tags.isEmpty() ? "" : tags + ",") + "le=\"" + le + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static class Family {
+
+        private final String type;
+        private final List<String> lines = new ArrayList<>();
+
+        Family(String type) {
+            this.type = type;
+        }
+
+        void sample(String name, String tags, double value) {
+            lines.add(name + (tags.isEmpty() ? "" : "{" + tags + "}") + " " + format(value));
+        }
+
+    }
+
+}
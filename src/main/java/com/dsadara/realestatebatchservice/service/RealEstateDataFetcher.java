@@ -1,28 +1,58 @@
 package com.dsadara.realestatebatchservice.service;
 
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import com.dsadara.realestatebatchservice.exception.OpenApiErrorResponseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 public class RealEstateDataFetcher {
 
     private final ObjectMapper objectMapper;
+    private final ObjectReader realEstateDtoReader;
+    private final RealEstateRowBinder realEstateRowBinder = new RealEstateRowBinder();
     private final RestTemplate restTemplate;
+    private final ApiRateLimiter apiRateLimiter;
+    private final ApiResponseCache apiResponseCache;
+    private final ResponseArchive responseArchive;
+    private final ApiRetryer apiRetryer;
 
-    public RealEstateDataFetcher(ObjectMapper objectMapper, RestTemplate restTemplate) {
+    public RealEstateDataFetcher(ObjectMapper objectMapper, RestTemplate restTemplate, ApiRateLimiter apiRateLimiter,
+                                 ApiResponseCache apiResponseCache, ResponseArchive responseArchive, ApiRetryer apiRetryer) {
         this.objectMapper = objectMapper;
+        this.realEstateDtoReader = objectMapper.readerFor(RealEstateDto.class);
         this.restTemplate = restTemplate;
+        this.apiRateLimiter = apiRateLimiter;
+        this.apiResponseCache = apiResponseCache;
+        this.responseArchive = responseArchive;
+        this.apiRetryer = apiRetryer;
     }
 
     public Optional<JsonNode> stringToJsonNode(String rawJson) throws Exception {
@@ -44,11 +74,278 @@ public class RealEstateDataFetcher {
     }
 
     public ResponseEntity<String> getResponse(String baseUrl, MultiValueMap<String, String> queryParams) {
-        URI uri = UriComponentsBuilder.fromUriString(baseUrl)
+        URI uri = buildUri(baseUrl, queryParams);
+        return apiRetryer.execute(baseUrl, () -> {
+            apiRateLimiter.acquire(baseUrl, queryParams.getFirst("serviceKey"));
+            return restTemplate.getForEntity(uri, String.class);
+        });
+    }
+
+    /**
+     * 응답 본문을 문자열이나 JsonNode 로 만들지 않고 InputStream 에서 바로 읽어 item 을 하나씩 consumer 에 전달한다.
+     * 응답 캐시를 사용하면 저장된 응답을 먼저 읽고, 없으면 호출한 응답 본문을 정상 응답일 때만 저장한다.
+     * 응답 보관(archivePolicy.record)을 사용하면 api 를 호출한 정상 응답을 ResponseArchive 에도 이어 붙인다. 캐시에서 읽은 응답은 이미 받았던 응답이므로 다시 붙이지 않는다.
+     * 호출부터 응답 헤더를 받을 때까지(openapi.http.latency), 받은 본문 크기(openapi.http.bytes), 본문을 읽고 item 으로 바꾸는 시간(openapi.parse.latency)을 기록한다.
+     * 본문을 바로 읽는 경우 parse 시간에는 본문을 내려받는 시간도 포함된다.
+     * 호출이 실패하거나 일시적인 resultCode 오류 응답이면 ApiRetryer 로 다시 호출한다. 이미 consumer 에 넘긴 item 이 있으면 중복되므로 다시 호출하지 않는다.
+     */
+    public ApiPageResult fetchItems(String baseUrl, MultiValueMap<String, String> queryParams,
+                                   Consumer<RealEstateDto> consumer) throws IOException {
+        return fetch(baseUrl, queryParams, realEstateDtoReader::readValue, consumer);
+    }
+
+    /**
+     * fetchItems 와 같지만 item 을 RealEstateDto 를 거치지 않고 RealEstateRow 로 바로 읽는다.
+     */
+    public ApiPageResult fetchRows(String baseUrl, MultiValueMap<String, String> queryParams,
+                                   Consumer<RealEstateRow> consumer) throws IOException {
+        return fetch(baseUrl, queryParams, realEstateRowBinder::bind, consumer);
+    }
+
+    private <T> ApiPageResult fetch(String baseUrl, MultiValueMap<String, String> queryParams,
+                                    ItemBinder<T> itemBinder, Consumer<T> consumer) throws IOException {
+        CountingConsumer<T> countingConsumer = new CountingConsumer<>(consumer);
+        return apiRetryer.execute(baseUrl, () -> {
+            ApiPageResult apiPageResult = fetchOnce(baseUrl, queryParams, itemBinder, countingConsumer);
+            if (ApiRetryer.isTransientResultCode(apiPageResult.getResultCode())) {
+                throw new OpenApiErrorResponseException(baseUrl.substring(baseUrl.lastIndexOf('/') + 1),
+                        apiPageResult.getResultCode(), apiPageResult.getResultMsg());
+            }
+            return apiPageResult;
+        }, () -> countingConsumer.count == 0);
+    }
+
+    private <T> ApiPageResult fetchOnce(String baseUrl, MultiValueMap<String, String> queryParams,
+                                        ItemBinder<T> itemBinder, Consumer<T> consumer) throws IOException {
+        Tags tags = requestTags(baseUrl, queryParams);
+        if (!apiResponseCache.isEnabled() && !responseArchive.isRecording()) {
+            URI uri = buildUri(baseUrl, queryParams);
+            apiRateLimiter.acquire(baseUrl, queryParams.getFirst("serviceKey"));
+            Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+            return restTemplate.execute(uri, HttpMethod.GET, null, response -> {
+                sample.stop(httpLatencyTimer(tags));
+                CountingInputStream body = new CountingInputStream(response.getBody());
+                try {
+                    return parse(body, itemBinder, consumer, tags);
+                } finally {
+                    httpBytesCounter(tags).increment(body.count);
+                }
+            });
+        }
+
+        String key = ApiResponseCache.keyOf(baseUrl, queryParams);
+        if (apiResponseCache.isEnabled()) {
+            try (InputStream cached = apiResponseCache.open(key)) {
+                if (cached != null) {
+                    return parse(cached, itemBinder, consumer, tags);
+                }
+            } catch (IOException e) {
+                apiResponseCache.evict(key);
+                throw e;
+            }
+        }
+
+        URI uri = buildUri(baseUrl, queryParams);
+        apiRateLimiter.acquire(baseUrl, queryParams.getFirst("serviceKey"));
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        byte[] body = restTemplate.execute(uri, HttpMethod.GET, null, response -> {
+            sample.stop(httpLatencyTimer(tags));
+            return StreamUtils.copyToByteArray(response.getBody());
+        });
+        httpBytesCounter(tags).increment(body.length);
+        ApiPageResult apiPageResult = parse(new ByteArrayInputStream(body), itemBinder, consumer, tags);
+        if ("00".equals(apiPageResult.getResultCode())) {
+            if (apiResponseCache.isEnabled()) {
+                apiResponseCache.put(key, body);
+            }
+            if (responseArchive.isRecording()) {
+                responseArchive.append(baseUrl, queryParams, body);
+            }
+        }
+        return apiPageResult;
+    }
+
+    /**
+     * response.header 와 response.body 의 페이지 정보를 읽고, response.body.items.item 의 원소를 순서대로 consumer 에 전달한다.
+     * item 이 배열이 아닌 단일 객체이거나, 데이터가 없어 items 가 빈 문자열인 경우도 처리한다.
+     */
+    public ApiPageResult readItems(InputStream inputStream, Consumer<RealEstateDto> consumer) throws IOException {
+        return readItems(inputStream, realEstateDtoReader::readValue, consumer);
+    }
+
+    public ApiPageResult readRows(InputStream inputStream, Consumer<RealEstateRow> consumer) throws IOException {
+        return readItems(inputStream, realEstateRowBinder::bind, consumer);
+    }
+
+    private <T> ApiPageResult readItems(InputStream inputStream, ItemBinder<T> itemBinder, Consumer<T> consumer) throws IOException {
+        ApiPageResult apiPageResult = new ApiPageResult();
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                readObject(parser, "", apiPageResult, itemBinder, consumer);
+            }
+        }
+        return apiPageResult;
+    }
+
+    private <T> void readObject(JsonParser parser, String path, ApiPageResult apiPageResult,
+                                ItemBinder<T> itemBinder, Consumer<T> consumer) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldPath = path + "/" + parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (fieldPath) {
+                case "/response":
+                case "/response/header":
+                case "/response/body":
+                case "/response/body/items":
+                    if (token == JsonToken.START_OBJECT) {
+                        readObject(parser, fieldPath, apiPageResult, itemBinder, consumer);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "/response/body/items/item":
+                    apiPageResult.setItemCount(readItemValues(parser, token, itemBinder, consumer));
+                    break;
+                case "/response/header/resultCode":
+                    apiPageResult.setResultCode(parser.getValueAsString());
+                    break;
+                case "/response/header/resultMsg":
+                    apiPageResult.setResultMsg(parser.getValueAsString());
+                    break;
+                case "/response/body/pageNo":
+                    apiPageResult.setPageNo(parser.getValueAsInt());
+                    break;
+                case "/response/body/numOfRows":
+                    apiPageResult.setNumOfRows(parser.getValueAsInt());
+                    break;
+                case "/response/body/totalCount":
+                    apiPageResult.setTotalCount(parser.getValueAsInt());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private <T> int readItemValues(JsonParser parser, JsonToken token, ItemBinder<T> itemBinder, Consumer<T> consumer) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            consumer.accept(itemBinder.bind(parser));
+            return 1;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return 0;
+        }
+        int itemCount = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            consumer.accept(itemBinder.bind(parser));
+            itemCount++;
+        }
+        return itemCount;
+    }
+
+    private <T> ApiPageResult parse(InputStream inputStream, ItemBinder<T> itemBinder, Consumer<T> consumer, Tags tags) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return readItems(inputStream, itemBinder, consumer);
+        } finally {
+            Timer.builder("openapi.parse.latency")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * api 주소의 마지막 경로(endpoint)와 법정동 코드(region), 계약 연월(month) tag. region, month 는 metricsPolicy.regionMonthTags 일 때만 남는다.
+     */
+    private static Tags requestTags(String baseUrl, MultiValueMap<String, String> queryParams) {
+        return Tags.of(
+                "endpoint", baseUrl.substring(baseUrl.lastIndexOf('/') + 1),
+                "region", String.valueOf(queryParams.getFirst("LAWD_CD")),
+                "month", String.valueOf(queryParams.getFirst("DEAL_YMD")));
+    }
+
+    private static Timer httpLatencyTimer(Tags tags) {
+        return Timer.builder("openapi.http.latency")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Counter httpBytesCounter(Tags tags) {
+        return Counter.builder("openapi.http.bytes")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(Metrics.globalRegistry);
+    }
+
+    private URI buildUri(String baseUrl, MultiValueMap<String, String> queryParams) {
+        return UriComponentsBuilder.fromUriString(baseUrl)
                 .queryParams(queryParams)
                 .build(true)
                 .toUri();
-        return restTemplate.getForEntity(uri, String.class);
+    }
+
+    /**
+     * parser 가 item 객체의 START_OBJECT 에 있을 때 객체 하나를 읽는다.
+     */
+    @FunctionalInterface
+    private interface ItemBinder<T> {
+        T bind(JsonParser parser) throws IOException;
+    }
+
+    private static class CountingConsumer<T> implements Consumer<T> {
+
+        private final Consumer<T> delegate;
+        private int count;
+
+        CountingConsumer(Consumer<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void accept(T item) {
+            delegate.accept(item);
+            count++;
+        }
+
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
     }
 
 }
@@ -0,0 +1,136 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import com.dsadara.realestatebatchservice.processor.RealEstateValueParser;
+import com.dsadara.realestatebatchservice.processor.ValueInterner;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 응답의 item 객체 하나를 JSON 토큰에서 바로 RealEstateRow 로 읽는다. 필드 이름은 RealEstateDto 의 JsonProperty, JsonAlias 와 같다.
+ * 숫자와 금액은 파서의 문자 버퍼에서 바로 변환하고, 종류가 적은 값(법정동, 시군구, 거래유형, 계약구분, 갱신요구권사용)은
+ * RealEstateProcessor 와 같이 이미 본 값이면 String 을 새로 만들지 않는다.
+ * 중개사소재지, 층, 계약기간 등 종류가 많은 값은 intern 하면 표만 차지하므로 RealEstateDto 와 같이 토큰의 텍스트를 그대로 사용한다.
+ */
+public class RealEstateRowBinder {
+
+    private final ValueInterner valueInterner = new ValueInterner();
+
+    /**
+     * parser 는 item 객체의 START_OBJECT 에 있어야 하며, 대응하는 END_OBJECT 까지 읽는다.
+     */
+    public RealEstateRow bind(JsonParser parser) throws IOException {
+        RealEstateRow row = new RealEstateRow();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (token.isStructStart()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (fieldName) {
+                case "건축년도":
+                    row.setConstructYear(shortValue(parser, token));
+                    break;
+                case "년":
+                    row.setContractYear(shortValue(parser, token));
+                    break;
+                case "월":
+                    row.setContractMonth(shortValue(parser, token));
+                    break;
+                case "일":
+                    row.setContractDay(shortValue(parser, token));
+                    break;
+                case "아파트":
+                case "연립다세대":
+                case "단지":
+                    row.setName(parser.getText());
+                    break;
+                case "법정동":
+                    row.setBeopJeongDong(internedText(parser));
+                    break;
+                case "전용면적":
+                case "계약면적":
+                    row.setJeonYongArea(parser.getText());
+                    break;
+                case "지번":
+                    row.setParcelNumber(parser.getText());
+                    break;
+                case "지역코드":
+                    row.setBeopJeongDongCode(parser.getText());
+                    break;
+                case "층":
+                    row.setFloor(parser.getText());
+                    break;
+                case "시군구":
+                    row.setSiGunGu(internedText(parser));
+                    break;
+                case "거래금액":
+                    row.setDealAmount(amountValue(parser, token));
+                    break;
+                case "해제여부":
+                    row.setCancelDealType(parser.getText());
+                    break;
+                case "해제사유발생일":
+                    row.setCancelDealDay(parser.getText());
+                    break;
+                case "거래유형":
+                    row.setDealType(internedText(parser));
+                    break;
+                case "중개사소재지":
+                    row.setAgentAddress(parser.getText());
+                    break;
+                case "갱신요구권사용":
+                    row.setRequestRenewalRight(internedText(parser));
+                    break;
+                case "계약구분":
+                    row.setContractType(internedText(parser));
+                    break;
+                case "계약기간":
+                    row.setContractPeriod(parser.getText());
+                    break;
+                case "월세금액":
+                case "월세":
+                    row.setMonthlyRent(amountValue(parser, token));
+                    break;
+                case "보증금액":
+                case "보증금":
+                    row.setDeposit(amountValue(parser, token));
+                    break;
+                case "종전계약보증금":
+                    row.setDepositBefore(amountValue(parser, token));
+                    break;
+                case "종전계약월세":
+                    row.setMonthlyRentBefore(amountValue(parser, token));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return row;
+    }
+
+    private static short shortValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getShortValue();
+        }
+        return RealEstateValueParser.parseShort(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private static long amountValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        return RealEstateValueParser.parseAmount(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private String internedText(JsonParser parser) throws IOException {
+        return valueInterner.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.domain.RegionMonthStatistics;
+import com.dsadara.realestatebatchservice.domain.RegionMonthStatisticsRepository;
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 부동산 종류, 법정동 코드, 계약 연월(셀)별 데이터 건수를 저장하고 조회한다.
+ * RowCountBalancedPartitioner 가 이전 실행의 건수로 파티션 크기와 실행 순서를 정한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegionMonthStatisticsService {
+
+    private final RegionMonthStatisticsRepository regionMonthStatisticsRepository;
+
+    /**
+     * @return 셀("법정동코드:계약연월")별 마지막 수집의 데이터 건수
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getRowCountsByCell(RealEstateType realEstateType) {
+        Map<String, Integer> result = new HashMap<>();
+        for (RegionMonthStatistics statistics : regionMonthStatisticsRepository.findByRealEstateType(realEstateType)) {
+            result.put(RegionMonthGridPartitioner.cellOf(statistics.getBjdCode(), statistics.getDealYearMonth()), statistics.getRowCount());
+        }
+        return result;
+    }
+
+    /**
+     * @return 법정동 코드 하나의 계약 연월별 마지막 수집의 데이터 건수
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getRowCountsByDealYearMonth(RealEstateType realEstateType, String bjdCode) {
+        Map<String, Integer> result = new HashMap<>();
+        for (RegionMonthStatistics statistics : regionMonthStatisticsRepository.findByRealEstateTypeAndBjdCode(realEstateType, bjdCode)) {
+            result.put(statistics.getDealYearMonth(), statistics.getRowCount());
+        }
+        return result;
+    }
+
+    /**
+     * @param rowCountsByCell 셀("법정동코드:계약연월")별 데이터 건수. 이미 있는 셀은 건수를 갱신한다
+     */
+    @Transactional
+    public void record(RealEstateType realEstateType, Map<String, Integer> rowCountsByCell) {
+        Map<String, Map<String, Integer>> rowCountsByBjdCode = new LinkedHashMap<>();
+        rowCountsByCell.forEach((cell, rowCount) -> {
+            String[] bjdCodeAndDealYearMonth = cell.split(RegionMonthGridPartitioner.REGION_MONTH_SEPARATOR);
+            rowCountsByBjdCode.computeIfAbsent(bjdCodeAndDealYearMonth[0], key -> new LinkedHashMap<>())
+                    .put(bjdCodeAndDealYearMonth[1], rowCount);
+        });
+
+        List<RegionMonthStatistics> changed = new ArrayList<>();
+        rowCountsByBjdCode.forEach((bjdCode, rowCountsByDealYearMonth) -> {
+            Map<String, RegionMonthStatistics> saved = regionMonthStatisticsRepository.findByRealEstateTypeAndBjdCode(realEstateType, bjdCode)
+                    .stream()
+                    .collect(Collectors.toMap(RegionMonthStatistics::getDealYearMonth, Function.identity()));
+            rowCountsByDealYearMonth.forEach((dealYearMonth, rowCount) -> {
+                RegionMonthStatistics statistics = saved.get(dealYearMonth);
+                if (statistics == null) {
+                    statistics = RegionMonthStatistics.builder()
+                            .realEstateType(realEstateType)
+                            .bjdCode(bjdCode)
+                            .dealYearMonth(dealYearMonth)
+                            .build();
+                } else if (statistics.getRowCount() == rowCount) {
+                    return;
+                }
+                statistics.setRowCount(rowCount);
+                changed.add(statistics);
+            });
+        });
+        regionMonthStatisticsRepository.saveAll(changed);
+        log.debug("[{}] 셀 데이터 건수 {} 개 갱신", realEstateType.getKrName(), changed.size());
+    }
+
+}
@@ -0,0 +1,289 @@
+package com.dsadara.realestatebatchservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * api 응답 원본을 부동산 종류(api 주소), 법정동 코드별 segment 파일에 압축하여 이어 붙인다.
+ * archivePolicy.replay 로 실행하면 ArchiveReplayItemReader 가 segment 를 memory-map 하여 api 호출 없이 다시 수집한다.
+ * <p>
+ * segment 는 'REA1' 로 시작하고, 각 레코드는 다음과 같다.
+ * [int 레코드 길이][short key 길이][key: 계약연월-페이지 크기-페이지번호][long 저장 시각][int 원본 길이][deflate 로 압축한 원본]
+ * 쓰다가 중단되어 잘린 마지막 레코드는 읽을 때 무시한다.
+ * 쓰기용 FileChannel 은 최근에 쓴 segment archivePolicy.maxOpenSegments 개까지만 열어 두고, 넘으면 가장 오래 쓰지 않은 segment 부터 닫는다.
+ */
+@Slf4j
+@Component
+public class ResponseArchive implements DisposableBean {
+
+    private static final byte[] MAGIC = "REA1".getBytes(StandardCharsets.US_ASCII);
+    private static final String SUFFIX = ".seg";
+
+    private final boolean recording;
+    private final boolean replay;
+    private final Path directory;
+    private final int maxOpenSegments;
+    // access-order 이므로 첫 entry 가 가장 오래 쓰지 않은 segment 이다. channels 자체로 동기화한다
+    private final LinkedHashMap<Path, FileChannel> channels = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ResponseArchive(Environment env) {
+        this.recording = env.getProperty("archivePolicy.record", Boolean.class, false);
+        this.replay = env.getProperty("archivePolicy.replay", Boolean.class, false);
+        this.directory = Paths.get(env.getProperty("archivePolicy.directory", "archive"));
+        this.maxOpenSegments = Math.max(1, env.getProperty("archivePolicy.maxOpenSegments", Integer.class, 64));
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public boolean isReplay() {
+        return replay;
+    }
+
+    public Path segmentPath(String baseUrl, String bjdCode) {
+        String endpoint = baseUrl.substring(baseUrl.lastIndexOf('/') + 1).replace("?", "");
+        return directory.resolve(endpoint).resolve(bjdCode + SUFFIX);
+    }
+
+    int openSegmentCount() {
+        synchronized (channels) {
+            return channels.size();
+        }
+    }
+
+    public void append(String baseUrl, MultiValueMap<String, String> queryParams, byte[] body) {
+        Path segment = segmentPath(baseUrl, queryParams.getFirst("LAWD_CD"));
+        ByteBuffer record = encode(recordKey(queryParams), body);
+        try {
+            while (true) {
+                FileChannel channel = channelForAppend(segment);
+                // 같은 segment 에 여러 스레드가 쓰더라도 레코드가 섞이지 않도록 segment 단위로 동기화한다
+                synchronized (channel) {
+                    // 다른 스레드가 가장 오래 쓰지 않은 segment 로 닫았으면 다시 연다
+                    if (!channel.isOpen()) {
+                        continue;
+                    }
+                    if (channel.size() == 0) {
+                        channel.write(ByteBuffer.wrap(MAGIC));
+                    }
+                    while (record.hasRemaining()) {
+                        channel.write(record);
+                    }
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[응답 보관] {} 저장 실패", segment, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        List<Map.Entry<Path, FileChannel>> opened;
+        synchronized (channels) {
+            opened = new ArrayList<>(channels.entrySet());
+            channels.clear();
+        }
+        opened.forEach(entry -> close(entry.getKey(), entry.getValue()));
+    }
+
+    private FileChannel channelForAppend(Path segment) throws IOException {
+        synchronized (channels) {
+            FileChannel channel = channels.get(segment);
+            if (channel != null) {
+                return channel;
+            }
+            if (channels.size() >= maxOpenSegments) {
+                // 닫은 뒤에 다시 열어야 한 segment 를 두 channel 로 동시에 쓰지 않는다
+                Iterator<Map.Entry<Path, FileChannel>> iterator = channels.entrySet().iterator();
+                Map.Entry<Path, FileChannel> eldest = iterator.next();
+                Path eldestSegment = eldest.getKey();
+                FileChannel eldestChannel = eldest.getValue();
+                iterator.remove();
+                close(eldestSegment, eldestChannel);
+            }
+            Files.createDirectories(segment.getParent());
+            channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channels.put(segment, channel);
+            return channel;
+        }
+    }
+
+    private static void close(Path segment, FileChannel channel) {
+        // 쓰는 중인 레코드가 있으면 다 쓴 뒤에 닫는다
+        synchronized (channel) {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                log.warn("[응답 보관] {} 닫기 실패", segment, e);
+            }
+        }
+    }
+
+    /**
+     * 페이지 크기가 다르면 같은 페이지 번호라도 다른 item 을 담으므로 key 에 함께 남긴다.
+     */
+    private static String recordKey(MultiValueMap<String, String> queryParams) {
+        return queryParams.getFirst("DEAL_YMD") + "-" + queryParams.getFirst("numOfRows") + "-" + queryParams.getFirst("pageNo");
+    }
+
+    private static ByteBuffer encode(String key, byte[] body) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(body);
+        int recordLength = 2 + keyBytes.length + 8 + 4 + compressed.length;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + recordLength);
+        buffer.putInt(recordLength)
+                .putShort((short) keyBytes.length)
+                .put(keyBytes)
+                .putLong(System.currentTimeMillis())
+                .putInt(body.length)
+                .put(compressed);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                outputStream.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * segment 파일을 읽기 전용으로 memory-map 한다. 파일이 없으면 레코드가 없는 segment 를 반환한다.
+     */
+    public Segment openSegment(String baseUrl, String bjdCode) throws IOException {
+        Path segment = segmentPath(baseUrl, bjdCode);
+        if (!Files.exists(segment)) {
+            return new Segment(ByteBuffer.allocate(0));
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new Segment(buffer);
+        }
+    }
+
+    public static class Segment {
+
+        private final ByteBuffer buffer;
+
+        private Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * dealYearMonth 를 numOfRows 크기 페이지로 호출한 레코드를 페이지 순서로 반환한다. 같은 페이지가 여러 번 저장되었으면 마지막 레코드를 사용한다.
+         * 페이지 크기를 key 에 남기기 전의 레코드는 페이지 크기를 알 수 없으므로 사용하지 않는다.
+         */
+        public List<Record> records(String dealYearMonth, int numOfRows) {
+            String prefix = dealYearMonth + "-" + numOfRows + "-";
+            Map<Integer, Record> latestByPage = new TreeMap<>();
+            ByteBuffer view = buffer.duplicate();
+            if (view.remaining() < MAGIC.length) {
+                return new ArrayList<>();
+            }
+            view.position(MAGIC.length);
+            while (view.remaining() >= 4) {
+                int start = view.position();
+                int recordLength = view.getInt();
+                if (recordLength <= 0 || view.remaining() < recordLength) {
+                    log.warn("[응답 보관] {} 번째 byte 이후 잘린 레코드 무시", start);
+                    break;
+                }
+                byte[] keyBytes = new byte[view.getShort()];
+                view.get(keyBytes);
+                view.getLong();
+                int rawLength = view.getInt();
+                int dataOffset = view.position();
+                int dataLength = start + 4 + recordLength - dataOffset;
+                view.position(dataOffset + dataLength);
+
+                String key = new String(keyBytes, StandardCharsets.UTF_8);
+                if (key.startsWith(prefix)) {
+                    int pageNo = Integer.parseInt(key.substring(prefix.length()));
+                    latestByPage.put(pageNo, new Record(pageNo, dataOffset, dataLength, rawLength));
+                }
+            }
+            return new ArrayList<>(latestByPage.values());
+        }
+
+        public byte[] read(Record record) throws IOException {
+            ByteBuffer view = buffer.duplicate();
+            view.position(record.dataOffset);
+            view.limit(record.dataOffset + record.dataLength);
+            byte[] compressed = new byte[record.dataLength];
+            view.get(compressed);
+
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                byte[] body = new byte[record.rawLength];
+                int inflated = 0;
+                while (inflated < body.length && !inflater.finished()) {
+                    inflated += inflater.inflate(body, inflated, body.length - inflated);
+                }
+                return body;
+            } catch (DataFormatException e) {
+                throw new IOException("손상된 레코드: 페이지 " + record.pageNo, e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+    }
+
+    public static class Record {
+
+        private final int pageNo;
+        private final int dataOffset;
+        private final int dataLength;
+        private final int rawLength;
+
+        private Record(int pageNo, int dataOffset, int dataLength, int rawLength) {
+            this.pageNo = pageNo;
+            this.dataOffset = dataOffset;
+            this.dataLength = dataLength;
+            this.rawLength = rawLength;
+        }
+
+        public int getPageNo() {
+            return pageNo;
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * web-application-type 이 none 이므로 JDK 의 HttpServer 로 진행 상황을 조회하는 작은 endpoint 를 연다. dashboardPolicy.enabled 일 때만 시작한다.
+ * GET /status 는 ThroughputMonitor 의 초당 쓰기 건수, chunk 소요 시간 p50/p99, 실행 중인 파티션 수를 JSON 으로,
+ * GET /metrics 는 registry 의 모든 meter 를 Prometheus text format 으로 반환한다.
+ * 기본으로 127.0.0.1 에만 열고 요청은 스레드 하나가 처리한다.
+ */
+@Slf4j
+@Component
+public class ThroughputDashboardServer implements SmartLifecycle {
+
+    private final ThroughputMonitor throughputMonitor;
+    private final MeterRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String host;
+    private final int port;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ThroughputDashboardServer(ThroughputMonitor throughputMonitor, MeterRegistry histogramMeterRegistry,
+                                     ObjectMapper objectMapper, Environment env) {
+        this.throughputMonitor = throughputMonitor;
+        this.registry = histogramMeterRegistry;
+        this.objectMapper = objectMapper;
+        this.enabled = env.getProperty("dashboardPolicy.enabled", Boolean.class, false);
+        this.host = env.getProperty("dashboardPolicy.host", "127.0.0.1");
+        this.port = env.getProperty("dashboardPolicy.port", Integer.class, 8089);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("dashboard 포트를 열 수 없습니다: " + host + ":" + port, e);
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/status", exchange -> respond(exchange, "application/json",
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(throughputMonitor.snapshot())));
+        server.createContext("/metrics", exchange -> respond(exchange, "text/plain; version=0.0.4",
+                PrometheusTextFileExporter.scrape(registry).getBytes(StandardCharsets.UTF_8)));
+        server.start();
+        log.info("dashboard 시작 -> ( 주소: http://{}:{}/status )", host, getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    /**
+     * 실제로 열린 포트. dashboardPolicy.port 가 0 이면 빈 포트를 사용한다.
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+}
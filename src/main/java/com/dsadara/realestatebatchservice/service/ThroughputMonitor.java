@@ -0,0 +1,131 @@
+package com.dsadara.realestatebatchservice.service;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실행 중인 slave step 의 진행 상황을 모은다. PipelineStageMetricsListener 가 기록하고 ThroughputDashboardServer 가 조회한다.
+ * chunk 와 단계별 소요 시간은 LatencyHistogram 에, 초당 쓰기 건수는 최근 WINDOW_SECONDS 초의 초 단위 슬롯에 기록한다.
+ */
+@Component
+public class ThroughputMonitor {
+
+    static final int WINDOW_SECONDS = 10;
+    // 슬롯 하나의 상위 24비트는 초(epoch second 의 하위 24비트), 하위 40비트는 그 초에 쓴 건수
+    private static final int COUNT_BITS = 40;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long SECOND_MASK = (1L << (64 - COUNT_BITS)) - 1;
+
+    private final LatencyHistogram chunkLatency = new LatencyHistogram();
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+    private final LatencyHistogram processLatency = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+    private final AtomicLongArray writtenPerSecond = new AtomicLongArray(WINDOW_SECONDS + 1);
+    private final LongAdder written = new LongAdder();
+    private final AtomicInteger partitionsInFlight = new AtomicInteger();
+    private final LongAdder partitionsCompleted = new LongAdder();
+    private final LongAdder partitionsFailed = new LongAdder();
+
+    public void partitionStarted() {
+        partitionsInFlight.incrementAndGet();
+    }
+
+    public void partitionFinished(BatchStatus status) {
+        partitionsInFlight.decrementAndGet();
+        if (status == BatchStatus.COMPLETED) {
+            partitionsCompleted.increment();
+        } else {
+            partitionsFailed.increment();
+        }
+    }
+
+    /**
+     * chunk 하나의 전체 소요 시간과 그 안에서 읽기, 변환, 쓰기에 쓴 시간(ns)을 기록한다. 변환을 하지 않은 chunk 는 processNanos 가 음수이다.
+     */
+    public void recordChunk(long chunkNanos, long readNanos, long processNanos, long writeNanos) {
+        chunkLatency.record(chunkNanos, TimeUnit.NANOSECONDS);
+        readLatency.record(readNanos, TimeUnit.NANOSECONDS);
+        if (processNanos >= 0) {
+            processLatency.record(processNanos, TimeUnit.NANOSECONDS);
+        }
+        writeLatency.record(writeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordWritten(int items) {
+        recordWritten(items, currentSecond());
+    }
+
+    void recordWritten(int items, long second) {
+        written.add(items);
+        int slot = (int) (second % writtenPerSecond.length());
+        long secondBits = second & SECOND_MASK;
+        while (true) {
+            long packed = writtenPerSecond.get(slot);
+            long next = (packed >>> COUNT_BITS) == secondBits
+                    ? packed + items
+                    : secondBits << COUNT_BITS | items;
+            if (writtenPerSecond.compareAndSet(slot, packed, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 진행 중인 현재 초를 제외한 최근 WINDOW_SECONDS 초 동안의 초당 쓰기 건수.
+     */
+    public double getItemsPerSecond() {
+        return getItemsPerSecond(currentSecond());
+    }
+
+    double getItemsPerSecond(long now) {
+        long sum = 0;
+        for (int i = 0; i < writtenPerSecond.length(); i++) {
+            long packed = writtenPerSecond.get(i);
+            long age = (now - (packed >>> COUNT_BITS)) & SECOND_MASK;
+            if (age >= 1 && age <= WINDOW_SECONDS) {
+                sum += packed & COUNT_MASK;
+            }
+        }
+        return sum / (double) WINDOW_SECONDS;
+    }
+
+    public int getPartitionsInFlight() {
+        return partitionsInFlight.get();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("itemsPerSecond", getItemsPerSecond());
+        snapshot.put("itemsWritten", written.sum());
+        snapshot.put("partitionsInFlight", partitionsInFlight.get());
+        snapshot.put("partitionsCompleted", partitionsCompleted.sum());
+        snapshot.put("partitionsFailed", partitionsFailed.sum());
+        snapshot.put("chunks", chunkLatency.getCount());
+        snapshot.put("chunkMillis", summary(chunkLatency));
+        snapshot.put("readMillis", summary(readLatency));
+        snapshot.put("processMillis", summary(processLatency));
+        snapshot.put("writeMillis", summary(writeLatency));
+        return snapshot;
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mean", histogram.getMeanMillis());
+        summary.put("p50", histogram.getPercentileMillis(50));
+        summary.put("p99", histogram.getPercentileMillis(99));
+        summary.put("max", histogram.getMaxMillis());
+        return summary;
+    }
+
+    private static long currentSecond() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.dsadara.realestatebatchservice.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 초당 허용량과 burst 크기를 가지는 lock-free 토큰 버킷.
+ * 다음 토큰이 생기는 시각(theoretical arrival time)만 CAS 로 갱신하고, 호출한 스레드는 예약된 시각까지 대기한다.
+ */
+public class TokenBucket {
+
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("Asia/Seoul");
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long dailyQuota;
+    private final AtomicLong theoreticalArrivalTime;
+    // 상위 32비트는 epoch day, 하위 32비트는 그날의 호출 횟수
+    private final AtomicLong dailyUsage = new AtomicLong();
+
+    public TokenBucket(double permitsPerSecond, int burst, long dailyQuota) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond 와 burst 는 0보다 커야 합니다.");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.dailyQuota = dailyQuota;
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 토큰 하나를 예약하고, 토큰이 생길 때까지 대기한 시간(ns)을 반환한다.
+     */
+    public long acquire() {
+        long waitNanos = reserve();
+        long deadline = System.nanoTime() + waitNanos;
+        long remaining = waitNanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("api 호출 대기 중 인터럽트가 발생했습니다.");
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        return waitNanos;
+    }
+
+    long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrivalTime.get();
+            long base = tat - now > 0 ? tat : now;
+            if (theoreticalArrivalTime.compareAndSet(tat, base + intervalNanos)) {
+                return Math.max(0, base - now - burstNanos);
+            }
+        }
+    }
+
+    /**
+     * 일일 호출 한도 안에서 호출 횟수를 1 증가시킨다. 한도가 0 이하이면 제한하지 않는다.
+     */
+    public boolean tryConsumeDailyQuota() {
+        long today = LocalDate.now(QUOTA_ZONE).toEpochDay();
+        while (true) {
+            long current = dailyUsage.get();
+            long day = current >>> 32;
+            long count = day == today ? current & 0xFFFFFFFFL : 0;
+            if (dailyQuota > 0 && count >= dailyQuota) {
+                return false;
+            }
+            if (dailyUsage.compareAndSet(current, (today << 32) | (count + 1))) {
+                return true;
+            }
+        }
+    }
+
+    public long getDailyUsage() {
+        long current = dailyUsage.get();
+        return (current >>> 32) == LocalDate.now(QUOTA_ZONE).toEpochDay() ? current & 0xFFFFFFFFL : 0;
+    }
+
+    public long getDailyQuota() {
+        return dailyQuota;
+    }
+
+}
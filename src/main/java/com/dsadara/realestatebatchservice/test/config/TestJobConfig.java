@@ -1,5 +1,6 @@
 package com.dsadara.realestatebatchservice.test.config;
 
+import com.dsadara.realestatebatchservice.config.PartitionTaskExecutorConfig;
 import com.dsadara.realestatebatchservice.domain.RealEstate;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
 import com.dsadara.realestatebatchservice.listener.SlaveStepFailureLimitListener;
@@ -7,6 +8,7 @@ import com.dsadara.realestatebatchservice.listener.StepExceptionLogger;
 import com.dsadara.realestatebatchservice.service.GenerateApiQueryParam;
 import lombok.RequiredArgsConstructor;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
@@ -23,6 +25,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SyncTaskExecutor;
 
 import java.util.HashMap;
 import java.util.List;
@@ -45,23 +48,28 @@ public class TestJobConfig {
     public Job TestJob() throws Exception {
         return jobBuilderFactory.get("testJob")
                 .incrementer(new RunIdIncrementer())
-                .flow(testMasterStep(null))
+                .listener((JobExecutionListener) slaveStepFailureLimitListener)
+                .flow(testMasterStep(null, null))
                 .end()
                 .build();
     }
 
     @Bean
     @JobScope
-    public Step testMasterStep(@Value("#{jobParameters['bjdCode']}") String bjdCode) throws Exception {
+    public Step testMasterStep(@Value("#{jobParameters['bjdCode']}") String bjdCode,
+                               @Value("#{jobParameters['partitionPoolSize']}") Long partitionPoolSize) throws Exception {
         return stepBuilderFactory.get("법정동코드" + ":" + bjdCode)
                 .partitioner("slaveStep", testDealYearMonthPartitioner())
                 .step(testSlaveStep())
+                .taskExecutor(PartitionTaskExecutorConfig.resolve(new SyncTaskExecutor(), partitionPoolSize))
                 .gridSize(300)
                 .build();
     }
 
+    /**
+     * partitionPoolSize 를 주면 파티션이 job scope 가 없는 pool 스레드에서 실행되므로 slave step 은 singleton 으로 둔다.
+     */
     @Bean
-    @JobScope
     public Step testSlaveStep() throws Exception {
         return stepBuilderFactory.get("계약월")
                 .<RealEstateDto, RealEstate>chunk(100)
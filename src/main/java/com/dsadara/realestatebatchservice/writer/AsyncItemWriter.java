@@ -0,0 +1,47 @@
+package com.dsadara.realestatebatchservice.writer;
+
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * AsyncItemProcessor 가 반환한 Future 의 결과를 기다려 delegate writer 로 쓴다. 쓰기는 step 스레드의 chunk 트랜잭션 안에서 실행된다.
+ * 변환 중 발생한 예외는 그대로 다시 던지고, 변환 결과가 null 인(필터된) 데이터는 쓰지 않는다.
+ * Future 를 기다린 시간(processWait)과 delegate 가 쓴 시간(write)은 PipelineStageMetricsListener 가 Future 가 끝난 시각으로 나눠서 기록한다.
+ */
+public class AsyncItemWriter<T> implements ItemWriter<Future<T>> {
+
+    private final ItemWriter<T> delegate;
+
+    public AsyncItemWriter(ItemWriter<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(List<? extends Future<T>> items) throws Exception {
+        List<T> results = new ArrayList<>(items.size());
+        for (Future<T> item : items) {
+            T result = unwrap(item);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        delegate.write(results);
+    }
+
+    private T unwrap(Future<T> item) throws Exception {
+        try {
+            return item.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+}
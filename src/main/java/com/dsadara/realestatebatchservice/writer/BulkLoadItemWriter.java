@@ -0,0 +1,315 @@
+package com.dsadara.realestatebatchservice.writer;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.domain.RealEstateNaturalKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.util.DigestUtils;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파티션마다 변환한 데이터를 로컬 staging 파일(TSV)에 이어 쓰고, step 이 완료되면 LOAD DATA LOCAL INFILE 로 한 번에 적재한다.
+ * 커밋한 chunk 까지의 파일 길이를 ExecutionContext 에 저장하므로, 재실행하면 커밋하지 않은 chunk 의 줄을 잘라내고 이어서 쓴다.
+ * 적재에 실패하면 step 을 FAILED 로 바꾸고 staging 파일을 남겨 두어, 재실행 시 다시 적재한다.
+ * 파일은 연결마다 따로 만드는 임시 테이블에 먼저 적재하고, INSERT ... SELECT 로 real_estate 에 옮긴다.
+ * 자연키가 같은 행이 이미 있으면 JDBC writer 의 UPSERT_SQL 과 같은 컬럼(해제 여부, 해제 사유 발생일, 거래 유형 등)을 갱신한다.
+ * MySQL, MariaDB 가 아니면(H2 테스트) 같은 파일을 UPSERT_SQL batch 로 적재한다.
+ * MySQL Connector/J 는 allowLoadLocalInfile=true 가 필요하다.
+ */
+@Slf4j
+public class BulkLoadItemWriter extends ItemStreamSupport implements ItemStreamWriter<RealEstate>, StepExecutionListener {
+
+    private static final String OFFSET = "offset";
+    private static final int COLUMN_COUNT = 26;
+    private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    static final String STAGING_TABLE = "real_estate_staging";
+    static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE " + STAGING_TABLE + " LIKE real_estate";
+    // 파일 안에서 자연키가 같은 행은 UPSERT_SQL 로 차례로 쓴 것과 같도록 나중 행을 남긴다
+    static final String LOAD_SQL = "LOAD DATA LOCAL INFILE '%s' REPLACE INTO TABLE " + STAGING_TABLE + " CHARACTER SET utf8mb4 " +
+            "FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (" +
+            RealEstateItemPreparedStatementSetter.COLUMNS + ")";
+    static final String MERGE_SQL = "INSERT INTO real_estate (" + RealEstateItemPreparedStatementSetter.COLUMNS + ") SELECT " +
+            RealEstateItemPreparedStatementSetter.COLUMNS + " FROM " + STAGING_TABLE +
+            RealEstateItemPreparedStatementSetter.ON_DUPLICATE_KEY_UPDATE;
+    static final String DROP_STAGING_SQL = "DROP TEMPORARY TABLE IF EXISTS " + STAGING_TABLE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final int fallbackBatchSize;
+
+    private Path stagingFile;
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder(512);
+
+    public BulkLoadItemWriter(DataSource dataSource, Path directory, int fallbackBatchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.directory = directory;
+        this.fallbackBatchSize = fallbackBatchSize;
+        setName("bulkLoadItemWriter");
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        // 재실행해도 같은 파일을 사용하도록 job instance 와 step 이름으로 정한다
+        String stepKey = DigestUtils.md5DigestAsHex(stepExecution.getStepName().getBytes(StandardCharsets.UTF_8));
+        stagingFile = directory.resolve("real-estate-" + stepExecution.getJobExecution().getJobId() + "-" + stepKey + ".tsv");
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        long offset = executionContext.getLong(getExecutionContextKey(OFFSET), 0L);
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(stagingFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            // 커밋하지 않은 chunk 가 쓴 줄은 버린다
+            channel.truncate(offset);
+            channel.position(offset);
+            writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new ItemStreamException("staging 파일을 열 수 없습니다: " + stagingFile, e);
+        }
+    }
+
+    @Override
+    public void write(List<? extends RealEstate> items) throws Exception {
+        for (RealEstate item : items) {
+            appendLine(item);
+            writer.append(line);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+            channel.force(false);
+            executionContext.putLong(getExecutionContextKey(OFFSET), channel.position());
+        } catch (IOException e) {
+            throw new ItemStreamException("staging 파일을 저장할 수 없습니다: " + stagingFile, e);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            throw new ItemStreamException("staging 파일을 닫을 수 없습니다: " + stagingFile, e);
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            return null;
+        }
+        try {
+            closeWriter();
+            long start = System.currentTimeMillis();
+            int loaded = load(stagingFile);
+            log.info("[{}] staging 파일 적재 완료 -> ( 적재한 행 수: {}, 소요 시간: {}ms )", stepExecution.getStepName(), loaded,
+                    System.currentTimeMillis() - start);
+            Files.deleteIfExists(stagingFile);
+            return null;
+        } catch (Exception e) {
+            log.error("[{}] staging 파일 적재 실패: {}", stepExecution.getStepName(), stagingFile, e);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.addFailureException(e);
+            return ExitStatus.FAILED.addExitDescription(e);
+        }
+    }
+
+    int load(Path file) throws IOException, MetaDataAccessException {
+        String productName = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                metaData -> metaData.getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(productName) || "MariaDB".equalsIgnoreCase(productName)) {
+            String path = file.toAbsolutePath().toString().replace("\\", "\\\\").replace("'", "\\'");
+            return loadThroughStagingTable(path);
+        }
+        return loadWithBatchInsert(file);
+    }
+
+    /**
+     * 임시 테이블은 연결마다 따로 있으므로 같은 연결에서 만들고, 적재하고, 옮긴다. 동시에 실행되는 파티션끼리도 겹치지 않는다.
+     */
+    private int loadThroughStagingTable(String path) {
+        Integer loaded = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(DROP_STAGING_SQL);
+                statement.execute(CREATE_STAGING_SQL);
+                try {
+                    statement.executeUpdate(String.format(LOAD_SQL, path));
+                    // REPLACE 로 바뀐 행은 두 번 세므로 적재한 행 수는 임시 테이블에서 센다
+                    int rows;
+                    try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + STAGING_TABLE)) {
+                        rows = resultSet.next() ? resultSet.getInt(1) : 0;
+                    }
+                    statement.executeUpdate(MERGE_SQL);
+                    return rows;
+                } finally {
+                    statement.execute(DROP_STAGING_SQL);
+                }
+            }
+        });
+        return loaded != null ? loaded : 0;
+    }
+
+    private int loadWithBatchInsert(Path file) throws IOException {
+        int loaded = 0;
+        List<Object[]> batch = new ArrayList<>(fallbackBatchSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                batch.add(parseLine(text));
+                if (batch.size() >= fallbackBatchSize) {
+                    loaded += sum(jdbcTemplate.batchUpdate(RealEstateItemPreparedStatementSetter.UPSERT_SQL, batch));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            loaded += sum(jdbcTemplate.batchUpdate(RealEstateItemPreparedStatementSetter.UPSERT_SQL, batch));
+        }
+        return loaded;
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            channel = null;
+        }
+    }
+
+    /**
+     * RealEstateItemPreparedStatementSetter 와 같은 순서, 같은 기본값으로 한 줄을 만든다.
+     */
+    private void appendLine(RealEstate item) {
+        line.setLength(0);
+        LocalDateTime createdAt = item.getCreatedAt() != null ? item.getCreatedAt() : LocalDateTime.now();
+        appendText(item.getNaturalKey() != null ? item.getNaturalKey() : RealEstateNaturalKey.of(item)).append('\t');
+        line.append(CREATED_AT_FORMAT.format(createdAt)).append('\t');
+        appendNumber(item.getConstructYear()).append('\t');
+        appendNumber(item.getContractYear()).append('\t');
+        appendText(item.getName()).append('\t');
+        appendText(item.getBeopJeongDong()).append('\t');
+        appendNumber(item.getContractMonth()).append('\t');
+        appendNumber(item.getContractDay()).append('\t');
+        appendText(item.getJeonYongArea()).append('\t');
+        appendText(item.getParcelNumber()).append('\t');
+        appendText(item.getBeopJeongDongCode()).append('\t');
+        appendText(item.getFloor()).append('\t');
+        appendText(item.getRealEstateType() != null ? item.getRealEstateType().name() : null).append('\t');
+        appendAmount(item.getDealAmount()).append('\t');
+        appendText(item.getCancelDealType()).append('\t');
+        appendText(item.getCancelDealDay()).append('\t');
+        appendText(item.getDealType()).append('\t');
+        appendText(item.getAgentAddress()).append('\t');
+        appendText(item.getRequestRenewalRight()).append('\t');
+        appendText(item.getContractType()).append('\t');
+        appendText(item.getContractPeriod()).append('\t');
+        appendAmount(item.getMonthlyRent()).append('\t');
+        appendAmount(item.getDeposit()).append('\t');
+        appendAmount(item.getDepositBefore()).append('\t');
+        appendAmount(item.getMonthlyRentBefore()).append('\t');
+        appendText(item.getSiGunGu()).append('\n');
+    }
+
+    private StringBuilder appendText(String value) {
+        if (value == null) {
+            return line;
+        }
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                default:
+                    line.append(c);
+            }
+        }
+        return line;
+    }
+
+    private StringBuilder appendNumber(Short value) {
+        return line.append(value != null ? value : 0);
+    }
+
+    private StringBuilder appendAmount(BigDecimal value) {
+        return line.append(value != null ? value.toPlainString() : "0");
+    }
+
+    static Object[] parseLine(String text) {
+        Object[] values = new Object[COLUMN_COUNT];
+        StringBuilder value = new StringBuilder();
+        int column = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\t') {
+                values[column++] = value.toString();
+                value.setLength(0);
+            } else if (c == '\\' && i + 1 < length) {
+                char escaped = text.charAt(++i);
+                value.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                value.append(c);
+            }
+        }
+        values[column] = value.toString();
+        return values;
+    }
+
+    private static int sum(int[] counts) {
+        int sum = 0;
+        for (int count : counts) {
+            // 드라이버가 건수를 알려주지 않으면(SUCCESS_NO_INFO) 1 건으로 센다
+            sum += count >= 0 ? count : 1;
+        }
+        return sum;
+    }
+
+}
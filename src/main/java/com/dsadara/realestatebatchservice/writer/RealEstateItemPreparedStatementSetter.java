@@ -0,0 +1,83 @@
+package com.dsadara.realestatebatchservice.writer;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.domain.RealEstateNaturalKey;
+import org.springframework.batch.item.database.ItemPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * real_estate 테이블에 JDBC batch 로 insert 할 때 사용한다.
+ * id 는 AUTO_INCREMENT 로 DB 가 채우고, null 값은 V2 에서 정한 컬럼 기본값('', 0)으로 넣는다.
+ * UPSERT_SQL 은 자연키가 같은 행이 있으면 새로 넣지 않고 바뀔 수 있는 값(해제 여부, 종전 계약 등)만 갱신한다.
+ */
+public class RealEstateItemPreparedStatementSetter implements ItemPreparedStatementSetter<RealEstate> {
+
+    public static final String COLUMNS = "natural_key, created_at, construct_year, contract_year, name, beop_jeong_dong, contract_month, contract_day, " +
+            "jeon_yong_area, parcel_number, beop_jeong_dong_code, floor, real_estate_type, " +
+            "deal_amount, cancel_deal_type, cancel_deal_day, deal_type, agent_address, " +
+            "request_renewal_right, contract_type, contract_period, monthly_rent, deposit, " +
+            "deposit_before, monthly_rent_before, si_gun_gu";
+
+    public static final String INSERT_SQL = "INSERT INTO real_estate (" + COLUMNS +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // BulkLoadItemWriter 가 staging 테이블에서 옮길 때도 같은 컬럼을 갱신하도록 나눠 둔다
+    public static final String ON_DUPLICATE_KEY_UPDATE = " ON DUPLICATE KEY UPDATE " +
+            "construct_year = VALUES(construct_year), name = VALUES(name), beop_jeong_dong = VALUES(beop_jeong_dong), " +
+            "cancel_deal_type = VALUES(cancel_deal_type), cancel_deal_day = VALUES(cancel_deal_day), " +
+            "deal_type = VALUES(deal_type), agent_address = VALUES(agent_address), " +
+            "request_renewal_right = VALUES(request_renewal_right), contract_type = VALUES(contract_type), " +
+            "contract_period = VALUES(contract_period), deposit_before = VALUES(deposit_before), " +
+            "monthly_rent_before = VALUES(monthly_rent_before), si_gun_gu = VALUES(si_gun_gu)";
+
+    public static final String UPSERT_SQL = INSERT_SQL + ON_DUPLICATE_KEY_UPDATE;
+
+    @Override
+    public void setValues(RealEstate item, PreparedStatement ps) throws SQLException {
+        LocalDateTime createdAt = item.getCreatedAt() != null ? item.getCreatedAt() : LocalDateTime.now();
+        ps.setString(1, item.getNaturalKey() != null ? item.getNaturalKey() : RealEstateNaturalKey.of(item));
+        ps.setTimestamp(2, Timestamp.valueOf(createdAt));
+        ps.setShort(3, toShort(item.getConstructYear()));
+        ps.setShort(4, toShort(item.getContractYear()));
+        ps.setString(5, toString(item.getName()));
+        ps.setString(6, toString(item.getBeopJeongDong()));
+        ps.setShort(7, toShort(item.getContractMonth()));
+        ps.setShort(8, toShort(item.getContractDay()));
+        ps.setString(9, toString(item.getJeonYongArea()));
+        ps.setString(10, toString(item.getParcelNumber()));
+        ps.setString(11, toString(item.getBeopJeongDongCode()));
+        ps.setString(12, toString(item.getFloor()));
+        ps.setString(13, item.getRealEstateType() != null ? item.getRealEstateType().name() : "");
+        ps.setBigDecimal(14, toBigDecimal(item.getDealAmount()));
+        ps.setString(15, toString(item.getCancelDealType()));
+        ps.setString(16, toString(item.getCancelDealDay()));
+        ps.setString(17, toString(item.getDealType()));
+        ps.setString(18, toString(item.getAgentAddress()));
+        ps.setString(19, toString(item.getRequestRenewalRight()));
+        ps.setString(20, toString(item.getContractType()));
+        ps.setString(21, toString(item.getContractPeriod()));
+        ps.setBigDecimal(22, toBigDecimal(item.getMonthlyRent()));
+        ps.setBigDecimal(23, toBigDecimal(item.getDeposit()));
+        ps.setBigDecimal(24, toBigDecimal(item.getDepositBefore()));
+        ps.setBigDecimal(25, toBigDecimal(item.getMonthlyRentBefore()));
+        ps.setString(26, toString(item.getSiGunGu()));
+    }
+
+    private static short toShort(Short value) {
+        return value != null ? value : 0;
+    }
+
+    private static String toString(String value) {
+        return value != null ? value : "";
+    }
+
+    private static BigDecimal toBigDecimal(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.dsadara.realestatebatchservice.writer;
+
+import com.dsadara.realestatebatchservice.domain.RealEstateNaturalKey;
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import org.springframework.batch.item.database.ItemPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * RealEstateRow 를 RealEstateItemPreparedStatementSetter 의 INSERT_SQL, UPSERT_SQL 에 바인딩한다.
+ * 숫자와 금액은 primitive 그대로 바인딩하고, null 문자열은 컬럼 기본값('')으로 넣는다.
+ */
+public class RealEstateRowPreparedStatementSetter implements ItemPreparedStatementSetter<RealEstateRow> {
+
+    @Override
+    public void setValues(RealEstateRow item, PreparedStatement ps) throws SQLException {
+        LocalDateTime createdAt = item.getCreatedAt() != null ? item.getCreatedAt() : LocalDateTime.now();
+        ps.setString(1, RealEstateNaturalKey.of(item));
+        ps.setTimestamp(2, Timestamp.valueOf(createdAt));
+        ps.setShort(3, item.getConstructYear());
+        ps.setShort(4, item.getContractYear());
+        ps.setString(5, toString(item.getName()));
+        ps.setString(6, toString(item.getBeopJeongDong()));
+        ps.setShort(7, item.getContractMonth());
+        ps.setShort(8, item.getContractDay());
+        ps.setString(9, toString(item.getJeonYongArea()));
+        ps.setString(10, toString(item.getParcelNumber()));
+        ps.setString(11, toString(item.getBeopJeongDongCode()));
+        ps.setString(12, toString(item.getFloor()));
+        ps.setString(13, item.getRealEstateType() != null ? item.getRealEstateType().name() : "");
+        ps.setLong(14, item.getDealAmount());
+        ps.setString(15, toString(item.getCancelDealType()));
+        ps.setString(16, toString(item.getCancelDealDay()));
+        ps.setString(17, toString(item.getDealType()));
+        ps.setString(18, toString(item.getAgentAddress()));
+        ps.setString(19, toString(item.getRequestRenewalRight()));
+        ps.setString(20, toString(item.getContractType()));
+        ps.setString(21, toString(item.getContractPeriod()));
+        ps.setLong(22, item.getMonthlyRent());
+        ps.setLong(23, item.getDeposit());
+        ps.setLong(24, item.getDepositBefore());
+        ps.setLong(25, item.getMonthlyRentBefore());
+        ps.setString(26, toString(item.getSiGunGu()));
+    }
+
+    private static String toString(String value) {
+        return value != null ? value : "";
+    }
+
+}
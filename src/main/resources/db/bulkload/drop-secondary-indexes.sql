@@ -0,0 +1,4 @@
+-- drop-secondary-indexes.sql
+# bulk 적재 동안 보조 인덱스를 갱신하지 않도록 제거 (자연키 unique 인덱스는 중복 제거에 필요하므로 남김)
+ALTER TABLE real_estate
+    DROP INDEX IF EXISTS idx_real_estate_type;
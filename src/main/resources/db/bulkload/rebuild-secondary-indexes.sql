@@ -0,0 +1,4 @@
+-- rebuild-secondary-indexes.sql
+# V1__Initial_setup.sql 의 보조 인덱스를 다시 생성
+ALTER TABLE real_estate
+    ADD INDEX IF NOT EXISTS idx_real_estate_type (real_estate_type);
@@ -0,0 +1,4 @@
+-- V3__Restore_auto_increment.sql
+# V2 에서 id 의 AUTO_INCREMENT 가 빠져 IDENTITY 전략과 JDBC batch insert 모두 id 를 받을 수 없으므로 복구
+ALTER TABLE batch_estate_engine.real_estate
+    MODIFY COLUMN id INT NOT NULL AUTO_INCREMENT;
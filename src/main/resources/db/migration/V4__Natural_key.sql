@@ -0,0 +1,20 @@
+-- V4__Natural_key.sql
+# 자연키 컬럼 추가 후 기존 데이터 채우기 (RealEstateNaturalKey 와 같은 규칙)
+ALTER TABLE batch_estate_engine.real_estate
+    ADD COLUMN natural_key VARCHAR(32) NULL COMMENT '자연키' AFTER id;
+UPDATE batch_estate_engine.real_estate
+SET natural_key = MD5(CONCAT_WS('|', real_estate_type, beop_jeong_dong_code, parcel_number,
+                                contract_year, contract_month, contract_day, floor, jeon_yong_area,
+                                deal_amount, deposit, monthly_rent));
+# 중복 행을 찾는 self-join 이 행마다 전체 테이블을 읽지 않도록 임시 인덱스를 먼저 만듦
+ALTER TABLE batch_estate_engine.real_estate
+    ADD INDEX idx_real_estate_natural_key (natural_key);
+# 재실행으로 쌓인 중복 행은 가장 먼저 들어온 행만 남김
+DELETE duplicated
+FROM batch_estate_engine.real_estate duplicated
+         JOIN batch_estate_engine.real_estate original
+              ON duplicated.natural_key = original.natural_key AND duplicated.id > original.id;
+ALTER TABLE batch_estate_engine.real_estate
+    MODIFY COLUMN natural_key VARCHAR(32) NOT NULL COMMENT '자연키',
+    DROP INDEX idx_real_estate_natural_key,
+    ADD UNIQUE INDEX uk_real_estate_natural_key (natural_key);
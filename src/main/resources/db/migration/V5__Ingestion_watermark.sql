@@ -0,0 +1,11 @@
+-- V5__Ingestion_watermark.sql
+# 부동산 종류, 법정동 코드별로 마지막으로 수집을 완료한 계약 연월 (증분 수집 기준)
+CREATE TABLE batch_estate_engine.ingestion_watermark
+(
+    id               INT AUTO_INCREMENT PRIMARY KEY,
+    real_estate_type VARCHAR(36) NOT NULL COMMENT '부동산 종류',
+    bjd_code         VARCHAR(10) NOT NULL COMMENT '법정동 코드',
+    deal_year_month  VARCHAR(6)  NOT NULL COMMENT '마지막으로 수집을 완료한 계약 연월',
+    updated_at       DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    CONSTRAINT uk_ingestion_watermark UNIQUE (real_estate_type, bjd_code)
+);
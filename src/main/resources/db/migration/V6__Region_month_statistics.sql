@@ -0,0 +1,12 @@
+-- V6__Region_month_statistics.sql
+# 부동산 종류, 법정동 코드, 계약 연월별로 마지막 수집의 데이터 건수 (파티션 크기 결정에 사용)
+CREATE TABLE batch_estate_engine.region_month_statistics
+(
+    id               INT AUTO_INCREMENT PRIMARY KEY,
+    real_estate_type VARCHAR(36) NOT NULL COMMENT '부동산 종류',
+    bjd_code         VARCHAR(10) NOT NULL COMMENT '법정동 코드',
+    deal_year_month  VARCHAR(6)  NOT NULL COMMENT '계약 연월',
+    row_count        INT         NOT NULL COMMENT '마지막 수집에서 API 가 응답한 전체 데이터 건수',
+    updated_at       DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    CONSTRAINT uk_region_month_statistics UNIQUE (real_estate_type, bjd_code, deal_year_month)
+);
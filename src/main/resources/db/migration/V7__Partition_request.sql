@@ -0,0 +1,10 @@
+-- V7__Partition_request.sql
+# 원격 파티셔닝(partitionPolicy.mode=manager/worker)에서 manager 가 worker 에게 보내는 파티션 실행 요청. worker 가 가져가면 삭제된다
+CREATE TABLE batch_estate_engine.partition_request
+(
+    id                BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_execution_id  BIGINT       NOT NULL COMMENT 'BATCH_JOB_EXECUTION.JOB_EXECUTION_ID',
+    step_execution_id BIGINT       NOT NULL COMMENT 'BATCH_STEP_EXECUTION.STEP_EXECUTION_ID',
+    step_name         VARCHAR(100) NOT NULL COMMENT '실행할 slave step 이름',
+    created_at        DATETIME(6)  NOT NULL
+);
@@ -0,0 +1,6 @@
+-- V8__Partition_request_lease.sql
+# worker 가 파티션 요청을 가져가면 삭제하지 않고 claimed_by, claimed_at 을 기록한다. step 이 끝나면 삭제하고,
+# worker 가 죽어 claimed_at 이 partitionPolicy.remoteLeaseSeconds 동안 갱신되지 않으면 다른 worker 가 다시 가져간다
+ALTER TABLE batch_estate_engine.partition_request
+    ADD COLUMN claimed_by VARCHAR(100) NULL COMMENT '요청을 가져간 worker',
+    ADD COLUMN claimed_at DATETIME(6)  NULL COMMENT '가져가거나 lease 를 갱신한 시각';
@@ -0,0 +1,31 @@
+package com.dsadara.realestatebatchservice.config;
+
+import com.dsadara.realestatebatchservice.service.HistogramMeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MetricsConfigTest {
+
+    @Test
+    @DisplayName("regionMonthTags 가 꺼져 있으면 globalRegistry 에도 법정동 코드, 계약 연월 별 meter 가 쌓이지 않음")
+    void histogramMeterRegistry_IgnoreRegionMonthOnGlobalRegistry() {
+        //given
+        HistogramMeterRegistry registry = new MetricsConfig().histogramMeterRegistry();
+
+        try {
+            //when
+            Metrics.counter("metrics.config.test", "stage", "write", "region", "11500", "month", "202304").increment(3);
+            Metrics.counter("metrics.config.test", "stage", "write", "region", "11110", "month", "202305").increment(4);
+
+            //then
+            Assertions.assertEquals(1, Metrics.globalRegistry.find("metrics.config.test").counters().size());
+            Assertions.assertEquals(1, registry.find("metrics.config.test").counters().size());
+            Assertions.assertEquals(7.0, registry.get("metrics.config.test").counter().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.dsadara.realestatebatchservice.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+class RestTemplateConfigTest {
+
+    private static final byte[] BODY = "{\"response\":{\"header\":{\"resultCode\":\"00\"}}}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private RestTemplate restTemplate;
+    private HttpServer stubServer;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void startStubServer() throws Exception {
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubServer.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(BODY);
+            }
+        });
+        stubServer.setExecutor(Executors.newFixedThreadPool(8));
+        stubServer.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    @DisplayName("순차 요청은 하나의 연결을 재사용")
+    void sequentialRequests_ReuseConnection() {
+        //given
+        URI uri = URI.create("http://127.0.0.1:" + stubServer.getAddress().getPort() + "/stub");
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
+            Assertions.assertTrue(response.getStatusCode().is2xxSuccessful());
+        }
+
+        //then
+        Assertions.assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    @DisplayName("동시 요청도 route 당 최대 연결 개수 안에서 재사용")
+    void concurrentRequests_BoundedByMaxPerRoute() {
+        //given
+        URI uri = URI.create("http://127.0.0.1:" + stubServer.getAddress().getPort() + "/stub");
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //when
+        List<CompletableFuture<ResponseEntity<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> restTemplate.getForEntity(uri, String.class), executorService));
+        }
+        List<ResponseEntity<String>> responses = futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+        executorService.shutdown();
+
+        //then
+        Assertions.assertEquals(200, responses.size());
+        responses.forEach(response -> Assertions.assertTrue(response.getStatusCode().is2xxSuccessful()));
+        Assertions.assertTrue(clientPorts.size() <= 8, "opened connections: " + clientPorts.size());
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.dsadara.realestatebatchservice.config;
+
+import com.dsadara.realestatebatchservice.listener.PipelineStageMetricsListener;
+import com.dsadara.realestatebatchservice.processor.AsyncItemProcessor;
+import com.dsadara.realestatebatchservice.service.HistogramMeterRegistry;
+import com.dsadara.realestatebatchservice.writer.AsyncItemWriter;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+class SlaveStepListenersTest {
+
+    @Autowired
+    private StepBuilderFactory stepBuilderFactory;
+    @Autowired
+    private JobBuilderFactory jobBuilderFactory;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private PipelineStageMetricsListener pipelineStageMetricsListener;
+    @Autowired
+    private HistogramMeterRegistry histogramMeterRegistry;
+
+    @Test
+    @DisplayName("slave step 에 등록한 listener 가 읽기, 변환, 쓰기 단계의 소요 시간을 모두 기록")
+    void withStageListeners_RecordAllStages() throws Exception {
+        //given
+        Step step = RealEstateJobConfig.withStageListeners(stepBuilderFactory.get("stageListenerStep")
+                        .<String, String>chunk(2)
+                        .reader(new ListItemReader<>(Arrays.asList("11110", "11140", "11170")))
+                        .processor((ItemProcessor<String, String>) String::trim)
+                        .writer(items -> {
+                        }), pipelineStageMetricsListener)
+                .build();
+        Job job = jobBuilderFactory.get("stageListenerJob")
+                .start(step)
+                .build();
+        SimpleJobLauncher jobLauncher = new SimpleJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        long readBefore = stageCount("read");
+        long processBefore = stageCount("process");
+        long writeBefore = stageCount("write");
+
+        //when
+        JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters());
+
+        //then
+        Assertions.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        Assertions.assertEquals(3, stageCount("read") - readBefore);
+        Assertions.assertEquals(3, stageCount("process") - processBefore);
+        Assertions.assertEquals(2, stageCount("write") - writeBefore);
+    }
+
+    @Test
+    @DisplayName("pipeline 모드의 쓰기 단계 시간에는 변환을 기다린 시간이 들어가지 않음")
+    void withStageListeners_PipelineWriteExcludesProcessWait() throws Exception {
+        //given
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.initialize();
+        Step step = RealEstateJobConfig.withStageListeners(stepBuilderFactory.get("pipelineStageListenerStep")
+                        .<String, Future<String>>chunk(2)
+                        .reader(new ListItemReader<>(Arrays.asList("11110", "11140")))
+                        .processor(new AsyncItemProcessor<>(item -> {
+                            Thread.sleep(200);
+                            return item;
+                        }, taskExecutor))
+                        .writer(new AsyncItemWriter<>(items -> {
+                        })), pipelineStageMetricsListener)
+                .build();
+        Job job = jobBuilderFactory.get("pipelineStageListenerJob")
+                .start(step)
+                .build();
+        SimpleJobLauncher jobLauncher = new SimpleJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        double writeBefore = stageTotalMillis("write");
+        double processWaitBefore = stageTotalMillis("processWait");
+
+        //when
+        JobExecution jobExecution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters());
+        taskExecutor.shutdown();
+
+        //then
+        Assertions.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        Assertions.assertTrue(stageTotalMillis("processWait") - processWaitBefore >= 150);
+        Assertions.assertTrue(stageTotalMillis("write") - writeBefore < 100);
+    }
+
+    private double stageTotalMillis(String stage) {
+        return histogramMeterRegistry.find("pipeline.stage.latency").tag("stage", stage).timers().stream()
+                .mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS))
+                .sum();
+    }
+
+    private long stageCount(String stage) {
+        return histogramMeterRegistry.find("pipeline.stage.latency").tag("stage", stage).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.dsadara.realestatebatchservice.domain;
+
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+public class RealEstateNaturalKeyTest {
+
+    @Test
+    @DisplayName("null 과 컬럼 기본값, 소수점 표기만 다른 금액은 같은 자연키")
+    void of_SameKey() {
+        //given
+        RealEstate nulls = RealEstate.builder()
+                .realEstateType(RealEstateType.APT_RENT)
+                .deposit(new BigDecimal("55000"))
+                .build();
+        RealEstate defaults = RealEstate.builder()
+                .realEstateType(RealEstateType.APT_RENT)
+                .beopJeongDongCode("")
+                .contractYear((short) 0)
+                .dealAmount(BigDecimal.ZERO)
+                .deposit(new BigDecimal("55000.0"))
+                .monthlyRent(BigDecimal.ZERO)
+                .name("자연키에 포함되지 않는 값")
+                .build();
+
+        //when, then
+        Assertions.assertEquals(RealEstateNaturalKey.of(nulls), RealEstateNaturalKey.of(defaults));
+        Assertions.assertEquals(32, RealEstateNaturalKey.of(nulls).length());
+    }
+
+    @Test
+    @DisplayName("자연키 필드가 다르면 다른 자연키")
+    void of_DifferentKey() {
+        //given
+        RealEstate first = RealEstate.builder()
+                .realEstateType(RealEstateType.APT_RENT)
+                .floor("16")
+                .build();
+        RealEstate second = RealEstate.builder()
+                .realEstateType(RealEstateType.APT_RENT)
+                .floor("9")
+                .build();
+
+        //when, then
+        Assertions.assertNotEquals(RealEstateNaturalKey.of(first), RealEstateNaturalKey.of(second));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.dsadara.realestatebatchservice.job;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.service.GenerateApiQueryParam;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@SpringBatchTest
+@SpringBootTest
+public class RealEstateJobPartitionPoolTest {
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+    @MockBean(name = "createEmptyItemReader")
+    private ItemReader<RealEstateDto> mockItemReader;
+    @MockBean
+    private GenerateApiQueryParam generateApiQueryParam;
+
+    @DisplayName("partitionPoolSize 를 주면 파티션을 job scope 가 없는 pool 스레드에서 실행하고 모두 완료")
+    @Test
+    public void launchJob_PartitionPoolSize() throws Exception {
+        // given
+        Mockito.when(generateApiQueryParam.getDealYearMonthsList()).thenReturn(Arrays.asList("202301", "202302", "202303", "202304"));
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        Mockito.when(mockItemReader.read()).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            return null;
+        });
+        JobParameters parameters = new JobParametersBuilder()
+                .addString("baseUrl", "http://PartitionPool.co.kr")
+                .addString("serviceKey", "PartitionPoolKey1")
+                .addString("bjdCode", "11110")
+                .addLong("partitionPoolSize", 2L)
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(parameters);
+
+        // then
+        Assertions.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        long completedPartitions = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().startsWith("계약월:"))
+                .map(StepExecution::getStatus)
+                .filter(BatchStatus.COMPLETED::equals)
+                .count();
+        Assertions.assertEquals(4, completedPartitions);
+        Assertions.assertFalse(threadNames.isEmpty());
+        Assertions.assertTrue(threadNames.stream().allMatch(name -> name.startsWith("partition-override-")));
+    }
+
+}
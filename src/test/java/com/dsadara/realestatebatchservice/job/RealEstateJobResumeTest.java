@@ -0,0 +1,145 @@
+package com.dsadara.realestatebatchservice.job;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.launcher.JobExecutionHistory;
+import com.dsadara.realestatebatchservice.launcher.RealEstateJobLauncher;
+import com.dsadara.realestatebatchservice.service.GenerateApiQueryParam;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBatchTest
+@SpringBootTest
+public class RealEstateJobResumeTest {
+
+    private static final RealEstateType REAL_ESTATE_TYPE = RealEstateType.DETACHEDHOUSE_RENT;
+
+    @Autowired
+    private RealEstateJobLauncher realEstateJobLauncher;
+    @Autowired
+    private JobExecutionHistory jobExecutionHistory;
+    @Autowired
+    private JobExplorer jobExplorer;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private DataSource dataSource;
+    @MockBean(name = "createEmptyItemReader")
+    private ItemReader<RealEstateDto> mockItemReader;
+    @MockBean
+    private GenerateApiQueryParam generateApiQueryParam;
+
+    @DisplayName("재개 모드는 지난 실행에서 실패한 파티션만 같은 job instance 로 재시작하고 완료된 job 은 건너뜀")
+    @Test
+    public void resume_RestartOnlyFailedPartitions() throws Exception {
+        // given
+        Mockito.when(generateApiQueryParam.getBjdCodeList()).thenReturn(Arrays.asList("99991", "99992"));
+        Mockito.when(generateApiQueryParam.getDealYearMonthsList()).thenReturn(Arrays.asList("202301", "202302", "202303"));
+        // 첫 실행은 첫 파티션만 성공하고 나머지 파티션은 모두 실패, 재개하면 모든 파티션 성공
+        AtomicBoolean resuming = new AtomicBoolean();
+        AtomicInteger reads = new AtomicInteger();
+        Mockito.when(mockItemReader.read()).thenAnswer(invocation -> {
+            if (resuming.get()) {
+                return null;
+            }
+            int read = reads.getAndIncrement();
+            if (read == 0) {
+                return new RealEstateDto();
+            }
+            if (read == 1) {
+                return null;
+            }
+            throw new Exception("test exception");
+        });
+        realEstateJobLauncher.executeWithRetry(REAL_ESTATE_TYPE, 1);
+        Map<String, JobExecutionHistory.LastJobExecution> firstRun = jobExecutionHistory.findLastExecutions("testJob", REAL_ESTATE_TYPE);
+        int jobInstanceCount = jobExplorer.getJobInstanceCount("testJob");
+        resuming.set(true);
+
+        // when
+        realEstateJobLauncher.resume(REAL_ESTATE_TYPE, 1);
+        Map<String, JobExecutionHistory.LastJobExecution> resumed = jobExecutionHistory.findLastExecutions("testJob", REAL_ESTATE_TYPE);
+        realEstateJobLauncher.resume(REAL_ESTATE_TYPE, 1);
+        Map<String, JobExecutionHistory.LastJobExecution> resumedAgain = jobExecutionHistory.findLastExecutions("testJob", REAL_ESTATE_TYPE);
+
+        // then
+        Assertions.assertEquals(BatchStatus.FAILED, firstRun.get("99991").getStatus());
+        Assertions.assertEquals(BatchStatus.FAILED, firstRun.get("99992").getStatus());
+        Assertions.assertEquals(BatchStatus.COMPLETED, resumed.get("99991").getStatus());
+        Assertions.assertEquals(BatchStatus.COMPLETED, resumed.get("99992").getStatus());
+        Assertions.assertEquals(jobInstanceCount, jobExplorer.getJobInstanceCount("testJob"));
+        Assertions.assertEquals(2, countPartitions(resumed.get("99991").getJobExecutionId()));
+        Assertions.assertEquals(3, countPartitions(resumed.get("99992").getJobExecutionId()));
+        Assertions.assertEquals(resumed.get("99991").getJobExecutionId(), resumedAgain.get("99991").getJobExecutionId());
+        Assertions.assertEquals(resumed.get("99992").getJobExecutionId(), resumedAgain.get("99992").getJobExecutionId());
+    }
+
+    @DisplayName("STARTED 로 남은 job 은 staleStartedMinutes 동안 갱신되지 않았을 때만 FAILED 로 바꾸고 같은 job instance 로 재시작")
+    @Test
+    public void resume_RestartStaleStartedExecution() throws Exception {
+        // given
+        Mockito.when(generateApiQueryParam.getBjdCodeList()).thenReturn(Collections.singletonList("99993"));
+        Mockito.when(generateApiQueryParam.getDealYearMonthsList()).thenReturn(Collections.singletonList("202301"));
+        Mockito.when(mockItemReader.read()).thenAnswer(invocation -> null);
+        // 실행 중에 프로세스가 죽어 STARTED 로 남은 job
+        JobExecution started = jobRepository.createJobExecution("testJob", new JobParametersBuilder()
+                .addString("bjdCode", "99993")
+                .addString("realEstateType", REAL_ESTATE_TYPE.name())
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters());
+        started.setStatus(BatchStatus.STARTED);
+        started.setStartTime(new Date());
+        jobRepository.update(started);
+        new JdbcTemplate(dataSource).update("UPDATE BATCH_JOB_EXECUTION SET LAST_UPDATED = ? WHERE JOB_EXECUTION_ID = ?",
+                new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(30)), started.getId());
+
+        // when
+        ReflectionTestUtils.setField(realEstateJobLauncher, "staleStartedMinutes", 60L);
+        realEstateJobLauncher.resume(REAL_ESTATE_TYPE, 1);
+        JobExecutionHistory.LastJobExecution notStale = jobExecutionHistory.findLastExecutions("testJob", REAL_ESTATE_TYPE).get("99993");
+        ReflectionTestUtils.setField(realEstateJobLauncher, "staleStartedMinutes", 10L);
+        realEstateJobLauncher.resume(REAL_ESTATE_TYPE, 1);
+        JobExecutionHistory.LastJobExecution stale = jobExecutionHistory.findLastExecutions("testJob", REAL_ESTATE_TYPE).get("99993");
+        ReflectionTestUtils.setField(realEstateJobLauncher, "staleStartedMinutes", 0L);
+
+        // then
+        Assertions.assertEquals(started.getId(), notStale.getJobExecutionId());
+        Assertions.assertEquals(BatchStatus.STARTED, notStale.getStatus());
+        Assertions.assertEquals(BatchStatus.FAILED, jobExplorer.getJobExecution(started.getId()).getStatus());
+        Assertions.assertEquals(BatchStatus.COMPLETED, stale.getStatus());
+        Assertions.assertEquals(started.getJobInstance().getId(), jobExplorer.getJobExecution(stale.getJobExecutionId()).getJobInstance().getId());
+    }
+
+    private long countPartitions(long jobExecutionId) {
+        JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
+        return jobExecution.getStepExecutions().stream()
+                .map(StepExecution::getStepName)
+                .filter(stepName -> stepName.startsWith("계약월:"))
+                .count();
+    }
+
+}
@@ -4,6 +4,7 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import com.dsadara.realestatebatchservice.service.GenerateApiQueryParam;
+import com.dsadara.realestatebatchservice.service.IngestionWatermarkService;
 import com.dsadara.realestatebatchservice.type.RealEstateType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,15 +13,24 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -39,6 +49,10 @@ class RealEstateJobLauncherTest {
     private JobLauncher jobLauncher;
     @Mock
     private Job realEstateJob;
+    @Mock
+    private IngestionWatermarkService ingestionWatermarkService;
+    @Spy
+    private TaskExecutor jobLaunchTaskExecutor = new SimpleAsyncTaskExecutor();
     @Captor
     private ArgumentCaptor<JobParameters> jobParametersCaptor;
 
@@ -137,4 +151,90 @@ class RealEstateJobLauncherTest {
                 .doesNotContain("[{}] {} 번 재시도 후에도 데이터 호출 실패.");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testExecuteWithRetryRestartsFailedJobWithSameParameters() throws Exception {
+        // given
+        JobExecution failed = new JobExecution(1L);
+        failed.setStatus(BatchStatus.FAILED);
+        JobExecution completed = new JobExecution(2L);
+        completed.setStatus(BatchStatus.COMPLETED);
+        when(jobLauncher.run(eq(realEstateJob), any(JobParameters.class))).thenReturn(failed, completed, completed);
+
+        // when
+        realEstateJobLauncher.executeWithRetry(realEstateType, 3);
+
+        // then
+        verify(jobLauncher, times(3)).run(eq(realEstateJob), jobParametersCaptor.capture());
+        List<JobParameters> capturedJobParametersList = jobParametersCaptor.getAllValues();
+        Assertions.assertSame(capturedJobParametersList.get(0), capturedJobParametersList.get(1));
+        Assertions.assertEquals("11110", capturedJobParametersList.get(1).getString("bjdCode"));
+        Assertions.assertEquals("11111", capturedJobParametersList.get(2).getString("bjdCode"));
+    }
+
+    @Test
+    void testLaunchJobsConcurrently() throws Exception {
+        // given
+        JobExecution completed = new JobExecution(1L);
+        completed.setStatus(BatchStatus.COMPLETED);
+        JobExecution failed = new JobExecution(2L);
+        failed.setStatus(BatchStatus.FAILED);
+        when(jobLauncher.run(eq(realEstateJob), any(JobParameters.class))).thenAnswer(invocation -> {
+            JobParameters params = invocation.getArgument(1);
+            return "11110".equals(params.getString("bjdCode")) ? completed : failed;
+        });
+
+        // when
+        Map<RealEstateType, JobLaunchReport> reports =
+                realEstateJobLauncher.launchJobsConcurrently(Collections.singletonList(realEstateType), 1);
+
+        // then
+        verify(jobLauncher, times(bjdCodeList.size())).run(eq(realEstateJob), any(JobParameters.class));
+        JobLaunchReport report = reports.get(realEstateType);
+        Assertions.assertEquals(1, report.getCount(BatchStatus.COMPLETED));
+        Assertions.assertEquals(1, report.getCount(BatchStatus.FAILED));
+        Assertions.assertEquals(Collections.singletonList("11111"), report.getFailedBjdCodes());
+    }
+
+    @Test
+    void testLaunchJobsConcurrentlyWithLaunchError() throws Exception {
+        // given
+        doThrow(new RuntimeException("Test Exception")).when(jobLauncher).run(any(Job.class), any(JobParameters.class));
+
+        // when
+        Map<RealEstateType, JobLaunchReport> reports =
+                realEstateJobLauncher.launchJobsConcurrently(Collections.singletonList(realEstateType), 1);
+
+        // then
+        Assertions.assertEquals(2, reports.get(realEstateType).getLaunchErrorCount());
+        Assertions.assertFalse(reports.get(realEstateType).isAllCompleted());
+    }
+
+    @Test
+    void testLaunchJobsConcurrentlyLimitsInFlightJobsAndRestarts() throws Exception {
+        // given
+        ReflectionTestUtils.setField(realEstateJobLauncher, "maxInFlightJobs", 1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger attempts = new AtomicInteger();
+        when(jobLauncher.run(eq(realEstateJob), any(JobParameters.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            // 법정동 코드마다 첫 실행은 실패하고 재시작하면 완료
+            JobExecution jobExecution = new JobExecution((long) attempts.incrementAndGet());
+            jobExecution.setStatus(attempts.get() % 2 == 1 ? BatchStatus.FAILED : BatchStatus.COMPLETED);
+            return jobExecution;
+        });
+
+        // when
+        Map<RealEstateType, JobLaunchReport> reports =
+                realEstateJobLauncher.launchJobsConcurrently(Collections.singletonList(realEstateType), 2);
+
+        // then
+        Assertions.assertEquals(1, maxRunning.get());
+        verify(jobLauncher, times(bjdCodeList.size() * 2)).run(eq(realEstateJob), any(JobParameters.class));
+        Assertions.assertEquals(bjdCodeList.size(), reports.get(realEstateType).getCount(BatchStatus.COMPLETED));
+        Assertions.assertTrue(reports.get(realEstateType).isAllCompleted());
+    }
+
+}
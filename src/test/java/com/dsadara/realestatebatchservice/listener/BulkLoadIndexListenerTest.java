@@ -0,0 +1,86 @@
+package com.dsadara.realestatebatchservice.listener;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkLoadIndexListenerTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+
+    private BulkLoadIndexListener bulkLoadIndexListener;
+    private final JobExecution jobExecution = new JobExecution(new JobInstance(1L, "realEstateGridJob"), new JobParameters());
+
+    @BeforeEach
+    void setUp() {
+        bulkLoadIndexListener = new BulkLoadIndexListener(dataSource);
+    }
+
+    private void givenConnection() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    @Test
+    @DisplayName("bulk writer 이고 disableIndexes 이면 job 시작 전에 보조 인덱스를 제거하고 끝나면 다시 생성")
+    void dropAndRebuild() throws Exception {
+        //given
+        givenConnection();
+        ReflectionTestUtils.setField(bulkLoadIndexListener, "disableIndexes", true);
+        ReflectionTestUtils.setField(bulkLoadIndexListener, "writerType", "bulk");
+
+        //when
+        bulkLoadIndexListener.beforeJob(jobExecution);
+
+        //then
+        verify(statement).execute(contains("DROP INDEX IF EXISTS idx_real_estate_type"));
+        verify(statement, never()).execute(contains("ADD INDEX"));
+
+        //when
+        bulkLoadIndexListener.afterJob(jobExecution);
+
+        //then
+        verify(statement).execute(contains("ADD INDEX IF NOT EXISTS idx_real_estate_type"));
+    }
+
+    @Test
+    @DisplayName("bulk writer 가 아니거나 disableIndexes 가 아니면 인덱스를 건드리지 않음")
+    void disabled() throws Exception {
+        //given
+        ReflectionTestUtils.setField(bulkLoadIndexListener, "disableIndexes", true);
+        ReflectionTestUtils.setField(bulkLoadIndexListener, "writerType", "jdbc");
+        BulkLoadIndexListener notDisabled = new BulkLoadIndexListener(dataSource);
+        ReflectionTestUtils.setField(notDisabled, "disableIndexes", false);
+        ReflectionTestUtils.setField(notDisabled, "writerType", "bulk");
+
+        //when
+        bulkLoadIndexListener.beforeJob(jobExecution);
+        bulkLoadIndexListener.afterJob(jobExecution);
+        notDisabled.beforeJob(jobExecution);
+        notDisabled.afterJob(jobExecution);
+
+        //then
+        verify(dataSource, never()).getConnection();
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.dsadara.realestatebatchservice.listener;
+
+import com.dsadara.realestatebatchservice.processor.AsyncItemProcessor;
+import com.dsadara.realestatebatchservice.service.ThroughputMonitor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PipelineStageMetricsListenerTest {
+
+    @Mock
+    private ThroughputMonitor throughputMonitor;
+
+    private static String slowTrim(String item) throws InterruptedException {
+        Thread.sleep(20);
+        return item.trim();
+    }
+
+    @Test
+    @DisplayName("chunk 안에서 읽기, 변환, 쓰기에 쓴 시간의 합과 쓴 건수를 기록")
+    void afterChunk_RecordStages() throws Exception {
+        //given
+        PipelineStageMetricsListener listener = new PipelineStageMetricsListener(throughputMonitor);
+        List<String> items = Arrays.asList("11110", "11140");
+
+        //when
+        listener.beforeChunk(null);
+        for (String item : items) {
+            listener.beforeRead();
+            listener.afterRead(item);
+        }
+        for (String item : items) {
+            listener.beforeProcess(item);
+            String result = slowTrim(item);
+            listener.afterProcess(item, result);
+        }
+        listener.beforeWrite(items);
+        listener.afterWrite(items);
+        listener.afterChunk(null);
+
+        //then
+        ArgumentCaptor<Long> processNanos = ArgumentCaptor.forClass(Long.class);
+        verify(throughputMonitor).recordChunk(anyLong(), anyLong(), processNanos.capture(), anyLong());
+        Assertions.assertTrue(processNanos.getValue() >= TimeUnit.MILLISECONDS.toNanos(40));
+        verify(throughputMonitor).recordWritten(2);
+    }
+
+    @Test
+    @DisplayName("pipeline 이면 쓰기가 끝난 뒤 AsyncItemProcessor 가 작업 스레드에서 잰 변환 시간을 더함")
+    void afterChunk_PipelineProcessTime() throws Exception {
+        //given
+        PipelineStageMetricsListener listener = new PipelineStageMetricsListener(throughputMonitor);
+        AsyncItemProcessor<String, String> processor = new AsyncItemProcessor<>(PipelineStageMetricsListenerTest::slowTrim, new SyncTaskExecutor());
+        List<String> items = Arrays.asList("11110", "11140");
+        List<Future<String>> futures = new ArrayList<>();
+
+        //when
+        listener.beforeChunk(null);
+        for (String item : items) {
+            listener.beforeRead();
+            listener.afterRead(item);
+        }
+        for (String item : items) {
+            listener.beforeProcess(item);
+            Future<String> future = processor.process(item);
+            listener.afterProcess(item, future);
+            futures.add(future);
+        }
+        listener.beforeWrite(futures);
+        listener.afterWrite(futures);
+        listener.afterChunk(null);
+
+        //then
+        ArgumentCaptor<Long> processNanos = ArgumentCaptor.forClass(Long.class);
+        verify(throughputMonitor).recordChunk(anyLong(), anyLong(), processNanos.capture(), anyLong());
+        Assertions.assertTrue(processNanos.getValue() >= TimeUnit.MILLISECONDS.toNanos(40));
+        verify(throughputMonitor).recordWritten(2);
+    }
+
+    @Test
+    @DisplayName("변환 시간을 모르면 -1, 읽은 데이터가 없는 마지막 chunk 는 기록하지 않음")
+    void afterChunk_UnknownProcessAndEmptyChunk() {
+        //given
+        PipelineStageMetricsListener listener = new PipelineStageMetricsListener(throughputMonitor);
+        List<String> items = Arrays.asList("11110");
+
+        //when
+        listener.beforeChunk(null);
+        listener.beforeRead();
+        listener.afterRead("11110");
+        listener.beforeWrite(items);
+        listener.afterWrite(items);
+        listener.afterChunk(null);
+        listener.beforeChunk(null);
+        listener.beforeRead();
+        listener.afterChunk(null);
+
+        //then
+        verify(throughputMonitor, times(1)).recordChunk(anyLong(), anyLong(), eq(-1L), anyLong());
+        verify(throughputMonitor, times(1)).recordChunk(anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+}
@@ -2,17 +2,35 @@ package com.dsadara.realestatebatchservice.listener;
 
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobOperator;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.batch.test.context.SpringBatchTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 
 @SpringBootTest
@@ -44,4 +62,176 @@ class SlaveStepFailureLimitListenerTest {
         // given
         Assertions.assertEquals(50, failedSteps);
     }
-}
\ No newline at end of file
+
+    @Test
+    void afterStep_ConcurrentFailures() throws Exception {
+        // given
+        JobOperator jobOperator = Mockito.mock(JobOperator.class);
+        SlaveStepFailureLimitListener listener = new SlaveStepFailureLimitListener();
+        ReflectionTestUtils.setField(listener, "jobOperator", jobOperator);
+        JobExecution jobExecution = new JobExecution(1L);
+        List<StepExecution> stepExecutions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            StepExecution stepExecution = new StepExecution("계약월:" + i, jobExecution);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecutions.add(stepExecution);
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        // when
+        for (StepExecution stepExecution : stepExecutions) {
+            executorService.submit(() -> {
+                startLatch.await();
+                return listener.afterStep(stepExecution);
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        Assertions.assertEquals(200, jobExecution.getExecutionContext().getInt("failedSteps"));
+        Mockito.verify(jobOperator, Mockito.times(1)).stop(1L);
+    }
+
+    @Test
+    @DisplayName("기본 정책(실패율 꺼짐)에서는 모든 파티션이 실패해도 maxFailedSteps 개가 실패했을 때 중단")
+    void afterStep_DefaultPolicyStopsAtMaxFailedSteps() throws Exception {
+        // given
+        JobOperator jobOperator = Mockito.mock(JobOperator.class);
+        SlaveStepFailureLimitListener listener = createListener(jobOperator, new MockEnvironment()
+                .withProperty("circuitBreakerPolicy.maxFailedSteps", "50")
+                .withProperty("circuitBreakerPolicy.failureRate", "0")
+                .withProperty("circuitBreakerPolicy.windowSize", "20")
+                .withProperty("circuitBreakerPolicy.minimumSteps", "20"));
+        JobExecution jobExecution = new JobExecution(1L, new JobParameters());
+
+        // when
+        failSteps(listener, jobExecution, 49);
+
+        // then
+        Mockito.verify(jobOperator, Mockito.never()).stop(Mockito.anyLong());
+        failSteps(listener, jobExecution, 1);
+        Mockito.verify(jobOperator, Mockito.times(1)).stop(1L);
+    }
+
+    @Test
+    @DisplayName("circuit breaker 가 열린 뒤 시작하는 파티션은 beforeStep 에서 중단 표시")
+    void beforeStep_TerminateAfterOpen() throws Exception {
+        // given
+        JobOperator jobOperator = Mockito.mock(JobOperator.class);
+        SlaveStepFailureLimitListener listener = createListener(jobOperator, new MockEnvironment()
+                .withProperty("circuitBreakerPolicy.maxFailedSteps", "2"));
+        JobExecution jobExecution = new JobExecution(1L, new JobParameters());
+        JobExecution otherJobExecution = new JobExecution(2L, new JobParameters());
+        StepExecution beforeOpen = new StepExecution("계약월:202301", jobExecution);
+        listener.beforeStep(beforeOpen);
+        failSteps(listener, jobExecution, 2);
+
+        // when
+        StepExecution afterOpen = new StepExecution("계약월:202304", jobExecution);
+        listener.beforeStep(afterOpen);
+        StepExecution otherJob = new StepExecution("계약월:202301", otherJobExecution);
+        listener.beforeStep(otherJob);
+
+        // then
+        Assertions.assertFalse(beforeOpen.isTerminateOnly());
+        Assertions.assertTrue(afterOpen.isTerminateOnly());
+        Assertions.assertFalse(otherJob.isTerminateOnly());
+        Mockito.verify(jobOperator, Mockito.times(1)).stop(1L);
+    }
+
+    @Test
+    @DisplayName("부동산 종류별 기준이 있으면 그 값을, 없으면 기본값을 사용")
+    void afterStep_PolicyPerRealEstateType() throws Exception {
+        // given
+        JobOperator jobOperator = Mockito.mock(JobOperator.class);
+        SlaveStepFailureLimitListener listener = createListener(jobOperator, new MockEnvironment()
+                .withProperty("circuitBreakerPolicy.maxFailedSteps", "3")
+                .withProperty("circuitBreakerPolicy.APT_RENT.maxFailedSteps", "1"));
+        JobExecution aptRent = new JobExecution(1L, new JobParametersBuilder()
+                .addString("realEstateType", "APT_RENT")
+                .toJobParameters());
+        JobExecution aptTrade = new JobExecution(2L, new JobParametersBuilder()
+                .addString("realEstateType", "APT_TRADE")
+                .toJobParameters());
+
+        // when
+        failSteps(listener, aptRent, 1);
+        failSteps(listener, aptTrade, 2);
+
+        // then
+        Mockito.verify(jobOperator, Mockito.times(1)).stop(1L);
+        Mockito.verify(jobOperator, Mockito.never()).stop(2L);
+        failSteps(listener, aptTrade, 1);
+        Mockito.verify(jobOperator, Mockito.times(1)).stop(2L);
+    }
+
+    @Test
+    @DisplayName("remote, embedded 모드에서 기준은 worker(JVM) 마다 적용되고, 한 worker 가 기준을 넘으면 job 을 중단")
+    void afterStep_PerWorkerLimit() throws Exception {
+        // given
+        JobOperator jobOperator = Mockito.mock(JobOperator.class);
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("circuitBreakerPolicy.maxFailedSteps", "2");
+        SlaveStepFailureLimitListener worker1 = createListener(jobOperator, env);
+        SlaveStepFailureLimitListener worker2 = createListener(jobOperator, env);
+        // worker 는 job repository 에서 같은 job execution 을 따로 조회한다
+        JobExecution jobExecutionOfWorker1 = new JobExecution(1L, new JobParameters());
+        JobExecution jobExecutionOfWorker2 = new JobExecution(1L, new JobParameters());
+
+        // when
+        failSteps(worker1, jobExecutionOfWorker1, 1);
+        failSteps(worker2, jobExecutionOfWorker2, 1);
+
+        // then
+        Mockito.verify(jobOperator, Mockito.never()).stop(Mockito.anyLong());
+        failSteps(worker2, jobExecutionOfWorker2, 1);
+        Mockito.verify(jobOperator, Mockito.times(1)).stop(1L);
+    }
+
+    @Test
+    @DisplayName("끝난 job 의 circuit breaker 는 afterJob 에서, worker 에서는 job repository 에서 실행 중이 아닌 job 을 찾아 지움")
+    void circuitBreakers_EvictFinishedJobs() {
+        // given
+        JobOperator jobOperator = Mockito.mock(JobOperator.class);
+        JobExplorer jobExplorer = Mockito.mock(JobExplorer.class);
+        SlaveStepFailureLimitListener listener = createListener(jobOperator, new MockEnvironment());
+        ReflectionTestUtils.setField(listener, "jobExplorer", jobExplorer);
+        JobExecution finishedOnManager = new JobExecution(1L, new JobParameters());
+        JobExecution finishedOnWorker = new JobExecution(2L, new JobParameters());
+        JobExecution running = new JobExecution(3L, new JobParameters());
+        JobExecution completed = new JobExecution(2L, new JobParameters());
+        completed.setStatus(BatchStatus.COMPLETED);
+        running.setStartTime(new Date());
+        Mockito.when(jobExplorer.getJobExecution(2L)).thenReturn(completed);
+        Mockito.when(jobExplorer.getJobExecution(3L)).thenReturn(running);
+
+        // when
+        failSteps(listener, finishedOnManager, 1);
+        listener.afterJob(finishedOnManager);
+        failSteps(listener, finishedOnWorker, 1);
+        failSteps(listener, running, 1);
+        failSteps(listener, new JobExecution(4L, new JobParameters()), 1);
+
+        // then
+        Map<?, ?> circuitBreakers = (Map<?, ?>) ReflectionTestUtils.getField(listener, "circuitBreakers");
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(3L, 4L)), circuitBreakers.keySet());
+    }
+
+    private static SlaveStepFailureLimitListener createListener(JobOperator jobOperator, MockEnvironment env) {
+        SlaveStepFailureLimitListener listener = new SlaveStepFailureLimitListener();
+        ReflectionTestUtils.setField(listener, "jobOperator", jobOperator);
+        ReflectionTestUtils.setField(listener, "env", env);
+        return listener;
+    }
+
+    private static void failSteps(SlaveStepFailureLimitListener listener, JobExecution jobExecution, int count) {
+        for (int i = 0; i < count; i++) {
+            StepExecution stepExecution = new StepExecution("계약월:" + i, jobExecution);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            listener.afterStep(stepExecution);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.StepExecutionSplitter;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class HeaviestFirstPartitionHandlerTest {
+
+    @Test
+    @DisplayName("예상 데이터 건수가 큰 파티션부터 실행")
+    void handle_HeaviestFirst() throws Exception {
+        //given
+        JobExecution jobExecution = new JobExecution(1L, new JobParameters());
+        StepExecution masterStepExecution = new StepExecution("masterStep", jobExecution);
+        Set<StepExecution> partitions = new HashSet<>();
+        for (long estimatedRows : new long[]{10, 3000, 0, 250}) {
+            StepExecution stepExecution = new StepExecution("slaveStep:" + estimatedRows, jobExecution);
+            stepExecution.getExecutionContext().putLong(RowCountBalancedPartitioner.ESTIMATED_ROWS, estimatedRows);
+            partitions.add(stepExecution);
+        }
+        StepExecutionSplitter splitter = mock(StepExecutionSplitter.class);
+        when(splitter.split(any(), anyInt())).thenReturn(partitions);
+
+        List<String> executed = new ArrayList<>();
+        Step step = mock(Step.class);
+        doAnswer(invocation -> executed.add(invocation.<StepExecution>getArgument(0).getStepName()))
+                .when(step).execute(any());
+
+        HeaviestFirstPartitionHandler partitionHandler = new HeaviestFirstPartitionHandler();
+        partitionHandler.setStep(step);
+        partitionHandler.setTaskExecutor(new SyncTaskExecutor());
+
+        //when
+        partitionHandler.handle(splitter, masterStepExecution);
+
+        //then
+        Assertions.assertEquals(Arrays.asList("slaveStep:3000", "slaveStep:250", "slaveStep:10", "slaveStep:0"), executed);
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import com.dsadara.realestatebatchservice.dto.StepExecutionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+public class JdbcPartitionRequestChannelTest {
+
+    private EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema/partition-request-h2.sql")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("보낸 순서대로 한 번씩만 받고, 완료한 요청은 테이블에서 삭제")
+    void sendAndReceive() throws Exception {
+        //given
+        JdbcPartitionRequestChannel manager = new JdbcPartitionRequestChannel(dataSource, 10, 60_000);
+        JdbcPartitionRequestChannel worker1 = new JdbcPartitionRequestChannel(dataSource, 10, 60_000);
+        JdbcPartitionRequestChannel worker2 = new JdbcPartitionRequestChannel(dataSource, 10, 60_000);
+        manager.send(new StepExecutionRequest(1L, 10L, "계약월"));
+        manager.send(new StepExecutionRequest(1L, 11L, "계약월"));
+
+        //when
+        StepExecutionRequest first = worker1.receive(100);
+        StepExecutionRequest second = worker2.receive(100);
+        StepExecutionRequest none = worker1.receive(50);
+        int claimed = countRequests();
+        worker1.complete(first);
+        worker2.complete(second);
+
+        //then
+        Assertions.assertEquals(10L, first.getStepExecutionId());
+        Assertions.assertEquals(1L, first.getJobExecutionId());
+        Assertions.assertEquals("계약월", first.getStepName());
+        Assertions.assertEquals(11L, second.getStepExecutionId());
+        Assertions.assertNull(none);
+        Assertions.assertEquals(2, claimed);
+        Assertions.assertEquals(0, countRequests());
+    }
+
+    @Test
+    @DisplayName("완료하지 않은 요청은 lease 가 만료되면 다른 worker 가 받고, 갱신 중인 요청은 받지 않음")
+    void receive_ReclaimExpiredLease() throws Exception {
+        //given
+        JdbcPartitionRequestChannel manager = new JdbcPartitionRequestChannel(dataSource, 10, 400);
+        JdbcPartitionRequestChannel deadWorker = new JdbcPartitionRequestChannel(dataSource, 10, 400);
+        JdbcPartitionRequestChannel aliveWorker = new JdbcPartitionRequestChannel(dataSource, 10, 400);
+        JdbcPartitionRequestChannel worker = new JdbcPartitionRequestChannel(dataSource, 10, 400);
+        manager.send(new StepExecutionRequest(1L, 10L, "계약월"));
+        manager.send(new StepExecutionRequest(1L, 11L, "계약월"));
+        deadWorker.receive(100);
+        StepExecutionRequest renewing = aliveWorker.receive(100);
+
+        //when
+        StepExecutionRequest beforeExpiry = worker.receive(50);
+        Thread.sleep(300);
+        aliveWorker.renew(renewing);
+        Thread.sleep(200);
+        StepExecutionRequest reclaimed = worker.receive(100);
+        StepExecutionRequest none = worker.receive(50);
+        deadWorker.complete(reclaimed);
+        int afterStaleComplete = countRequests();
+        worker.complete(reclaimed);
+        aliveWorker.complete(renewing);
+
+        //then
+        Assertions.assertNull(beforeExpiry);
+        Assertions.assertEquals(10L, reclaimed.getStepExecutionId());
+        Assertions.assertNull(none);
+        // lease 를 잃은 worker 는 요청을 지우지 못함
+        Assertions.assertEquals(2, afterStaleComplete);
+        Assertions.assertEquals(0, countRequests());
+    }
+
+    @Test
+    @DisplayName("요청이 없으면 기다리다가 들어온 요청을 받음")
+    void receive_Wait() throws Exception {
+        //given
+        JdbcPartitionRequestChannel channel = new JdbcPartitionRequestChannel(dataSource, 10, 60_000);
+        Thread sender = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            channel.send(new StepExecutionRequest(1L, 12L, "계약월"));
+        });
+        sender.start();
+
+        //when
+        StepExecutionRequest request = channel.receive(5000);
+
+        //then
+        Assertions.assertNotNull(request);
+        Assertions.assertEquals(12L, request.getStepExecutionId());
+        sender.join();
+    }
+
+    private int countRequests() {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM partition_request", Integer.class);
+    }
+
+}
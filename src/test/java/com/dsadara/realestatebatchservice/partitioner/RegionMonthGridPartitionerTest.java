@@ -0,0 +1,71 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class RegionMonthGridPartitionerTest {
+
+    @Test
+    @DisplayName("기준 연월 이전은 법정동 코드, 연도별로 묶고 이후는 한 달씩 파티션 생성")
+    void partition_GroupOldMonths() {
+        //given
+        List<String> months = Arrays.asList("202011", "202012", "202101", "202102", "202103", "202309", "202310");
+        RegionMonthGridPartitioner partitioner = new RegionMonthGridPartitioner(
+                Arrays.asList("11500", "11110"), bjdCode -> months, "202301", 12);
+
+        //when
+        Map<String, ExecutionContext> partitions = partitioner.partition(0);
+
+        //then
+        Assertions.assertEquals(Arrays.asList(
+                "11500:202011-202012", "11500:202101-202103", "11500:202309", "11500:202310",
+                "11110:202011-202012", "11110:202101-202103", "11110:202309", "11110:202310"),
+                new ArrayList<>(partitions.keySet()));
+        ExecutionContext grouped = partitions.get("11110:202101-202103");
+        Assertions.assertEquals("11110", grouped.getString("bjdCode"));
+        Assertions.assertEquals("202101-202103", grouped.getString("dealYearMonth"));
+        Assertions.assertEquals("11110:202101,11110:202102,11110:202103", grouped.getString(RegionMonthGridPartitioner.CELLS));
+        Assertions.assertEquals("11500:202310", partitions.get("11500:202310").getString(RegionMonthGridPartitioner.CELLS));
+    }
+
+    @Test
+    @DisplayName("묶음 하나의 셀 개수를 maxCellsPerPartition 이하로 제한")
+    void partition_MaxCellsPerPartition() {
+        //given
+        List<String> months = Arrays.asList("202001", "202002", "202003", "202004", "202005");
+        RegionMonthGridPartitioner partitioner = new RegionMonthGridPartitioner(
+                Collections.singletonList("11500"), bjdCode -> months, "202301", 2);
+
+        //when
+        Map<String, ExecutionContext> partitions = partitioner.partition(0);
+
+        //then
+        Assertions.assertEquals(Arrays.asList("11500:202001-202002", "11500:202003-202004", "11500:202005"),
+                new ArrayList<>(partitions.keySet()));
+    }
+
+    @Test
+    @DisplayName("수집할 계약 연월이 없는 법정동 코드는 파티션을 만들지 않음")
+    void partition_NoMonths() {
+        //given
+        RegionMonthGridPartitioner partitioner = new RegionMonthGridPartitioner(
+                Arrays.asList("11500", "11110"),
+                bjdCode -> "11500".equals(bjdCode) ? Collections.emptyList() : Collections.singletonList("202310"),
+                "202301", 12);
+
+        //when
+        Map<String, ExecutionContext> partitions = partitioner.partition(0);
+
+        //then
+        Assertions.assertEquals(Collections.singletonList("11110:202310"), new ArrayList<>(partitions.keySet()));
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * manager 와 worker 를 같은 JVM 에서 InMemoryPartitionRequestChannel 로 연결하고, 둘이 같은 H2 job repository 를 사용한다.
+ */
+public class RemotePartitionHandlerTest {
+
+    private EmbeddedDatabase dataSource;
+    private JobRepository jobRepository;
+    private JobExplorer jobExplorer;
+    private StepBuilderFactory stepBuilderFactory;
+    private JobBuilderFactory jobBuilderFactory;
+    private InMemoryPartitionRequestChannel channel;
+    private final Map<String, String> executedBy = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        JobRepositoryFactoryBean jobRepositoryFactoryBean = new JobRepositoryFactoryBean();
+        jobRepositoryFactoryBean.setDataSource(dataSource);
+        jobRepositoryFactoryBean.setTransactionManager(transactionManager);
+        jobRepositoryFactoryBean.afterPropertiesSet();
+        jobRepository = jobRepositoryFactoryBean.getObject();
+        JobExplorerFactoryBean jobExplorerFactoryBean = new JobExplorerFactoryBean();
+        jobExplorerFactoryBean.setDataSource(dataSource);
+        jobExplorerFactoryBean.afterPropertiesSet();
+        jobExplorer = jobExplorerFactoryBean.getObject();
+        stepBuilderFactory = new StepBuilderFactory(jobRepository, transactionManager);
+        jobBuilderFactory = new JobBuilderFactory(jobRepository);
+        channel = new InMemoryPartitionRequestChannel();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("worker 가 실행한 파티션의 결과를 manager 의 job execution 에 합산")
+    void handle_Aggregate() throws Exception {
+        //given
+        RemotePartitionWorker worker = new RemotePartitionWorker(channel, jobExplorer, jobRepository,
+                Collections.singletonList(workerStep(null)), 2, 1000, true);
+        worker.start();
+
+        //when
+        JobExecution jobExecution;
+        try {
+            jobExecution = launch(managerStep(10_000));
+        } finally {
+            worker.stop();
+        }
+
+        //then
+        Assertions.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        Assertions.assertEquals(3, executedBy.size());
+        executedBy.values().forEach(threadName -> Assertions.assertTrue(threadName.startsWith("partition-worker-")));
+        StepExecution managerStepExecution = findStepExecution(jobExecution, "manager");
+        Assertions.assertEquals(3, managerStepExecution.getReadCount());
+        Assertions.assertEquals(4, jobExecution.getStepExecutions().size());
+    }
+
+    @Test
+    @DisplayName("worker 에서 실패한 파티션이 있으면 job 실패")
+    void handle_WorkerFailure() throws Exception {
+        //given
+        RemotePartitionWorker worker = new RemotePartitionWorker(channel, jobExplorer, jobRepository,
+                Collections.singletonList(workerStep("200502")), 1, 1000, true);
+        worker.start();
+
+        //when
+        JobExecution jobExecution;
+        try {
+            jobExecution = launch(managerStep(10_000));
+        } finally {
+            worker.stop();
+        }
+
+        //then
+        Assertions.assertEquals(BatchStatus.FAILED, jobExecution.getStatus());
+        Assertions.assertEquals(BatchStatus.FAILED, findStepExecution(jobExecution, "worker:200502").getStatus());
+        Assertions.assertEquals(BatchStatus.COMPLETED, findStepExecution(jobExecution, "worker:200501").getStatus());
+    }
+
+    @Test
+    @DisplayName("worker 가 없으면 제한 시간 후 job 실패")
+    void handle_Timeout() throws Exception {
+        //when
+        JobExecution jobExecution = launch(managerStep(200));
+
+        //then
+        Assertions.assertEquals(BatchStatus.FAILED, jobExecution.getStatus());
+        Assertions.assertTrue(findStepExecution(jobExecution, "manager").getExitStatus().getExitDescription().contains("TimeoutException"));
+    }
+
+    @Test
+    @DisplayName("worker 에 없는 step 요청은 실패로 기록")
+    void worker_UnknownStep() throws Exception {
+        //given
+        RemotePartitionWorker worker = new RemotePartitionWorker(channel, jobExplorer, jobRepository,
+                Collections.singletonList(stepBuilderFactory.get("other").tasklet((contribution, chunkContext) -> RepeatStatus.FINISHED).build()),
+                1, 1000, true);
+        worker.start();
+
+        //when
+        JobExecution jobExecution;
+        try {
+            jobExecution = launch(managerStep(10_000));
+        } finally {
+            worker.stop();
+        }
+
+        //then
+        Assertions.assertEquals(BatchStatus.FAILED, jobExecution.getStatus());
+        Assertions.assertEquals(ExitStatus.FAILED.getExitCode(), findStepExecution(jobExecution, "worker:200501").getExitStatus().getExitCode());
+    }
+
+    @Test
+    @DisplayName("요청을 가져간 worker 가 죽으면 lease 가 만료된 뒤 다른 worker 가 실행")
+    void handle_ReclaimExpiredLease() throws Exception {
+        //given
+        new ResourceDatabasePopulator(new ClassPathResource("schema/partition-request-h2.sql")).execute(dataSource);
+        JdbcPartitionRequestChannel deadWorkerChannel = new JdbcPartitionRequestChannel(dataSource, 10, 300);
+        JdbcPartitionRequestChannel workerChannel = new JdbcPartitionRequestChannel(dataSource, 10, 300);
+        RemotePartitionWorker worker = new RemotePartitionWorker(workerChannel, jobExplorer, jobRepository,
+                Collections.singletonList(workerStep(null)), 1, 50, true);
+        // 요청 하나를 가져간 뒤 실행하지 않고 죽은 worker
+        Thread deadWorker = new Thread(() -> {
+            try {
+                deadWorkerChannel.receive(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker.start();
+        });
+        deadWorker.start();
+
+        //when
+        JobExecution jobExecution;
+        try {
+            jobExecution = launch(managerStep(new RemotePartitionHandler("worker", workerChannel, jobExplorer, 10, 10_000)));
+        } finally {
+            deadWorker.join();
+            worker.stop();
+        }
+
+        //then
+        Assertions.assertEquals(BatchStatus.COMPLETED, jobExecution.getStatus());
+        Assertions.assertEquals(3, executedBy.size());
+        Assertions.assertEquals(0, new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM partition_request", Integer.class));
+    }
+
+    private Step workerStep(String failingDealYearMonth) {
+        return stepBuilderFactory.get("worker")
+                .tasklet((contribution, chunkContext) -> {
+                    String dealYearMonth = chunkContext.getStepContext().getStepExecution().getExecutionContext().getString("dealYearMonth");
+                    if (dealYearMonth.equals(failingDealYearMonth)) {
+                        throw new IllegalStateException("파티션 실패");
+                    }
+                    executedBy.put(dealYearMonth, Thread.currentThread().getName());
+                    contribution.incrementReadCount();
+                    return RepeatStatus.FINISHED;
+                })
+                .build();
+    }
+
+    private Step managerStep(long timeoutMillis) {
+        return managerStep(new RemotePartitionHandler("worker", channel, jobExplorer, 10, timeoutMillis));
+    }
+
+    private Step managerStep(RemotePartitionHandler remotePartitionHandler) {
+        Partitioner partitioner = gridSize -> {
+            Map<String, ExecutionContext> result = new HashMap<>();
+            for (String dealYearMonth : new String[]{"200501", "200502", "200503"}) {
+                ExecutionContext executionContext = new ExecutionContext();
+                executionContext.putString("dealYearMonth", dealYearMonth);
+                result.put(dealYearMonth, executionContext);
+            }
+            return result;
+        };
+        return stepBuilderFactory.get("manager")
+                .partitioner("worker", partitioner)
+                .partitionHandler(remotePartitionHandler)
+                .build();
+    }
+
+    private JobExecution launch(Step managerStep) throws Exception {
+        Job job = jobBuilderFactory.get("remotePartitionJob").start(managerStep).build();
+        SimpleJobLauncher jobLauncher = new SimpleJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher.run(job, new JobParametersBuilder().addLong("time", System.nanoTime()).toJobParameters());
+    }
+
+    private StepExecution findStepExecution(JobExecution jobExecution, String stepName) {
+        // 파티션의 최종 상태는 worker 가 job repository 에 기록한다
+        return jobExplorer.getJobExecution(jobExecution.getId()).getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().equals(stepName))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.dsadara.realestatebatchservice.partitioner;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RowCountBalancedPartitionerTest {
+
+    private final List<String> months = Arrays.asList("200501", "200502", "200503", "202309", "202310");
+
+    @Test
+    @DisplayName("무거운 셀은 단독 파티션으로 먼저, 빈 셀은 하나의 파티션으로 묶기")
+    void partition_HeavyFirstAndMergeEmpty() {
+        //given
+        Map<String, Integer> rowCounts = new HashMap<>();
+        rowCounts.put("11680:202310", 3000);
+        rowCounts.put("11680:202309", 1200);
+        RowCountBalancedPartitioner partitioner = new RowCountBalancedPartitioner(
+                Collections.singletonList("11680"), bjdCode -> months, rowCounts, 1500, 10, 0);
+
+        //when
+        Map<String, ExecutionContext> partitions = partitioner.partition(0);
+
+        //then
+        List<ExecutionContext> contexts = new ArrayList<>(partitions.values());
+        Assertions.assertEquals(2, contexts.size());
+        Assertions.assertEquals("11680:202310", contexts.get(0).getString(RegionMonthGridPartitioner.CELLS));
+        Assertions.assertEquals(3010L, contexts.get(0).getLong(RowCountBalancedPartitioner.ESTIMATED_ROWS));
+        // 1200 건짜리 셀에 빈 셀 3 개를 채운다
+        Assertions.assertEquals("11680:200501,11680:200502,11680:200503,11680:202309",
+                contexts.get(1).getString(RegionMonthGridPartitioner.CELLS));
+        Assertions.assertEquals("200501-202309", contexts.get(1).getString("dealYearMonth"));
+        Assertions.assertEquals(1240L, contexts.get(1).getLong(RowCountBalancedPartitioner.ESTIMATED_ROWS));
+    }
+
+    @Test
+    @DisplayName("건수를 모르는 셀은 unknownCellRows 건으로 보고 여러 법정동 코드의 셀을 함께 묶기")
+    void partition_UnknownCells() {
+        //given
+        RowCountBalancedPartitioner partitioner = new RowCountBalancedPartitioner(
+                Arrays.asList("11500", "11110"), bjdCode -> months, Collections.emptyMap(), 1000, 0, 200);
+
+        //when
+        Map<String, ExecutionContext> partitions = partitioner.partition(0);
+
+        //then
+        Assertions.assertEquals(2, partitions.size());
+        int cellCount = 0;
+        for (ExecutionContext executionContext : partitions.values()) {
+            Assertions.assertTrue(executionContext.getLong(RowCountBalancedPartitioner.ESTIMATED_ROWS) <= 1000);
+            cellCount += executionContext.getString(RegionMonthGridPartitioner.CELLS).split(",").length;
+        }
+        Assertions.assertEquals(10, cellCount);
+    }
+
+    @Test
+    @DisplayName("gridSize 보다 파티션이 많아지지 않도록 목표 건수를 늘리기")
+    void partition_GridSize() {
+        //given
+        RowCountBalancedPartitioner partitioner = new RowCountBalancedPartitioner(
+                Arrays.asList("11500", "11110"), bjdCode -> months, Collections.emptyMap(), 1, 0, 100);
+
+        //when
+        Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+        //then
+        Assertions.assertEquals(2, partitions.size());
+        partitions.values().forEach(executionContext ->
+                Assertions.assertEquals(500L, executionContext.getLong(RowCountBalancedPartitioner.ESTIMATED_ROWS)));
+    }
+
+}
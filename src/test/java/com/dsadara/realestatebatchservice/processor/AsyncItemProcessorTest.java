@@ -0,0 +1,90 @@
+package com.dsadara.realestatebatchservice.processor;
+
+import com.dsadara.realestatebatchservice.writer.AsyncItemWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+
+public class AsyncItemProcessorTest {
+
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @BeforeEach
+    void setUp() {
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(2);
+        taskExecutor.setThreadNamePrefix("pipeline-test-");
+        taskExecutor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+        StepSynchronizationManager.close();
+    }
+
+    @Test
+    @DisplayName("변환은 작업 스레드에서 step context 와 함께 실행되고 null 결과는 쓰지 않음")
+    void processAndWrite_Success() throws Exception {
+        //given
+        StepExecution stepExecution = new StepExecution("계약월", new JobExecution(1L, new JobParameters()), 1L);
+        StepSynchronizationManager.register(stepExecution);
+        List<String> threadNames = new ArrayList<>();
+        AsyncItemProcessor<Integer, String> processor = new AsyncItemProcessor<>(item -> {
+            StepContext context = StepSynchronizationManager.getContext();
+            Assertions.assertSame(stepExecution, context.getStepExecution());
+            synchronized (threadNames) {
+                threadNames.add(Thread.currentThread().getName());
+            }
+            return item % 2 == 0 ? null : "item" + item;
+        }, taskExecutor);
+        List<String> written = new ArrayList<>();
+        AsyncItemWriter<String> writer = new AsyncItemWriter<>(written::addAll);
+
+        //when
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            futures.add(processor.process(i));
+        }
+        writer.write(futures);
+
+        //then
+        Assertions.assertEquals(Arrays.asList("item1", "item3"), written);
+        Assertions.assertEquals(4, threadNames.size());
+        threadNames.forEach(name -> Assertions.assertTrue(name.startsWith("pipeline-test-")));
+    }
+
+    @Test
+    @DisplayName("변환 중 발생한 예외는 writer 에서 원래 예외로 다시 던짐")
+    void write_ProcessException() throws Exception {
+        //given
+        AsyncItemProcessor<Integer, String> processor = new AsyncItemProcessor<>(item -> {
+            throw new IllegalArgumentException("변환 실패");
+        }, taskExecutor);
+        List<String> written = new ArrayList<>();
+        AsyncItemWriter<String> writer = new AsyncItemWriter<>(written::addAll);
+
+        //when
+        Future<String> future = processor.process(1);
+
+        //then
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> writer.write(Arrays.asList(future)));
+        Assertions.assertEquals("변환 실패", exception.getMessage());
+        Assertions.assertTrue(written.isEmpty());
+    }
+
+}
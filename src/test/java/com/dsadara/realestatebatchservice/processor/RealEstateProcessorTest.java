@@ -0,0 +1,87 @@
+package com.dsadara.realestatebatchservice.processor;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+public class RealEstateProcessorTest {
+
+    private static RealEstateDto createDto(String deposit, String beopJeongDong) {
+        RealEstateDto dto = new RealEstateDto();
+        ReflectionTestUtils.setField(dto, "constructYear", "2019");
+        ReflectionTestUtils.setField(dto, "contractYear", "2023");
+        ReflectionTestUtils.setField(dto, "contractMonth", " 4");
+        ReflectionTestUtils.setField(dto, "contractDay", "1");
+        ReflectionTestUtils.setField(dto, "beopJeongDong", beopJeongDong);
+        ReflectionTestUtils.setField(dto, "deposit", deposit);
+        ReflectionTestUtils.setField(dto, "monthlyRent", "0");
+        ReflectionTestUtils.setField(dto, "depositBefore", " ");
+        ReflectionTestUtils.setField(dto, "monthlyRentBefore", " ");
+        return dto;
+    }
+
+    @Test
+    @DisplayName("천 단위 구분 기호와 공백이 있는 금액을 변환하고 빈 값은 null 로 변환")
+    void process_ParseAmount() throws Exception {
+        //given
+        RealEstateProcessor processor = new RealEstateProcessor("APT_RENT");
+
+        //when
+        RealEstate realEstate = processor.process(createDto("  12,500", "염창동"));
+
+        //then
+        Assertions.assertEquals(new BigDecimal("12500"), realEstate.getDeposit());
+        Assertions.assertEquals(BigDecimal.ZERO, realEstate.getMonthlyRent());
+        Assertions.assertNull(realEstate.getDepositBefore());
+        Assertions.assertNull(realEstate.getMonthlyRentBefore());
+        Assertions.assertNull(realEstate.getDealAmount());
+        Assertions.assertEquals(Short.valueOf((short) 4), realEstate.getContractMonth());
+        Assertions.assertEquals(Short.valueOf((short) 2019), realEstate.getConstructYear());
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 값은 NumberFormatException")
+    void process_InvalidNumber() {
+        //given
+        RealEstateProcessor processor = new RealEstateProcessor("APT_RENT");
+
+        //when
+        //then
+        Assertions.assertThrows(NumberFormatException.class, () -> processor.process(createDto("12,5OO", "염창동")));
+    }
+
+    @Test
+    @DisplayName("같은 법정동 값은 같은 인스턴스를 사용하고 생성 시각은 chunk 마다 한 번 구함")
+    void process_InternAndChunkTimestamp() throws Exception {
+        //given
+        RealEstateProcessor processor = new RealEstateProcessor("APT_RENT");
+        processor.beforeChunk(null);
+
+        //when
+        RealEstate first = processor.process(createDto("100", new String("염창동")));
+        Thread.sleep(5);
+        RealEstate second = processor.process(createDto("200", new String("염창동")));
+
+        //then
+        Assertions.assertSame(first.getBeopJeongDong(), second.getBeopJeongDong());
+        Assertions.assertSame(first.getCreatedAt(), second.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("소수점이 있거나 long 범위를 넘는 금액 변환")
+    void parseAmount_DecimalAndLongValue() {
+        //given
+        //when
+        //then
+        Assertions.assertEquals(new BigDecimal("59.8873"), RealEstateValueParser.parseAmount("59.8873"));
+        Assertions.assertEquals(new BigDecimal("12345678901234567890"), RealEstateValueParser.parseAmount("12,345,678,901,234,567,890"));
+        Assertions.assertEquals(new BigDecimal("-3"), RealEstateValueParser.parseAmount(" -3 "));
+        Assertions.assertThrows(NumberFormatException.class, () -> RealEstateValueParser.parseShort("40000"));
+    }
+
+}
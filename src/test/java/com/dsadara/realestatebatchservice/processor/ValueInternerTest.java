@@ -0,0 +1,51 @@
+package com.dsadara.realestatebatchservice.processor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ValueInternerTest {
+
+    @Test
+    @DisplayName("같은 값은 String 과 char 배열 어느 쪽으로 찾아도 같은 인스턴스 반환")
+    void intern_SameInstance() {
+        //given
+        ValueInterner valueInterner = new ValueInterner(16);
+        char[] buffer = "{\"법정동\":\"염창동\"}".toCharArray();
+
+        //when
+        String first = valueInterner.intern(new String("염창동"));
+        String fromChars = valueInterner.intern(buffer, 8, 3);
+        String second = valueInterner.intern(new String("염창동"));
+
+        //then
+        Assertions.assertEquals("염창동", fromChars);
+        Assertions.assertSame(first, fromChars);
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, valueInterner.intern(new String("등촌동")));
+        Assertions.assertNull(valueInterner.intern(null));
+    }
+
+    @Test
+    @DisplayName("maxValues 개를 넘는 값은 저장하지 않고 새 String 반환")
+    void intern_MaxValues() {
+        //given
+        ValueInterner valueInterner = new ValueInterner(2);
+        String first = valueInterner.intern(new String("염창동"));
+        String second = valueInterner.intern(new String("등촌동"));
+
+        //when
+        String overflow = new String("화곡동");
+        String interned = valueInterner.intern(overflow);
+        char[] chars = "화곡동".toCharArray();
+        String fromChars = valueInterner.intern(chars, 0, chars.length);
+
+        //then
+        Assertions.assertSame(overflow, interned);
+        Assertions.assertEquals("화곡동", fromChars);
+        Assertions.assertNotSame(overflow, fromChars);
+        Assertions.assertSame(first, valueInterner.intern(new String("염창동")));
+        Assertions.assertSame(second, valueInterner.intern("등촌동".toCharArray(), 0, 3));
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.service.ApiRequester;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApiItemReaderTest {
+
+    private static final int NUM_OF_ROWS = 3;
+    private static final int TOTAL_COUNT = 7;
+
+    @Mock
+    private ApiRequester apiRequester;
+
+    // 1~3 페이지에 각각 3, 3, 1 건
+    private List<List<RealEstateDto>> pages;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pages.add(new ArrayList<>());
+        }
+        for (int i = 0; i < TOTAL_COUNT; i++) {
+            pages.get(i / NUM_OF_ROWS).add(new RealEstateDto());
+        }
+        lenient().when(apiRequester.fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), eq(NUM_OF_ROWS), any()))
+                .thenAnswer(invocation -> {
+                    int pageNo = invocation.getArgument(4);
+                    Consumer<RealEstateDto> consumer = invocation.getArgument(6);
+                    pages.get(pageNo - 1).forEach(consumer);
+                    ApiPageResult result = new ApiPageResult();
+                    result.setResultCode("00");
+                    result.setPageNo(pageNo);
+                    result.setNumOfRows(NUM_OF_ROWS);
+                    result.setTotalCount(TOTAL_COUNT);
+                    result.setItemCount(pages.get(pageNo - 1).size());
+                    return result;
+                });
+    }
+
+    @Test
+    @DisplayName("페이지를 필요할 때만 호출하여 모든 데이터를 순서대로 읽기")
+    void read_LazyPaging() throws Exception {
+        //given
+        ApiItemReader reader = createReader(null);
+        reader.open(new ExecutionContext());
+        verify(apiRequester, never()).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+
+        //when
+        List<RealEstateDto> items = readAll(reader);
+
+        //then
+        Assertions.assertEquals(TOTAL_COUNT, items.size());
+        for (int i = 0; i < TOTAL_COUNT; i++) {
+            Assertions.assertSame(pages.get(i / NUM_OF_ROWS).get(i % NUM_OF_ROWS), items.get(i));
+        }
+        verify(apiRequester, times(3)).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("첫 페이지를 읽는 동안 다음 페이지만 미리 호출")
+    void read_ReadAhead() throws Exception {
+        //given
+        ApiItemReader reader = createReader(new SimpleAsyncTaskExecutor());
+        reader.open(new ExecutionContext());
+
+        //when
+        RealEstateDto first = reader.read();
+        List<RealEstateDto> items = readAll(reader);
+
+        //then
+        Assertions.assertSame(pages.get(0).get(0), first);
+        Assertions.assertEquals(TOTAL_COUNT - 1, items.size());
+        for (int pageNo = 1; pageNo <= 3; pageNo++) {
+            verify(apiRequester, times(1)).fetchPage(anyString(), anyString(), anyString(), anyString(), eq(pageNo), anyInt(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("저장된 페이지와 위치부터 이어서 읽기")
+    void open_Restart() throws Exception {
+        //given
+        ApiItemReader reader = createReader(null);
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+        for (int i = 0; i < 4; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        //when
+        ApiItemReader restarted = createReader(null);
+        restarted.open(executionContext);
+        List<RealEstateDto> items = readAll(restarted);
+
+        //then
+        Assertions.assertEquals(2, executionContext.getInt("apiItemReader.pageNo"));
+        Assertions.assertEquals(1, executionContext.getInt("apiItemReader.offset"));
+        Assertions.assertEquals(TOTAL_COUNT - 4, items.size());
+        Assertions.assertSame(pages.get(1).get(1), items.get(0));
+        // 재실행에서는 1 페이지를 다시 호출하지 않는다
+        verify(apiRequester, times(1)).fetchPage(anyString(), anyString(), anyString(), anyString(), eq(1), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("데이터가 없으면 한 번만 호출하고 종료")
+    void read_Empty() throws Exception {
+        //given
+        pages.forEach(List::clear);
+        when(apiRequester.fetchPage(anyString(), anyString(), anyString(), anyString(), eq(1), eq(NUM_OF_ROWS), any()))
+                .thenReturn(new ApiPageResult());
+        ApiItemReader reader = createReader(null);
+        reader.open(new ExecutionContext());
+
+        //when
+        RealEstateDto item = reader.read();
+
+        //then
+        Assertions.assertNull(item);
+        verify(apiRequester, times(1)).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    private ApiItemReader createReader(TaskExecutor readAheadExecutor) {
+        ApiItemReader reader = new ApiItemReader("baseUrl", "serviceKey", apiRequester, NUM_OF_ROWS, readAheadExecutor);
+        JobExecution jobExecution = new JobExecution(1L, new JobParametersBuilder()
+                .addString("bjdCode", "11500")
+                .toJobParameters());
+        StepExecution stepExecution = new StepExecution("계약월", jobExecution);
+        stepExecution.getExecutionContext().putString("dealYearMonth", "202304");
+        reader.beforeStep(stepExecution);
+        return reader;
+    }
+
+    private List<RealEstateDto> readAll(ApiItemReader reader) throws Exception {
+        List<RealEstateDto> items = new ArrayList<>();
+        RealEstateDto item;
+        while ((item = reader.read()) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+
+}
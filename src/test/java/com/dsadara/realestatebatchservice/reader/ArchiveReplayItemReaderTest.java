@@ -0,0 +1,128 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.service.ApiRateLimiter;
+import com.dsadara.realestatebatchservice.service.ApiResponseCache;
+import com.dsadara.realestatebatchservice.service.ApiRetryer;
+import com.dsadara.realestatebatchservice.service.RealEstateDataFetcher;
+import com.dsadara.realestatebatchservice.service.ResponseArchive;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ArchiveReplayItemReaderTest {
+
+    private static final String BASE_URL = "http://openapi.molit.go.kr:8081/OpenAPI_ToolInstallPackage/service/rest/RTMSOBJSvc/getRTMSDataSvcAptRent?";
+
+    @TempDir
+    Path directory;
+
+    private ResponseArchive responseArchive;
+    private RealEstateDataFetcher realEstateDataFetcher;
+
+    @BeforeEach
+    void setUp() {
+        responseArchive = new ResponseArchive(new MockEnvironment()
+                .withProperty("archivePolicy.record", "true")
+                .withProperty("archivePolicy.directory", directory.toString()));
+        realEstateDataFetcher = new RealEstateDataFetcher(new ObjectMapper(), new RestTemplate(),
+                new ApiRateLimiter(new StandardEnvironment()), new ApiResponseCache(new StandardEnvironment()), responseArchive,
+                new ApiRetryer(new StandardEnvironment()));
+        responseArchive.append(BASE_URL, queryParams(1), body("e편한세상염창", "동아"));
+        responseArchive.append(BASE_URL, queryParams(2), body("장미"));
+    }
+
+    @Test
+    @DisplayName("보관한 응답의 item 을 페이지 순서로 읽기")
+    void read_Success() throws Exception {
+        //given
+        ArchiveReplayItemReader reader = createReader();
+        reader.open(new ExecutionContext());
+
+        //when
+        List<String> names = readNames(reader);
+
+        //then
+        Assertions.assertEquals(3, names.size());
+        Assertions.assertEquals("e편한세상염창", names.get(0));
+        Assertions.assertEquals("장미", names.get(2));
+    }
+
+    @Test
+    @DisplayName("재실행 시 이미 읽은 item 은 건너뛰기")
+    void open_Restart() throws Exception {
+        //given
+        ExecutionContext executionContext = new ExecutionContext();
+        ArchiveReplayItemReader reader = createReader();
+        reader.open(executionContext);
+        reader.read();
+        reader.read();
+        reader.update(executionContext);
+        reader.close();
+
+        //when
+        ArchiveReplayItemReader restarted = createReader();
+        restarted.open(executionContext);
+        List<String> names = readNames(restarted);
+
+        //then
+        Assertions.assertEquals(1, names.size());
+        Assertions.assertEquals("장미", names.get(0));
+    }
+
+    private ArchiveReplayItemReader createReader() {
+        ArchiveReplayItemReader reader = new ArchiveReplayItemReader(responseArchive, realEstateDataFetcher, BASE_URL, 1000);
+        JobExecution jobExecution = new JobExecution(1L, new JobParametersBuilder()
+                .addString("bjdCode", "11500")
+                .toJobParameters());
+        StepExecution stepExecution = new StepExecution("계약월", jobExecution);
+        stepExecution.getExecutionContext().putString("dealYearMonth", "202304");
+        reader.beforeStep(stepExecution);
+        return reader;
+    }
+
+    private List<String> readNames(ArchiveReplayItemReader reader) throws Exception {
+        List<String> names = new ArrayList<>();
+        RealEstateDto item;
+        while ((item = reader.read()) != null) {
+            names.add(item.getName());
+        }
+        return names;
+    }
+
+    private MultiValueMap<String, String> queryParams(int pageNo) {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("LAWD_CD", "11500");
+        queryParams.add("DEAL_YMD", "202304");
+        queryParams.add("numOfRows", "1000");
+        queryParams.add("pageNo", String.valueOf(pageNo));
+        return queryParams;
+    }
+
+    private byte[] body(String... names) {
+        StringBuilder items = new StringBuilder();
+        for (String name : names) {
+            items.append(items.length() == 0 ? "" : ",").append("{\"아파트\":\"").append(name).append("\"}");
+        }
+        return ("{\"response\":{\"header\":{\"resultCode\":\"00\"},\"body\":{\"items\":{\"item\":[" + items + "]}}}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import com.dsadara.realestatebatchservice.service.ApiRequester;
+import com.dsadara.realestatebatchservice.service.AsyncFetchEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncFetchItemReaderTest {
+
+    @Mock
+    private ApiRequester apiRequester;
+    private AsyncFetchEngine asyncFetchEngine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        asyncFetchEngine = new AsyncFetchEngine(apiRequester);
+        ReflectionTestUtils.setField(asyncFetchEngine, "threads", "platform");
+        ReflectionTestUtils.setField(asyncFetchEngine, "platformThreads", 4);
+        asyncFetchEngine.init();
+        // 셀마다 2 건
+        lenient().when(apiRequester.fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<RealEstateDto> consumer = invocation.getArgument(6);
+                    consumer.accept(new RealEstateDto());
+                    consumer.accept(new RealEstateDto());
+                    ApiPageResult result = new ApiPageResult();
+                    result.setTotalCount(2);
+                    result.setItemCount(2);
+                    return result;
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncFetchEngine.destroy();
+    }
+
+    @Test
+    @DisplayName("다 읽은 셀과 건수를 ExecutionContext 에 저장")
+    void update_RowCounts() throws Exception {
+        //given
+        AsyncFetchItemReader reader = createReader("11500:202301,11110:202301");
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+
+        //when
+        int count = 0;
+        while (reader.read() != null) {
+            count++;
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        //then
+        Assertions.assertEquals(4, count);
+        Assertions.assertEquals(GridApiItemReader.decodeRowCounts("11500:202301=2,11110:202301=2").keySet(),
+                GridApiItemReader.decodeRowCounts(executionContext.getString("asyncFetchItemReader.rowCounts")).keySet());
+    }
+
+    @Test
+    @DisplayName("재실행 시 다 읽은 셀은 다시 호출하지 않음")
+    void open_Restart() throws Exception {
+        //given
+        AsyncFetchItemReader reader = createReader("11500:202301,11110:202301");
+        ExecutionContext executionContext = new ExecutionContext();
+        executionContext.putString("asyncFetchItemReader.rowCounts", "11500:202301=2");
+
+        //when
+        reader.open(executionContext);
+        int count = 0;
+        while (reader.read() != null) {
+            count++;
+        }
+        reader.close();
+
+        //then
+        Assertions.assertEquals(2, count);
+        verify(apiRequester, never()).fetchPage(anyString(), anyString(), eq("11500"), anyString(), anyInt(), anyInt(), any());
+        verify(apiRequester, times(1)).fetchPage(anyString(), anyString(), eq("11110"), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("open 에서는 호출하지 않고 첫 read 에서 호출 시작")
+    void open_DeferFetchUntilRead() throws Exception {
+        //given
+        AsyncFetchItemReader reader = createReader("11500:202301,11110:202301");
+
+        //when
+        reader.open(new ExecutionContext());
+        Thread.sleep(100);
+        verify(apiRequester, never()).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+        reader.close();
+
+        //then
+        Assertions.assertNull(reader.read());
+        verify(apiRequester, never()).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    private AsyncFetchItemReader createReader(String cells) {
+        AsyncFetchItemReader reader = new AsyncFetchItemReader("baseUrl", "serviceKey", asyncFetchEngine);
+        StepExecution stepExecution = new StepExecution("법정동코드x계약월 셀", new JobExecution(1L, new JobParameters()));
+        stepExecution.getExecutionContext().putString(RegionMonthGridPartitioner.CELLS, cells);
+        reader.beforeStep(stepExecution);
+        return reader;
+    }
+
+}
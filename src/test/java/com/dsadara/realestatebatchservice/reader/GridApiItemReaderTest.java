@@ -0,0 +1,148 @@
+package com.dsadara.realestatebatchservice.reader;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.partitioner.RegionMonthGridPartitioner;
+import com.dsadara.realestatebatchservice.service.ApiRequester;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GridApiItemReaderTest {
+
+    private static final int NUM_OF_ROWS = 2;
+    // 셀마다 3 건(2 페이지)
+    private static final int TOTAL_COUNT = 3;
+
+    @Mock
+    private ApiRequester apiRequester;
+
+    // 응답 데이터마다 "법정동코드/계약연월/순번"
+    private final Map<RealEstateDto, String> labels = new IdentityHashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(apiRequester.fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), eq(NUM_OF_ROWS), any()))
+                .thenAnswer(invocation -> {
+                    String bjdCode = invocation.getArgument(2);
+                    String dealYearMonth = invocation.getArgument(3);
+                    int pageNo = invocation.getArgument(4);
+                    Consumer<RealEstateDto> consumer = invocation.getArgument(6);
+                    int from = (pageNo - 1) * NUM_OF_ROWS;
+                    int to = Math.min(from + NUM_OF_ROWS, TOTAL_COUNT);
+                    for (int i = from; i < to; i++) {
+                        RealEstateDto item = new RealEstateDto();
+                        labels.put(item, bjdCode + "/" + dealYearMonth + "/" + i);
+                        consumer.accept(item);
+                    }
+                    ApiPageResult result = new ApiPageResult();
+                    result.setResultCode("00");
+                    result.setPageNo(pageNo);
+                    result.setNumOfRows(NUM_OF_ROWS);
+                    result.setTotalCount(TOTAL_COUNT);
+                    result.setItemCount(to - from);
+                    return result;
+                });
+    }
+
+    @Test
+    @DisplayName("파티션의 셀을 순서대로 모두 읽기")
+    void read_AllCells() throws Exception {
+        //given
+        GridApiItemReader reader = createReader("11500:202001,11500:202002,11110:202001");
+        reader.open(new ExecutionContext());
+
+        //when
+        List<String> items = readAll(reader);
+
+        //then
+        Assertions.assertEquals(3 * TOTAL_COUNT, items.size());
+        Assertions.assertEquals("11500/202001/0", items.get(0));
+        Assertions.assertEquals("11500/202002/0", items.get(TOTAL_COUNT));
+        Assertions.assertEquals("11110/202001/2", items.get(3 * TOTAL_COUNT - 1));
+        // 다 읽은 셀의 전체 건수를 ExecutionContext 에 남긴다
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.update(executionContext);
+        Assertions.assertEquals("11500:202001=3,11500:202002=3,11110:202001=3",
+                executionContext.getString("gridApiItemReader.rowCounts"));
+        verify(apiRequester, times(6)).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("저장된 셀과 페이지, 위치부터 이어서 읽기")
+    void open_Restart() throws Exception {
+        //given
+        String cells = "11500:202001,11500:202002";
+        GridApiItemReader reader = createReader(cells);
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+        for (int i = 0; i < TOTAL_COUNT + 2; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        //when
+        GridApiItemReader restarted = createReader(cells);
+        restarted.open(executionContext);
+        List<String> items = readAll(restarted);
+
+        //then
+        Assertions.assertEquals(1, executionContext.getInt("gridApiItemReader.cellIndex"));
+        Assertions.assertEquals(1, items.size());
+        Assertions.assertEquals("11500/202002/2", items.get(0));
+        // 재실행에서는 끝난 셀을 다시 호출하지 않는다
+        verify(apiRequester, times(2)).fetchPage(anyString(), anyString(), anyString(), eq("202001"), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("셀이 없으면 호출하지 않고 종료")
+    void read_NoCells() throws Exception {
+        //given
+        GridApiItemReader reader = createReader("");
+        reader.open(new ExecutionContext());
+
+        //when
+        RealEstateDto item = reader.read();
+
+        //then
+        Assertions.assertNull(item);
+        verify(apiRequester, never()).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    private GridApiItemReader createReader(String cells) {
+        GridApiItemReader reader = new GridApiItemReader("baseUrl", "serviceKey", apiRequester, NUM_OF_ROWS, null);
+        StepExecution stepExecution = new StepExecution("법정동코드x계약월 셀", new JobExecution(1L, new JobParameters()));
+        stepExecution.getExecutionContext().putString(RegionMonthGridPartitioner.CELLS, cells);
+        reader.beforeStep(stepExecution);
+        return reader;
+    }
+
+    private List<String> readAll(GridApiItemReader reader) throws Exception {
+        List<String> items = new ArrayList<>();
+        RealEstateDto item;
+        while ((item = reader.read()) != null) {
+            items.add(labels.get(item));
+        }
+        return items;
+    }
+
+}
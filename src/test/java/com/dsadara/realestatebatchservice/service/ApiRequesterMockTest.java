@@ -1,26 +1,30 @@
 package com.dsadara.realestatebatchservice.service;
 
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.ResponseEntity;
-import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -32,11 +36,12 @@ public class ApiRequesterMockTest {
     private RealEstateDataFetcher realEstateDataFetcher;
     @InjectMocks
     private ApiRequester apiRequester;
+    @Captor
+    private ArgumentCaptor<MultiValueMap<String, String>> queryParamsCaptor;
 
     // 아파트 전월세 요청 파라미터, 비교용 데이터
-    private Optional<JsonNode> jsonNodeOptional;
-    private Optional<List<RealEstateDto>> realEstateDataDtos;
-    private ResponseEntity<String> response;
+    private List<RealEstateDto> realEstateDataDtos;
+    private ApiPageResult apiPageResult;
     private String baseURL;
     private String legalDong;
     private String dealYearMonth;
@@ -48,66 +53,88 @@ public class ApiRequesterMockTest {
     }
 
     void prepareDataForRequestAptRent() throws Exception {
-        RealEstateDataFetcher realEstateDataFetcherTemp = new RealEstateDataFetcher(new ObjectMapper(), new RestTemplate());
+        RealEstateDataFetcher realEstateDataFetcherTemp = new RealEstateDataFetcher(new ObjectMapper(), new RestTemplate(), new ApiRateLimiter(new StandardEnvironment()),
+                new ApiResponseCache(new StandardEnvironment()), new ResponseArchive(new StandardEnvironment()), new ApiRetryer(new StandardEnvironment()));
 
         legalDong = "11500";
         dealYearMonth = "202304";
         searchKey = "KNxUoxDnwzkyp3fb8dOjCWatfWm6VdGxJHzwOlvkSAcOcm%2B6%2BgIsOrcZ8Wr8hU0qzcmNE2tSjG7HUQBIA%2FqkYg%3D%3D";
         baseURL = "http://openapi.molit.go.kr:8081/OpenAPI_ToolInstallPackage/service/rest/RTMSOBJSvc/getRTMSDataSvcAptRent?";
+        String rawJson = "{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":\"NORMAL SERVICE.\"},\"body\":{\"items\":{\"item\":[{\"갱신요구권사용\":\" \",\"건축년도\":2019,\"계약구분\":\"신규\",\"계약기간\":\"23.05~25.05\",\"년\":2023,\"법정동\":\"염창동\",\"보증금액\":\"55,000\",\"아파트\":\"e편한세상염창\",\"월\":4,\"월세금액\":0,\"일\":1,\"전용면적\":59.8873,\"종전계약보증금\":\" \",\"종전계약월세\":\" \",\"지번\":309,\"지역코드\":11500,\"층\":16},{\"갱신요구권사용\":\" \",\"건축년도\":1998,\"계약구분\":\"신규\",\"계약기간\":\"23.05~25.05\",\"년\":2023,\"법정동\":\"염창동\",\"보증금액\":\"34,000\",\"아파트\":\"동아\",\"월\":4,\"월세금액\":0,\"일\":1,\"전용면적\":59.97,\"종전계약보증금\":\" \",\"종전계약월세\":\" \",\"지번\":292,\"지역코드\":11500,\"층\":9},{\"갱신요구권사용\":\" \",\"건축년도\":2019,\"계약구분\":\"신규\",\"계약기간\":\"23.06~25.06\",\"년\":2023,\"법정동\":\"염창동\",\"보증금액\":\"65,000\",\"아파트\":\"e편한세상염창\",\"월\":4,\"월세금액\":0,\"일\":1,\"전용면적\":84.9529,\"종전계약보증금\":\" \",\"종전계약월세\":\" \",\"지번\":309,\"지역코드\":11500,\"층\":1},{\"갱신요구권사용\":\" \",\"건축년도\":2021,\"계약구분\":\" \",\"계약기간\":\" \",\"년\":2023,\"법정동\":\"염창동\",\"보증금액\":\"35,000\",\"아파트\":\"등촌제이스카이\",\"월\":4,\"월세금액\":0,\"일\":1,\"전용면적\":39.87,\"종전계약보증금\":\" \",\"종전계약월세\":\" \",\"지번\":311,\"지역코드\":11500,\"층\":2},{\"갱신요구권사용\":\" \",\"건축년도\":1998,\"계약구분\":\"신규\",\"계약기간\":\"23.05~25.05\",\"년\":2023,\"법정동\":\"염창동\",\"보증금액\":\"28,000\",\"아파트\":\"동아\",\"월\":4,\"월세금액\":0,\"일\":1,\"전용면적\":59.97,\"종전계약보증금\":\" \",\"종전계약월세\":\" \",\"지번\":292,\"지역코드\":11500,\"층\":11},{\"갱신요구권사용\":\" \",\"건축년도\":1994,\"계약구분\":\" \",\"계약기간\":\"23.05~25.08\",\"년\":2023,\"법정동\":\"방화동\",\"보증금액\":\"24,500\",\"아파트\":\"장미\",\"월\":4,\"월세금액\":0,\"일\":29,\"전용면적\":39.96,\"종전계약보증금\":\" \",\"종전계약월세\":\" \",\"지번\":841,\"지역코드\":11500,\"층\":9}]},\"numOfRows\":10,\"pageNo\":1,\"totalCount\":1245}}}";
 
-        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
-        queryParams.add("LAWD_CD", legalDong);
-        queryParams.add("DEAL_YMD", dealYearMonth);
-        queryParams.add("serviceKey", searchKey);
-
-        response = realEstateDataFetcherTemp.getResponse(baseURL, queryParams);
-        jsonNodeOptional = realEstateDataFetcherTemp.stringToJsonNode(response.getBody());
-        realEstateDataDtos = realEstateDataFetcherTemp.jsonNodeToPOJO(jsonNodeOptional);
+        realEstateDataDtos = new ArrayList<>();
+        apiPageResult = realEstateDataFetcherTemp.readItems(
+                new ByteArrayInputStream(rawJson.getBytes(StandardCharsets.UTF_8)), realEstateDataDtos::add);
+        // 한 페이지에 모든 데이터가 들어있는 응답
+        apiPageResult.setTotalCount(realEstateDataDtos.size());
     }
 
     @Test
     @DisplayName("성공-requestData()")
     void requestData_Success() throws Exception {
         //when
-        when(realEstateDataFetcher.getResponse(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any())).thenReturn(response);
-        when(realEstateDataFetcher.stringToJsonNode(anyString())).thenReturn(jsonNodeOptional);
-        when(realEstateDataFetcher.jsonNodeToPOJO(jsonNodeOptional)).thenReturn(realEstateDataDtos);
+        when(realEstateDataFetcher.fetchItems(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any(), ArgumentMatchers.<Consumer<RealEstateDto>>any()))
+                .thenAnswer(invocation -> {
+                    Consumer<RealEstateDto> consumer = invocation.getArgument(2);
+                    realEstateDataDtos.forEach(consumer);
+                    return apiPageResult;
+                });
 
         //then
-        Assertions.assertEquals(realEstateDataDtos.get(),
+        Assertions.assertEquals(realEstateDataDtos,
                 apiRequester.fetchData(baseURL, legalDong, dealYearMonth, searchKey));
-        verify(realEstateDataFetcher, times(1)).getResponse(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any());
-        verify(realEstateDataFetcher, times(1)).stringToJsonNode(anyString());
-        verify(realEstateDataFetcher, times(1)).jsonNodeToPOJO(jsonNodeOptional);
+        verify(realEstateDataFetcher, times(1)).fetchItems(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any(), ArgumentMatchers.<Consumer<RealEstateDto>>any());
     }
 
     @Test
     @DisplayName("실패-requestData()-IOException")
     void requestData_Failure_IOException() throws Exception {
         //when
-        when(realEstateDataFetcher.getResponse(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any())).thenReturn(response);
-        when(realEstateDataFetcher.stringToJsonNode(anyString())).thenReturn(jsonNodeOptional);
-        when(realEstateDataFetcher.jsonNodeToPOJO(jsonNodeOptional)).thenThrow(IOException.class);
+        when(realEstateDataFetcher.fetchItems(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any(), ArgumentMatchers.<Consumer<RealEstateDto>>any()))
+                .thenThrow(IOException.class);
 
         //then
         Assertions.assertThrows(IOException.class,
                 () -> apiRequester.fetchData(baseURL, legalDong, dealYearMonth, searchKey));
-        verify(realEstateDataFetcher, times(1)).getResponse(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any());
-        verify(realEstateDataFetcher, times(1)).stringToJsonNode(anyString());
+        verify(realEstateDataFetcher, times(1)).fetchItems(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any(), ArgumentMatchers.<Consumer<RealEstateDto>>any());
     }
 
     @Test
     @DisplayName("실패-requestData()-JsonProcessionException")
     void requestAptRent_Failure_JsonProcessionException() throws Exception {
         //when
-        when(realEstateDataFetcher.getResponse(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any())).thenReturn(response);
-        when(realEstateDataFetcher.stringToJsonNode(anyString())).thenReturn(jsonNodeOptional);
-        when(realEstateDataFetcher.jsonNodeToPOJO(jsonNodeOptional)).thenThrow(JsonProcessingException.class);
+        when(realEstateDataFetcher.fetchItems(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any(), ArgumentMatchers.<Consumer<RealEstateDto>>any()))
+                .thenThrow(JsonProcessingException.class);
 
         //then
         Assertions.assertThrows(JsonProcessingException.class,
                 () -> apiRequester.fetchData(baseURL, legalDong, dealYearMonth, searchKey));
-        verify(realEstateDataFetcher, times(1)).getResponse(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any());
+        verify(realEstateDataFetcher, times(1)).fetchItems(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any(), ArgumentMatchers.<Consumer<RealEstateDto>>any());
+    }
+
+    @Test
+    @DisplayName("성공-requestData()-totalCount 만큼 나머지 페이지 호출")
+    void requestData_Success_Pagination() throws Exception {
+        //given
+        apiPageResult.setTotalCount(2500);
+        when(realEstateDataFetcher.fetchItems(anyString(), ArgumentMatchers.<MultiValueMap<String, String>>any(), ArgumentMatchers.<Consumer<RealEstateDto>>any()))
+                .thenAnswer(invocation -> {
+                    Consumer<RealEstateDto> consumer = invocation.getArgument(2);
+                    realEstateDataDtos.forEach(consumer);
+                    return apiPageResult;
+                });
+
+        //when
+        List<RealEstateDto> fetched = apiRequester.fetchData(baseURL, searchKey, legalDong, dealYearMonth);
+
+        //then
+        verify(realEstateDataFetcher, times(3)).fetchItems(anyString(), queryParamsCaptor.capture(), ArgumentMatchers.<Consumer<RealEstateDto>>any());
+        List<MultiValueMap<String, String>> queryParamsList = queryParamsCaptor.getAllValues();
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(String.valueOf(i + 1), queryParamsList.get(i).getFirst("pageNo"));
+            Assertions.assertEquals("1000", queryParamsList.get(i).getFirst("numOfRows"));
+        }
+        Assertions.assertEquals(realEstateDataDtos.size() * 3, fetched.size());
     }
 
-}
\ No newline at end of file
+}
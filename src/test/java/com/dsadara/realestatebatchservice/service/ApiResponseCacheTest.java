@@ -0,0 +1,196 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ApiResponseCacheTest {
+
+    private static final String BASE_URL = "http://openapi.molit.go.kr:8081/OpenAPI_ToolInstallPackage/service/rest/RTMSOBJSvc/getRTMSDataSvcAptRent?";
+    private static final byte[] BODY = "{\"response\":{\"header\":{\"resultCode\":\"00\"}}}".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-05-15T00:00:00Z"));
+
+    @Test
+    @DisplayName("인증키가 달라도 같은 요청이면 저장된 응답을 반환")
+    void open_Hit() throws Exception {
+        //given
+        ApiResponseCache cache = createCache(2048);
+        cache.put(ApiResponseCache.keyOf(BASE_URL, queryParams("202304", "key-1")), BODY);
+
+        //when
+        byte[] cached;
+        try (InputStream inputStream = cache.open(ApiResponseCache.keyOf(BASE_URL, queryParams("202304", "key-2")))) {
+            cached = StreamUtils.copyToByteArray(inputStream);
+        }
+
+        //then
+        Assertions.assertArrayEquals(BODY, cached);
+        Assertions.assertNull(cache.open(ApiResponseCache.keyOf(BASE_URL, queryParams("202303", "key-1"))));
+    }
+
+    @Test
+    @DisplayName("최근 계약 연월은 recentTtlHours 뒤 만료, 오래된 계약 연월은 만료되지 않음")
+    void open_Ttl() throws Exception {
+        //given
+        ApiResponseCache cache = createCache(2048);
+        String recentKey = ApiResponseCache.keyOf(BASE_URL, queryParams("202304", "key"));
+        String oldKey = ApiResponseCache.keyOf(BASE_URL, queryParams("202104", "key"));
+        cache.put(recentKey, BODY);
+        cache.put(oldKey, BODY);
+
+        //when
+        clock.advance(Duration.ofHours(7));
+
+        //then
+        Assertions.assertNull(cache.open(recentKey));
+        try (InputStream inputStream = cache.open(oldKey)) {
+            Assertions.assertNotNull(inputStream);
+        }
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 응답부터 제거")
+    void put_EvictLeastRecentlyUsed() throws Exception {
+        //given
+        MockEnvironment env = environment(0);
+        ApiResponseCache cache = new ApiResponseCache(env, clock);
+        String first = ApiResponseCache.keyOf(BASE_URL, queryParams("202101", "key"));
+
+        //when
+        cache.put(first, BODY);
+
+        //then
+        Assertions.assertEquals(0, cache.getSizeBytes());
+        Assertions.assertNull(cache.open(first));
+    }
+
+    @Test
+    @DisplayName("다시 시작해도 저장된 응답을 사용")
+    void loadIndex() throws Exception {
+        //given
+        String key = ApiResponseCache.keyOf(BASE_URL, queryParams("202101", "key"));
+        createCache(2048).put(key, BODY);
+
+        //when
+        ApiResponseCache restarted = createCache(2048);
+
+        //then
+        Assertions.assertTrue(restarted.getSizeBytes() > 0);
+        try (InputStream inputStream = restarted.open(key)) {
+            Assertions.assertArrayEquals(BODY, StreamUtils.copyToByteArray(inputStream));
+        }
+    }
+
+    @Test
+    @DisplayName("정상 응답만 저장하고 같은 요청은 네트워크를 호출하지 않음")
+    void fetchItems_UseCache() throws Exception {
+        //given
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        ApiRateLimiter apiRateLimiter = mock(ApiRateLimiter.class);
+        RealEstateDataFetcher realEstateDataFetcher = new RealEstateDataFetcher(new ObjectMapper(), restTemplate, apiRateLimiter, createCache(2048),
+                new ResponseArchive(new MockEnvironment()), new ApiRetryer(new MockEnvironment()));
+        byte[] body = ("{\"response\":{\"header\":{\"resultCode\":\"00\"},\"body\":{\"items\":{\"item\":" +
+                "[{\"아파트\":\"e편한세상염창\"},{\"아파트\":\"동아\"}]},\"numOfRows\":1000,\"pageNo\":1,\"totalCount\":2}}}")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] error = "{\"response\":{\"header\":{\"resultCode\":\"22\"}}}".getBytes(StandardCharsets.UTF_8);
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), isNull(), ArgumentMatchers.<ResponseExtractor<byte[]>>any()))
+                .thenReturn(error, body);
+
+        //when
+        List<RealEstateDto> items = new ArrayList<>();
+        ApiPageResult failed = realEstateDataFetcher.fetchItems(BASE_URL, queryParams("202104", "key"), items::add);
+        ApiPageResult fetched = realEstateDataFetcher.fetchItems(BASE_URL, queryParams("202104", "key"), items::add);
+        ApiPageResult cached = realEstateDataFetcher.fetchItems(BASE_URL, queryParams("202104", "key"), items::add);
+
+        //then
+        Assertions.assertEquals("22", failed.getResultCode());
+        Assertions.assertEquals(2, fetched.getItemCount());
+        Assertions.assertEquals(2, cached.getItemCount());
+        Assertions.assertEquals("동아", items.get(3).getName());
+        verify(restTemplate, times(2)).execute(any(URI.class), eq(HttpMethod.GET), isNull(), ArgumentMatchers.<ResponseExtractor<byte[]>>any());
+        verify(apiRateLimiter, times(2)).acquire(anyString(), anyString());
+    }
+
+    private ApiResponseCache createCache(long maxSizeMb) {
+        return new ApiResponseCache(environment(maxSizeMb), clock);
+    }
+
+    private MockEnvironment environment(long maxSizeMb) {
+        return new MockEnvironment()
+                .withProperty("responseCachePolicy.enabled", "true")
+                .withProperty("responseCachePolicy.directory", directory.toString())
+                .withProperty("responseCachePolicy.maxSizeMb", String.valueOf(maxSizeMb))
+                .withProperty("responseCachePolicy.immutableAfterMonths", "12")
+                .withProperty("responseCachePolicy.recentTtlHours", "6");
+    }
+
+    private MultiValueMap<String, String> queryParams(String dealYearMonth, String serviceKey) {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("LAWD_CD", "11500");
+        queryParams.add("DEAL_YMD", dealYearMonth);
+        queryParams.add("serviceKey", serviceKey);
+        queryParams.add("numOfRows", "1000");
+        queryParams.add("pageNo", "1");
+        return queryParams;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("Asia/Seoul");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.dsadara.realestatebatchservice.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ApiRetryerTest {
+
+    private static final String BASE_URL = "http://openapi.molit.go.kr/OpenAPI_ToolInstallPackage/service/rest/RTMSOBJSvc/getRTMSDataSvcAptRent";
+
+    @Test
+    @DisplayName("retry budget 을 모두 쓰면 남은 시도 횟수와 관계없이 재시도하지 않음")
+    public void execute_BudgetExhausted() {
+        //given
+        ApiRetryer apiRetryer = new ApiRetryer(environment()
+                .withProperty("retryPolicy.request.maxAttempts", "5")
+                .withProperty("retryPolicy.request.budgetRatio", "0")
+                .withProperty("retryPolicy.request.budgetCapacity", "1"));
+        AtomicInteger calls = new AtomicInteger();
+
+        //when
+        Assertions.assertThrows(HttpServerErrorException.class, () -> apiRetryer.execute(BASE_URL, () -> {
+            calls.incrementAndGet();
+            throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+        }));
+
+        //then
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("4xx 이거나 이미 item 을 넘긴 호출은 재시도하지 않음")
+    public void execute_NotRetryable() {
+        //given
+        ApiRetryer apiRetryer = new ApiRetryer(environment());
+        AtomicInteger clientErrorCalls = new AtomicInteger();
+        AtomicInteger partialCalls = new AtomicInteger();
+
+        //when
+        Assertions.assertThrows(HttpClientErrorException.class, () -> apiRetryer.execute(BASE_URL, () -> {
+            clientErrorCalls.incrementAndGet();
+            throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+        }));
+        Assertions.assertThrows(ResourceAccessException.class, () -> apiRetryer.execute(BASE_URL, () -> {
+            partialCalls.incrementAndGet();
+            throw new ResourceAccessException("Connection reset");
+        }, () -> false));
+
+        //then
+        Assertions.assertEquals(1, clientErrorCalls.get());
+        Assertions.assertEquals(1, partialCalls.get());
+    }
+
+    @Test
+    @DisplayName("backoff 는 지수적으로 늘어나되 상한을 넘지 않고 Retry-After 를 따름")
+    public void backoffMillis_ExponentialWithJitter() {
+        //given
+        ApiRetryer apiRetryer = new ApiRetryer(new MockEnvironment()
+                .withProperty("retryPolicy.request.initialBackoffMillis", "100")
+                .withProperty("retryPolicy.request.maxBackoffMillis", "1000"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+        Exception tooManyRequests = HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", headers, null, null);
+        Exception timeout = new ResourceAccessException("Read timed out");
+
+        //when, then
+        for (int i = 0; i < 100; i++) {
+            long first = apiRetryer.backoffMillis(1, timeout);
+            long third = apiRetryer.backoffMillis(3, timeout);
+            long tenth = apiRetryer.backoffMillis(10, timeout);
+            Assertions.assertTrue(first >= 50 && first <= 100, "first " + first);
+            Assertions.assertTrue(third >= 200 && third <= 400, "third " + third);
+            Assertions.assertTrue(tenth >= 500 && tenth <= 1000, "tenth " + tenth);
+        }
+        Assertions.assertEquals(1000, apiRetryer.backoffMillis(1, tooManyRequests));
+        Assertions.assertEquals("too_many_requests", ApiRetryer.retryReason(tooManyRequests));
+    }
+
+    private MockEnvironment environment() {
+        return new MockEnvironment().withProperty("retryPolicy.request.initialBackoffMillis", "0");
+    }
+
+}
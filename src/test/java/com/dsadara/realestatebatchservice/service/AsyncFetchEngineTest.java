@@ -0,0 +1,175 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncFetchEngineTest {
+
+    private static final int NUM_OF_ROWS = 2;
+
+    @Mock
+    private ApiRequester apiRequester;
+    private AsyncFetchEngine asyncFetchEngine;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        asyncFetchEngine = new AsyncFetchEngine(apiRequester);
+        ReflectionTestUtils.setField(asyncFetchEngine, "threads", "platform");
+        ReflectionTestUtils.setField(asyncFetchEngine, "platformThreads", 8);
+        ReflectionTestUtils.setField(asyncFetchEngine, "maxInFlight", 2);
+        ReflectionTestUtils.setField(asyncFetchEngine, "queueCapacity", 2);
+        ReflectionTestUtils.setField(asyncFetchEngine, "numOfRows", NUM_OF_ROWS);
+        asyncFetchEngine.init();
+
+        // 법정동 코드 11500 은 3 건(2 페이지), 그 밖은 1 건
+        lenient().when(apiRequester.fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), eq(NUM_OF_ROWS), any()))
+                .thenAnswer(invocation -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(30);
+                        int totalCount = "11500".equals(invocation.getArgument(2)) ? 3 : 1;
+                        int pageNo = invocation.getArgument(4);
+                        Consumer<RealEstateDto> consumer = invocation.getArgument(6);
+                        int itemCount = Math.min(NUM_OF_ROWS, totalCount - (pageNo - 1) * NUM_OF_ROWS);
+                        for (int i = 0; i < itemCount; i++) {
+                            consumer.accept(new RealEstateDto());
+                        }
+                        ApiPageResult result = new ApiPageResult();
+                        result.setTotalCount(totalCount);
+                        result.setItemCount(itemCount);
+                        return result;
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncFetchEngine.destroy();
+    }
+
+    @Test
+    @DisplayName("모든 셀의 모든 페이지를 읽고 셀마다 완료를 알림")
+    void open_ReadAllCells() throws Exception {
+        //given
+        List<String> cells = Arrays.asList("11500:202301", "11110:202301", "11140:202301", "11170:202301", "11200:202301");
+        Map<String, Integer> completed = new LinkedHashMap<>();
+
+        //when
+        List<RealEstateDto> items = new ArrayList<>();
+        try (AsyncFetchEngine.FetchStream stream = asyncFetchEngine.open("baseUrl", "serviceKey", cells)) {
+            RealEstateDto item;
+            while ((item = stream.read(completed::put)) != null) {
+                items.add(item);
+            }
+        }
+
+        //then
+        Assertions.assertEquals(3 + 4, items.size());
+        Assertions.assertEquals(5, completed.size());
+        Assertions.assertEquals(3, completed.get("11500:202301"));
+        Assertions.assertEquals(1, completed.get("11200:202301"));
+        // 동시에 호출 중인 셀은 maxInFlight 를 넘지 않는다
+        Assertions.assertTrue(peakInFlight.get() <= 2);
+        Assertions.assertTrue(peakInFlight.get() >= 2);
+        verify(apiRequester, times(6)).fetchPage(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("셀 호출이 실패하면 reader 에 예외 전달")
+    void open_Failure() throws Exception {
+        //given
+        when(apiRequester.fetchPage(anyString(), anyString(), eq("11110"), anyString(), anyInt(), eq(NUM_OF_ROWS), any()))
+                .thenThrow(new IllegalStateException("api 호출 실패"));
+
+        //when
+        IllegalStateException exception;
+        try (AsyncFetchEngine.FetchStream stream = asyncFetchEngine.open("baseUrl", "serviceKey", Arrays.asList("11500:202301", "11110:202301"))) {
+            exception = Assertions.assertThrows(IllegalStateException.class, () -> {
+                while (stream.read((cell, totalCount) -> {
+                }) != null) {
+                }
+            });
+        }
+
+        //then
+        Assertions.assertEquals("api 호출 실패", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("여러 stream 이 열려 있어도 쌓이는 페이지는 engine 전체에서 queueCapacity 이하이고 close 하면 반환")
+    void open_SharedQueueCapacity() throws Exception {
+        //given
+        Semaphore bufferedPages = (Semaphore) ReflectionTestUtils.getField(asyncFetchEngine, "bufferedPages");
+        AsyncFetchEngine.FetchStream first = asyncFetchEngine.open("baseUrl", "serviceKey",
+                Arrays.asList("11110:202301", "11140:202301", "11170:202301"));
+        AsyncFetchEngine.FetchStream second = asyncFetchEngine.open("baseUrl", "serviceKey",
+                Arrays.asList("11200:202301", "11215:202301", "11230:202301"));
+
+        //when
+        Thread.sleep(300);
+        int availableWhileOpen = bufferedPages.availablePermits();
+        int callsWhileOpen = mockingDetails(apiRequester).getInvocations().size();
+        first.close();
+        second.close();
+        Thread.sleep(100);
+
+        //then
+        // 읽지 않은 두 stream 이 queueCapacity(2) 를 나눠 쓰고 호출 전에 자리를 잡으므로 6 셀 중 queueCapacity 셀까지만 호출된다
+        Assertions.assertEquals(0, availableWhileOpen);
+        Assertions.assertEquals(2, callsWhileOpen);
+        Assertions.assertEquals(2, bufferedPages.availablePermits());
+        List<RealEstateDto> items = new ArrayList<>();
+        try (AsyncFetchEngine.FetchStream stream = asyncFetchEngine.open("baseUrl", "serviceKey", Arrays.asList("11500:202301"))) {
+            RealEstateDto item;
+            while ((item = stream.read((cell, totalCount) -> {
+            })) != null) {
+                items.add(item);
+            }
+        }
+        Assertions.assertEquals(3, items.size());
+    }
+
+    @Test
+    @DisplayName("JDK 21 이상에서만 virtual thread executor 생성")
+    void newVirtualThreadPerTaskExecutor() {
+        //given
+        boolean supported = Arrays.stream(Thread.class.getMethods()).anyMatch(method -> method.getName().equals("ofVirtual"));
+
+        //when
+        java.util.concurrent.ExecutorService executor = AsyncFetchEngine.newVirtualThreadPerTaskExecutor();
+
+        //then
+        Assertions.assertEquals(supported, executor != null);
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+}
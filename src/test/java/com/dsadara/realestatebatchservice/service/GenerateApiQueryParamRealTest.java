@@ -39,4 +39,16 @@ public class GenerateApiQueryParamRealTest {
         Assertions.assertEquals(periodMonths + 1, dealYearMonthsList.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getDealYearMonthsList_FromDealYearMonth() {
+        //when
+        List<String> dealYearMonthsList = generateApiQueryParam.getDealYearMonthsList("202304");
+
+        //then
+        Assertions.assertEquals("202304", dealYearMonthsList.get(0));
+        Assertions.assertEquals(generateApiQueryParam.getDealYearMonthsList().get(generateApiQueryParam.getDealYearMonthsList().size() - 1),
+                dealYearMonthsList.get(dealYearMonthsList.size() - 1));
+        Assertions.assertEquals(generateApiQueryParam.getDealYearMonthsList(), generateApiQueryParam.getDealYearMonthsList(null));
+    }
+
+}
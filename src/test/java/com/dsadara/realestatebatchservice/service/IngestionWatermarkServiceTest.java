@@ -0,0 +1,91 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.domain.IngestionWatermark;
+import com.dsadara.realestatebatchservice.domain.IngestionWatermarkRepository;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IngestionWatermarkServiceTest {
+
+    @Mock
+    private IngestionWatermarkRepository ingestionWatermarkRepository;
+    @InjectMocks
+    private IngestionWatermarkService ingestionWatermarkService;
+
+    private final RealEstateType realEstateType = RealEstateType.APT_RENT;
+    private final String bjdCode = "11500";
+
+    @Test
+    @DisplayName("전체 수집이면 기준 연월과 관계없이 처음부터 호출")
+    void resolveFromDealYearMonth_Full() {
+        //when
+        String fromDealYearMonth = ingestionWatermarkService.resolveFromDealYearMonth(realEstateType, bjdCode);
+
+        //then
+        Assertions.assertNull(fromDealYearMonth);
+        verifyNoInteractions(ingestionWatermarkRepository);
+    }
+
+    @Test
+    @DisplayName("증분 수집이면 기준 연월의 lookbackMonths 개월 전부터 호출")
+    void resolveFromDealYearMonth_Incremental() {
+        //given
+        ReflectionTestUtils.setField(ingestionWatermarkService, "mode", "incremental");
+        ReflectionTestUtils.setField(ingestionWatermarkService, "lookbackMonths", 3);
+        when(ingestionWatermarkRepository.findByRealEstateTypeAndBjdCode(realEstateType, bjdCode))
+                .thenReturn(Optional.of(IngestionWatermark.builder().dealYearMonth("202302").build()));
+
+        //when
+        String fromDealYearMonth = ingestionWatermarkService.resolveFromDealYearMonth(realEstateType, bjdCode);
+
+        //then
+        Assertions.assertEquals("202212", fromDealYearMonth);
+    }
+
+    @Test
+    @DisplayName("증분 수집이어도 기준 연월이 없으면 처음부터 호출")
+    void resolveFromDealYearMonth_NoWatermark() {
+        //given
+        ReflectionTestUtils.setField(ingestionWatermarkService, "mode", "incremental");
+        when(ingestionWatermarkRepository.findByRealEstateTypeAndBjdCode(realEstateType, bjdCode)).thenReturn(Optional.empty());
+
+        //when, then
+        Assertions.assertNull(ingestionWatermarkService.resolveFromDealYearMonth(realEstateType, bjdCode));
+    }
+
+    @Test
+    @DisplayName("기준 연월은 앞으로만 갱신")
+    void advance() {
+        //given
+        IngestionWatermark watermark = IngestionWatermark.builder()
+                .realEstateType(realEstateType)
+                .bjdCode(bjdCode)
+                .dealYearMonth("202304")
+                .build();
+        when(ingestionWatermarkRepository.findByRealEstateTypeAndBjdCode(realEstateType, bjdCode)).thenReturn(Optional.of(watermark));
+
+        //when
+        ingestionWatermarkService.advance(realEstateType, bjdCode, "202303");
+        ingestionWatermarkService.advance(realEstateType, bjdCode, "202305");
+
+        //then
+        ArgumentCaptor<IngestionWatermark> captor = ArgumentCaptor.forClass(IngestionWatermark.class);
+        verify(ingestionWatermarkRepository, times(1)).save(captor.capture());
+        Assertions.assertEquals("202305", captor.getValue().getDealYearMonth());
+    }
+
+}
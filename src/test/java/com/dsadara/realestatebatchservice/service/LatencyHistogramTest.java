@@ -0,0 +1,71 @@
+package com.dsadara.realestatebatchservice.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("bucket 경계는 빈틈 없이 이어지고 값은 자신의 bucket 안에 들어감")
+    void indexOf_Contiguous() {
+        for (int index = 0; index < LatencyHistogram.indexOf((1L << 40) - 1); index++) {
+            long lower = LatencyHistogram.lowerBoundOf(index);
+            long upper = LatencyHistogram.lowerBoundOf(index + 1) - 1;
+            Assertions.assertTrue(lower <= upper);
+            Assertions.assertEquals(index, LatencyHistogram.indexOf(lower));
+            Assertions.assertEquals(index, LatencyHistogram.indexOf(upper));
+        }
+    }
+
+    @Test
+    @DisplayName("백분위 값의 상대 오차는 약 3% 이내")
+    void percentile_RelativeError() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis, TimeUnit.MILLISECONDS);
+        }
+
+        //when
+        double p50 = histogram.getPercentileMillis(50);
+        double p99 = histogram.getPercentileMillis(99);
+
+        //then
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(500.5, histogram.getMeanMillis(), 0.001);
+        Assertions.assertEquals(500, p50, 500 * 0.032);
+        Assertions.assertEquals(990, p99, 990 * 0.032);
+        Assertions.assertEquals(1000, histogram.getMaxMillis(), 1000 * 0.032);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록해도 건수를 잃지 않음")
+    void record_Concurrent() throws Exception {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    histogram.record(j % 100, TimeUnit.MICROSECONDS);
+                }
+            }));
+        }
+
+        //when
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then
+        Assertions.assertEquals(80_000, histogram.getCount());
+        Assertions.assertEquals(0.049, histogram.getPercentileMillis(50), 0.002);
+    }
+
+}
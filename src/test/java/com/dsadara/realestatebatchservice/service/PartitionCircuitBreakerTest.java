@@ -0,0 +1,83 @@
+package com.dsadara.realestatebatchservice.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class PartitionCircuitBreakerTest {
+
+    @Test
+    @DisplayName("최근 실패율이 기준 이상이면 실패 건수가 한도보다 적어도 열림")
+    public void record_WindowFailureRateExceeded() {
+        //given
+        PartitionCircuitBreaker circuitBreaker = new PartitionCircuitBreaker(50, 0.5, 4, 4);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertFalse(circuitBreaker.record(false));
+        }
+
+        //when
+        boolean openedBeforeWindowFull = circuitBreaker.record(true);
+        boolean opened = circuitBreaker.record(true);
+
+        //then
+        Assertions.assertFalse(openedBeforeWindowFull);
+        Assertions.assertTrue(opened);
+        Assertions.assertTrue(circuitBreaker.isOpen());
+        Assertions.assertEquals(0.5, circuitBreaker.getWindowFailureRate());
+    }
+
+    @Test
+    @DisplayName("실패율을 보지 않으면 실패 건수가 한도에 닿을 때 열림")
+    public void record_MaxFailedStepsReached() {
+        //given
+        PartitionCircuitBreaker circuitBreaker = new PartitionCircuitBreaker(3, 0, 4, 4);
+
+        //when, then
+        Assertions.assertFalse(circuitBreaker.record(true));
+        Assertions.assertFalse(circuitBreaker.record(true));
+        Assertions.assertTrue(circuitBreaker.record(true));
+        Assertions.assertFalse(circuitBreaker.record(true));
+        Assertions.assertEquals(4, circuitBreaker.getFailedSteps());
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록해도 건수를 잃지 않고 한 번만 열림")
+    public void record_ConcurrentFailures() throws Exception {
+        //given
+        PartitionCircuitBreaker circuitBreaker = new PartitionCircuitBreaker(50, 0.9, 20, 20);
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            boolean failed = i % 2 == 0;
+            results.add(executorService.submit(() -> {
+                startLatch.await();
+                return circuitBreaker.record(failed);
+            }));
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+        int openCount = 0;
+        for (Future<Boolean> result : results) {
+            openCount += result.get() ? 1 : 0;
+        }
+
+        //then
+        Assertions.assertEquals(1, openCount);
+        Assertions.assertEquals(500, circuitBreaker.getFailedSteps());
+        double windowFailureRate = circuitBreaker.getWindowFailureRate();
+        Assertions.assertTrue(windowFailureRate >= 0 && windowFailureRate <= 1, "rate " + windowFailureRate);
+    }
+
+}
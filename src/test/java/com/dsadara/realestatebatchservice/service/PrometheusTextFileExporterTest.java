@@ -0,0 +1,91 @@
+package com.dsadara.realestatebatchservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+public class PrometheusTextFileExporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("timer 는 초 단위 histogram 으로, counter 는 단위와 _total 을 붙여서 출력")
+    void scrape_TimerHistogramAndCounter() {
+        //given
+        HistogramMeterRegistry registry = new HistogramMeterRegistry();
+        Timer timer = Timer.builder("openapi.http.latency")
+                .tag("endpoint", "getRTMSDataSvcAptRent")
+                .publishPercentileHistogram()
+                .register(registry);
+        timer.record(Duration.ofMillis(120));
+        timer.record(Duration.ofMillis(480));
+        Counter.builder("openapi.http.bytes").baseUnit("bytes").tag("endpoint", "getRTMSDataSvcAptRent").register(registry).increment(2048);
+
+        //when
+        String text = PrometheusTextFileExporter.scrape(registry);
+
+        //then
+        Assertions.assertTrue(text.contains("# TYPE openapi_http_latency_seconds histogram\n"));
+        Assertions.assertTrue(text.contains("openapi_http_latency_seconds_bucket{endpoint=\"getRTMSDataSvcAptRent\",le=\"+Inf\"} 2\n"));
+        Assertions.assertTrue(text.contains("openapi_http_latency_seconds_count{endpoint=\"getRTMSDataSvcAptRent\"} 2\n"));
+        Assertions.assertTrue(text.contains("openapi_http_latency_seconds_sum{endpoint=\"getRTMSDataSvcAptRent\"} 0.6\n"));
+        Assertions.assertTrue(text.contains("openapi_http_latency_seconds_max{endpoint=\"getRTMSDataSvcAptRent\"} 0.48\n"));
+        Assertions.assertTrue(text.contains("# TYPE openapi_http_bytes_total counter\n"));
+        Assertions.assertTrue(text.contains("openapi_http_bytes_total{endpoint=\"getRTMSDataSvcAptRent\"} 2048\n"));
+        // bucket 은 누적 건수
+        Assertions.assertTrue(text.contains("openapi_http_latency_seconds_bucket{endpoint=\"getRTMSDataSvcAptRent\",le=\"0.001048576\"} 0\n"));
+        Assertions.assertTrue(text.contains("openapi_http_latency_seconds_bucket{endpoint=\"getRTMSDataSvcAptRent\",le=\"0.178956969\"} 1\n"));
+        Assertions.assertTrue(text.contains("openapi_http_latency_seconds_bucket{endpoint=\"getRTMSDataSvcAptRent\",le=\"0.536870911\"} 2\n"));
+    }
+
+    @Test
+    @DisplayName("법정동 코드, 계약 연월 tag 를 제거하면 같은 단계의 meter 로 합쳐짐")
+    void scrape_IgnoreRegionMonthTags() {
+        //given
+        HistogramMeterRegistry registry = new HistogramMeterRegistry();
+        registry.config().meterFilter(MeterFilter.ignoreTags("region", "month"));
+        registry.counter("pipeline.stage.items", "stage", "write", "region", "11500", "month", "202304").increment(3);
+        registry.counter("pipeline.stage.items", "stage", "write", "region", "11110", "month", "202305").increment(4);
+
+        //when
+        String text = PrometheusTextFileExporter.scrape(registry);
+
+        //then
+        Assertions.assertTrue(text.contains("pipeline_stage_items_total{stage=\"write\"} 7\n"));
+        Assertions.assertFalse(text.contains("region"));
+    }
+
+    @Test
+    @DisplayName("설정한 파일에 내보내고 종료 시 마지막 값을 다시 씀")
+    void export_File() throws Exception {
+        //given
+        HistogramMeterRegistry registry = new HistogramMeterRegistry();
+        Path file = directory.resolve("metrics/real-estate-batch.prom");
+        PrometheusTextFileExporter exporter = new PrometheusTextFileExporter(registry, new MockEnvironment()
+                .withProperty("metricsPolicy.file", file.toString())
+                .withProperty("metricsPolicy.intervalSeconds", "3600"));
+        registry.counter("openapi.cache.requests", "result", "hit").increment();
+        exporter.export();
+        registry.counter("openapi.cache.requests", "result", "hit").increment();
+
+        //when
+        exporter.destroy();
+
+        //then
+        String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Assertions.assertTrue(text.contains("openapi_cache_requests_total{result=\"hit\"} 2\n"));
+        Assertions.assertEquals(1, Files.list(file.getParent()).count());
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.dsadara.realestatebatchservice.service;
 
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -10,17 +11,26 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +45,16 @@ public class RealEstateDataFetcherMockTest {
     private ObjectMapper objectMapper;
     @Mock
     private RestTemplate restTemplate;
+    @Mock
+    private ApiRateLimiter apiRateLimiter;
+    @Mock
+    private ApiResponseCache apiResponseCache;
+    @Mock
+    private ResponseArchive responseArchive;
+    @Spy
+    private ApiRetryer apiRetryer = new ApiRetryer(new MockEnvironment()
+            .withProperty("retryPolicy.request.maxAttempts", "3")
+            .withProperty("retryPolicy.request.initialBackoffMillis", "0"));
     @InjectMocks
     private RealEstateDataFetcher realEstateDataFetcher;
 
@@ -50,7 +70,8 @@ public class RealEstateDataFetcherMockTest {
 
     @BeforeEach
     void beforeAll() throws Exception {
-        RealEstateDataFetcher realEstateDataFetcher = new RealEstateDataFetcher(new ObjectMapper(), new RestTemplate());
+        RealEstateDataFetcher realEstateDataFetcher = new RealEstateDataFetcher(new ObjectMapper(), new RestTemplate(), new ApiRateLimiter(new StandardEnvironment()),
+                new ApiResponseCache(new StandardEnvironment()), new ResponseArchive(new StandardEnvironment()), new ApiRetryer(new StandardEnvironment()));
         queryParams = new LinkedMultiValueMap<>();
         queryParams.add("LAWD_CD", "11500");
         queryParams.add("DEAL_YMD", "202304");
@@ -110,7 +131,7 @@ public class RealEstateDataFetcherMockTest {
     }
 
     @Test
-    @DisplayName("실패-getResponse()-Internal Server Error")
+    @DisplayName("실패-getResponse()-Internal Server Error 는 재시도 후 실패")
     void getResponse_Failure_InternalServerError() {
         //when
         when(restTemplate.getForEntity(any(URI.class), eq(String.class)))
@@ -118,7 +139,28 @@ public class RealEstateDataFetcherMockTest {
 
         //then
         Assertions.assertThrows(HttpServerErrorException.InternalServerError.class, () -> realEstateDataFetcher.getResponse(wrongBaseUrl, queryParams));
-        verify(restTemplate, times(1)).getForEntity(any(URI.class), eq(String.class));
+        verify(restTemplate, times(3)).getForEntity(any(URI.class), eq(String.class));
+    }
+
+    @Test
+    @DisplayName("재시도-fetchItems()-timeout 과 일시적인 resultCode 오류 응답")
+    void fetchItems_RetryTransientFailures() throws Exception {
+        //given
+        ApiPageResult error = new ApiPageResult();
+        error.setResultCode("99");
+        ApiPageResult normal = new ApiPageResult();
+        normal.setResultCode("00");
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), isNull(), ArgumentMatchers.<ResponseExtractor<ApiPageResult>>any()))
+                .thenThrow(new ResourceAccessException("timeout", new SocketTimeoutException("Read timed out")))
+                .thenReturn(error, normal);
+
+        //when
+        ApiPageResult result = realEstateDataFetcher.fetchItems(baseUrl, queryParams, new ArrayList<RealEstateDto>()::add);
+
+        //then
+        Assertions.assertEquals("00", result.getResultCode());
+        verify(restTemplate, times(3)).execute(any(URI.class), eq(HttpMethod.GET), isNull(), ArgumentMatchers.<ResponseExtractor<ApiPageResult>>any());
+        verify(apiRateLimiter, times(3)).acquire(anyString(), anyString());
     }
 
 }
@@ -1,5 +1,6 @@
 package com.dsadara.realestatebatchservice.service;
 
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
 import com.dsadara.realestatebatchservice.dto.RealEstateDto;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.DisplayName;
@@ -7,6 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +62,68 @@ public class RealEstateDataFetcherRealTest {
         assertEquals("1998", realEstateDataDtosOptional.get().get(0).getConstructYear());
     }
 
+    @Test
+    @DisplayName("성공-readItems()-item 배열을 하나씩 읽고 페이지 정보 반환")
+    public void readItems_Success_Array() throws Exception {
+        //given
+        String rawJson = "{\"response\":{\"header\":{\"resultCode\":\"00\",\"resultMsg\":\"NORMAL SERVICE.\"}," +
+                "\"body\":{\"items\":{\"item\":[" +
+                "{\"건축년도\":1998,\"보증금액\":\"55,000\",\"단지\":\"동아\"}," +
+                "{\"매핑되지않는필드\":{\"중첩\":[1,2]},\"전용면적\":59.97}" +
+                "]},\"numOfRows\":10,\"pageNo\":2,\"totalCount\":12}}}";
+        List<RealEstateDto> realEstateDtos = new ArrayList<>();
+
+        //when
+        ApiPageResult apiPageResult = realEstateDataFetcher.readItems(
+                new ByteArrayInputStream(rawJson.getBytes(StandardCharsets.UTF_8)), realEstateDtos::add);
+
+        //then
+        assertEquals(2, realEstateDtos.size());
+        assertEquals("1998", realEstateDtos.get(0).getConstructYear());
+        assertEquals("55,000", realEstateDtos.get(0).getDeposit());
+        assertEquals("동아", realEstateDtos.get(0).getName());
+        assertEquals("59.97", realEstateDtos.get(1).getJeonYongArea());
+        assertEquals("00", apiPageResult.getResultCode());
+        assertEquals(2, apiPageResult.getItemCount());
+        assertEquals(2, apiPageResult.getPageNo());
+        assertEquals(10, apiPageResult.getNumOfRows());
+        assertEquals(12, apiPageResult.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("성공-readItems()-single value item")
+    public void readItems_Success_SingleValue() throws Exception {
+        //given
+        String rawJson = "{\"response\":{\"body\":{\"items\":{\"item\":{\"건축년도\":1998}}," +
+                "\"numOfRows\":10,\"pageNo\":1,\"totalCount\":1}}}";
+        List<RealEstateDto> realEstateDtos = new ArrayList<>();
+
+        //when
+        ApiPageResult apiPageResult = realEstateDataFetcher.readItems(
+                new ByteArrayInputStream(rawJson.getBytes(StandardCharsets.UTF_8)), realEstateDtos::add);
+
+        //then
+        assertEquals(1, realEstateDtos.size());
+        assertEquals("1998", realEstateDtos.get(0).getConstructYear());
+        assertEquals(1, apiPageResult.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("성공-readItems()-데이터가 없어 items 가 빈 문자열")
+    public void readItems_Success_EmptyItems() throws Exception {
+        //given
+        String rawJson = "{\"response\":{\"header\":{\"resultCode\":\"00\"},\"body\":{\"items\":\"\"," +
+                "\"numOfRows\":10,\"pageNo\":1,\"totalCount\":0}}}";
+        List<RealEstateDto> realEstateDtos = new ArrayList<>();
+
+        //when
+        ApiPageResult apiPageResult = realEstateDataFetcher.readItems(
+                new ByteArrayInputStream(rawJson.getBytes(StandardCharsets.UTF_8)), realEstateDtos::add);
+
+        //then
+        assertEquals(0, realEstateDtos.size());
+        assertEquals(0, apiPageResult.getItemCount());
+        assertEquals(0, apiPageResult.getTotalCount());
+    }
+
 }
@@ -0,0 +1,95 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class RealEstateRowBinderTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final RealEstateRowBinder realEstateRowBinder = new RealEstateRowBinder();
+
+    private RealEstateRow bind(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken();
+            return realEstateRowBinder.bind(parser);
+        }
+    }
+
+    @Test
+    @DisplayName("금액의 천 단위 구분 기호와 공백은 건너뛰고 빈 값은 0 으로 변환")
+    void bind_AmountCommaAndBlank() throws Exception {
+        //given
+        String json = "{\"거래금액\":\"   82,500\",\"보증금액\":\" 12,000 \",\"월세금액\":\"  \",\"종전계약보증금\":\"\","
+                + "\"종전계약월세\":55,\"월\":\" 4\",\"건축년도\":2019}";
+
+        //when
+        RealEstateRow row = bind(json);
+
+        //then
+        Assertions.assertEquals(82500L, row.getDealAmount());
+        Assertions.assertEquals(12000L, row.getDeposit());
+        Assertions.assertEquals(0L, row.getMonthlyRent());
+        Assertions.assertEquals(0L, row.getDepositBefore());
+        Assertions.assertEquals(55L, row.getMonthlyRentBefore());
+        Assertions.assertEquals((short) 4, row.getContractMonth());
+        Assertions.assertEquals((short) 2019, row.getConstructYear());
+    }
+
+    @Test
+    @DisplayName("금액의 소수점 아래는 첫 자리로 반올림")
+    void bind_AmountRounding() throws Exception {
+        //given
+        String json = "{\"거래금액\":\"1,234.5\",\"보증금액\":\"1,234.49\",\"월세금액\":\"-10.5\",\"종전계약보증금\":\"0.4\"}";
+
+        //when
+        RealEstateRow row = bind(json);
+
+        //then
+        Assertions.assertEquals(1235L, row.getDealAmount());
+        Assertions.assertEquals(1234L, row.getDeposit());
+        Assertions.assertEquals(-11L, row.getMonthlyRent());
+        Assertions.assertEquals(0L, row.getDepositBefore());
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 금액은 NumberFormatException")
+    void bind_InvalidAmount() {
+        //given
+        String json = "{\"거래금액\":\"12,5OO\"}";
+
+        //when
+        //then
+        Assertions.assertThrows(NumberFormatException.class, () -> bind(json));
+    }
+
+    @Test
+    @DisplayName("종류가 적은 값만 같은 인스턴스를 공유하고 중개사소재지 등 종류가 많은 값은 intern 하지 않음")
+    void bind_InternLowCardinalityOnly() throws Exception {
+        //given
+        String json = "{\"법정동\":\"염창동\",\"시군구\":\"강서구\",\"거래유형\":\"중개거래\",\"계약구분\":\"신규\",\"갱신요구권사용\":\"사용\","
+                + "\"중개사소재지\":\"서울 강서구\",\"해제사유발생일\":\"23.04.10\",\"계약기간\":\"23.04~25.04\",\"층\":\"7\"}";
+
+        //when
+        RealEstateRow first = bind(json);
+        RealEstateRow second = bind(json);
+
+        //then
+        Assertions.assertSame(first.getBeopJeongDong(), second.getBeopJeongDong());
+        Assertions.assertSame(first.getSiGunGu(), second.getSiGunGu());
+        Assertions.assertSame(first.getDealType(), second.getDealType());
+        Assertions.assertSame(first.getContractType(), second.getContractType());
+        Assertions.assertSame(first.getRequestRenewalRight(), second.getRequestRenewalRight());
+        Assertions.assertEquals(first.getAgentAddress(), second.getAgentAddress());
+        Assertions.assertNotSame(first.getAgentAddress(), second.getAgentAddress());
+        Assertions.assertNotSame(first.getCancelDealDay(), second.getCancelDealDay());
+        Assertions.assertNotSame(first.getContractPeriod(), second.getContractPeriod());
+        Assertions.assertNotSame(first.getFloor(), second.getFloor());
+    }
+
+}
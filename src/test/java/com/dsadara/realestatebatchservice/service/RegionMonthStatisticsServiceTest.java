@@ -0,0 +1,92 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.dsadara.realestatebatchservice.domain.RegionMonthStatistics;
+import com.dsadara.realestatebatchservice.domain.RegionMonthStatisticsRepository;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RegionMonthStatisticsServiceTest {
+
+    @Mock
+    private RegionMonthStatisticsRepository regionMonthStatisticsRepository;
+    @InjectMocks
+    private RegionMonthStatisticsService regionMonthStatisticsService;
+
+    private final RealEstateType realEstateType = RealEstateType.APT_RENT;
+
+    @Test
+    @DisplayName("셀별 건수를 \"법정동코드:계약연월\" 키로 조회")
+    void getRowCountsByCell() {
+        //given
+        when(regionMonthStatisticsRepository.findByRealEstateType(realEstateType)).thenReturn(Arrays.asList(
+                statistics("11500", "202301", 10), statistics("11110", "202302", 0)));
+
+        //when
+        Map<String, Integer> rowCountsByCell = regionMonthStatisticsService.getRowCountsByCell(realEstateType);
+
+        //then
+        Assertions.assertEquals(2, rowCountsByCell.size());
+        Assertions.assertEquals(10, rowCountsByCell.get("11500:202301"));
+        Assertions.assertEquals(0, rowCountsByCell.get("11110:202302"));
+    }
+
+    @Test
+    @DisplayName("새 셀은 추가하고 건수가 바뀐 셀만 갱신")
+    @SuppressWarnings("unchecked")
+    void record() {
+        //given
+        RegionMonthStatistics unchanged = statistics("11500", "202301", 10);
+        RegionMonthStatistics changed = statistics("11500", "202302", 20);
+        when(regionMonthStatisticsRepository.findByRealEstateTypeAndBjdCode(realEstateType, "11500"))
+                .thenReturn(Arrays.asList(unchanged, changed));
+        when(regionMonthStatisticsRepository.findByRealEstateTypeAndBjdCode(realEstateType, "11110"))
+                .thenReturn(Collections.emptyList());
+        Map<String, Integer> rowCountsByCell = new LinkedHashMap<>();
+        rowCountsByCell.put("11500:202301", 10);
+        rowCountsByCell.put("11500:202302", 25);
+        rowCountsByCell.put("11110:202301", 3);
+
+        //when
+        regionMonthStatisticsService.record(realEstateType, rowCountsByCell);
+
+        //then
+        ArgumentCaptor<Iterable<RegionMonthStatistics>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(regionMonthStatisticsRepository).saveAll(captor.capture());
+        List<RegionMonthStatistics> saved = new ArrayList<>();
+        captor.getValue().forEach(saved::add);
+        Assertions.assertEquals(2, saved.size());
+        Assertions.assertSame(changed, saved.get(0));
+        Assertions.assertEquals(25, changed.getRowCount());
+        Assertions.assertEquals("11110", saved.get(1).getBjdCode());
+        Assertions.assertEquals("202301", saved.get(1).getDealYearMonth());
+        Assertions.assertEquals(realEstateType, saved.get(1).getRealEstateType());
+        Assertions.assertEquals(3, saved.get(1).getRowCount());
+    }
+
+    private RegionMonthStatistics statistics(String bjdCode, String dealYearMonth, int rowCount) {
+        return RegionMonthStatistics.builder()
+                .realEstateType(realEstateType)
+                .bjdCode(bjdCode)
+                .dealYearMonth(dealYearMonth)
+                .rowCount(rowCount)
+                .build();
+    }
+
+}
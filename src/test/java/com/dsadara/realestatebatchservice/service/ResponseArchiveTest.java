@@ -0,0 +1,190 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class ResponseArchiveTest {
+
+    private static final String BASE_URL = "http://openapi.molit.go.kr:8081/OpenAPI_ToolInstallPackage/service/rest/RTMSOBJSvc/getRTMSDataSvcAptRent?";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("계약 연월의 응답을 페이지 순서로, 같은 페이지는 마지막 응답으로 읽기")
+    void records_LatestPerPage() throws Exception {
+        //given
+        ResponseArchive responseArchive = createArchive();
+        responseArchive.append(BASE_URL, queryParams("202304", 2), body("page2"));
+        responseArchive.append(BASE_URL, queryParams("202304", 1), body("page1-old"));
+        responseArchive.append(BASE_URL, queryParams("202303", 1), body("other month"));
+        responseArchive.append(BASE_URL, queryParams("202304", 1), body("page1"));
+        responseArchive.destroy();
+
+        //when
+        ResponseArchive.Segment segment = createArchive().openSegment(BASE_URL, "11500");
+        List<ResponseArchive.Record> records = segment.records("202304", 1000);
+
+        //then
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals("page1", new String(segment.read(records.get(0)), StandardCharsets.UTF_8));
+        Assertions.assertEquals("page2", new String(segment.read(records.get(1)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("쓰다가 잘린 마지막 레코드는 무시")
+    void records_TruncatedTail() throws Exception {
+        //given
+        ResponseArchive responseArchive = createArchive();
+        responseArchive.append(BASE_URL, queryParams("202304", 1), body("page1"));
+        responseArchive.destroy();
+        try (FileChannel channel = FileChannel.open(responseArchive.segmentPath(BASE_URL, "11500"), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 100, 0, 3}));
+        }
+
+        //when
+        ResponseArchive.Segment segment = createArchive().openSegment(BASE_URL, "11500");
+        List<ResponseArchive.Record> records = segment.records("202304", 1000);
+
+        //then
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals("page1", new String(segment.read(records.get(0)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("보관한 응답이 없으면 빈 segment")
+    void openSegment_NotExists() throws Exception {
+        Assertions.assertTrue(createArchive().openSegment(BASE_URL, "11110").records("202304", 1000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("페이지 크기가 다른 응답은 섞지 않고 요청한 페이지 크기의 응답만 읽기")
+    void records_SeparatedByNumOfRows() throws Exception {
+        //given
+        ResponseArchive responseArchive = createArchive();
+        responseArchive.append(BASE_URL, queryParams("202304", 1000, 1), body("1000-page1"));
+        responseArchive.append(BASE_URL, queryParams("202304", 500, 1), body("500-page1"));
+        responseArchive.append(BASE_URL, queryParams("202304", 500, 2), body("500-page2"));
+        responseArchive.destroy();
+
+        //when
+        ResponseArchive.Segment segment = createArchive().openSegment(BASE_URL, "11500");
+        List<ResponseArchive.Record> records1000 = segment.records("202304", 1000);
+        List<ResponseArchive.Record> records500 = segment.records("202304", 500);
+
+        //then
+        Assertions.assertEquals(1, records1000.size());
+        Assertions.assertEquals("1000-page1", new String(segment.read(records1000.get(0)), StandardCharsets.UTF_8));
+        Assertions.assertEquals(2, records500.size());
+        Assertions.assertEquals("500-page2", new String(segment.read(records500.get(1)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("열어 둔 segment 가 maxOpenSegments 를 넘으면 가장 오래 쓰지 않은 segment 를 닫고, 다시 쓰면 이어 붙이기")
+    void append_BoundedOpenSegments() throws Exception {
+        //given
+        ResponseArchive responseArchive = new ResponseArchive(new MockEnvironment()
+                .withProperty("archivePolicy.record", "true")
+                .withProperty("archivePolicy.directory", directory.toString())
+                .withProperty("archivePolicy.maxOpenSegments", "2"));
+
+        //when
+        for (String bjdCode : new String[]{"11110", "11140", "11170", "11110"}) {
+            MultiValueMap<String, String> queryParams = queryParams("202304", 1000, 1);
+            queryParams.set("LAWD_CD", bjdCode);
+            responseArchive.append(BASE_URL, queryParams, body(bjdCode));
+        }
+        int openSegments = responseArchive.openSegmentCount();
+        responseArchive.destroy();
+
+        //then
+        Assertions.assertEquals(2, openSegments);
+        ResponseArchive.Segment segment = createArchive().openSegment(BASE_URL, "11110");
+        Assertions.assertEquals(1, segment.records("202304", 1000).size());
+        Assertions.assertEquals(1, createArchive().openSegment(BASE_URL, "11140").records("202304", 1000).size());
+    }
+
+    @Test
+    @DisplayName("응답 캐시에서 읽은 응답은 segment 에 다시 붙이지 않음")
+    void fetchItems_CachedResponseNotArchived() throws Exception {
+        //given
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        ResponseArchive responseArchive = createArchive();
+        ApiResponseCache apiResponseCache = new ApiResponseCache(new MockEnvironment()
+                .withProperty("responseCachePolicy.enabled", "true")
+                .withProperty("responseCachePolicy.directory", directory.resolve("cache").toString()));
+        RealEstateDataFetcher realEstateDataFetcher = new RealEstateDataFetcher(new ObjectMapper(), restTemplate, mock(ApiRateLimiter.class),
+                apiResponseCache, responseArchive, new ApiRetryer(new MockEnvironment()));
+        byte[] body = ("{\"response\":{\"header\":{\"resultCode\":\"00\"},\"body\":{\"items\":{\"item\":" +
+                "[{\"아파트\":\"e편한세상염창\"}]},\"numOfRows\":1000,\"pageNo\":1,\"totalCount\":1}}}")
+                .getBytes(StandardCharsets.UTF_8);
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), isNull(), ArgumentMatchers.<ResponseExtractor<byte[]>>any()))
+                .thenReturn(body);
+
+        Path segmentPath = responseArchive.segmentPath(BASE_URL, "11500");
+
+        //when
+        realEstateDataFetcher.fetchItems(BASE_URL, queryParams("202304", 1000, 1), item -> {
+        });
+        responseArchive.destroy();
+        long archivedSize = Files.size(segmentPath);
+        realEstateDataFetcher.fetchItems(BASE_URL, queryParams("202304", 1000, 1), item -> {
+        });
+        realEstateDataFetcher.fetchItems(BASE_URL, queryParams("202304", 1000, 1), item -> {
+        });
+        responseArchive.destroy();
+
+        //then
+        Assertions.assertEquals(archivedSize, Files.size(segmentPath));
+        verify(restTemplate, times(1)).execute(any(URI.class), eq(HttpMethod.GET), isNull(), ArgumentMatchers.<ResponseExtractor<byte[]>>any());
+    }
+
+    private ResponseArchive createArchive() {
+        return new ResponseArchive(new MockEnvironment()
+                .withProperty("archivePolicy.record", "true")
+                .withProperty("archivePolicy.directory", directory.toString()));
+    }
+
+    private MultiValueMap<String, String> queryParams(String dealYearMonth, int pageNo) {
+        return queryParams(dealYearMonth, 1000, pageNo);
+    }
+
+    private MultiValueMap<String, String> queryParams(String dealYearMonth, int numOfRows, int pageNo) {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        queryParams.add("LAWD_CD", "11500");
+        queryParams.add("DEAL_YMD", dealYearMonth);
+        queryParams.add("serviceKey", "key");
+        queryParams.add("numOfRows", String.valueOf(numOfRows));
+        queryParams.add("pageNo", String.valueOf(pageNo));
+        return queryParams;
+    }
+
+    private byte[] body(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
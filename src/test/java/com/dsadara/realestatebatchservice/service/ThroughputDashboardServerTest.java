@@ -0,0 +1,91 @@
+package com.dsadara.realestatebatchservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.StreamUtils;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+public class ThroughputDashboardServerTest {
+
+    private ThroughputDashboardServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("현재 초를 제외한 최근 10초의 쓰기 건수로 초당 건수를 계산")
+    void itemsPerSecond_Window() {
+        //given
+        ThroughputMonitor throughputMonitor = new ThroughputMonitor();
+        throughputMonitor.recordWritten(500, 100);
+        throughputMonitor.recordWritten(300, 105);
+        throughputMonitor.recordWritten(200, 105);
+        throughputMonitor.recordWritten(700, 111);
+
+        //when
+        double itemsPerSecond = throughputMonitor.getItemsPerSecond(111);
+        double afterWindow = throughputMonitor.getItemsPerSecond(116);
+
+        //then
+        // 100 초는 10초보다 오래되었고 111 초는 진행 중이므로 105 초의 500 건만 포함
+        Assertions.assertEquals(50.0, itemsPerSecond);
+        Assertions.assertEquals(70.0, afterWindow);
+    }
+
+    @Test
+    @DisplayName("GET /status 는 진행 상황을 JSON 으로, GET /metrics 는 Prometheus text 로 반환")
+    void status_Json() throws Exception {
+        //given
+        ThroughputMonitor throughputMonitor = new ThroughputMonitor();
+        throughputMonitor.partitionStarted();
+        throughputMonitor.partitionStarted();
+        throughputMonitor.partitionFinished(BatchStatus.COMPLETED);
+        throughputMonitor.recordChunk(TimeUnit.MILLISECONDS.toNanos(120), TimeUnit.MILLISECONDS.toNanos(80), -1,
+                TimeUnit.MILLISECONDS.toNanos(30));
+        throughputMonitor.recordWritten(1000);
+        HistogramMeterRegistry registry = new HistogramMeterRegistry();
+        registry.counter("openapi.cache.requests", "result", "hit").increment();
+        server = new ThroughputDashboardServer(throughputMonitor, registry, new ObjectMapper(), new MockEnvironment()
+                .withProperty("dashboardPolicy.port", "0"));
+        server.start();
+
+        //when
+        JsonNode status = new ObjectMapper().readTree(get("/status"));
+        String metrics = get("/metrics");
+
+        //then
+        Assertions.assertEquals(1, status.get("partitionsInFlight").asInt());
+        Assertions.assertEquals(1, status.get("partitionsCompleted").asInt());
+        Assertions.assertEquals(1000, status.get("itemsWritten").asLong());
+        Assertions.assertEquals(1, status.get("chunks").asLong());
+        Assertions.assertEquals(120, status.get("chunkMillis").get("p50").asDouble(), 120 * 0.032);
+        Assertions.assertEquals(0, status.get("processMillis").get("p99").asDouble());
+        Assertions.assertTrue(metrics.contains("openapi_cache_requests_total{result=\"hit\"} 1\n"));
+    }
+
+    private String get(String path) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        try (InputStream inputStream = connection.getInputStream()) {
+            Assertions.assertEquals(200, connection.getResponseCode());
+            return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.dsadara.realestatebatchservice.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucketTest {
+
+    @Test
+    @DisplayName("burst 크기만큼은 대기 없이 토큰 발급")
+    public void reserve_BurstWithoutWait() {
+        //given
+        TokenBucket tokenBucket = new TokenBucket(1, 5, 0);
+
+        //when, then
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(0, tokenBucket.reserve());
+        }
+        Assertions.assertTrue(tokenBucket.reserve() > 0);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 요청해도 초당 허용량을 넘지 않음")
+    public void acquire_ConcurrentRequests() throws Exception {
+        //given
+        TokenBucket tokenBucket = new TokenBucket(100, 5, 0);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        //when
+        long start = System.nanoTime();
+        for (int i = 0; i < 25; i++) {
+            executorService.submit(tokenBucket::acquire);
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //then
+        Assertions.assertTrue(elapsedMillis >= 190, "elapsed " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("일일 호출 한도 초과 시 토큰 발급 거부")
+    public void tryConsumeDailyQuota_Exceeded() {
+        //given
+        TokenBucket tokenBucket = new TokenBucket(10, 10, 3);
+
+        //when, then
+        Assertions.assertTrue(tokenBucket.tryConsumeDailyQuota());
+        Assertions.assertTrue(tokenBucket.tryConsumeDailyQuota());
+        Assertions.assertTrue(tokenBucket.tryConsumeDailyQuota());
+        Assertions.assertFalse(tokenBucket.tryConsumeDailyQuota());
+        Assertions.assertEquals(3, tokenBucket.getDailyUsage());
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.dsadara.realestatebatchservice.writer;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BulkLoadItemWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema/real-estate-h2.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("staging 파일에 모은 행을 step 완료 후 한 번에 적재하고 파일을 삭제")
+    void afterStep_LoadAndDelete() throws Exception {
+        //given
+        StepExecution stepExecution = stepExecution();
+        BulkLoadItemWriter writer = open(stepExecution, new ExecutionContext());
+        writer.write(Arrays.asList(aptRent("309", "e편한세상염창"), aptRent("292", "동아")));
+        writer.update(stepExecution.getExecutionContext());
+        writer.write(Arrays.asList(aptRent("309", "e편한세상염창")));
+        writer.update(stepExecution.getExecutionContext());
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        //when
+        ExitStatus exitStatus = writer.afterStep(stepExecution);
+        writer.close();
+
+        //then
+        Assertions.assertNull(exitStatus);
+        // 자연키가 같은 행은 한 행으로 적재
+        Assertions.assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM real_estate", Integer.class));
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM real_estate WHERE name = 'e편한세상염창'");
+        Assertions.assertEquals("APT_RENT", row.get("REAL_ESTATE_TYPE"));
+        Assertions.assertEquals(0, new BigDecimal("55000").compareTo((BigDecimal) row.get("DEPOSIT")));
+        Assertions.assertEquals((short) 2019, ((Number) row.get("CONSTRUCT_YEAR")).shortValue());
+        Assertions.assertEquals(0, stagingFiles().size());
+    }
+
+    @Test
+    @DisplayName("자연키가 같은 행이 이미 있으면 upsert 와 같이 해제 여부 등을 갱신")
+    void afterStep_UpdateExistingRow() throws Exception {
+        //given
+        RealEstate existing = aptRent("309", "e편한세상염창");
+        jdbcTemplate.update(RealEstateItemPreparedStatementSetter.INSERT_SQL,
+                ps -> new RealEstateItemPreparedStatementSetter().setValues(existing, ps));
+        RealEstate cancelled = aptRent("309", "e편한세상염창");
+        cancelled.setCancelDealType("O");
+        cancelled.setCancelDealDay("23.04.10");
+        cancelled.setAgentAddress("서울 강서구");
+        StepExecution stepExecution = stepExecution();
+        BulkLoadItemWriter writer = open(stepExecution, new ExecutionContext());
+        writer.write(Arrays.asList(cancelled, aptRent("292", "동아")));
+        writer.update(stepExecution.getExecutionContext());
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        //when
+        writer.afterStep(stepExecution);
+        writer.close();
+
+        //then
+        Assertions.assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM real_estate", Integer.class));
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM real_estate WHERE parcel_number = '309'");
+        Assertions.assertEquals("O", row.get("CANCEL_DEAL_TYPE"));
+        Assertions.assertEquals("23.04.10", row.get("CANCEL_DEAL_DAY"));
+        Assertions.assertEquals("서울 강서구", row.get("AGENT_ADDRESS"));
+    }
+
+    @Test
+    @DisplayName("재실행하면 마지막으로 커밋한 chunk 이후에 쓴 줄을 버리고 이어서 씀")
+    void open_TruncateToCommittedOffset() throws Exception {
+        //given
+        StepExecution failed = stepExecution();
+        BulkLoadItemWriter writer = open(failed, new ExecutionContext());
+        writer.write(Arrays.asList(aptRent("309", "e편한세상염창")));
+        writer.update(failed.getExecutionContext());
+        // 커밋하지 않은 chunk
+        writer.write(Arrays.asList(aptRent("292", "동아")));
+        writer.close();
+        failed.setStatus(BatchStatus.FAILED);
+        Assertions.assertNull(writer.afterStep(failed));
+
+        //when
+        StepExecution restarted = stepExecution();
+        BulkLoadItemWriter restartedWriter = open(restarted, new ExecutionContext(failed.getExecutionContext()));
+        restartedWriter.write(Arrays.asList(aptRent("100", "래미안")));
+        restartedWriter.update(restarted.getExecutionContext());
+        restarted.setStatus(BatchStatus.COMPLETED);
+        restartedWriter.afterStep(restarted);
+        restartedWriter.close();
+
+        //then
+        List<String> names = jdbcTemplate.queryForList("SELECT name FROM real_estate ORDER BY name", String.class);
+        Assertions.assertEquals(Arrays.asList("e편한세상염창", "래미안"), names);
+    }
+
+    @Test
+    @DisplayName("탭, 줄바꿈, 역슬래시가 들어간 값과 null 값을 그대로 적재")
+    void write_EscapeAndDefault() throws Exception {
+        //given
+        StepExecution stepExecution = stepExecution();
+        BulkLoadItemWriter writer = open(stepExecution, new ExecutionContext());
+        RealEstate escaped = aptRent("309", "염창\t동\\1\n단지");
+        writer.write(Arrays.asList(escaped, new RealEstate()));
+        writer.update(stepExecution.getExecutionContext());
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        //when
+        writer.afterStep(stepExecution);
+        writer.close();
+
+        //then
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM real_estate WHERE name = ?", Integer.class, "염창\t동\\1\n단지"));
+        Map<String, Object> empty = jdbcTemplate.queryForMap("SELECT * FROM real_estate WHERE parcel_number = ''");
+        Assertions.assertEquals("", empty.get("REAL_ESTATE_TYPE"));
+        Assertions.assertEquals(0, ((Number) empty.get("CONTRACT_YEAR")).intValue());
+        Assertions.assertNotNull(empty.get("CREATED_AT"));
+    }
+
+    private BulkLoadItemWriter open(StepExecution stepExecution, ExecutionContext executionContext) {
+        BulkLoadItemWriter writer = new BulkLoadItemWriter(dataSource, directory, 2);
+        writer.beforeStep(stepExecution);
+        writer.open(executionContext);
+        return writer;
+    }
+
+    private StepExecution stepExecution() {
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "realEstateGridJob"), new JobParameters());
+        return new StepExecution("gridSlaveStep:partition0", jobExecution);
+    }
+
+    private List<Path> stagingFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static RealEstate aptRent(String parcelNumber, String name) {
+        return RealEstate.builder()
+                .constructYear((short) 2019)
+                .contractYear((short) 2023)
+                .contractMonth((short) 4)
+                .contractDay((short) 1)
+                .name(name)
+                .beopJeongDong("염창동")
+                .beopJeongDongCode("11500")
+                .parcelNumber(parcelNumber)
+                .floor("16")
+                .jeonYongArea("59.8873")
+                .deposit(new BigDecimal("55000"))
+                .monthlyRent(BigDecimal.ZERO)
+                .realEstateType(RealEstateType.APT_RENT)
+                .build();
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.dsadara.realestatebatchservice.writer;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+
+public class RealEstateItemPreparedStatementSetterTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcBatchItemWriter<RealEstate> writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema/real-estate-h2.sql")
+                .build();
+        writer = new JdbcBatchItemWriterBuilder<RealEstate>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateItemPreparedStatementSetter())
+                .build();
+        writer.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("chunk 를 한 번에 insert 하고 id 는 DB 가 채움")
+    void write_Success() throws Exception {
+        //given
+        RealEstate aptRent = RealEstate.builder()
+                .constructYear((short) 2019)
+                .contractYear((short) 2023)
+                .contractMonth((short) 4)
+                .contractDay((short) 1)
+                .name("e편한세상염창")
+                .beopJeongDong("염창동")
+                .beopJeongDongCode("11500")
+                .parcelNumber("309")
+                .floor("16")
+                .jeonYongArea("59.8873")
+                .deposit(new BigDecimal("55000"))
+                .monthlyRent(BigDecimal.ZERO)
+                .realEstateType(RealEstateType.APT_RENT)
+                .build();
+        RealEstate sameType = RealEstate.builder()
+                .name("동아")
+                .parcelNumber("292")
+                .realEstateType(RealEstateType.APT_RENT)
+                .build();
+
+        //when
+        writer.write(Arrays.asList(aptRent, sameType));
+
+        //then
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Assertions.assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM real_estate", Integer.class));
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM real_estate WHERE name = 'e편한세상염창'");
+        Assertions.assertNotNull(row.get("ID"));
+        Assertions.assertEquals("APT_RENT", row.get("REAL_ESTATE_TYPE"));
+        Assertions.assertEquals(0, new BigDecimal("55000").compareTo((BigDecimal) row.get("DEPOSIT")));
+        Assertions.assertEquals((short) 2019, ((Number) row.get("CONSTRUCT_YEAR")).shortValue());
+    }
+
+    @Test
+    @DisplayName("null 값은 컬럼 기본값으로 insert")
+    void write_NullToDefault() throws Exception {
+        //given
+        RealEstate empty = new RealEstate();
+
+        //when
+        writer.write(Arrays.asList(empty));
+
+        //then
+        Map<String, Object> row = new JdbcTemplate(dataSource).queryForMap("SELECT * FROM real_estate");
+        Assertions.assertEquals("", row.get("NAME"));
+        Assertions.assertEquals("", row.get("REAL_ESTATE_TYPE"));
+        Assertions.assertEquals(0, ((Number) row.get("CONTRACT_YEAR")).intValue());
+        Assertions.assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) row.get("DEAL_AMOUNT")));
+        Assertions.assertNotNull(row.get("CREATED_AT"));
+    }
+
+    @Test
+    @DisplayName("자연키가 같은 행은 upsert 로 다시 쓰면 행을 늘리지 않고 갱신")
+    void upsert_SameNaturalKey() throws Exception {
+        //given
+        JdbcBatchItemWriter<RealEstate> upsertWriter = new JdbcBatchItemWriterBuilder<RealEstate>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.UPSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateItemPreparedStatementSetter())
+                .assertUpdates(false)
+                .build();
+        upsertWriter.afterPropertiesSet();
+        RealEstate aptTrade = RealEstate.builder()
+                .beopJeongDongCode("11500")
+                .parcelNumber("309")
+                .contractYear((short) 2023)
+                .contractMonth((short) 4)
+                .contractDay((short) 1)
+                .dealAmount(new BigDecimal("95000"))
+                .realEstateType(RealEstateType.APT_TRADE)
+                .build();
+        RealEstate cancelled = RealEstate.builder()
+                .beopJeongDongCode("11500")
+                .parcelNumber("309")
+                .contractYear((short) 2023)
+                .contractMonth((short) 4)
+                .contractDay((short) 1)
+                .dealAmount(new BigDecimal("95000"))
+                .realEstateType(RealEstateType.APT_TRADE)
+                .CancelDealType("O")
+                .build();
+
+        //when
+        upsertWriter.write(Arrays.asList(aptTrade));
+        upsertWriter.write(Arrays.asList(cancelled, aptTrade));
+        upsertWriter.write(Arrays.asList(cancelled));
+
+        //then
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Assertions.assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM real_estate", Integer.class));
+        Assertions.assertEquals("O", jdbcTemplate.queryForObject("SELECT cancel_deal_type FROM real_estate", String.class));
+    }
+
+    @Test
+    @DisplayName("자연키가 같은 행을 insert 로 다시 쓰면 unique index 로 실패")
+    void insert_DuplicatedNaturalKey() throws Exception {
+        //given
+        RealEstate aptRent = RealEstate.builder()
+                .parcelNumber("309")
+                .realEstateType(RealEstateType.APT_RENT)
+                .build();
+        writer.write(Arrays.asList(aptRent));
+
+        //when, then
+        Assertions.assertThrows(DuplicateKeyException.class, () -> writer.write(Arrays.asList(aptRent)));
+    }
+
+}
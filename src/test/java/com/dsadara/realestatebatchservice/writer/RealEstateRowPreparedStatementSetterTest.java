@@ -0,0 +1,111 @@
+package com.dsadara.realestatebatchservice.writer;
+
+import com.dsadara.realestatebatchservice.domain.RealEstate;
+import com.dsadara.realestatebatchservice.domain.RealEstateNaturalKey;
+import com.dsadara.realestatebatchservice.dto.ApiPageResult;
+import com.dsadara.realestatebatchservice.dto.RealEstateDto;
+import com.dsadara.realestatebatchservice.dto.RealEstateRow;
+import com.dsadara.realestatebatchservice.processor.RealEstateProcessor;
+import com.dsadara.realestatebatchservice.service.ApiRateLimiter;
+import com.dsadara.realestatebatchservice.service.ApiResponseCache;
+import com.dsadara.realestatebatchservice.service.ApiRetryer;
+import com.dsadara.realestatebatchservice.service.RealEstateDataFetcher;
+import com.dsadara.realestatebatchservice.service.ResponseArchive;
+import com.dsadara.realestatebatchservice.type.RealEstateType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class RealEstateRowPreparedStatementSetterTest {
+
+    private static final byte[] BODY = ("{\"response\":{\"header\":{\"resultCode\":\"00\"},\"body\":{\"items\":{\"item\":[" +
+            "{\"갱신요구권사용\":\" \",\"건축년도\":2019,\"계약구분\":\"신규\",\"계약기간\":\"23.05~25.05\",\"년\":2023," +
+            "\"법정동\":\"염창동\",\"보증금액\":\"55,000\",\"아파트\":\"e편한세상염창\",\"월\":4,\"월세금액\":0,\"일\":1," +
+            "\"전용면적\":59.8873,\"종전계약보증금\":\" \",\"종전계약월세\":\" \",\"지번\":309,\"지역코드\":11500,\"층\":16}," +
+            "{\"건축년도\":\"1998\",\"년\":\"2023\",\"법정동\":\"염창동\",\"보증금\":\" 34,000\",\"단지\":\"동아\",\"월\":\"4\"," +
+            "\"월세\":\"12\",\"일\":\"2\",\"계약면적\":\"59.97\",\"지번\":\"292\",\"지역코드\":\"11500\",\"층\":\"9\"}" +
+            "]},\"numOfRows\":1000,\"pageNo\":1,\"totalCount\":2}}}").getBytes(StandardCharsets.UTF_8);
+
+    private EmbeddedDatabase dataSource;
+    private JdbcBatchItemWriter<RealEstateRow> writer;
+    private RealEstateDataFetcher realEstateDataFetcher;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema/real-estate-h2.sql")
+                .build();
+        writer = new JdbcBatchItemWriterBuilder<RealEstateRow>()
+                .dataSource(dataSource)
+                .sql(RealEstateItemPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RealEstateRowPreparedStatementSetter())
+                .build();
+        writer.afterPropertiesSet();
+        MockEnvironment environment = new MockEnvironment();
+        realEstateDataFetcher = new RealEstateDataFetcher(new ObjectMapper(), new RestTemplate(), new ApiRateLimiter(environment),
+                new ApiResponseCache(environment), new ResponseArchive(environment), new ApiRetryer(environment));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("JSON 토큰에서 바로 읽은 행을 insert 하고 자연키는 DTO 경로와 같음")
+    void readRowsAndWrite_Success() throws Exception {
+        //given
+        List<RealEstateRow> rows = new ArrayList<>();
+        List<RealEstateDto> dtos = new ArrayList<>();
+        ApiPageResult result = realEstateDataFetcher.readRows(new ByteArrayInputStream(BODY), row -> {
+            row.setRealEstateType(RealEstateType.APT_RENT);
+            rows.add(row);
+        });
+        realEstateDataFetcher.readItems(new ByteArrayInputStream(BODY), dtos::add);
+        RealEstateProcessor processor = new RealEstateProcessor("APT_RENT");
+
+        //when
+        writer.write(rows);
+
+        //then
+        Assertions.assertEquals(2, result.getItemCount());
+        Assertions.assertSame(rows.get(0).getBeopJeongDong(), rows.get(1).getBeopJeongDong());
+        for (int i = 0; i < rows.size(); i++) {
+            RealEstate realEstate = processor.process(dtos.get(i));
+            Assertions.assertEquals(RealEstateNaturalKey.of(realEstate), RealEstateNaturalKey.of(rows.get(i)));
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Map<String, Object> aptRent = jdbcTemplate.queryForMap("SELECT * FROM real_estate WHERE name = 'e편한세상염창'");
+        Assertions.assertEquals(new BigDecimal("55000"), aptRent.get("DEPOSIT"));
+        Assertions.assertEquals(BigDecimal.ZERO, aptRent.get("DEPOSIT_BEFORE"));
+        Assertions.assertEquals(" ", aptRent.get("REQUEST_RENEWAL_RIGHT"));
+        Assertions.assertEquals("59.8873", aptRent.get("JEON_YONG_AREA"));
+        Assertions.assertEquals((short) 2019, ((Number) aptRent.get("CONSTRUCT_YEAR")).shortValue());
+        Map<String, Object> alias = jdbcTemplate.queryForMap("SELECT * FROM real_estate WHERE name = '동아'");
+        Assertions.assertEquals(new BigDecimal("34000"), alias.get("DEPOSIT"));
+        Assertions.assertEquals(new BigDecimal("12"), alias.get("MONTHLY_RENT"));
+        Assertions.assertEquals("59.97", alias.get("JEON_YONG_AREA"));
+        Assertions.assertEquals("", alias.get("CONTRACT_TYPE"));
+    }
+
+}
@@ -0,0 +1,10 @@
+CREATE TABLE partition_request
+(
+    id                BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_execution_id  BIGINT       NOT NULL,
+    step_execution_id BIGINT       NOT NULL,
+    step_name         VARCHAR(100) NOT NULL,
+    created_at        TIMESTAMP    NOT NULL,
+    claimed_by        VARCHAR(100),
+    claimed_at        TIMESTAMP
+);
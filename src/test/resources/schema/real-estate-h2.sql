@@ -0,0 +1,36 @@
+-- V1 ~ V4 마이그레이션을 적용한 real_estate 테이블 (H2 MODE=MySQL)
+SET MODE MySQL;
+
+CREATE TABLE real_estate
+(
+    id                    INT AUTO_INCREMENT PRIMARY KEY,
+    natural_key           VARCHAR(32)  NOT NULL,
+    cancel_deal_day       VARCHAR(16)  NOT NULL DEFAULT '',
+    cancel_deal_type      VARCHAR(2)   NOT NULL DEFAULT '',
+    agent_address         VARCHAR(158) NOT NULL DEFAULT '',
+    construct_year        SMALLINT     NOT NULL DEFAULT 0,
+    contract_period       VARCHAR(22)  NOT NULL DEFAULT '',
+    contract_type         VARCHAR(12)  NOT NULL DEFAULT '',
+    contract_year         SMALLINT     NOT NULL DEFAULT 0,
+    created_at            TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    contract_day          SMALLINT     NOT NULL DEFAULT 0,
+    deal_amount           DECIMAL      NOT NULL DEFAULT 0.0,
+    deal_type             VARCHAR(24)  NOT NULL DEFAULT '',
+    deposit               DECIMAL      NOT NULL DEFAULT 0.0,
+    deposit_before        DECIMAL      NOT NULL DEFAULT 0.0,
+    floor                 VARCHAR(6)   NOT NULL DEFAULT '',
+    jeon_yong_area        VARCHAR(18)  NOT NULL DEFAULT '',
+    beop_jeong_dong       VARCHAR(56)  NOT NULL DEFAULT '',
+    contract_month        SMALLINT     NOT NULL DEFAULT 0,
+    monthly_rent          DECIMAL      NOT NULL DEFAULT 0.0,
+    monthly_rent_before   DECIMAL      NOT NULL DEFAULT 0.0,
+    name                  VARCHAR(158) NOT NULL DEFAULT '',
+    parcel_number         VARCHAR(26)  NOT NULL DEFAULT '',
+    beop_jeong_dong_code  VARCHAR(10)  NOT NULL DEFAULT '',
+    request_renewal_right VARCHAR(12)  NOT NULL DEFAULT '',
+    si_gun_gu             VARCHAR(42)  NOT NULL DEFAULT '',
+    real_estate_type      VARCHAR(36)  NOT NULL DEFAULT ''
+);
+
+CREATE INDEX idx_real_estate_type ON real_estate (real_estate_type);
+CREATE UNIQUE INDEX uk_real_estate_natural_key ON real_estate (natural_key);